@@ -0,0 +1,18 @@
+package com.nexblocks.authguard.api.dto.entities;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.nexblocks.authguard.api.dto.style.DTOStyle;
+import org.immutables.value.Value;
+
+@Value.Immutable
+@DTOStyle
+@JsonSerialize(as = AccountImportResultDTO.class)
+@JsonDeserialize(as = AccountImportResultDTO.class)
+public interface AccountImportResult {
+    long getLine();
+    boolean isImported();
+    Long getAccountId();
+    String getErrorCode();
+    String getMessage();
+}
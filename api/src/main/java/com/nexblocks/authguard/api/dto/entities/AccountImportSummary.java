@@ -0,0 +1,16 @@
+package com.nexblocks.authguard.api.dto.entities;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.nexblocks.authguard.api.dto.style.DTOStyle;
+import org.immutables.value.Value;
+
+@Value.Immutable
+@DTOStyle
+@JsonSerialize(as = AccountImportSummaryDTO.class)
+@JsonDeserialize(as = AccountImportSummaryDTO.class)
+public interface AccountImportSummary {
+    long getImported();
+    long getFailed();
+    Long getCheckpoint();
+}
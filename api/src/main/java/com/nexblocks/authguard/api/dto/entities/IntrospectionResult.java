@@ -0,0 +1,20 @@
+package com.nexblocks.authguard.api.dto.entities;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.nexblocks.authguard.api.dto.style.DTOStyle;
+import org.immutables.value.Value;
+
+@Value.Immutable
+@DTOStyle
+@JsonSerialize(as = IntrospectionResultDTO.class)
+@JsonDeserialize(as = IntrospectionResultDTO.class)
+public interface IntrospectionResult {
+    int getIndex();
+    String getTokenType();
+    boolean isActive();
+    String getEntityType();
+    Long getEntityId();
+    String getErrorCode();
+    String getMessage();
+}
@@ -0,0 +1,16 @@
+package com.nexblocks.authguard.api.dto.requests;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.nexblocks.authguard.api.dto.style.DTOStyle;
+import org.immutables.value.Value;
+
+import java.util.List;
+
+@Value.Immutable
+@DTOStyle
+@JsonSerialize(as = BatchIntrospectionRequestDTO.class)
+@JsonDeserialize(as = BatchIntrospectionRequestDTO.class)
+public interface BatchIntrospectionRequest {
+    List<IntrospectionRequestDTO> getTokens();
+}
@@ -0,0 +1,21 @@
+package com.nexblocks.authguard.api.dto.requests;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.nexblocks.authguard.api.dto.style.DTOStyle;
+import org.immutables.value.Value;
+
+/**
+ * A single record of an account import. Besides everything an
+ * account can be created with, it can carry a password which was
+ * already hashed, along with the password version to verify it.
+ */
+@Value.Immutable
+@DTOStyle
+@JsonDeserialize(as = ImportAccountRecordDTO.class)
+@JsonSerialize(as = ImportAccountRecordDTO.class)
+public interface ImportAccountRecord extends CreateAccountRequest {
+    String getHashedPassword();
+    String getPasswordSalt();
+    Integer getPasswordVersion();
+}
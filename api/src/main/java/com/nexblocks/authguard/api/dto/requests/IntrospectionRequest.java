@@ -0,0 +1,17 @@
+package com.nexblocks.authguard.api.dto.requests;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.nexblocks.authguard.api.dto.style.DTOStyle;
+import org.immutables.value.Value;
+
+@Value.Immutable
+@DTOStyle
+@JsonSerialize(as = IntrospectionRequestDTO.class)
+@JsonDeserialize(as = IntrospectionRequestDTO.class)
+public interface IntrospectionRequest {
+    String getTokenType();
+    @Value.Redacted
+    String getToken();
+    String getKeyType();
+}
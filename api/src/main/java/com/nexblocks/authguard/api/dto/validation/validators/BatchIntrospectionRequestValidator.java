@@ -0,0 +1,19 @@
+package com.nexblocks.authguard.api.dto.validation.validators;
+
+import com.nexblocks.authguard.api.dto.requests.BatchIntrospectionRequestDTO;
+import com.nexblocks.authguard.api.dto.requests.IntrospectionRequestDTO;
+import com.nexblocks.authguard.api.dto.validation.Validator;
+import com.nexblocks.authguard.api.dto.validation.fluent.FluentValidator;
+import com.nexblocks.authguard.api.dto.validation.violations.Violation;
+
+import java.util.List;
+
+public class BatchIntrospectionRequestValidator implements Validator<BatchIntrospectionRequestDTO> {
+    @Override
+    public List<Violation> validate(final BatchIntrospectionRequestDTO obj) {
+        return FluentValidator.begin()
+                .validate("tokens", obj.getTokens(), Constraints.required, Constraints.hasItems)
+                .validateCollection("tokens", obj.getTokens(), Validators.getForClass(IntrospectionRequestDTO.class))
+                .getViolations();
+    }
+}
@@ -0,0 +1,31 @@
+package com.nexblocks.authguard.api.dto.validation.validators;
+
+import com.nexblocks.authguard.api.dto.requests.CreateAccountRequestDTO;
+import com.nexblocks.authguard.api.dto.requests.ImportAccountRecordDTO;
+import com.nexblocks.authguard.api.dto.validation.Validator;
+import com.nexblocks.authguard.api.dto.validation.violations.Violation;
+import com.nexblocks.authguard.api.dto.validation.violations.ViolationType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportAccountRecordValidator implements Validator<ImportAccountRecordDTO> {
+    private final CreateAccountRequestValidator accountValidator = new CreateAccountRequestValidator();
+
+    @Override
+    public List<Violation> validate(final ImportAccountRecordDTO obj) {
+        List<Violation> violations = new ArrayList<>(accountValidator.validate(CreateAccountRequestDTO.copyOf(obj)));
+
+        if (obj.getHashedPassword() != null) {
+            if (obj.getPlainPassword() != null) {
+                violations.add(new Violation("hashedPassword", ViolationType.INVALID_VALUE));
+            }
+
+            if (obj.getPasswordVersion() == null) {
+                violations.add(new Violation("passwordVersion", ViolationType.MISSING_REQUIRED_VALUE));
+            }
+        }
+
+        return violations;
+    }
+}
@@ -0,0 +1,18 @@
+package com.nexblocks.authguard.api.dto.validation.validators;
+
+import com.nexblocks.authguard.api.dto.requests.IntrospectionRequestDTO;
+import com.nexblocks.authguard.api.dto.validation.Validator;
+import com.nexblocks.authguard.api.dto.validation.fluent.FluentValidator;
+import com.nexblocks.authguard.api.dto.validation.violations.Violation;
+
+import java.util.List;
+
+public class IntrospectionRequestValidator implements Validator<IntrospectionRequestDTO> {
+    @Override
+    public List<Violation> validate(final IntrospectionRequestDTO obj) {
+        return FluentValidator.begin()
+                .validate("tokenType", obj.getTokenType(), Constraints.required, Constraints.reasonableLength)
+                .validate("token", obj.getToken(), Constraints.required)
+                .getViolations();
+    }
+}
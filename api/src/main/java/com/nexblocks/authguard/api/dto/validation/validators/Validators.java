@@ -16,6 +16,7 @@ public class Validators {
 
     static {
         classValidators.put(CreateAccountRequestDTO.class, new CreateAccountRequestValidator());
+        classValidators.put(ImportAccountRecordDTO.class, new ImportAccountRecordValidator());
         classValidators.put(UpdateAccountRequestDTO.class, new UpdateAccountRequestValidator());
         classValidators.put(CreateAppRequestDTO.class, new CreateAppRequestValidator());
         classValidators.put(CreateClientRequestDTO.class, new CreateClientRequestValidator());
@@ -35,6 +36,8 @@ public class Validators {
         classValidators.put(ApiKeyRequestDTO.class, new ApiKeysRequestValidator());
         classValidators.put(ApiKeyVerificationRequestDTO.class, new ApiKeyVerificationRequestValidator());
         classValidators.put(ActionTokenRequestDTO.class, new ActionTokensRequestValidator());
+        classValidators.put(IntrospectionRequestDTO.class, new IntrospectionRequestValidator());
+        classValidators.put(BatchIntrospectionRequestDTO.class, new BatchIntrospectionRequestValidator());
 
         classValidators.put(PasswordResetTokenRequestDTO.class, new PasswordResetTokenRequestValidator());
         classValidators.put(PasswordResetRequestDTO.class, new PasswordResetRequestValidator());
@@ -14,12 +14,14 @@ public abstract class AccountsApi implements ApiRoute {
 
     public void addEndpoints() {
         post("/", this::create, ActorRoles.of("authguard_admin_client", "one_time_admin", "authguard_auth_client"));
+        post("/import", this::importAccounts, ActorRoles.adminClient());
 
         get("/{id}", this::getById, ActorRoles.adminClient());
         delete("/{id}", this::deleteAccount, ActorRoles.adminClient());
         patch("/{id}", this::patchAccount, ActorRoles.adminClient());
         get("/identifier/{identifier}", this::getByIdentifier, ActorRoles.adminClient());
         get("/identifier/{identifier}/exists", this::identifierExists, ActorRoles.adminOrAuthClient());
+        get("/role/{role}", this::getByRole, ActorRoles.adminClient());
 
         get("/externalId/{id}", this::getByExternalId, ActorRoles.adminClient());
         get("/email/{email}", this::getByEmail, ActorRoles.adminClient());
@@ -39,6 +41,8 @@ public abstract class AccountsApi implements ApiRoute {
 
     public abstract void create(final Context context);
 
+    public abstract void importAccounts(final Context context);
+
 
     public abstract void getById(final Context context);
 
@@ -46,6 +50,8 @@ public abstract class AccountsApi implements ApiRoute {
 
     public abstract void identifierExists(final Context context);
 
+    public abstract void getByRole(final Context context);
+
     public abstract void deleteAccount(final Context context);
 
     public abstract void patchAccount(final Context context);
@@ -16,9 +16,18 @@ public abstract class AdminApi implements ApiRoute {
     public void addEndpoints() {
         get("/config", this::getConfig, ActorRoles.adminClient());
         get("/bindings", this::getBindings, ActorRoles.adminClient());
+        get("/execution", this::getExecution, ActorRoles.adminClient());
+        get("/traces", this::getTraces, ActorRoles.adminClient());
+        get("/export/exchange_attempts", this::exportExchangeAttempts, ActorRoles.adminClient());
     }
 
     public abstract void getConfig(final Context context);
 
     public abstract void getBindings(final Context context);
+
+    public abstract void getExecution(final Context context);
+
+    public abstract void getTraces(final Context context);
+
+    public abstract void exportExchangeAttempts(final Context context);
 }
@@ -0,0 +1,27 @@
+package com.nexblocks.authguard.api.routes;
+
+import com.nexblocks.authguard.api.access.ActorRoles;
+import io.javalin.http.Context;
+
+import static io.javalin.apibuilder.ApiBuilder.get;
+
+public abstract class ExportApi implements ApiRoute {
+
+    @Override
+    public String getPath() {
+        return "/domains/{domain}/export";
+    }
+
+    @Override
+    public void addEndpoints() {
+        get("/accounts", this::exportAccounts, ActorRoles.adminClient());
+        get("/apps", this::exportApps, ActorRoles.adminClient());
+        get("/events", this::exportEvents, ActorRoles.adminClient());
+    }
+
+    public abstract void exportAccounts(final Context context);
+
+    public abstract void exportApps(final Context context);
+
+    public abstract void exportEvents(final Context context);
+}
@@ -15,7 +15,15 @@ public abstract class GeneralApi implements ApiRoute {
     @Override
     public void addEndpoints() {
         get("/heartbeat", this::heartbeat, ActorRoles.adminClient());
+        get("/ready", this::ready, ActorRoles.adminClient());
     }
 
     public abstract void heartbeat(final Context context);
+
+    /**
+     * Responds with 200 once the server has warmed up, and with 503
+     * until then. Load balancers which can't authenticate can reach it
+     * by adding "general" to the unprotected paths of the server.
+     */
+    public abstract void ready(final Context context);
 }
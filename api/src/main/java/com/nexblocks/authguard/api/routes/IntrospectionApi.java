@@ -0,0 +1,21 @@
+package com.nexblocks.authguard.api.routes;
+
+import com.nexblocks.authguard.api.access.ActorRoles;
+import io.javalin.http.Context;
+
+import static io.javalin.apibuilder.ApiBuilder.post;
+
+public abstract class IntrospectionApi implements ApiRoute {
+
+    @Override
+    public String getPath() {
+        return "/domains/{domain}/introspection";
+    }
+
+    @Override
+    public void addEndpoints() {
+        post("/batch", this::introspectBatch, ActorRoles.adminClient());
+    }
+
+    public abstract void introspectBatch(final Context context);
+}
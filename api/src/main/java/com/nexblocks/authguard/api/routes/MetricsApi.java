@@ -0,0 +1,21 @@
+package com.nexblocks.authguard.api.routes;
+
+import com.nexblocks.authguard.api.access.ActorRoles;
+import io.javalin.http.Context;
+
+import static io.javalin.apibuilder.ApiBuilder.get;
+
+public abstract class MetricsApi implements ApiRoute {
+
+    @Override
+    public String getPath() {
+        return "metrics";
+    }
+
+    @Override
+    public void addEndpoints() {
+        get(this::getMetrics, ActorRoles.adminClient());
+    }
+
+    public abstract void getMetrics(final Context context);
+}
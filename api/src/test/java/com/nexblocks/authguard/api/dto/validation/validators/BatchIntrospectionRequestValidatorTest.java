@@ -0,0 +1,63 @@
+package com.nexblocks.authguard.api.dto.validation.validators;
+
+import com.nexblocks.authguard.api.dto.requests.BatchIntrospectionRequestDTO;
+import com.nexblocks.authguard.api.dto.requests.IntrospectionRequestDTO;
+import com.nexblocks.authguard.api.dto.validation.Validator;
+import com.nexblocks.authguard.api.dto.validation.violations.Violation;
+import com.nexblocks.authguard.api.dto.validation.violations.ViolationType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchIntrospectionRequestValidatorTest {
+
+    @Test
+    void validate() {
+        final BatchIntrospectionRequestDTO request = BatchIntrospectionRequestDTO.builder()
+                .addTokens(IntrospectionRequestDTO.builder()
+                        .tokenType("accessToken")
+                        .token("token")
+                        .build())
+                .addTokens(IntrospectionRequestDTO.builder()
+                        .tokenType("apiKey")
+                        .keyType("default")
+                        .token("key")
+                        .build())
+                .build();
+
+        final Validator<BatchIntrospectionRequestDTO> validator = Validators.getForClass(BatchIntrospectionRequestDTO.class);
+        final List<Violation> violations = validator.validate(request);
+
+        assertThat(violations).isEmpty();
+    }
+
+    @Test
+    void validateEmpty() {
+        final BatchIntrospectionRequestDTO request = BatchIntrospectionRequestDTO.builder()
+                .build();
+
+        final Validator<BatchIntrospectionRequestDTO> validator = Validators.getForClass(BatchIntrospectionRequestDTO.class);
+        final List<Violation> violations = validator.validate(request);
+
+        assertThat(violations).containsExactly(
+                new Violation("tokens", ViolationType.EMPTY_LIST)
+        );
+    }
+
+    @Test
+    void validateMissingItemValues() {
+        final BatchIntrospectionRequestDTO request = BatchIntrospectionRequestDTO.builder()
+                .addTokens(IntrospectionRequestDTO.builder().build())
+                .build();
+
+        final Validator<BatchIntrospectionRequestDTO> validator = Validators.getForClass(BatchIntrospectionRequestDTO.class);
+        final List<Violation> violations = validator.validate(request);
+
+        assertThat(violations).containsExactly(
+                new Violation("tokenType", ViolationType.MISSING_REQUIRED_VALUE),
+                new Violation("token", ViolationType.MISSING_REQUIRED_VALUE)
+        );
+    }
+}
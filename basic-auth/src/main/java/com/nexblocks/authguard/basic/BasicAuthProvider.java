@@ -1,8 +1,11 @@
 package com.nexblocks.authguard.basic;
 
 import com.google.inject.Inject;
+import com.nexblocks.authguard.basic.passwords.PasswordHashingExecutor;
 import com.nexblocks.authguard.basic.passwords.SecurePassword;
 import com.nexblocks.authguard.basic.passwords.SecurePasswordProvider;
+import com.nexblocks.authguard.metrics.events.PasswordVerificationEvent;
+import com.nexblocks.authguard.metrics.tracing.Traces;
 import com.nexblocks.authguard.service.AccountsService;
 import com.nexblocks.authguard.service.TrackingSessionsService;
 import com.nexblocks.authguard.service.exceptions.ServiceAuthorizationException;
@@ -18,6 +21,7 @@ import java.time.Instant;
 import java.util.Base64;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
 
 public class BasicAuthProvider {
     private static final String RESERVED_DOMAIN = "global";
@@ -27,15 +31,18 @@ public class BasicAuthProvider {
     private final AccountsService accountsService;
     private final SecurePassword securePassword;
     private final SecurePasswordProvider securePasswordProvider;
+    private final PasswordHashingExecutor hashingExecutor;
     private final TrackingSessionsService trackingSessionsService;
 
     @Inject
     public BasicAuthProvider(final AccountsService accountsService,
                              final SecurePasswordProvider securePasswordProvider,
+                             final PasswordHashingExecutor hashingExecutor,
                              final TrackingSessionsService trackingSessionsService) {
         this.securePassword = securePasswordProvider.get();
         this.accountsService = accountsService;
         this.securePasswordProvider = securePasswordProvider;
+        this.hashingExecutor = hashingExecutor;
         this.trackingSessionsService = trackingSessionsService;
 
         LOG.debug("Initialized with password implementation {}", this.securePassword.getClass());
@@ -43,20 +50,42 @@ public class BasicAuthProvider {
 
     public CompletableFuture<AccountSession> authenticateAndGetAccountSession(final AuthRequestBO authRequest) {
         return verifyCredentialsAndGetAccount(authRequest.getIdentifier(), authRequest.getPassword(),
-                authRequest.getDomain())
+                authRequest.getDomain(), accountsService::getByIdentifierUnsafe)
                 .thenCompose(this::createTrackingSession);
     }
 
     public CompletableFuture<AccountBO> authenticateAndGetAccount(final AuthRequestBO authRequest) {
         return verifyCredentialsAndGetAccount(authRequest.getIdentifier(), authRequest.getPassword(),
-                authRequest.getDomain());
+                authRequest.getDomain(), accountsService::getByIdentifierUnsafe);
+    }
+
+    /**
+     * Same as {@link #authenticateAndGetAccountSession(AuthRequestBO)}
+     * but the account only has the fields needed to issue tokens, as
+     * described in {@link AccountsService#getAuthAccountByIdentifier}.
+     * Use it when the account is only passed on to a token provider.
+     */
+    public CompletableFuture<AccountSession> authenticateAndGetAuthAccountSession(final AuthRequestBO authRequest) {
+        return verifyCredentialsAndGetAccount(authRequest.getIdentifier(), authRequest.getPassword(),
+                authRequest.getDomain(), accountsService::getAuthAccountByIdentifier)
+                .thenCompose(this::createTrackingSession);
+    }
+
+    /**
+     * Same as {@link #authenticateAndGetAccount(AuthRequestBO)} but the
+     * account only has the fields needed to issue tokens.
+     */
+    public CompletableFuture<AccountBO> authenticateAndGetAuthAccount(final AuthRequestBO authRequest) {
+        return verifyCredentialsAndGetAccount(authRequest.getIdentifier(), authRequest.getPassword(),
+                authRequest.getDomain(), accountsService::getAuthAccountByIdentifier);
     }
 
     /**
      * Performs basic authentication using a basic token in the form of
      * base64(username:password). To be used only for authenticating request
      * 'Authorization' headers made to AuthGuard. For any other scenario, use
-     * authenticateAndGetAccount(AuthRequest);
+     * authenticateAndGetAccount(AuthRequest). The account only has the
+     * fields needed to authorize the request.
      */
     public CompletableFuture<AccountBO> authenticateAndGetAccount(final String basicToken) {
         return handleBasicAuthentication(basicToken);
@@ -89,22 +118,26 @@ public class BasicAuthProvider {
         final String username =  decoded[0];
         final String password = decoded[1];
 
-        return verifyCredentialsAndGetAccount(username, password, RESERVED_DOMAIN);
+        return verifyCredentialsAndGetAccount(username, password, RESERVED_DOMAIN,
+                accountsService::getAuthAccountByIdentifier);
     }
 
-    private CompletableFuture<AccountBO> verifyCredentialsAndGetAccount(final String username, final String password, final String domain) {
-        return accountsService.getByIdentifierUnsafe(username, domain)
+    private CompletableFuture<AccountBO> verifyCredentialsAndGetAccount(final String username, final String password,
+                                                                        final String domain,
+                                                                        final BiFunction<String, String, CompletableFuture<Optional<AccountBO>>> lookup) {
+        return lookup.apply(username, domain)
                 .thenCompose(opt -> {
                     if (opt.isEmpty()) {
                         return CompletableFuture.failedFuture(new ServiceAuthorizationException(ErrorCode.CREDENTIALS_DOES_NOT_EXIST,
                                 "Identifier does not exist"));
                     }
 
-                    return AsyncUtils.fromTry(tryVerifyCredentials(opt.get(), username, password));
+                    return AsyncUtils.fromTry(tryVerifyCredentials(opt.get(), username))
+                            .thenCompose(valid -> checkPasswordsMatch(valid, password));
                 });
     }
 
-    private Try<AccountBO> tryVerifyCredentials(final AccountBO account, final String identifier, final String password) {
+    private Try<AccountBO> tryVerifyCredentials(final AccountBO account, final String identifier) {
         if (!account.isActive()) {
             return Try.failure(new ServiceAuthorizationException(ErrorCode.ACCOUNT_INACTIVE, "Inactive account"));
         }
@@ -115,8 +148,7 @@ public class BasicAuthProvider {
             return Try.failure(validationError.get());
         }
 
-        return checkIfExpired(account)
-                .flatMap(valid -> checkPasswordsMatch(valid, password));
+        return checkIfExpired(account);
     }
 
     private Try<AccountBO> checkIfExpired(final AccountBO credentials) {
@@ -135,8 +167,9 @@ public class BasicAuthProvider {
             }
         }
 
-        // check if the version is too old
-        if (credentials.getPasswordVersion() < securePasswordProvider.getMinimumVersion()) {
+        // check if the version is too old, imported passwords are upgraded on login instead
+        if (!SecurePasswordProvider.isForeignVersion(credentials.getPasswordVersion())
+                && credentials.getPasswordVersion() < securePasswordProvider.getMinimumVersion()) {
             return Try.failure(new ServiceAuthorizationException(ErrorCode.PASSWORD_EXPIRED,
                     "Password has already expired", EntityType.ACCOUNT, credentials.getId()));
         }
@@ -144,25 +177,66 @@ public class BasicAuthProvider {
         return Try.success(credentials);
     }
 
-    private Try<AccountBO> checkPasswordsMatch(final AccountBO credentials, final String password) {
+    private CompletableFuture<AccountBO> checkPasswordsMatch(final AccountBO credentials, final String password) {
         final SecurePassword securePasswordImplementation = getPasswordImplementation(credentials);
 
         if (securePasswordImplementation == null) {
-            return Try.failure(new ServiceAuthorizationException(ErrorCode.GENERIC_AUTH_FAILURE,
+            return CompletableFuture.failedFuture(new ServiceAuthorizationException(ErrorCode.GENERIC_AUTH_FAILURE,
                     "Unable to map password version", EntityType.ACCOUNT, credentials.getId()));
         }
 
-        if (securePasswordImplementation.verify(password, credentials.getHashedPassword())) {
-            return Try.success(credentials);
-        } else {
-            return Try.failure(new ServiceAuthorizationException(ErrorCode.PASSWORDS_DO_NOT_MATCH,
-                    "Passwords do not match", EntityType.ACCOUNT, credentials.getId()));
-        }
+        return new PasswordVerificationEvent(credentials.getDomain(), securePasswordImplementation.getAlgorithm())
+                .recordAsync(() -> Traces.traceAsync("password.verify",
+                        () -> hashingExecutor.verify(securePasswordImplementation, password,
+                                credentials.getHashedPassword())))
+                .thenCompose(matches -> {
+                    if (matches) {
+                        if (!isCurrentVersion(credentials)) {
+                            upgradePassword(credentials, password);
+                        }
+
+                        return CompletableFuture.completedFuture(credentials);
+                    }
+
+                    return CompletableFuture.failedFuture(new ServiceAuthorizationException(ErrorCode.PASSWORDS_DO_NOT_MATCH,
+                            "Passwords do not match", EntityType.ACCOUNT, credentials.getId()));
+                });
+    }
+
+    /**
+     * Re-hashes a password which was verified with a previous or an
+     * imported version using the current one. It doesn't hold the login
+     * back, and if it fails it'll be tried again on the next login. The
+     * whole account is read again before it's updated, since the one which
+     * was authenticated might only have some of its fields.
+     */
+    private void upgradePassword(final AccountBO credentials, final String password) {
+        Integer fromVersion = credentials.getPasswordVersion();
+        Integer toVersion = securePasswordProvider.getCurrentVersion();
+
+        hashingExecutor.hash(securePassword, password)
+                .thenCompose(hashed -> accountsService.getByIdUnsafe(credentials.getId(), credentials.getDomain())
+                        .thenCompose(account -> accountsService.update(account
+                                .withHashedPassword(hashed)
+                                .withPasswordVersion(toVersion), credentials.getDomain())))
+                .whenComplete((updated, e) -> {
+                    if (e != null) {
+                        LOG.warn("Failed to upgrade password. accountId={}, fromVersion={}, toVersion={}",
+                                credentials.getId(), fromVersion, toVersion, e);
+                    } else {
+                        LOG.info("Upgraded password. accountId={}, fromVersion={}, toVersion={}",
+                                credentials.getId(), fromVersion, toVersion);
+                    }
+                });
+    }
+
+    private boolean isCurrentVersion(final AccountBO credentials) {
+        return credentials.getPasswordVersion() == null
+                || credentials.getPasswordVersion().equals(securePasswordProvider.getCurrentVersion());
     }
 
     private SecurePassword getPasswordImplementation(final AccountBO credentials) {
-        if (credentials.getPasswordVersion() == null
-                || credentials.getPasswordVersion().equals(securePasswordProvider.getCurrentVersion())) {
+        if (isCurrentVersion(credentials)) {
             return securePassword;
         }
 
@@ -0,0 +1,54 @@
+package com.nexblocks.authguard.basic.config;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.nexblocks.authguard.service.config.ConfigStyle;
+import org.immutables.value.Value;
+
+@Value.Immutable
+@ConfigStyle
+@JsonDeserialize(as = CalibrationConfig.class)
+public interface CalibrationConfigInterface {
+    /**
+     * Whether to run the calibration every time the server starts
+     * and log the recommended configuration.
+     */
+    @Value.Default
+    default boolean runOnStartup() {
+        return false;
+    }
+
+    /**
+     * The p99 latency which a single hash shouldn't exceed.
+     */
+    @Value.Default
+    default String getTargetLatency() {
+        return "250ms";
+    }
+
+    /**
+     * The number of passwords hashed at the same time while
+     * measuring, which should match the expected login load.
+     */
+    @Value.Default
+    default Integer getConcurrency() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * The number of hashes each thread performs for every
+     * candidate parameter set.
+     */
+    @Value.Default
+    default Integer getSamples() {
+        return 10;
+    }
+
+    /**
+     * The maximum number of times to increase the cost before
+     * settling on the last candidate which met the target.
+     */
+    @Value.Default
+    default Integer getMaxSteps() {
+        return 12;
+    }
+}
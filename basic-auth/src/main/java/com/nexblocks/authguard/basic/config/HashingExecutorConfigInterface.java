@@ -0,0 +1,37 @@
+package com.nexblocks.authguard.basic.config;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.nexblocks.authguard.service.config.ConfigStyle;
+import org.immutables.value.Value;
+
+@Value.Immutable
+@ConfigStyle
+@JsonDeserialize(as = HashingExecutorConfig.class)
+public interface HashingExecutorConfigInterface {
+    /**
+     * The number of passwords which can be hashed or verified
+     * at the same time.
+     */
+    @Value.Default
+    default Integer getConcurrency() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * The number of operations which can wait for a free thread
+     * before new ones are rejected.
+     */
+    @Value.Default
+    default Integer getQueueSize() {
+        return 256;
+    }
+
+    /**
+     * The total memory, in KB, which running operations can use.
+     * A value of 0 disables the limit.
+     */
+    @Value.Default
+    default Integer getMemoryBudget() {
+        return 0;
+    }
+}
@@ -26,4 +26,10 @@ public interface PasswordConditionsInterface {
     default int getMinLength() {
         return 6;
     }
+
+    /**
+     * The path to an index of breached password hashes created by
+     * BreachedPasswordIndexBuilder. Passwords found in it are rejected.
+     */
+    String getBreachedPasswordsIndex();
 }
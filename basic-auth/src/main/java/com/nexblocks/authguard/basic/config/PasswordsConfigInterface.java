@@ -45,4 +45,11 @@ public interface PasswordsConfigInterface {
     }
 
     List<PasswordsConfig> getPreviousVersions();
+
+    @Value.Default
+    default HashingExecutorConfig getExecutor() {
+        return HashingExecutorConfig.builder().build();
+    }
+
+    CalibrationConfig getCalibration();
 }
@@ -5,6 +5,7 @@ import com.google.inject.name.Named;
 import com.nexblocks.authguard.basic.config.PasswordlessConfig;
 import com.nexblocks.authguard.config.ConfigContext;
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.emb.MessageBus;
 import com.nexblocks.authguard.emb.Messages;
@@ -61,7 +62,7 @@ public class PasswordlessProvider implements AuthProvider {
                 .trackingSession(tokenOptions.getTrackingSession())
                 .build();
 
-        return accountTokensRepository.save(accountToken)
+        return accountTokensRepository.save(TokenType.PASSWORDLESS, accountToken)
                 .thenApply(persistedToken -> {
                     PasswordlessMessageBody messageBody =
                             new PasswordlessMessageBody(persistedToken, account, tokenOptions);
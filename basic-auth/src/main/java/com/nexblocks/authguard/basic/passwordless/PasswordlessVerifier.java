@@ -1,6 +1,7 @@
 package com.nexblocks.authguard.basic.passwordless;
 
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.service.auth.AuthVerifier;
 import com.nexblocks.authguard.service.exceptions.ServiceAuthorizationException;
@@ -29,7 +30,7 @@ public class PasswordlessVerifier implements AuthVerifier {
 
     @Override
     public CompletableFuture<Long> verifyAccountTokenAsync(final AuthRequest request) {
-        return accountTokensRepository.getByToken(request.getToken())
+        return accountTokensRepository.consume(TokenType.PASSWORDLESS, request.getToken())
                 .thenCompose(opt -> {
                     if (opt.isEmpty()) {
                         return CompletableFuture.failedFuture(new ServiceAuthorizationException(ErrorCode.INVALID_TOKEN,
@@ -9,11 +9,13 @@ import java.util.Objects;
 
 public abstract class AbstractSecurePassword implements SecurePassword {
     private final int saltSize;
+    private final CryptographicRandom random;
 
     protected abstract byte[] hashWithSalt(final String plain, final byte[] saltBytes);
 
     protected AbstractSecurePassword(final int saltSize) {
         this.saltSize = saltSize;
+        this.random = new CryptographicRandom();
     }
 
     @Override
@@ -41,8 +43,6 @@ public abstract class AbstractSecurePassword implements SecurePassword {
     }
 
     private byte[] generateSalt() {
-        final CryptographicRandom random = new CryptographicRandom();
-
         return random.bytes(saltSize);
     }
 }
@@ -32,6 +32,16 @@ public class Argon2Password extends AbstractSecurePassword {
         return result;
     }
 
+    @Override
+    public String getAlgorithm() {
+        return "argon2";
+    }
+
+    @Override
+    public int getMemoryCost() {
+        return config.getMemoryLimit();
+    }
+
     private Argon2Parameters createParameters(final byte[] saltBytes) {
         int iterations = config.getIterations();
         int memLimit = config.getMemoryLimit();
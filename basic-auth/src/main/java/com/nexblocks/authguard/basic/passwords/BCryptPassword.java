@@ -8,8 +8,8 @@ import com.google.inject.name.Named;
 import org.bouncycastle.crypto.generators.BCrypt;
 
 public class BCryptPassword extends AbstractSecurePassword {
-    private static final int COST = 4;
     private static final int SALT_SIZE = 16; // 128 bits
+    static final int STATE_SIZE_KB = 4; // the 4 KiB of S-boxes, bcrypt's state doesn't grow with the cost
 
     private final BCryptConfig config;
 
@@ -27,8 +27,18 @@ public class BCryptPassword extends AbstractSecurePassword {
         this(config.asConfigBean(PasswordsConfig.class).getBcrypt());
     }
 
+    @Override
+    public String getAlgorithm() {
+        return "bcrypt";
+    }
+
+    @Override
+    public int getMemoryCost() {
+        return STATE_SIZE_KB;
+    }
+
     @Override
     protected byte[] hashWithSalt(final String plain, final byte[] saltBytes) {
-        return BCrypt.generate(plain.getBytes(), saltBytes, COST);
+        return BCrypt.generate(plain.getBytes(), saltBytes, config.getCost());
     }
 }
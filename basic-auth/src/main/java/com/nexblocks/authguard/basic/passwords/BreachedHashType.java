@@ -0,0 +1,66 @@
+package com.nexblocks.authguard.basic.passwords;
+
+import org.bouncycastle.crypto.digests.MD4Digest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * The hash formats which breached password dumps are published in.
+ */
+public enum BreachedHashType {
+    SHA1(1, 20),
+    NTLM(2, 16);
+
+    private final int id;
+    private final int length;
+
+    BreachedHashType(final int id, final int length) {
+        this.id = id;
+        this.length = length;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public byte[] hash(final String password) {
+        switch (this) {
+            case SHA1:
+                try {
+                    return MessageDigest.getInstance("SHA-1")
+                            .digest(password.getBytes(StandardCharsets.UTF_8));
+                } catch (final NoSuchAlgorithmException e) {
+                    throw new IllegalStateException("SHA-1 is not available", e);
+                }
+
+            case NTLM:
+                byte[] input = password.getBytes(StandardCharsets.UTF_16LE);
+                byte[] output = new byte[length];
+                MD4Digest digest = new MD4Digest();
+
+                digest.update(input, 0, input.length);
+                digest.doFinal(output, 0);
+
+                return output;
+
+            default:
+                throw new IllegalStateException("Unsupported hash type " + this);
+        }
+    }
+
+    public static BreachedHashType fromId(final int id) {
+        for (BreachedHashType type : values()) {
+            if (type.id == id) {
+                return type;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown breached hash type " + id);
+    }
+}
@@ -0,0 +1,194 @@
+package com.nexblocks.authguard.basic.passwords;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A read-only, memory-mapped index of breached password hashes. The
+ * file is created by {@link BreachedPasswordIndexBuilder} and holds a
+ * fixed-size header followed by the hashes sorted as unsigned bytes.
+ * <p>
+ * Lookups don't copy anything to the heap. Since the hashes are
+ * uniformly distributed, an interpolation search on their first 8
+ * bytes finds most entries within a few probes, and the search falls
+ * back to a binary search if it doesn't converge.
+ * <p>
+ * Files larger than 2GB, like the full HIBP dump, are mapped in
+ * several segments.
+ */
+public class BreachedPasswordIndex {
+    static final byte[] MAGIC = "AGBP".getBytes(StandardCharsets.US_ASCII);
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 32;
+
+    private static final int MAX_INTERPOLATION_PROBES = 8;
+
+    private final BreachedHashType hashType;
+    private final int recordSize;
+    private final long count;
+    private final long recordsPerSegment;
+    private final MappedByteBuffer[] segments;
+
+    private BreachedPasswordIndex(final BreachedHashType hashType, final long count,
+                                  final MappedByteBuffer[] segments, final long recordsPerSegment) {
+        this.hashType = hashType;
+        this.recordSize = hashType.getLength();
+        this.count = count;
+        this.segments = segments;
+        this.recordsPerSegment = recordsPerSegment;
+    }
+
+    public static BreachedPasswordIndex open(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is complete
+            }
+
+            header.flip();
+
+            if (header.remaining() < HEADER_SIZE) {
+                throw new IOException("File " + path + " is too small to be a breached passwords index");
+            }
+
+            byte[] magic = new byte[MAGIC.length];
+            header.get(magic);
+
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("File " + path + " is not a breached passwords index");
+            }
+
+            int version = header.getInt();
+
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported breached passwords index version " + version);
+            }
+
+            BreachedHashType hashType = BreachedHashType.fromId(header.getInt());
+            long count = header.getLong();
+            int recordSize = hashType.getLength();
+
+            if (channel.size() != HEADER_SIZE + count * recordSize) {
+                throw new IOException("Breached passwords index " + path + " is truncated or corrupted");
+            }
+
+            long recordsPerSegment = Integer.MAX_VALUE / recordSize;
+            int segmentsCount = (int) Math.max(1, (count + recordsPerSegment - 1) / recordsPerSegment);
+            MappedByteBuffer[] segments = new MappedByteBuffer[segmentsCount];
+
+            for (int i = 0; i < segmentsCount; i++) {
+                long first = i * recordsPerSegment;
+                long records = Math.min(recordsPerSegment, count - first);
+
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_SIZE + first * recordSize, Math.max(records, 0) * recordSize);
+            }
+
+            return new BreachedPasswordIndex(hashType, count, segments, recordsPerSegment);
+        }
+    }
+
+    public BreachedHashType getHashType() {
+        return hashType;
+    }
+
+    public long size() {
+        return count;
+    }
+
+    public boolean contains(final String password) {
+        return contains(hashType.hash(password));
+    }
+
+    public boolean contains(final byte[] hash) {
+        if (hash.length != recordSize) {
+            throw new IllegalArgumentException("Expected a hash of " + recordSize + " bytes but got " + hash.length);
+        }
+
+        long target = prefix(hash);
+        long low = 0;
+        long high = count - 1;
+        int probes = 0;
+
+        while (low <= high) {
+            long mid = probes++ < MAX_INTERPOLATION_PROBES
+                    ? interpolate(low, high, target)
+                    : (low + high) >>> 1;
+
+            int comparison = compare(mid, hash);
+
+            if (comparison == 0) {
+                return true;
+            } else if (comparison < 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        return false;
+    }
+
+    private long interpolate(final long low, final long high, final long target) {
+        long lowKey = prefix(low);
+        long highKey = prefix(high);
+
+        if (Long.compareUnsigned(target, lowKey) <= 0) {
+            return low;
+        }
+
+        if (Long.compareUnsigned(target, highKey) >= 0) {
+            return high;
+        }
+
+        double fraction = toDouble(target - lowKey) / toDouble(highKey - lowKey);
+        long estimate = low + (long) (fraction * (high - low));
+
+        return Math.min(high, Math.max(low, estimate));
+    }
+
+    private int compare(final long record, final byte[] hash) {
+        ByteBuffer segment = segments[(int) (record / recordsPerSegment)];
+        int offset = (int) (record % recordsPerSegment) * recordSize;
+
+        for (int i = 0; i < recordSize; i++) {
+            int comparison = Integer.compare(segment.get(offset + i) & 0xFF, hash[i] & 0xFF);
+
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+
+        return 0;
+    }
+
+    private long prefix(final long record) {
+        ByteBuffer segment = segments[(int) (record / recordsPerSegment)];
+        int offset = (int) (record % recordsPerSegment) * recordSize;
+
+        return segment.getLong(offset);
+    }
+
+    private static long prefix(final byte[] hash) {
+        long prefix = 0;
+
+        for (int i = 0; i < Long.BYTES; i++) {
+            prefix = (prefix << 8) | (hash[i] & 0xFF);
+        }
+
+        return prefix;
+    }
+
+    private static double toDouble(final long unsigned) {
+        double value = (double) (unsigned >>> 1) * 2.0;
+
+        return value + (unsigned & 1);
+    }
+}
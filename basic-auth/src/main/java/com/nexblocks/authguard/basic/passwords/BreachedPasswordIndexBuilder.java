@@ -0,0 +1,231 @@
+package com.nexblocks.authguard.basic.passwords;
+
+import org.bouncycastle.util.encoders.DecoderException;
+import org.bouncycastle.util.encoders.Hex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Converts a text dump of breached password hashes into the binary
+ * format read by {@link BreachedPasswordIndex}. The dump is expected to
+ * have a hex-encoded hash at the start of each line, optionally
+ * followed by a colon and a count, like the HIBP downloads:
+ * <pre>
+ * 000000005AD76BD555C1D6D771DE417A4B87E4B4:10
+ * </pre>
+ * The dump doesn't need to be sorted. It's sorted in chunks which are
+ * merged at the end so that dumps larger than the heap can be
+ * converted. Duplicate and malformed lines are dropped.
+ * <p>
+ * Usage:
+ * <pre>
+ * java -cp basic-auth.jar:bcprov.jar:slf4j-api.jar \
+ *     com.nexblocks.authguard.basic.passwords.BreachedPasswordIndexBuilder \
+ *     pwned-passwords-sha1.txt breached.idx sha1
+ * </pre>
+ */
+public class BreachedPasswordIndexBuilder {
+    private static final Logger LOG = LoggerFactory.getLogger(BreachedPasswordIndexBuilder.class);
+
+    private static final int DEFAULT_CHUNK_SIZE = 4_000_000;
+
+    private final BreachedHashType hashType;
+    private final int chunkSize;
+
+    public BreachedPasswordIndexBuilder(final BreachedHashType hashType) {
+        this(hashType, DEFAULT_CHUNK_SIZE);
+    }
+
+    public BreachedPasswordIndexBuilder(final BreachedHashType hashType, final int chunkSize) {
+        this.hashType = hashType;
+        this.chunkSize = chunkSize;
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: BreachedPasswordIndexBuilder <input dump> <output index> [sha1|ntlm]");
+            System.exit(1);
+        }
+
+        BreachedHashType hashType = args.length == 3
+                ? BreachedHashType.valueOf(args[2].toUpperCase(Locale.ROOT))
+                : BreachedHashType.SHA1;
+
+        long count = new BreachedPasswordIndexBuilder(hashType).build(Paths.get(args[0]), Paths.get(args[1]));
+
+        System.out.println("Wrote " + count + " " + hashType + " hashes to " + args[1]);
+    }
+
+    /**
+     * @return The number of unique hashes written to the index.
+     */
+    public long build(final Path input, final Path output) throws IOException {
+        List<Path> chunks = new ArrayList<>();
+
+        try {
+            writeSortedChunks(input, chunks);
+
+            return merge(chunks, output);
+        } finally {
+            for (Path chunk : chunks) {
+                Files.deleteIfExists(chunk);
+            }
+        }
+    }
+
+    private void writeSortedChunks(final Path input, final List<Path> chunks) throws IOException {
+        List<byte[]> chunk = new ArrayList<>(Math.min(chunkSize, 1 << 16));
+        long malformed = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.US_ASCII)) {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                byte[] hash = parse(line);
+
+                if (hash == null) {
+                    if (!line.isBlank()) {
+                        malformed++;
+                    }
+
+                    continue;
+                }
+
+                chunk.add(hash);
+
+                if (chunk.size() == chunkSize) {
+                    chunks.add(writeChunk(chunk));
+                    chunk.clear();
+                }
+            }
+        }
+
+        if (!chunk.isEmpty() || chunks.isEmpty()) {
+            chunks.add(writeChunk(chunk));
+        }
+
+        if (malformed > 0) {
+            LOG.warn("Skipped {} malformed lines in {}", malformed, input);
+        }
+    }
+
+    private byte[] parse(final String line) {
+        int end = line.indexOf(':');
+        String hex = (end < 0 ? line : line.substring(0, end)).trim();
+
+        if (hex.length() != hashType.getLength() * 2) {
+            return null;
+        }
+
+        try {
+            return Hex.decode(hex);
+        } catch (final DecoderException e) {
+            return null;
+        }
+    }
+
+    private Path writeChunk(final List<byte[]> chunk) throws IOException {
+        chunk.sort(Arrays::compareUnsigned);
+
+        Path file = Files.createTempFile("breached-chunk", ".bin");
+
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            for (byte[] hash : chunk) {
+                out.write(hash);
+            }
+        }
+
+        return file;
+    }
+
+    private long merge(final List<Path> chunks, final Path output) throws IOException {
+        PriorityQueue<ChunkReader> queue = new PriorityQueue<>((a, b) -> Arrays.compareUnsigned(a.current, b.current));
+        List<ChunkReader> readers = new ArrayList<>(chunks.size());
+        long count = 0;
+
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(output))) {
+            out.write(new byte[BreachedPasswordIndex.HEADER_SIZE]);
+
+            for (Path chunk : chunks) {
+                ChunkReader reader = new ChunkReader(chunk, hashType.getLength());
+                readers.add(reader);
+
+                if (reader.next()) {
+                    queue.add(reader);
+                }
+            }
+
+            byte[] previous = null;
+
+            while (!queue.isEmpty()) {
+                ChunkReader reader = queue.poll();
+
+                if (previous == null || !Arrays.equals(previous, reader.current)) {
+                    out.write(reader.current);
+                    previous = reader.current.clone();
+                    count++;
+                }
+
+                if (reader.next()) {
+                    queue.add(reader);
+                }
+            }
+        } finally {
+            for (ChunkReader reader : readers) {
+                reader.close();
+            }
+        }
+
+        writeHeader(output, count);
+
+        return count;
+    }
+
+    private void writeHeader(final Path output, final long count) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(BreachedPasswordIndex.HEADER_SIZE)
+                .put(BreachedPasswordIndex.MAGIC)
+                .putInt(BreachedPasswordIndex.FORMAT_VERSION)
+                .putInt(hashType.getId())
+                .putLong(count);
+
+        header.rewind();
+
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.WRITE)) {
+            channel.write(header, 0);
+        }
+    }
+
+    private static class ChunkReader implements Closeable {
+        private final DataInputStream in;
+        private final byte[] current;
+
+        ChunkReader(final Path chunk, final int recordSize) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(chunk)));
+            this.current = new byte[recordSize];
+        }
+
+        boolean next() throws IOException {
+            try {
+                in.readFully(current);
+                return true;
+            } catch (final EOFException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.nexblocks.authguard.basic.passwords;
+
+import com.nexblocks.authguard.service.model.HashedPasswordBO;
+import org.bouncycastle.crypto.generators.Argon2BytesGenerator;
+import org.bouncycastle.crypto.params.Argon2Parameters;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Verifies argon2 hashes in the PHC string format, e.g.
+ * {@code $argon2id$v=19$m=65536,t=3,p=4$c29tZXNhbHQ$RdescudvJCsgt3ub+b+dWRWJTmaaJObG}.
+ * The argon2i and argon2d variants are supported as well.
+ */
+public class ForeignArgon2Password extends ForeignSecurePassword {
+    /*
+     * The memory of an imported hash comes from the hash itself and is
+     * allocated on every login, so hashes which ask for more than this
+     * are rejected.
+     */
+    public static final int MAX_MEMORY_KB = 262144; // 256 MiB
+
+    @Override
+    public String getAlgorithm() {
+        return "foreign-argon2";
+    }
+
+    @Override
+    public int getMemoryCost(final HashedPasswordBO hashed) {
+        return memoryOf(hashed).orElse(0);
+    }
+
+    @Override
+    public boolean canVerify(final HashedPasswordBO hashed) {
+        return memoryOf(hashed).isPresent();
+    }
+
+    /**
+     * @return The memory of the hash, or empty if it's malformed or
+     *         above {@link #MAX_MEMORY_KB}.
+     */
+    private Optional<Integer> memoryOf(final HashedPasswordBO hashed) {
+        if (hashed == null || hashed.getPassword() == null) {
+            return Optional.empty();
+        }
+
+        try {
+            Argon2Parameters parameters = parse(hashed.getPassword());
+
+            if (parameters == null || parameters.getMemory() > MAX_MEMORY_KB) {
+                return Optional.empty();
+            }
+
+            return Optional.of(parameters.getMemory());
+        } catch (final RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    protected boolean verifyEncoded(final String plain, final String encoded) {
+        Argon2Parameters parameters = parse(encoded);
+
+        if (parameters == null || parameters.getMemory() > MAX_MEMORY_KB) {
+            return false;
+        }
+
+        Argon2BytesGenerator generator = new Argon2BytesGenerator();
+        generator.init(parameters);
+
+        byte[] expected = Base64.getDecoder().decode(hashOf(encoded));
+        byte[] actual = new byte[expected.length];
+        generator.generateBytes(plain.getBytes(StandardCharsets.UTF_8), actual);
+
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    /**
+     * @return The parameters of the hash, or null if it doesn't have the
+     *         parts of a PHC string.
+     */
+    private Argon2Parameters parse(final String encoded) {
+        String[] parts = encoded.split("\\$");
+
+        // ["", type, (version), params, salt, hash]
+        if (parts.length != 5 && parts.length != 6) {
+            return null;
+        }
+
+        int type = parseType(parts[1]);
+        int version = Argon2Parameters.ARGON2_VERSION_10;
+        int paramsIndex = 2;
+
+        if (parts.length == 6) {
+            version = Integer.parseInt(parts[2].substring("v=".length()));
+            paramsIndex = 3;
+        }
+
+        Map<String, Integer> params = parseParameters(parts[paramsIndex]);
+        byte[] salt = Base64.getDecoder().decode(parts[paramsIndex + 1]);
+
+        return new Argon2Parameters.Builder(type)
+                .withVersion(version)
+                .withMemoryAsKB(params.get("m"))
+                .withIterations(params.get("t"))
+                .withParallelism(params.get("p"))
+                .withSalt(salt)
+                .build();
+    }
+
+    private String hashOf(final String encoded) {
+        return encoded.substring(encoded.lastIndexOf('$') + 1);
+    }
+
+    private int parseType(final String type) {
+        switch (type) {
+            case "argon2id":
+                return Argon2Parameters.ARGON2_id;
+
+            case "argon2i":
+                return Argon2Parameters.ARGON2_i;
+
+            case "argon2d":
+                return Argon2Parameters.ARGON2_d;
+
+            default:
+                throw new IllegalArgumentException("Unknown argon2 type " + type);
+        }
+    }
+
+    private Map<String, Integer> parseParameters(final String encoded) {
+        Map<String, Integer> params = new HashMap<>();
+
+        for (String param : encoded.split(",")) {
+            String[] pair = param.split("=", 2);
+            params.put(pair[0], Integer.parseInt(pair[1]));
+        }
+
+        if (!params.keySet().containsAll(List.of("m", "t", "p"))) {
+            throw new IllegalArgumentException("Missing argon2 parameters");
+        }
+
+        return params;
+    }
+}
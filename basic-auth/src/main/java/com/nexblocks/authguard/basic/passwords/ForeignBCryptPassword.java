@@ -0,0 +1,28 @@
+package com.nexblocks.authguard.basic.passwords;
+
+import org.bouncycastle.crypto.generators.OpenBSDBCrypt;
+
+/**
+ * Verifies bcrypt hashes in the modular crypt format, e.g.
+ * {@code $2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy}.
+ */
+public class ForeignBCryptPassword extends ForeignSecurePassword {
+    @Override
+    public String getAlgorithm() {
+        return "foreign-bcrypt";
+    }
+
+    @Override
+    public int getMemoryCost() {
+        return BCryptPassword.STATE_SIZE_KB;
+    }
+
+    @Override
+    protected boolean verifyEncoded(final String plain, final String encoded) {
+        if (!encoded.startsWith("$2")) {
+            return false;
+        }
+
+        return OpenBSDBCrypt.checkPassword(encoded, plain.toCharArray());
+    }
+}
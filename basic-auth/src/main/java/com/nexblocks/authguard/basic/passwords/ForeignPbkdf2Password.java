@@ -0,0 +1,78 @@
+package com.nexblocks.authguard.basic.passwords;
+
+import org.bouncycastle.crypto.Digest;
+import org.bouncycastle.crypto.digests.SHA1Digest;
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.digests.SHA512Digest;
+import org.bouncycastle.crypto.generators.PKCS5S2ParametersGenerator;
+import org.bouncycastle.crypto.params.KeyParameter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Verifies PBKDF2 hashes in the formats used by Django and passlib:
+ * <ul>
+ *     <li>{@code pbkdf2_sha256$260000$<salt>$<base64 hash>}, where the
+ *     salt is used as is</li>
+ *     <li>{@code $pbkdf2-sha256$29000$<ab64 salt>$<ab64 hash>}, where
+ *     both are encoded in passlib's adapted base64</li>
+ * </ul>
+ * SHA-1, SHA-256 and SHA-512 are supported in both.
+ */
+public class ForeignPbkdf2Password extends ForeignSecurePassword {
+    @Override
+    public String getAlgorithm() {
+        return "foreign-pbkdf2";
+    }
+
+    @Override
+    protected boolean verifyEncoded(final String plain, final String encoded) {
+        String[] parts = encoded.split("\\$");
+
+        if (parts.length == 4 && parts[0].startsWith("pbkdf2_")) {
+            return verify(plain, parts[0].substring("pbkdf2_".length()), Integer.parseInt(parts[1]),
+                    parts[2].getBytes(StandardCharsets.UTF_8), Base64.getDecoder().decode(parts[3]));
+        }
+
+        if (parts.length == 5 && parts[0].isEmpty() && parts[1].startsWith("pbkdf2")) {
+            String digest = parts[1].equals("pbkdf2") ? "sha1" : parts[1].substring("pbkdf2-".length());
+
+            return verify(plain, digest, Integer.parseInt(parts[2]),
+                    decodeAdaptedBase64(parts[3]), decodeAdaptedBase64(parts[4]));
+        }
+
+        return false;
+    }
+
+    private boolean verify(final String plain, final String digest, final int iterations,
+                           final byte[] salt, final byte[] expected) {
+        PKCS5S2ParametersGenerator generator = new PKCS5S2ParametersGenerator(createDigest(digest));
+        generator.init(plain.getBytes(StandardCharsets.UTF_8), salt, iterations);
+
+        byte[] actual = ((KeyParameter) generator.generateDerivedParameters(expected.length * 8)).getKey();
+
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    private Digest createDigest(final String name) {
+        switch (name) {
+            case "sha1":
+                return new SHA1Digest();
+
+            case "sha256":
+                return new SHA256Digest();
+
+            case "sha512":
+                return new SHA512Digest();
+
+            default:
+                throw new IllegalArgumentException("Unsupported PBKDF2 digest " + name);
+        }
+    }
+
+    private byte[] decodeAdaptedBase64(final String encoded) {
+        return Base64.getDecoder().decode(encoded.replace('.', '+'));
+    }
+}
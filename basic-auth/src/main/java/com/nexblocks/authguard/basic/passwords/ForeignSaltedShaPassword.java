@@ -0,0 +1,73 @@
+package com.nexblocks.authguard.basic.passwords;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * Verifies the salted and unsalted SHA hashes used by LDAP directories:
+ * {@code {SSHA}}, {@code {SSHA256}}, {@code {SSHA512}} and {@code {SHA}}.
+ * The salted schemes are base64(digest(password + salt) + salt).
+ */
+public class ForeignSaltedShaPassword extends ForeignSecurePassword {
+    @Override
+    public String getAlgorithm() {
+        return "foreign-salted-sha";
+    }
+
+    @Override
+    protected boolean verifyEncoded(final String plain, final String encoded) {
+        int end = encoded.indexOf('}');
+
+        if (!encoded.startsWith("{") || end < 0) {
+            return false;
+        }
+
+        String scheme = encoded.substring(1, end).toUpperCase(Locale.ROOT);
+        byte[] decoded = Base64.getDecoder().decode(encoded.substring(end + 1));
+
+        switch (scheme) {
+            case "SHA":
+                return verify(plain, "SHA-1", decoded, false);
+
+            case "SSHA":
+                return verify(plain, "SHA-1", decoded, true);
+
+            case "SSHA256":
+                return verify(plain, "SHA-256", decoded, true);
+
+            case "SSHA512":
+                return verify(plain, "SHA-512", decoded, true);
+
+            default:
+                return false;
+        }
+    }
+
+    private boolean verify(final String plain, final String algorithm, final byte[] decoded, final boolean salted) {
+        MessageDigest digest;
+
+        try {
+            digest = MessageDigest.getInstance(algorithm);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(algorithm + " is not available", e);
+        }
+
+        int digestLength = digest.getDigestLength();
+
+        if (decoded.length < digestLength || (!salted && decoded.length != digestLength)) {
+            return false;
+        }
+
+        byte[] expected = Arrays.copyOfRange(decoded, 0, digestLength);
+        byte[] salt = Arrays.copyOfRange(decoded, digestLength, decoded.length);
+
+        digest.update(plain.getBytes(StandardCharsets.UTF_8));
+        digest.update(salt);
+
+        return MessageDigest.isEqual(expected, digest.digest());
+    }
+}
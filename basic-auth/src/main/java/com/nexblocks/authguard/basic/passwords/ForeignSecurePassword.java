@@ -0,0 +1,33 @@
+package com.nexblocks.authguard.basic.passwords;
+
+import com.nexblocks.authguard.service.model.HashedPasswordBO;
+
+/**
+ * The base of the implementations which verify password hashes
+ * imported from other identity providers. The whole encoded hash is
+ * stored as the password, since these formats carry their own salt and
+ * parameters. They can't create new hashes; a password verified with
+ * one of them is re-hashed with the current version on login.
+ */
+public abstract class ForeignSecurePassword implements SecurePassword {
+    @Override
+    public HashedPasswordBO hash(final String plain) {
+        throw new UnsupportedOperationException(getAlgorithm() + " can only be used to verify imported passwords");
+    }
+
+    @Override
+    public boolean verify(final String plain, final HashedPasswordBO hashed) {
+        if (hashed == null || hashed.getPassword() == null) {
+            return false;
+        }
+
+        try {
+            return verifyEncoded(plain, hashed.getPassword());
+        } catch (final RuntimeException e) {
+            // a malformed hash is treated as a mismatch
+            return false;
+        }
+    }
+
+    protected abstract boolean verifyEncoded(String plain, String encoded);
+}
@@ -0,0 +1,55 @@
+package com.nexblocks.authguard.basic.passwords;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency counters of a single password hashing algorithm.
+ */
+public class HashingStats {
+    private final String algorithm;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder rejected = new LongAdder();
+
+    HashingStats(final String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    void record(final long nanos) {
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    void reject() {
+        rejected.increment();
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getAverageNanos() {
+        long total = count.sum();
+
+        return total == 0 ? 0 : totalNanos.sum() / total;
+    }
+}
@@ -0,0 +1,216 @@
+package com.nexblocks.authguard.basic.passwords;
+
+import com.nexblocks.authguard.basic.config.*;
+import com.nexblocks.authguard.service.config.ConfigParser;
+import com.nexblocks.authguard.service.exceptions.ConfigurationException;
+import com.nexblocks.authguard.service.util.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Benchmarks the configured password algorithm on the current host
+ * and finds the strongest parameters which keep the p99 latency of a
+ * single hash under the target while the configured number of hashes
+ * run concurrently.
+ * <p>
+ * The result is a new password version. The current configuration is
+ * moved to the previous versions so that existing hashes can still be
+ * verified. The calibrated configuration is never applied on its own;
+ * it has to be added to the configuration file, otherwise passwords
+ * hashed with it couldn't be verified after a restart.
+ */
+public class PasswordCalibrator {
+    private static final Logger LOG = LoggerFactory.getLogger(PasswordCalibrator.class);
+
+    private static final String CALIBRATION_PASSWORD = "calibration-Password-1";
+
+    private static final int MIN_BCRYPT_COST = 8;
+    private static final int MAX_BCRYPT_COST = 31;
+    private static final int MIN_SCRYPT_COST_LOG2 = 12;
+    private static final int MAX_SCRYPT_COST_LOG2 = 20;
+    private static final int MIN_ARGON_MEMORY_KB = 8 * 1024;
+    private static final int MAX_ARGON_MEMORY_KB = 1024 * 1024;
+    private static final int MIN_PBKDF2_ITERATIONS = 100_000;
+    private static final int MAX_PBKDF2_STEPS = 12;
+
+    private final CalibrationConfig config;
+    private final Duration targetLatency;
+
+    public PasswordCalibrator(final CalibrationConfig config) {
+        this.config = config;
+        this.targetLatency = ConfigParser.parseDuration(config.getTargetLatency());
+    }
+
+    public PasswordsConfig calibrate(final PasswordsConfig current) {
+        PasswordsConfig best = null;
+
+        for (int step = 0; step < config.getMaxSteps(); step++) {
+            PasswordsConfig candidate = candidate(current, step);
+
+            if (candidate == null) {
+                break;
+            }
+
+            Duration p99 = measure(SecurePasswordProvider.parsePasswordConfiguration(candidate));
+
+            LOG.info("Calibration step {} for {}. p99={}ms, target={}ms",
+                    step, current.getAlgorithm(), p99.toMillis(), targetLatency.toMillis());
+
+            if (p99.compareTo(targetLatency) > 0) {
+                break;
+            }
+
+            best = candidate;
+        }
+
+        if (best == null) {
+            LOG.warn("The weakest calibration candidate for {} couldn't meet the target latency of {}ms",
+                    current.getAlgorithm(), targetLatency.toMillis());
+
+            best = candidate(current, 0);
+        }
+
+        List<PasswordsConfig> previousVersions = new ArrayList<>(current.getPreviousVersions());
+        previousVersions.add(PasswordsConfig.builder()
+                .from(current)
+                .previousVersions(new ArrayList<>())
+                .calibration(null)
+                .build());
+
+        return PasswordsConfig.builder()
+                .from(best)
+                .version(current.getVersion() + 1)
+                .previousVersions(previousVersions)
+                .build();
+    }
+
+    /**
+     * Creates the candidate of a given step, where every step roughly
+     * doubles the cost of the previous one.
+     *
+     * @return The candidate, or null if the algorithm can't go any further.
+     */
+    private PasswordsConfig candidate(final PasswordsConfig current, final int step) {
+        PasswordsConfig.Builder builder = PasswordsConfig.builder().from(current);
+
+        switch (current.getAlgorithm()) {
+            case "bcrypt":
+                int cost = MIN_BCRYPT_COST + step;
+
+                if (cost > MAX_BCRYPT_COST) {
+                    return null;
+                }
+
+                return builder.bcrypt(BCryptConfig.builder()
+                                .from(current.getBcrypt())
+                                .cost(cost)
+                                .build())
+                        .build();
+
+            case "scrypt":
+                if (MIN_SCRYPT_COST_LOG2 + step > MAX_SCRYPT_COST_LOG2) {
+                    return null;
+                }
+
+                return builder.scrypt(SCryptConfig.builder()
+                                .from(current.getScrypt())
+                                .cPUMemoryCostParameter(1 << (MIN_SCRYPT_COST_LOG2 + step))
+                                .build())
+                        .build();
+
+            case "argon2":
+                long memory = (long) MIN_ARGON_MEMORY_KB << step;
+
+                if (memory > maxArgonMemory(current)) {
+                    return null;
+                }
+
+                return builder.argon(ArgonConfig.builder()
+                                .from(current.getArgon())
+                                .memoryLimit((int) memory)
+                                .build())
+                        .build();
+
+            case "pbkdf2":
+                Pbkdf2Config pbkdf2 = current.getPbkdf2() != null
+                        ? current.getPbkdf2()
+                        : Pbkdf2Config.builder().hashingAlgorithm(Pbkdf2Config.Pkdf2HashingAlgorithm.SHA_256).build();
+
+                if (step > MAX_PBKDF2_STEPS) {
+                    return null;
+                }
+
+                return builder.pbkdf2(Pbkdf2Config.builder()
+                                .from(pbkdf2)
+                                .iterations(MIN_PBKDF2_ITERATIONS << step)
+                                .build())
+                        .build();
+
+            default:
+                throw new ConfigurationException("Unsupported password algorithm " + current.getAlgorithm());
+        }
+    }
+
+    /**
+     * Argon2 memory is capped so that all concurrent hashes fit within
+     * the memory budget of the hashing executor, if one was set.
+     */
+    private long maxArgonMemory(final PasswordsConfig current) {
+        int budget = current.getExecutor().getMemoryBudget();
+
+        if (budget <= 0) {
+            return MAX_ARGON_MEMORY_KB;
+        }
+
+        return Math.min(MAX_ARGON_MEMORY_KB, budget / config.getConcurrency());
+    }
+
+    private Duration measure(final SecurePassword securePassword) {
+        int concurrency = config.getConcurrency();
+        int samples = config.getSamples();
+        long[] latencies = new long[concurrency * samples];
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, new NamedThreadFactory("calibration"));
+
+        try {
+            securePassword.hash(CALIBRATION_PASSWORD); // warm up
+
+            List<Future<?>> tasks = new ArrayList<>(concurrency);
+
+            for (int thread = 0; thread < concurrency; thread++) {
+                int offset = thread * samples;
+
+                tasks.add(executor.submit(() -> {
+                    for (int i = 0; i < samples; i++) {
+                        long start = System.nanoTime();
+                        securePassword.hash(CALIBRATION_PASSWORD);
+                        latencies[offset + i] = System.nanoTime() - start;
+                    }
+                }));
+            }
+
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Password calibration was interrupted", e);
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException("Password calibration failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Arrays.sort(latencies);
+
+        int p99Index = (int) Math.ceil(latencies.length * 0.99) - 1;
+
+        return Duration.ofNanos(latencies[Math.max(p99Index, 0)]);
+    }
+}
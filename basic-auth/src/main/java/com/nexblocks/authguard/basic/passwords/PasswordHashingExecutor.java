@@ -0,0 +1,165 @@
+package com.nexblocks.authguard.basic.passwords;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.nexblocks.authguard.basic.config.HashingExecutorConfig;
+import com.nexblocks.authguard.basic.config.PasswordsConfig;
+import com.nexblocks.authguard.config.ConfigContext;
+import com.nexblocks.authguard.metrics.Counter;
+import com.nexblocks.authguard.metrics.LatencyHistogram;
+import com.nexblocks.authguard.metrics.MetricFamily;
+import com.nexblocks.authguard.metrics.MetricsRegistry;
+import com.nexblocks.authguard.service.concurrent.BoundedExecutor;
+import com.nexblocks.authguard.service.concurrent.ExecutionPools;
+import com.nexblocks.authguard.service.exceptions.ServiceUnavailableException;
+import com.nexblocks.authguard.service.exceptions.codes.ErrorCode;
+import com.nexblocks.authguard.service.model.HashedPasswordBO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Runs all password hashing and verification on a dedicated, bounded
+ * pool so that a burst of logins can't take over the server threads.
+ * Operations which can't be queued are rejected right away with a
+ * {@link ServiceUnavailableException} instead of piling up, and
+ * memory-hard algorithms are only started when they fit within the
+ * configured memory budget.
+ */
+@Singleton
+public class PasswordHashingExecutor {
+    private static final Logger LOG = LoggerFactory.getLogger(PasswordHashingExecutor.class);
+
+    private static final String UNKNOWN_ALGORITHM = "unknown";
+
+    private final BoundedExecutor executor;
+    private final Semaphore memoryBudget;
+    private final int memoryBudgetKb;
+    private final Map<String, HashingStats> stats = new ConcurrentHashMap<>();
+
+    private final MetricFamily<Counter> operations;
+    private final MetricFamily<LatencyHistogram> durations;
+
+    @Inject
+    public PasswordHashingExecutor(final @Named("passwords") ConfigContext config,
+                                   final ExecutionPools executionPools,
+                                   final MetricsRegistry metrics) {
+        this(config.asConfigBean(PasswordsConfig.class).getExecutor(), metrics);
+
+        executionPools.register(executor);
+    }
+
+    public PasswordHashingExecutor(final HashingExecutorConfig config) {
+        this(config, new MetricsRegistry());
+    }
+
+    public PasswordHashingExecutor(final HashingExecutorConfig config, final MetricsRegistry metrics) {
+        this.operations = metrics.counter("authguard_password_hashing_operations_total",
+                "Password hashing and verification operations by algorithm and outcome",
+                "algorithm", "result");
+        this.durations = metrics.latency("authguard_password_hashing_duration_seconds",
+                "Time taken to hash or verify a password, without waiting in the queue",
+                "algorithm");
+        this.executor = BoundedExecutor.rejectingWhenFull("hashing", config.getConcurrency(),
+                config.getQueueSize());
+        this.memoryBudgetKb = config.getMemoryBudget();
+        this.memoryBudget = memoryBudgetKb > 0 ? new Semaphore(memoryBudgetKb, true) : null;
+
+        LOG.info("Password hashing executor initialized. concurrency={}, queueSize={}, memoryBudget={}KB",
+                config.getConcurrency(), config.getQueueSize(), memoryBudgetKb);
+    }
+
+    public CompletableFuture<HashedPasswordBO> hash(final SecurePassword securePassword, final String plain) {
+        return submit(securePassword, securePassword.getMemoryCost(), () -> securePassword.hash(plain));
+    }
+
+    public CompletableFuture<Boolean> verify(final SecurePassword securePassword, final String plain,
+                                             final HashedPasswordBO hashed) {
+        return submit(securePassword, securePassword.getMemoryCost(hashed),
+                () -> securePassword.verify(plain, hashed));
+    }
+
+    /**
+     * @return The latency counters of each algorithm which was used so far.
+     */
+    public Map<String, HashingStats> getStats() {
+        return Collections.unmodifiableMap(stats);
+    }
+
+    public int getQueuedCount() {
+        return executor.getQueuedCount();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    private <T> CompletableFuture<T> submit(final SecurePassword securePassword, final int memoryCost,
+                                            final Supplier<T> operation) {
+        String algorithm = securePassword.getAlgorithm() == null ? UNKNOWN_ALGORITHM : securePassword.getAlgorithm();
+        HashingStats algorithmStats = stats.computeIfAbsent(algorithm, HashingStats::new);
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        try {
+            executor.execute(() -> run(memoryCost, operation, algorithmStats, future));
+        } catch (final RejectedExecutionException e) {
+            algorithmStats.reject();
+            operations.labels(algorithm, "rejected").increment();
+
+            future.completeExceptionally(new ServiceUnavailableException(ErrorCode.PASSWORD_HASHING_OVERLOADED,
+                    "Too many password operations are in progress, try again later"));
+        }
+
+        return future;
+    }
+
+    private <T> void run(final int memoryCost, final Supplier<T> operation,
+                         final HashingStats algorithmStats, final CompletableFuture<T> future) {
+        /*
+         * An algorithm which needs more than the whole budget would never
+         * be able to run, so it's allowed to take all of it instead.
+         */
+        int permits = memoryBudget == null ? 0 : Math.min(memoryCost, memoryBudgetKb);
+
+        try {
+            if (permits > 0) {
+                memoryBudget.acquire(permits);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+            return;
+        }
+
+        long start = System.nanoTime();
+        T result = null;
+        Throwable error = null;
+
+        try {
+            result = operation.get();
+        } catch (final Throwable e) {
+            error = e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+
+            algorithmStats.record(elapsed);
+            durations.labels(algorithmStats.getAlgorithm()).record(elapsed);
+            operations.labels(algorithmStats.getAlgorithm(), error == null ? "success" : "failure").increment();
+
+            if (permits > 0) {
+                memoryBudget.release(permits);
+            }
+        }
+
+        if (error != null) {
+            future.completeExceptionally(error);
+        } else {
+            future.complete(result);
+        }
+    }
+}
@@ -1,23 +1,30 @@
 package com.nexblocks.authguard.basic.passwords;
 
+import com.google.inject.Singleton;
 import com.nexblocks.authguard.basic.config.PasswordsConfig;
 import com.nexblocks.authguard.config.ConfigContext;
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
+import com.nexblocks.authguard.service.exceptions.ConfigurationException;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 
+@Singleton
 public class PasswordValidator {
     private final PasswordsConfig config;
+    private final BreachedPasswordIndex breachedPasswords;
 
     @Inject
     public PasswordValidator(final @Named("passwords") ConfigContext config) {
-        this.config = config.asConfigBean(PasswordsConfig.class);
+        this(config.asConfigBean(PasswordsConfig.class));
     }
 
     public PasswordValidator(final PasswordsConfig config) {
         this.config = config;
+        this.breachedPasswords = openBreachedPasswords(config);
     }
 
     public List<Violation> findViolations(final String password) {
@@ -47,6 +54,24 @@ public class PasswordValidator {
             violations.add(new Violation(Violation.Type.INVALID_SIZE, message));
         }
 
+        if (breachedPasswords != null && breachedPasswords.contains(password)) {
+            violations.add(new Violation(Violation.Type.BREACHED, "Must not be a known breached password"));
+        }
+
         return violations;
     }
+
+    private static BreachedPasswordIndex openBreachedPasswords(final PasswordsConfig config) {
+        String indexPath = config.getConditions().getBreachedPasswordsIndex();
+
+        if (indexPath == null) {
+            return null;
+        }
+
+        try {
+            return BreachedPasswordIndex.open(Paths.get(indexPath));
+        } catch (final IOException e) {
+            throw new ConfigurationException("Failed to open breached passwords index " + indexPath, e);
+        }
+    }
 }
@@ -38,6 +38,11 @@ public class Pbkdf2Password extends AbstractSecurePassword {
         }
     }
 
+    @Override
+    public String getAlgorithm() {
+        return "pbkdf2";
+    }
+
     @Override
     protected byte[] hashWithSalt(String plain, byte[] saltBytes) {
         KeySpec spec = new PBEKeySpec(plain.toCharArray(), saltBytes,
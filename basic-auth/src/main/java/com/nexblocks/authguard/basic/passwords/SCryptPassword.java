@@ -25,6 +25,21 @@ public class SCryptPassword extends AbstractSecurePassword {
         this(config.asConfigBean(PasswordsConfig.class).getScrypt());
     }
 
+    @Override
+    public String getAlgorithm() {
+        return "scrypt";
+    }
+
+    /**
+     * SCrypt needs 128 * N * r bytes for its working memory.
+     */
+    @Override
+    public int getMemoryCost() {
+        long bytes = 128L * config.getCPUMemoryCostParameter() * config.getBlockSize();
+
+        return (int) Math.min(Integer.MAX_VALUE, bytes / 1024);
+    }
+
     @Override
     protected byte[] hashWithSalt(final String plain, final byte[] saltBytes) {
         return SCrypt.generate(plain.getBytes(), saltBytes, config.getCPUMemoryCostParameter(),
@@ -11,4 +11,38 @@ import com.nexblocks.authguard.service.model.HashedPasswordBO;
 public interface SecurePassword {
     HashedPasswordBO hash(String plain);
     boolean verify(String plain, HashedPasswordBO hashed);
+
+    /**
+     * The name of the algorithm, used to label hashing metrics.
+     */
+    default String getAlgorithm() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * An estimate of the memory, in KB, which a single hash or
+     * verification needs. It's used by {@link PasswordHashingExecutor}
+     * to keep memory-hard algorithms within the configured budget.
+     */
+    default int getMemoryCost() {
+        return 0;
+    }
+
+    /**
+     * The memory, in KB, which verifying the given hash needs. It's the
+     * same as {@link #getMemoryCost()} unless the implementation takes
+     * its parameters from the hash itself.
+     */
+    default int getMemoryCost(HashedPasswordBO hashed) {
+        return getMemoryCost();
+    }
+
+    /**
+     * Whether a hash which is imported as it is can be verified. It's
+     * used to reject imported hashes with parameters beyond the limits
+     * of the implementation.
+     */
+    default boolean canVerify(HashedPasswordBO hashed) {
+        return true;
+    }
 }
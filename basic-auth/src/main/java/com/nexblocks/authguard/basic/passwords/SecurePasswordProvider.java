@@ -12,13 +12,22 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 public class SecurePasswordProvider {
+    /*
+     * Reserved versions of passwords imported from other identity
+     * providers. They're always registered as previous versions.
+     */
+    public static final int FOREIGN_BCRYPT_VERSION = -1;
+    public static final int FOREIGN_ARGON2_VERSION = -2;
+    public static final int FOREIGN_PBKDF2_VERSION = -3;
+    public static final int FOREIGN_SALTED_SHA_VERSION = -4;
+
     private final SecurePassword securePassword;
     private final boolean expirePasswords;
     private final Duration passwordTtl;
     private final Integer currentVersion;
     private final Integer minimumVersion;
 
-    private Map<Integer, SecurePassword> previousVersions;
+    private final Map<Integer, SecurePassword> previousVersions;
 
     @Inject
     public SecurePasswordProvider(final @Named("passwords") ConfigContext config) {
@@ -36,10 +45,21 @@ public class SecurePasswordProvider {
             passwordTtl = null;
         }
 
+        this.previousVersions = new HashMap<>();
+
         if (passwordsConfig.getPreviousVersions() != null) {
-            this.previousVersions = passwordsConfig.getPreviousVersions().stream()
-                    .collect(Collectors.toMap(PasswordsConfig::getVersion, this::parsePasswordConfiguration));
+            this.previousVersions.putAll(passwordsConfig.getPreviousVersions().stream()
+                    .collect(Collectors.toMap(PasswordsConfig::getVersion, SecurePasswordProvider::parsePasswordConfiguration)));
         }
+
+        this.previousVersions.put(FOREIGN_BCRYPT_VERSION, new ForeignBCryptPassword());
+        this.previousVersions.put(FOREIGN_ARGON2_VERSION, new ForeignArgon2Password());
+        this.previousVersions.put(FOREIGN_PBKDF2_VERSION, new ForeignPbkdf2Password());
+        this.previousVersions.put(FOREIGN_SALTED_SHA_VERSION, new ForeignSaltedShaPassword());
+    }
+
+    public static boolean isForeignVersion(final Integer version) {
+        return version != null && version < 0;
     }
 
     public SecurePassword get() {
@@ -66,7 +86,7 @@ public class SecurePasswordProvider {
         return previousVersions;
     }
 
-    private SecurePassword parsePasswordConfiguration(final PasswordsConfig passwordsConfig) {
+    static SecurePassword parsePasswordConfiguration(final PasswordsConfig passwordsConfig) {
         switch (passwordsConfig.getAlgorithm()) {
             case "scrypt":
                 return new SCryptPassword(passwordsConfig.getScrypt());
@@ -6,7 +6,8 @@ public class Violation {
         NOT_ENOUGH_SMALL_LETTERS,
         NOT_ENOUGH_DIGITS,
         NOT_ENOUGH_SPECIAL_CHARS,
-        INVALID_SIZE
+        INVALID_SIZE,
+        BREACHED
     }
 
     private final Type type;
@@ -2,6 +2,7 @@ package com.nexblocks.authguard.basic.totp;
 
 import com.google.inject.Inject;
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.emb.MessageBus;
 import com.nexblocks.authguard.emb.Messages;
@@ -76,7 +77,7 @@ public class TotpProvider implements AuthProvider {
                 .tokenRestrictions(serviceMapper.toDO(restrictions))
                 .build();
 
-        return accountTokensRepository.save(accountToken)
+        return accountTokensRepository.save(TokenType.TOTP_LINKER, accountToken)
                 .thenApply(persisted -> {
                     TotpLinkerMessageBody messageBody = new TotpLinkerMessageBody(token, account,
                             options);
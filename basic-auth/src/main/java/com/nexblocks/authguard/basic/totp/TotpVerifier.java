@@ -13,6 +13,7 @@ import com.google.inject.Inject;
 import com.google.inject.name.Named;
 import com.nexblocks.authguard.config.ConfigContext;
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.service.TotpKeysService;
 import com.nexblocks.authguard.service.auth.AuthVerifier;
@@ -81,7 +82,7 @@ public class TotpVerifier implements AuthVerifier {
         String accountToken = parts[0];
         String totp = parts[1];
 
-        return accountTokensRepository.getByToken(accountToken)
+        return accountTokensRepository.consume(TokenType.TOTP_LINKER, accountToken)
                 .thenCompose(opt -> {
                     if (opt.isPresent()) {
                         return AsyncUtils.fromTry(checkIfExpired(opt.get()));
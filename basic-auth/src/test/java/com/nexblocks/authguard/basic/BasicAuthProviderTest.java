@@ -2,6 +2,9 @@ package com.nexblocks.authguard.basic;
 
 
 import com.google.common.collect.ImmutableMap;
+import com.nexblocks.authguard.basic.config.HashingExecutorConfig;
+import com.nexblocks.authguard.basic.passwords.ForeignPbkdf2Password;
+import com.nexblocks.authguard.basic.passwords.PasswordHashingExecutor;
 import com.nexblocks.authguard.basic.passwords.SecurePassword;
 import com.nexblocks.authguard.basic.passwords.SecurePasswordProvider;
 import com.nexblocks.authguard.service.AccountsService;
@@ -53,7 +56,8 @@ class BasicAuthProviderTest {
                         .sessionToken("tracking-token")
                         .build()));
 
-        basicAuth = new BasicAuthProvider(accountsService, securePasswordProvider, trackingSessionsService);
+        basicAuth = new BasicAuthProvider(accountsService, securePasswordProvider,
+                new PasswordHashingExecutor(HashingExecutorConfig.builder().build()), trackingSessionsService);
     }
 
     private AccountBO createCredentials(String username) {
@@ -83,7 +87,7 @@ class BasicAuthProviderTest {
 
         AccountBO credentials = createCredentials(username);
 
-        Mockito.when(accountsService.getByIdentifierUnsafe(username, "global"))
+        Mockito.when(accountsService.getAuthAccountByIdentifier(username, "global"))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(credentials)));
         Mockito.when(securePassword.verify(eq(password), eq(credentials.getHashedPassword()))).thenReturn(true);
 
@@ -101,7 +105,7 @@ class BasicAuthProviderTest {
         AccountBO credentials = createCredentials(username)
                 .withActive(false);
 
-        Mockito.when(accountsService.getByIdentifierUnsafe(username, "global"))
+        Mockito.when(accountsService.getAuthAccountByIdentifier(username, "global"))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(credentials)));
         Mockito.when(securePassword.verify(eq(password), eq(credentials.getHashedPassword()))).thenReturn(true);
 
@@ -123,7 +127,7 @@ class BasicAuthProviderTest {
                         .active(false)
                         .build());
 
-        Mockito.when(accountsService.getByIdentifierUnsafe(username, "global"))
+        Mockito.when(accountsService.getAuthAccountByIdentifier(username, "global"))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(credentials)));
 
         assertThatThrownBy(() -> basicAuth.authenticateAndGetAccount(authorization).join())
@@ -137,7 +141,7 @@ class BasicAuthProviderTest {
         String password = "password";
         String authorization = Base64.getEncoder().encodeToString((username + ":" + password).getBytes());
 
-        Mockito.when(accountsService.getByIdentifierUnsafe(username, "global"))
+        Mockito.when(accountsService.getAuthAccountByIdentifier(username, "global"))
                 .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
 
         assertThatThrownBy(() -> basicAuth.authenticateAndGetAccount(authorization).join())
@@ -153,7 +157,7 @@ class BasicAuthProviderTest {
 
         AccountBO credentials = createCredentials(username);
 
-        Mockito.when(accountsService.getByIdentifierUnsafe(username, "global"))
+        Mockito.when(accountsService.getAuthAccountByIdentifier(username, "global"))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(credentials)));
         Mockito.when(securePassword.verify(eq(password), eq(credentials.getHashedPassword()))).thenReturn(false);
 
@@ -171,7 +175,7 @@ class BasicAuthProviderTest {
         AccountBO credentials = createCredentials(username)
                 .withPasswordUpdatedAt(Instant.now().minus(Duration.ofMinutes(5)));
 
-        Mockito.when(accountsService.getByIdentifierUnsafe(username, "global"))
+        Mockito.when(accountsService.getAuthAccountByIdentifier(username, "global"))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(credentials)));
         Mockito.when(securePassword.verify(eq(password), eq(credentials.getHashedPassword()))).thenReturn(true);
 
@@ -193,7 +197,7 @@ class BasicAuthProviderTest {
                 .withActive(true)
                 .withPasswordVersion(0);
 
-        Mockito.when(accountsService.getByIdentifierUnsafe(username, "global"))
+        Mockito.when(accountsService.getAuthAccountByIdentifier(username, "global"))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(credentials)));
         Mockito.when(previousSecurePassword.verify(eq(password), eq(credentials.getHashedPassword())))
                 .thenReturn(true);
@@ -203,6 +207,78 @@ class BasicAuthProviderTest {
         assertThat(account).isEqualTo(credentials);
     }
 
+    @Test
+    void authenticateWithPreviousPasswordVersionUpgradesPassword() {
+        String username = "username";
+        String password = "password";
+        String authorization = Base64.getEncoder().encodeToString((username + ":" + password).getBytes());
+
+        AccountBO credentials = createCredentials(username)
+                .withActive(true)
+                .withPasswordVersion(0);
+        AccountBO fullAccount = credentials.withFirstName("First");
+        HashedPasswordBO upgraded = HashedPasswordBO.builder()
+                .password("upgraded")
+                .salt("new-salt")
+                .build();
+
+        Mockito.when(accountsService.getAuthAccountByIdentifier(username, "global"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(credentials)));
+        Mockito.when(previousSecurePassword.verify(eq(password), eq(credentials.getHashedPassword())))
+                .thenReturn(true);
+        Mockito.when(securePassword.hash(password)).thenReturn(upgraded);
+        Mockito.when(accountsService.getByIdUnsafe(credentials.getId(), credentials.getDomain()))
+                .thenReturn(CompletableFuture.completedFuture(fullAccount));
+        Mockito.when(accountsService.update(Mockito.any(), Mockito.any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(Optional.of(invocation.getArgument(0))));
+
+        AccountBO account = basicAuth.authenticateAndGetAccount(authorization).join();
+
+        assertThat(account).isEqualTo(credentials);
+
+        // the whole account is updated rather than the one used to authenticate
+        Mockito.verify(accountsService, Mockito.timeout(1000)).update(fullAccount
+                .withHashedPassword(upgraded)
+                .withPasswordVersion(1), "main");
+    }
+
+    @Test
+    void authenticateWithForeignPasswordVersion() {
+        String username = "username";
+        String password = "correct horse";
+
+        AccountBO credentials = createCredentials(username)
+                .withActive(true)
+                .withDomain("global")
+                .withPasswordVersion(SecurePasswordProvider.FOREIGN_PBKDF2_VERSION)
+                .withHashedPassword(HashedPasswordBO.builder()
+                        .password("pbkdf2_sha256$10000$seasalt$yUSQkCSBBGjOglsg2f0YsigZVwZC6oXxFCoUK6nZWMQ=")
+                        .build());
+
+        Mockito.when(securePasswordProvider.getMinimumVersion()).thenReturn(1);
+        Mockito.when(securePasswordProvider.getPreviousVersions())
+                .thenReturn(ImmutableMap.of(SecurePasswordProvider.FOREIGN_PBKDF2_VERSION, new ForeignPbkdf2Password()));
+        Mockito.when(accountsService.getAuthAccountByIdentifier(username, "global"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(credentials)));
+        Mockito.when(securePassword.hash(password)).thenReturn(HashedPasswordBO.builder()
+                .password("upgraded")
+                .salt("new-salt")
+                .build());
+        Mockito.when(accountsService.getByIdUnsafe(credentials.getId(), "global"))
+                .thenReturn(CompletableFuture.completedFuture(credentials));
+        Mockito.when(accountsService.update(Mockito.any(), Mockito.any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(Optional.of(invocation.getArgument(0))));
+
+        String authorization = Base64.getEncoder().encodeToString((username + ":" + password).getBytes());
+        AccountBO account = basicAuth.authenticateAndGetAccount(authorization).join();
+
+        assertThat(account).isEqualTo(credentials);
+
+        Mockito.verify(accountsService, Mockito.timeout(1000)).update(Mockito.argThat(updated ->
+                updated.getPasswordVersion() == 1 && updated.getHashedPassword().getPassword().equals("upgraded")),
+                eq("global"));
+    }
+
     @Test
     void authenticateWithPreviousPasswordVersionWrongPassword() {
         String username = "username";
@@ -213,7 +289,7 @@ class BasicAuthProviderTest {
                 .withActive(true)
                 .withPasswordVersion(0);
 
-        Mockito.when(accountsService.getByIdentifierUnsafe(username, "global"))
+        Mockito.when(accountsService.getAuthAccountByIdentifier(username, "global"))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(credentials)));
         Mockito.when(securePassword.verify(eq(password), eq(credentials.getHashedPassword()))).thenReturn(true);
         Mockito.when(previousSecurePassword.verify(eq(password), eq(credentials.getHashedPassword()))).thenReturn(false);
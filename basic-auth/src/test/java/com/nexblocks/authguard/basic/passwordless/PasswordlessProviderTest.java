@@ -3,6 +3,7 @@ package com.nexblocks.authguard.basic.passwordless;
 import com.nexblocks.authguard.basic.config.PasswordlessConfig;
 import com.nexblocks.authguard.config.ConfigContext;
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.emb.MessageBus;
 import com.nexblocks.authguard.service.exceptions.ServiceAuthorizationException;
@@ -36,8 +37,8 @@ class PasswordlessProviderTest {
         ConfigContext configContext = Mockito.mock(ConfigContext.class);
 
         Mockito.when(configContext.asConfigBean(PasswordlessConfig.class)).thenReturn(passwordlessConfig);
-        Mockito.when(accountTokensRepository.save(Mockito.any()))
-                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0, AccountTokenDO.class)));
+        Mockito.when(accountTokensRepository.save(Mockito.eq(TokenType.PASSWORDLESS), Mockito.any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(1, AccountTokenDO.class)));
 
         passwordlessProvider = new PasswordlessProvider(accountTokensRepository, messageBus, configContext);
     }
@@ -71,7 +72,7 @@ class PasswordlessProviderTest {
 
         ArgumentCaptor<AccountTokenDO> argumentCaptor = ArgumentCaptor.forClass(AccountTokenDO.class);
 
-        Mockito.verify(accountTokensRepository).save(argumentCaptor.capture());
+        Mockito.verify(accountTokensRepository).save(Mockito.eq(TokenType.PASSWORDLESS), argumentCaptor.capture());
 
         AccountTokenDO persisted = argumentCaptor.getValue();
 
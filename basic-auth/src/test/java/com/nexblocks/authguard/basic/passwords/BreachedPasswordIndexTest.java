@@ -0,0 +1,127 @@
+package com.nexblocks.authguard.basic.passwords;
+
+import com.nexblocks.authguard.basic.config.PasswordConditions;
+import com.nexblocks.authguard.basic.config.PasswordsConfig;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BreachedPasswordIndexTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void containsSha1() throws IOException {
+        Path index = build(BreachedHashType.SHA1, List.of("password", "123456", "qwerty"), 2);
+
+        BreachedPasswordIndex breached = BreachedPasswordIndex.open(index);
+
+        assertThat(breached.getHashType()).isEqualTo(BreachedHashType.SHA1);
+        assertThat(breached.contains("password")).isTrue();
+        assertThat(breached.contains("123456")).isTrue();
+        assertThat(breached.contains("qwerty")).isTrue();
+        assertThat(breached.contains("not-in-the-dump")).isFalse();
+    }
+
+    @Test
+    void containsNtlm() throws IOException {
+        Path index = build(BreachedHashType.NTLM, List.of("password", "letmein"), 10);
+
+        BreachedPasswordIndex breached = BreachedPasswordIndex.open(index);
+
+        // a well-known NTLM hash
+        assertThat(Hex.toHexString(BreachedHashType.NTLM.hash("password")))
+                .isEqualTo("8846f7eaee8fb117ad06bdd830b7586c");
+        assertThat(breached.contains("letmein")).isTrue();
+        assertThat(breached.contains("letmeout")).isFalse();
+    }
+
+    @Test
+    void findsAllEntriesOfLargeDump() throws IOException {
+        Random random = new Random(7);
+        List<byte[]> hashes = new ArrayList<>();
+        List<String> lines = new ArrayList<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            byte[] hash = new byte[BreachedHashType.SHA1.getLength()];
+            random.nextBytes(hash);
+
+            hashes.add(hash);
+            lines.add(Hex.toHexString(hash).toUpperCase(Locale.ROOT) + ":" + i);
+        }
+
+        lines.add(lines.get(0)); // duplicate
+        lines.add("not a hash");
+
+        Path dump = directory.resolve("dump.txt");
+        Path index = directory.resolve("dump.idx");
+        Files.write(dump, lines);
+
+        long count = new BreachedPasswordIndexBuilder(BreachedHashType.SHA1, 3_000).build(dump, index);
+        BreachedPasswordIndex breached = BreachedPasswordIndex.open(index);
+
+        assertThat(count).isEqualTo(hashes.size());
+        assertThat(breached.size()).isEqualTo(hashes.size());
+        assertThat(hashes).allMatch(breached::contains);
+
+        for (int i = 0; i < 1_000; i++) {
+            byte[] missing = new byte[BreachedHashType.SHA1.getLength()];
+            random.nextBytes(missing);
+
+            assertThat(breached.contains(missing)).isFalse();
+        }
+    }
+
+    @Test
+    void rejectInvalidFile() throws IOException {
+        Path file = directory.resolve("invalid.idx");
+        Files.write(file, new byte[64]);
+
+        assertThatThrownBy(() -> BreachedPasswordIndex.open(file))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void validatorRejectsBreachedPasswords() throws IOException {
+        Path index = build(BreachedHashType.SHA1, List.of("password1"), 10);
+
+        PasswordValidator validator = new PasswordValidator(PasswordsConfig.builder()
+                .conditions(PasswordConditions.builder()
+                        .breachedPasswordsIndex(index.toString())
+                        .build())
+                .build());
+
+        assertThat(validator.findViolations("password1"))
+                .extracting(Violation::getType)
+                .containsExactly(Violation.Type.BREACHED);
+        assertThat(validator.findViolations("password2")).isEmpty();
+    }
+
+    private Path build(final BreachedHashType hashType, final List<String> passwords,
+                       final int chunkSize) throws IOException {
+        List<String> lines = new ArrayList<>();
+
+        for (String password : passwords) {
+            lines.add(Hex.toHexString(hashType.hash(password)).toUpperCase(Locale.ROOT) + ":1");
+        }
+
+        Path dump = directory.resolve(hashType + ".txt");
+        Path index = directory.resolve(hashType + ".idx");
+        Files.write(dump, lines);
+
+        new BreachedPasswordIndexBuilder(hashType, chunkSize).build(dump, index);
+
+        return index;
+    }
+}
@@ -0,0 +1,89 @@
+package com.nexblocks.authguard.basic.passwords;
+
+import com.nexblocks.authguard.service.model.HashedPasswordBO;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ForeignSecurePasswordTest {
+    private static final String PASSWORD = "correct horse";
+
+    private HashedPasswordBO encoded(final String password) {
+        return HashedPasswordBO.builder().password(password).build();
+    }
+
+    @Test
+    void bcrypt() {
+        ForeignBCryptPassword bcrypt = new ForeignBCryptPassword();
+        HashedPasswordBO hashed = encoded("$2a$05$CCCCCCCCCCCCCCCCCCCCC.E5YPO9kmyuRGyh0XouQYb4YMJKvyOeW");
+
+        assertThat(bcrypt.verify("U*U", hashed)).isTrue();
+        assertThat(bcrypt.verify("U*V", hashed)).isFalse();
+        assertThat(bcrypt.verify("U*U", encoded("not a bcrypt hash"))).isFalse();
+    }
+
+    @Test
+    void argon2() {
+        ForeignArgon2Password argon2 = new ForeignArgon2Password();
+        HashedPasswordBO hashed = encoded("$argon2i$v=19$m=65536,t=2,p=4$c29tZXNhbHQ$RdescudvJCsgt3ub+b+dWRWJTmaaJObG");
+
+        assertThat(argon2.verify("password", hashed)).isTrue();
+        assertThat(argon2.verify("not the password", hashed)).isFalse();
+        assertThat(argon2.verify("password", encoded("$argon2id$broken"))).isFalse();
+    }
+
+    @Test
+    void argon2MemoryCost() {
+        ForeignArgon2Password argon2 = new ForeignArgon2Password();
+        HashedPasswordBO hashed = encoded("$argon2i$v=19$m=65536,t=2,p=4$c29tZXNhbHQ$RdescudvJCsgt3ub+b+dWRWJTmaaJObG");
+        HashedPasswordBO tooLarge = encoded("$argon2id$v=19$m=1048576,t=2,p=4$c29tZXNhbHQ$RdescudvJCsgt3ub+b+dWRWJTmaaJObG");
+
+        assertThat(argon2.getMemoryCost(hashed)).isEqualTo(65536);
+        assertThat(argon2.canVerify(hashed)).isTrue();
+
+        // rejected without allocating its memory
+        assertThat(argon2.canVerify(tooLarge)).isFalse();
+        assertThat(argon2.getMemoryCost(tooLarge)).isZero();
+        assertThat(argon2.verify("password", tooLarge)).isFalse();
+        assertThat(argon2.canVerify(encoded("$argon2id$broken"))).isFalse();
+    }
+
+    @Test
+    void pbkdf2Django() {
+        ForeignPbkdf2Password pbkdf2 = new ForeignPbkdf2Password();
+        HashedPasswordBO hashed = encoded("pbkdf2_sha256$10000$seasalt$yUSQkCSBBGjOglsg2f0YsigZVwZC6oXxFCoUK6nZWMQ=");
+
+        assertThat(pbkdf2.verify(PASSWORD, hashed)).isTrue();
+        assertThat(pbkdf2.verify("wrong horse", hashed)).isFalse();
+    }
+
+    @Test
+    void pbkdf2Passlib() {
+        ForeignPbkdf2Password pbkdf2 = new ForeignPbkdf2Password();
+        HashedPasswordBO sha512 = encoded("$pbkdf2-sha512$5000$AQIDBAUGBwgJEBESExQVFg$Et32wU8t6i6Spy728OIGTtPvTTGTk8Hk0ZOEJVPQzbI3uEmdXh4zYCk41jP77R79SdbcQ3uLHRcPkFmPHJkJ1A");
+        HashedPasswordBO sha1 = encoded("$pbkdf2$5000$AQIDBAUGBwgJEBESExQVFg$g.UDYFn5QD/KEzNRfzgKuSN2Vco");
+
+        assertThat(pbkdf2.verify(PASSWORD, sha512)).isTrue();
+        assertThat(pbkdf2.verify(PASSWORD, sha1)).isTrue();
+        assertThat(pbkdf2.verify("wrong horse", sha1)).isFalse();
+    }
+
+    @Test
+    void saltedSha() {
+        ForeignSaltedShaPassword sha = new ForeignSaltedShaPassword();
+
+        assertThat(sha.verify(PASSWORD, encoded("{SSHA}awc/Cj0kafyFd5d8fGn07xoHBJJzYWx0c2FsdA=="))).isTrue();
+        assertThat(sha.verify(PASSWORD, encoded("{SSHA256}YflVcOMs6k7tbGkQbQNVn6/ehAnUAVltiLPKHBWGi2tzYWx0c2FsdA=="))).isTrue();
+        assertThat(sha.verify(PASSWORD, encoded("{SSHA512}50rsRNBf8j3I5xE+QwaHdFyMhOzITssZ8BB3UxwQ+SI1JKygYm6ZeRYTDuUyFZIIqDonoTuXwB0Z/MAPhgQCFHNhbHRzYWx0"))).isTrue();
+        assertThat(sha.verify(PASSWORD, encoded("{SHA}L55TUjtiq8FBorTWAZ0jy6g129A="))).isTrue();
+        assertThat(sha.verify("wrong horse", encoded("{SSHA}awc/Cj0kafyFd5d8fGn07xoHBJJzYWx0c2FsdA=="))).isFalse();
+        assertThat(sha.verify(PASSWORD, encoded("{MD5}X03MO1qnZdYdgyfeuILPmQ=="))).isFalse();
+    }
+
+    @Test
+    void cannotHash() {
+        assertThatThrownBy(() -> new ForeignBCryptPassword().hash(PASSWORD))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+}
@@ -0,0 +1,51 @@
+package com.nexblocks.authguard.basic.passwords;
+
+import com.nexblocks.authguard.basic.config.CalibrationConfig;
+import com.nexblocks.authguard.basic.config.PasswordsConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordCalibratorTest {
+    @Test
+    void calibrateEmitsNewVersion() {
+        PasswordsConfig current = PasswordsConfig.builder()
+                .algorithm("bcrypt")
+                .version(3)
+                .build();
+
+        PasswordCalibrator calibrator = new PasswordCalibrator(CalibrationConfig.builder()
+                .targetLatency("10s")
+                .concurrency(1)
+                .samples(1)
+                .maxSteps(2)
+                .build());
+
+        PasswordsConfig calibrated = calibrator.calibrate(current);
+
+        assertThat(calibrated.getAlgorithm()).isEqualTo("bcrypt");
+        assertThat(calibrated.getVersion()).isEqualTo(4);
+        assertThat(calibrated.getBcrypt().getCost()).isEqualTo(9);
+        assertThat(calibrated.getPreviousVersions()).hasSize(1);
+        assertThat(calibrated.getPreviousVersions().get(0).getVersion()).isEqualTo(3);
+        assertThat(calibrated.getPreviousVersions().get(0).getBcrypt().getCost()).isEqualTo(4);
+    }
+
+    @Test
+    void calibrateFallsBackToWeakestCandidate() {
+        PasswordsConfig current = PasswordsConfig.builder()
+                .algorithm("bcrypt")
+                .build();
+
+        PasswordCalibrator calibrator = new PasswordCalibrator(CalibrationConfig.builder()
+                .targetLatency("0ms")
+                .concurrency(1)
+                .samples(1)
+                .build());
+
+        PasswordsConfig calibrated = calibrator.calibrate(current);
+
+        assertThat(calibrated.getVersion()).isEqualTo(2);
+        assertThat(calibrated.getBcrypt().getCost()).isEqualTo(8);
+    }
+}
@@ -0,0 +1,153 @@
+package com.nexblocks.authguard.basic.passwords;
+
+import com.nexblocks.authguard.basic.config.HashingExecutorConfig;
+import com.nexblocks.authguard.service.exceptions.ServiceUnavailableException;
+import com.nexblocks.authguard.service.model.HashedPasswordBO;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingExecutorTest {
+    @Test
+    void hashAndVerify() {
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(HashingExecutorConfig.builder().build());
+        BCryptPassword bcrypt = new BCryptPassword();
+
+        HashedPasswordBO hashed = executor.hash(bcrypt, "password").join();
+
+        assertThat(executor.verify(bcrypt, "password", hashed).join()).isTrue();
+        assertThat(executor.verify(bcrypt, "not the password", hashed).join()).isFalse();
+
+        HashingStats stats = executor.getStats().get("bcrypt");
+
+        assertThat(stats.getCount()).isEqualTo(3);
+        assertThat(stats.getMaxNanos()).isPositive();
+        assertThat(stats.getRejected()).isZero();
+    }
+
+    @Test
+    void rejectWhenQueueIsFull() throws InterruptedException {
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(HashingExecutorConfig.builder()
+                .concurrency(1)
+                .queueSize(1)
+                .build());
+        BlockingPassword blocking = new BlockingPassword();
+
+        CompletableFuture<HashedPasswordBO> running = executor.hash(blocking, "first");
+        assertThat(blocking.started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<HashedPasswordBO> queued = executor.hash(blocking, "second");
+        CompletableFuture<HashedPasswordBO> rejected = executor.hash(blocking, "third");
+
+        assertThatThrownBy(rejected::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(ServiceUnavailableException.class);
+
+        blocking.release.countDown();
+
+        assertThat(running.join()).isNotNull();
+        assertThat(queued.join()).isNotNull();
+        assertThat(executor.getStats().get("blocking").getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    void memoryBudgetLimitsConcurrentOperations() throws InterruptedException {
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(HashingExecutorConfig.builder()
+                .concurrency(2)
+                .memoryBudget(1024)
+                .build());
+        BlockingPassword blocking = new BlockingPassword();
+
+        CompletableFuture<HashedPasswordBO> first = executor.hash(blocking, "first");
+        assertThat(blocking.started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<HashedPasswordBO> second = executor.hash(blocking, "second");
+
+        // the second operation has a thread but has to wait for memory
+        Thread.sleep(100);
+        assertThat(blocking.calls).isEqualTo(1);
+
+        blocking.release.countDown();
+
+        assertThat(first.join()).isNotNull();
+        assertThat(second.join()).isNotNull();
+        assertThat(blocking.calls).isEqualTo(2);
+    }
+
+    @Test
+    void reserveTheMemoryOfTheVerifiedHash() throws InterruptedException {
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(HashingExecutorConfig.builder()
+                .concurrency(2)
+                .memoryBudget(4096)
+                .build());
+        BlockingPassword blocking = new BlockingPassword();
+        HashedPasswordBO large = HashedPasswordBO.builder().password("second").salt("4096").build();
+
+        CompletableFuture<HashedPasswordBO> first = executor.hash(blocking, "first");
+        assertThat(blocking.started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // the hash asks for the whole budget, so it waits even though the algorithm alone would fit
+        CompletableFuture<Boolean> second = executor.verify(blocking, "second", large);
+
+        Thread.sleep(100);
+        assertThat(blocking.verifications).isZero();
+
+        blocking.release.countDown();
+
+        assertThat(first.join()).isNotNull();
+        assertThat(second.join()).isTrue();
+    }
+
+    private static class BlockingPassword implements SecurePassword {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile int calls = 0;
+        private volatile int verifications = 0;
+
+        @Override
+        public HashedPasswordBO hash(final String plain) {
+            calls++;
+            started.countDown();
+
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            return HashedPasswordBO.builder().password(plain).build();
+        }
+
+        @Override
+        public boolean verify(final String plain, final HashedPasswordBO hashed) {
+            verifications++;
+
+            return plain.equals(hashed.getPassword());
+        }
+
+        @Override
+        public String getAlgorithm() {
+            return "blocking";
+        }
+
+        @Override
+        public int getMemoryCost() {
+            return 1024;
+        }
+
+        /**
+         * Takes the memory of a hash from its salt, the way foreign
+         * hashes carry their own parameters.
+         */
+        @Override
+        public int getMemoryCost(final HashedPasswordBO hashed) {
+            return hashed.getSalt() == null ? getMemoryCost() : Integer.parseInt(hashed.getSalt());
+        }
+    }
+}
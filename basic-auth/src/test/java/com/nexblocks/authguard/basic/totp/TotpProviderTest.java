@@ -1,6 +1,7 @@
 package com.nexblocks.authguard.basic.totp;
 
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.emb.MessageBus;
 import com.nexblocks.authguard.service.exceptions.ServiceAuthorizationException;
@@ -34,8 +35,8 @@ class TotpProviderTest {
         accountTokensRepository = Mockito.mock(AccountTokensRepository.class);
         messageBus = Mockito.mock(MessageBus.class);
 
-        Mockito.when(accountTokensRepository.save(Mockito.any()))
-                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0, AccountTokenDO.class)));
+        Mockito.when(accountTokensRepository.save(Mockito.eq(TokenType.TOTP_LINKER), Mockito.any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(1, AccountTokenDO.class)));
 
         totpProvider = new TotpProvider(accountTokensRepository, new ServiceMapperImpl(),
                 messageBus);
@@ -67,7 +68,7 @@ class TotpProviderTest {
 
         ArgumentCaptor<AccountTokenDO> argumentCaptor = ArgumentCaptor.forClass(AccountTokenDO.class);
 
-        Mockito.verify(accountTokensRepository).save(argumentCaptor.capture());
+        Mockito.verify(accountTokensRepository).save(Mockito.eq(TokenType.TOTP_LINKER), argumentCaptor.capture());
 
         AccountTokenDO persisted = argumentCaptor.getValue();
 
@@ -2,6 +2,7 @@ package com.nexblocks.authguard.basic.totp;
 
 import com.nexblocks.authguard.config.ConfigContext;
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.service.TotpKeysService;
 import com.nexblocks.authguard.service.config.AuthenticatorConfig;
@@ -76,7 +77,7 @@ class TotpVerifierTest {
         Mockito.when(totpKeysService.getByAccountIdDecrypted(accountId, domain))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(totpKey)));
 
-        Mockito.when(accountTokensRepository.getByToken(accountToken.getToken()))
+        Mockito.when(accountTokensRepository.consume(TokenType.TOTP_LINKER, accountToken.getToken()))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(accountToken)));
 
         AccountTokenDO actual = totpVerifier.verifyAndGetAccountTokenAsync(request).join();
@@ -95,7 +96,7 @@ class TotpVerifierTest {
                 .expiresAt(Instant.now().minusSeconds(1))
                 .build();
 
-        Mockito.when(accountTokensRepository.getByToken(accountToken.getToken()))
+        Mockito.when(accountTokensRepository.consume(TokenType.TOTP_LINKER, accountToken.getToken()))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(accountToken)));
 
         String totp = getTOTPCode();
@@ -153,7 +154,7 @@ class TotpVerifierTest {
         Mockito.when(totpKeysService.getByAccountIdDecrypted(accountId, domain))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(totpKey)));
 
-        Mockito.when(accountTokensRepository.getByToken(accountToken.getToken()))
+        Mockito.when(accountTokensRepository.consume(TokenType.TOTP_LINKER, accountToken.getToken()))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(accountToken)));
 
         CompletableFuture<AccountTokenDO> future =
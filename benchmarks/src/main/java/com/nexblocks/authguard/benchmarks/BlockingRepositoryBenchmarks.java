@@ -0,0 +1,79 @@
+package com.nexblocks.authguard.benchmarks;
+
+import com.nexblocks.authguard.service.concurrent.BoundedExecutor;
+import com.nexblocks.authguard.service.concurrent.VirtualThreadExecutor;
+import com.nexblocks.authguard.service.concurrent.VirtualThreads;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares how many calls to a repository which blocks for a few
+ * milliseconds, like a JDBC plugin would, can be served by the default
+ * platform pool of Jetty and by virtual threads. Each invocation is a
+ * burst of concurrent requests which all wait on the repository.
+ * <p>
+ * The virtual mode needs a JDK with virtual threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BlockingRepositoryBenchmarks {
+    /**
+     * The maximum number of threads of the pool Javalin gives Jetty.
+     */
+    private static final int JETTY_MAX_THREADS = 250;
+    private static final int REQUESTS_PER_BURST = 1000;
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"5"})
+    public long repositoryLatencyMillis;
+
+    private Executor executor;
+
+    @Setup
+    public void setup() {
+        if (mode.equals("virtual")) {
+            if (!VirtualThreads.isAvailable()) {
+                throw new IllegalStateException("Virtual threads are not available on this JDK");
+            }
+
+            executor = new VirtualThreadExecutor("benchmark");
+        } else {
+            executor = BoundedExecutor.runningOnCallerWhenFull("benchmark", JETTY_MAX_THREADS,
+                    REQUESTS_PER_BURST);
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @OperationsPerInvocation(REQUESTS_PER_BURST)
+    public void serveBurst() {
+        CompletableFuture<?>[] requests = new CompletableFuture[REQUESTS_PER_BURST];
+
+        for (int i = 0; i < REQUESTS_PER_BURST; i++) {
+            long accountId = i;
+
+            requests[i] = CompletableFuture.supplyAsync(() -> blockingGetById(accountId), executor);
+        }
+
+        CompletableFuture.allOf(requests).join();
+    }
+
+    /**
+     * Stands in for a repository which blocks the calling thread.
+     */
+    private String blockingGetById(final long accountId) {
+        try {
+            Thread.sleep(repositoryLatencyMillis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        return "account-" + accountId;
+    }
+}
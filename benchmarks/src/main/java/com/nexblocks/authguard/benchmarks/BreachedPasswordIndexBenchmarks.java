@@ -0,0 +1,85 @@
+package com.nexblocks.authguard.benchmarks;
+
+import com.nexblocks.authguard.basic.passwords.BreachedHashType;
+import com.nexblocks.authguard.basic.passwords.BreachedPasswordIndex;
+import com.nexblocks.authguard.basic.passwords.BreachedPasswordIndexBuilder;
+import org.bouncycastle.util.encoders.Hex;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BreachedPasswordIndexBenchmarks {
+    private static final int HASHES = 5_000_000;
+    private static final int LOOKUPS = 1024;
+
+    private BreachedPasswordIndex index;
+    private byte[][] present;
+    private byte[][] missing;
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        Random random = new Random(42);
+        Path dump = Files.createTempFile("breached-benchmark", ".txt");
+        Path indexFile = Files.createTempFile("breached-benchmark", ".idx");
+
+        present = new byte[LOOKUPS][];
+        missing = new byte[LOOKUPS][];
+
+        try (BufferedWriter writer = Files.newBufferedWriter(dump)) {
+            for (int i = 0; i < HASHES; i++) {
+                byte[] hash = randomHash(random);
+
+                if (i < LOOKUPS) {
+                    present[i] = hash;
+                }
+
+                writer.write(Hex.toHexString(hash));
+                writer.write(":1\n");
+            }
+        }
+
+        for (int i = 0; i < LOOKUPS; i++) {
+            missing[i] = randomHash(random);
+        }
+
+        new BreachedPasswordIndexBuilder(BreachedHashType.SHA1).build(dump, indexFile);
+        index = BreachedPasswordIndex.open(indexFile);
+
+        Files.delete(dump);
+        indexFile.toFile().deleteOnExit();
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    public boolean lookupPresent() {
+        return index.contains(present[next++ & (LOOKUPS - 1)]);
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    public boolean lookupMissing() {
+        return index.contains(missing[next++ & (LOOKUPS - 1)]);
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    public boolean lookupPassword() {
+        return index.contains("password" + (next++ & (LOOKUPS - 1)));
+    }
+
+    private static byte[] randomHash(final Random random) {
+        byte[] hash = new byte[BreachedHashType.SHA1.getLength()];
+        random.nextBytes(hash);
+
+        return hash;
+    }
+}
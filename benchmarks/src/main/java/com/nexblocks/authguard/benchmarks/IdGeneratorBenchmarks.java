@@ -0,0 +1,39 @@
+package com.nexblocks.authguard.benchmarks;
+
+import com.nexblocks.authguard.service.util.IdGenerator;
+import de.mkammerer.snowflakeid.SnowflakeIdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of the striped ID generator with the single
+ * shared snowflake generator which it replaced, with as many threads
+ * generating IDs as there are processors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(Threads.MAX)
+public class IdGeneratorBenchmarks {
+    private IdGenerator striped;
+    private SnowflakeIdGenerator snowflake;
+
+    @Setup
+    public void setup() {
+        striped = new IdGenerator(1);
+        snowflake = SnowflakeIdGenerator.createDefault(1);
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    public long striped() {
+        return striped.next();
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    public long snowflake() {
+        return snowflake.next();
+    }
+}
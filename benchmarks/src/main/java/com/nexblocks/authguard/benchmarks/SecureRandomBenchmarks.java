@@ -0,0 +1,60 @@
+package com.nexblocks.authguard.benchmarks;
+
+import com.nexblocks.authguard.service.random.BufferedSecureRandom;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares generating base64url tokens from one shared SecureRandom,
+ * which is what CryptographicRandom used to do, with the striped and
+ * buffered generator, with as many threads as there are processors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(Threads.MAX)
+public class SecureRandomBenchmarks {
+    @Param({"DRBG", "NativePRNGNonBlocking"})
+    public String algorithm;
+
+    @Param({"32", "128"})
+    public int size;
+
+    private SecureRandom shared;
+    private BufferedSecureRandom buffered;
+
+    @Setup
+    public void setup() throws NoSuchAlgorithmException {
+        shared = SecureRandom.getInstance(algorithm);
+        buffered = new BufferedSecureRandom(algorithm, Runtime.getRuntime().availableProcessors(), 4096,
+                Duration.ofHours(1));
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    public String sharedSecureRandom() {
+        byte[] bytes = new byte[size];
+
+        shared.nextBytes(bytes);
+
+        return Base64.getUrlEncoder().encodeToString(bytes);
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    public String bufferedSecureRandom() {
+        return buffered.read(size, (source, offset, length) -> {
+            ByteBuffer encoded = Base64.getUrlEncoder().encode(ByteBuffer.wrap(source, offset, length));
+
+            return new String(encoded.array(), encoded.arrayOffset() + encoded.position(), encoded.remaining(),
+                    StandardCharsets.ISO_8859_1);
+        });
+    }
+}
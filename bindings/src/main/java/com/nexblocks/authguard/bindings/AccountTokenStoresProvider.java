@@ -0,0 +1,106 @@
+package com.nexblocks.authguard.bindings;
+
+import com.google.inject.Provider;
+import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
+import com.nexblocks.authguard.service.config.ConfigParser;
+import com.nexblocks.authguard.service.config.TokenStoreConfig;
+import com.nexblocks.authguard.service.config.TokenStoreConfigInterface;
+import com.nexblocks.authguard.service.config.TokenStoresConfig;
+import com.nexblocks.authguard.service.exceptions.ConfigurationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Provides the account tokens repository, with each token type routed
+ * to the store which it's configured to use. Types without a store of
+ * their own stay with the DAL plugin. Stores in memory are shared by
+ * everything which the repository is injected into, and are swept of
+ * expired tokens on the schedule of their type.
+ */
+class AccountTokenStoresProvider implements Provider<AccountTokensRepository> {
+    private static final Logger LOG = LoggerFactory.getLogger(AccountTokenStoresProvider.class);
+
+    private final Provider<AccountTokensRepository> durable;
+    private final Map<TokenType, InMemoryAccountTokensRepository> memoryStores = new EnumMap<>(TokenType.class);
+    private final Map<TokenType, Duration> sweepIntervals = new EnumMap<>(TokenType.class);
+
+    private ScheduledExecutorService sweeper;
+
+    AccountTokenStoresProvider(final Provider<AccountTokensRepository> durable, final TokenStoresConfig config) {
+        this.durable = durable;
+
+        config.getTypes().forEach(this::addStore);
+    }
+
+    private void addStore(final String typeName, final TokenStoreConfig config) {
+        TokenType type;
+
+        try {
+            type = TokenType.fromName(typeName);
+        } catch (final IllegalArgumentException e) {
+            throw new ConfigurationException("Unknown token type " + typeName + " in the token stores");
+        }
+
+        switch (config.getStore()) {
+            case TokenStoreConfigInterface.DURABLE:
+                return;
+
+            case TokenStoreConfigInterface.MEMORY:
+                memoryStores.put(type, new InMemoryAccountTokensRepository(config.getMaxEntries()));
+                sweepIntervals.put(type, ConfigParser.parseDuration(config.getSweepInterval()));
+                return;
+
+            default:
+                throw new ConfigurationException("Unknown store " + config.getStore() + " for token type " + typeName
+                        + ", it must be either " + TokenStoreConfigInterface.DURABLE + " or "
+                        + TokenStoreConfigInterface.MEMORY);
+        }
+    }
+
+    @Override
+    public AccountTokensRepository get() {
+        if (memoryStores.isEmpty()) {
+            return durable.get();
+        }
+
+        startSweeping();
+
+        return new TokenTypeRoutingRepository(durable.get(), memoryStores);
+    }
+
+    private synchronized void startSweeping() {
+        if (sweeper != null) {
+            return;
+        }
+
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-sweeper");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        memoryStores.forEach((type, store) -> {
+            long interval = sweepIntervals.get(type).toMillis();
+
+            LOG.info("Keeping {} tokens in memory, sweeping them every {} ms", type, interval);
+
+            sweeper.scheduleWithFixedDelay(() -> {
+                int swept = store.sweepExpired(Instant.now());
+
+                if (swept > 0) {
+                    LOG.debug("Swept {} expired {} tokens from memory", swept, type);
+                }
+            }, interval, interval, TimeUnit.MILLISECONDS);
+        });
+    }
+}
@@ -0,0 +1,68 @@
+package com.nexblocks.authguard.bindings;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.nexblocks.authguard.metrics.MetricsRegistry;
+import com.nexblocks.authguard.service.concurrent.BulkheadRepositories;
+import com.nexblocks.authguard.service.concurrent.ExecutionPools;
+
+import java.util.Objects;
+
+/**
+ * Provides the implementation of a repository put behind the bulkhead
+ * which is configured for it.
+ */
+class BulkheadRepositoryProvider<T> implements Provider<T> {
+    private final Class<T> repositoryType;
+    private final Provider<? extends T> implementation;
+
+    private ExecutionPools executionPools;
+    private MetricsRegistry metrics;
+
+    BulkheadRepositoryProvider(final Class<T> repositoryType, final Provider<? extends T> implementation) {
+        this.repositoryType = repositoryType;
+        this.implementation = implementation;
+    }
+
+    @Inject
+    void setExecutionPools(final ExecutionPools executionPools) {
+        this.executionPools = executionPools;
+    }
+
+    @Inject
+    void setMetrics(final MetricsRegistry metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public T get() {
+        String name = BulkheadRepositories.nameOf(repositoryType);
+
+        return BulkheadRepositories.wrap(repositoryType, implementation.get(),
+                executionPools.bulkhead(name), executionPools.dal(), metrics);
+    }
+
+    /*
+     * Binding the same repository twice is only allowed if both
+     * bindings are equal.
+     */
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+
+        if (other == null || getClass() != other.getClass()) {
+            return false;
+        }
+
+        BulkheadRepositoryProvider<?> that = (BulkheadRepositoryProvider<?>) other;
+
+        return repositoryType.equals(that.repositoryType) && implementation.equals(that.implementation);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(repositoryType, implementation);
+    }
+}
@@ -8,8 +8,10 @@ import com.nexblocks.authguard.dal.cache.OtpRepository;
 import com.nexblocks.authguard.dal.cache.SessionsRepository;
 import com.nexblocks.authguard.dal.persistence.*;
 import com.nexblocks.authguard.injection.ClassSearch;
+import com.nexblocks.authguard.service.config.TokenStoresConfig;
 
 import java.util.Collection;
+import java.util.Optional;
 
 public class DalBinder extends AbstractModule {
     private final ConfigContext configContext;
@@ -31,7 +33,7 @@ public class DalBinder extends AbstractModule {
         bindAndRegister(ApiKeysRepository.class);
         bindAndRegister(PermissionsRepository.class);
         bindAndRegister(RolesRepository.class);
-        bindAndRegister(AccountTokensRepository.class);
+        bindAccountTokens();
         bindAndRegister(SessionsRepository.class);
         bindAndRegister(IdempotentRecordsRepository.class);
         bindAndRegister(ExchangeAttemptsRepository.class);
@@ -53,10 +55,31 @@ public class DalBinder extends AbstractModule {
         }
     }
     
+    /*
+     * Account tokens are bound like the other repositories, but each
+     * type of token can be routed to a store of its own as configured
+     * under tokenStores.
+     */
+    private void bindAccountTokens() {
+        final Class<? extends AccountTokensRepository> binding =
+                dynamicBinder.findBindingsFor(AccountTokensRepository.class);
+        final BulkheadRepositoryProvider<AccountTokensRepository> durable =
+                new BulkheadRepositoryProvider<>(AccountTokensRepository.class, getProvider(binding));
+        final TokenStoresConfig config = Optional.ofNullable(
+                configContext.getAsConfigBean("tokenStores", TokenStoresConfig.class))
+                .orElseGet(() -> TokenStoresConfig.builder().build());
+
+        requestInjection(durable);
+
+        bind(AccountTokensRepository.class).toProvider(new AccountTokenStoresProvider(durable, config));
+
+        PluginsRegistry.register(binding);
+    }
+
     private <T> void bindAndRegister(final Class<T> clazz) {
         final Class<? extends T> binding = dynamicBinder.findBindingsFor(clazz);
         
-        bind(clazz).to(binding);
+        bind(clazz).toProvider(new BulkheadRepositoryProvider<>(clazz, getProvider(binding)));
         
         PluginsRegistry.register(binding);
     }
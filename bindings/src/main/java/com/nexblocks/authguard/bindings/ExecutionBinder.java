@@ -0,0 +1,47 @@
+package com.nexblocks.authguard.bindings;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.nexblocks.authguard.config.ConfigContext;
+import com.nexblocks.authguard.service.concurrent.ExecutionPools;
+import com.nexblocks.authguard.service.config.ExecutionConfig;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Creates the {@link ExecutionPools}, and exposes its pools to the
+ * components which can't depend on the service API, like the message
+ * bus. DAL plugins which block can run their calls on the DAL pool
+ * by injecting it by name.
+ */
+public class ExecutionBinder extends AbstractModule {
+    private final boolean virtualThreads;
+
+    public ExecutionBinder() {
+        this(false);
+    }
+
+    public ExecutionBinder(final boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    @Provides
+    @Singleton
+    ExecutionPools executionPools(final @Named("execution") ConfigContext configContext) {
+        return new ExecutionPools(configContext.asConfigBean(ExecutionConfig.class), virtualThreads);
+    }
+
+    @Provides
+    @Named(ExecutionPools.DAL)
+    Executor dalExecutor(final ExecutionPools executionPools) {
+        return executionPools.dal();
+    }
+
+    @Provides
+    @Named(ExecutionPools.MESSAGING)
+    Executor messagingExecutor(final ExecutionPools executionPools) {
+        return executionPools.messaging();
+    }
+}
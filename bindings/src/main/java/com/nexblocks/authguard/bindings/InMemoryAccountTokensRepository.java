@@ -0,0 +1,70 @@
+package com.nexblocks.authguard.bindings;
+
+import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.model.AccountTokenDO;
+import com.nexblocks.authguard.injection.BuiltIn;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps tokens on the heap, for short-lived tokens which don't need to
+ * survive a restart. The number of tokens is bounded; once it's reached
+ * the expired ones are swept, and saving fails if that isn't enough.
+ */
+@BuiltIn
+class InMemoryAccountTokensRepository implements AccountTokensRepository {
+    private final int maxEntries;
+    private final ConcurrentMap<String, AccountTokenDO> tokens = new ConcurrentHashMap<>();
+
+    InMemoryAccountTokensRepository(final int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public CompletableFuture<AccountTokenDO> save(final AccountTokenDO tokenDO) {
+        if (tokens.size() >= maxEntries && sweepExpired(Instant.now()) == 0) {
+            return CompletableFuture.failedFuture(new IllegalStateException("The in-memory token store is full with "
+                    + maxEntries + " unexpired tokens"));
+        }
+
+        tokens.put(tokenDO.getToken(), tokenDO);
+
+        return CompletableFuture.completedFuture(tokenDO);
+    }
+
+    @Override
+    public CompletableFuture<Optional<AccountTokenDO>> getByToken(final String token) {
+        return CompletableFuture.completedFuture(Optional.ofNullable(tokens.get(token)));
+    }
+
+    @Override
+    public CompletableFuture<Optional<AccountTokenDO>> deleteToken(final String token) {
+        return CompletableFuture.completedFuture(Optional.ofNullable(tokens.remove(token)));
+    }
+
+    @Override
+    public CompletableFuture<Optional<AccountTokenDO>> consume(final String token) {
+        return deleteToken(token);
+    }
+
+    /**
+     * Removes every token which expired before the given time.
+     *
+     * @return The number of tokens which were removed.
+     */
+    int sweepExpired(final Instant now) {
+        int before = tokens.size();
+
+        tokens.values().removeIf(token -> token.getExpiresAt() != null && token.getExpiresAt().isBefore(now));
+
+        return Math.max(before - tokens.size(), 0);
+    }
+
+    int size() {
+        return tokens.size();
+    }
+}
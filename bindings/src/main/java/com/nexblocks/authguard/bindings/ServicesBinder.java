@@ -31,6 +31,9 @@ public class ServicesBinder extends AbstractModule {
         bind(EventsService.class).to(EventsServiceImpl.class);
         bind(KeyManagementService.class).to(KeyManagementServiceImpl.class);
         bind(TrackingSessionsService.class).to(TrackingSessionsServiceImpl.class);
+        bind(TokenIntrospectionService.class).to(TokenIntrospectionServiceImpl.class);
+        bind(AccountImportService.class).to(AccountImportServiceImpl.class);
+        bind(ExportService.class).to(ExportServiceImpl.class);
 
         // optional bindings
         if (configContext.get("verification") != null) {
@@ -0,0 +1,87 @@
+package com.nexblocks.authguard.bindings;
+
+import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
+import com.nexblocks.authguard.dal.model.AccountTokenDO;
+import com.nexblocks.authguard.injection.BuiltIn;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends each call for a token of a type to the store of that type, and
+ * every other call, including the ones which don't name a type, to the
+ * fallback store.
+ */
+@BuiltIn
+class TokenTypeRoutingRepository implements AccountTokensRepository {
+    private final AccountTokensRepository fallback;
+    private final Map<TokenType, AccountTokensRepository> stores;
+
+    TokenTypeRoutingRepository(final AccountTokensRepository fallback,
+                               final Map<TokenType, ? extends AccountTokensRepository> stores) {
+        this.fallback = fallback;
+        this.stores = stores.isEmpty() ? new EnumMap<>(TokenType.class) : new EnumMap<>(stores);
+    }
+
+    @Override
+    public CompletableFuture<AccountTokenDO> save(final AccountTokenDO tokenDO) {
+        return fallback.save(tokenDO);
+    }
+
+    @Override
+    public CompletableFuture<Optional<AccountTokenDO>> getByToken(final String token) {
+        return fallback.getByToken(token);
+    }
+
+    @Override
+    public CompletableFuture<Optional<AccountTokenDO>> deleteToken(final String token) {
+        return fallback.deleteToken(token);
+    }
+
+    @Override
+    public CompletableFuture<Optional<AccountTokenDO>> consume(final String token) {
+        return fallback.consume(token);
+    }
+
+    /*
+     * Stores in memory sweep themselves, so only the fallback store is
+     * left to the expiry sweeper.
+     */
+    @Override
+    public CompletableFuture<Integer> deleteExpiredBefore(final Instant before, final int limit) {
+        return fallback.deleteExpiredBefore(before, limit);
+    }
+
+    @Override
+    public CompletableFuture<Long> countExpiredBefore(final Instant before) {
+        return fallback.countExpiredBefore(before);
+    }
+
+    @Override
+    public CompletableFuture<AccountTokenDO> save(final TokenType type, final AccountTokenDO tokenDO) {
+        return storeOf(type).save(type, tokenDO);
+    }
+
+    @Override
+    public CompletableFuture<Optional<AccountTokenDO>> getByToken(final TokenType type, final String token) {
+        return storeOf(type).getByToken(type, token);
+    }
+
+    @Override
+    public CompletableFuture<Optional<AccountTokenDO>> deleteToken(final TokenType type, final String token) {
+        return storeOf(type).deleteToken(type, token);
+    }
+
+    @Override
+    public CompletableFuture<Optional<AccountTokenDO>> consume(final TokenType type, final String token) {
+        return storeOf(type).consume(type, token);
+    }
+
+    private AccountTokensRepository storeOf(final TokenType type) {
+        return stores.getOrDefault(type, fallback);
+    }
+}
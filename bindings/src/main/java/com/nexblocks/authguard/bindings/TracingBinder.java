@@ -0,0 +1,62 @@
+package com.nexblocks.authguard.bindings;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+import com.google.inject.multibindings.Multibinder;
+import com.google.inject.name.Named;
+import com.nexblocks.authguard.config.ConfigContext;
+import com.nexblocks.authguard.injection.ClassSearch;
+import com.nexblocks.authguard.metrics.tracing.AdaptiveSampler;
+import com.nexblocks.authguard.metrics.tracing.RingBufferExporter;
+import com.nexblocks.authguard.metrics.tracing.SpanExporter;
+import com.nexblocks.authguard.metrics.tracing.Tracer;
+import com.nexblocks.authguard.service.config.TracingConfig;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Creates the {@link Tracer} with the in-memory ring buffer and any
+ * other {@link SpanExporter} found in the search packages.
+ */
+public class TracingBinder extends AbstractModule {
+    private final DynamicBinder dynamicBinder;
+
+    public TracingBinder(final Collection<String> searchPackages) {
+        this.dynamicBinder = new DynamicBinder(new ClassSearch(searchPackages));
+    }
+
+    @Override
+    protected void configure() {
+        final Multibinder<SpanExporter> exporters = Multibinder.newSetBinder(binder(), SpanExporter.class);
+
+        dynamicBinder.findAllBindingsFor(SpanExporter.class).stream()
+                .filter(exporter -> !exporter.equals(RingBufferExporter.class))
+                .forEach(exporter -> {
+                    exporters.addBinding().to(exporter);
+
+                    PluginsRegistry.register(exporter);
+                });
+    }
+
+    @Provides
+    @Singleton
+    RingBufferExporter ringBufferExporter(final @Named("tracing") ConfigContext configContext) {
+        return new RingBufferExporter(configContext.asConfigBean(TracingConfig.class).getBufferSize());
+    }
+
+    @Provides
+    @Singleton
+    Tracer tracer(final @Named("tracing") ConfigContext configContext, final RingBufferExporter ringBuffer,
+                  final Set<SpanExporter> pluginExporters) {
+        final TracingConfig config = configContext.asConfigBean(TracingConfig.class);
+        final List<SpanExporter> exporters = new ArrayList<>(pluginExporters);
+
+        exporters.add(ringBuffer);
+
+        return new Tracer(new AdaptiveSampler(config.getSamplesPerSecond()), exporters);
+    }
+}
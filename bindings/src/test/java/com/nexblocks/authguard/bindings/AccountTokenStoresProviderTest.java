@@ -0,0 +1,130 @@
+package com.nexblocks.authguard.bindings;
+
+import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
+import com.nexblocks.authguard.dal.model.AccountTokenDO;
+import com.nexblocks.authguard.service.config.TokenStoreConfig;
+import com.nexblocks.authguard.service.config.TokenStoresConfig;
+import com.nexblocks.authguard.service.exceptions.ConfigurationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccountTokenStoresProviderTest {
+    private AccountTokensRepository durable;
+
+    @BeforeEach
+    void setup() {
+        durable = Mockito.mock(AccountTokensRepository.class);
+    }
+
+    private AccountTokensRepository repository(final TokenStoresConfig config) {
+        return new AccountTokenStoresProvider(() -> durable, config).get();
+    }
+
+    private static AccountTokenDO token(final String token, final Instant expiresAt) {
+        return AccountTokenDO.builder()
+                .token(token)
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    @Test
+    void useTheDurableStoreByDefault() {
+        assertThat(repository(TokenStoresConfig.builder().build())).isSameAs(durable);
+    }
+
+    @Test
+    void routeTypesToTheirStores() {
+        AccountTokensRepository repository = repository(TokenStoresConfig.builder()
+                .putTypes("authorizationCode", TokenStoreConfig.builder()
+                        .store(TokenStoreConfig.MEMORY)
+                        .build())
+                .putTypes("REFRESH_TOKEN", TokenStoreConfig.builder()
+                        .store(TokenStoreConfig.DURABLE)
+                        .build())
+                .build());
+
+        AccountTokenDO code = token("code", Instant.now().plus(Duration.ofMinutes(1)));
+        AccountTokenDO refreshToken = token("refresh", Instant.now().plus(Duration.ofDays(1)));
+
+        Mockito.when(durable.save(TokenType.REFRESH_TOKEN, refreshToken))
+                .thenReturn(CompletableFuture.completedFuture(refreshToken));
+
+        repository.save(TokenType.AUTHORIZATION_CODE, code).join();
+        repository.save(TokenType.REFRESH_TOKEN, refreshToken).join();
+
+        assertThat(repository.consume(TokenType.AUTHORIZATION_CODE, "code").join()).contains(code);
+        assertThat(repository.consume(TokenType.AUTHORIZATION_CODE, "code").join()).isEmpty();
+
+        Mockito.verify(durable).save(TokenType.REFRESH_TOKEN, refreshToken);
+        Mockito.verify(durable, Mockito.never()).save(Mockito.eq(TokenType.AUTHORIZATION_CODE), Mockito.any());
+        Mockito.verify(durable, Mockito.never()).consume(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void shareMemoryStoresBetweenInjections() {
+        AccountTokenStoresProvider provider = new AccountTokenStoresProvider(() -> durable, TokenStoresConfig.builder()
+                .putTypes("oidcRequest", TokenStoreConfig.builder()
+                        .store(TokenStoreConfig.MEMORY)
+                        .build())
+                .build());
+
+        AccountTokenDO request = token("request", Instant.now().plus(Duration.ofMinutes(1)));
+
+        provider.get().save(TokenType.OIDC_REQUEST, request).join();
+
+        assertThat(provider.get().getByToken(TokenType.OIDC_REQUEST, "request").join()).contains(request);
+    }
+
+    @Test
+    void rejectUnknownTypesAndStores() {
+        assertThatThrownBy(() -> repository(TokenStoresConfig.builder()
+                .putTypes("sessionCookie", TokenStoreConfig.builder().build())
+                .build()))
+                .isInstanceOf(ConfigurationException.class);
+
+        assertThatThrownBy(() -> repository(TokenStoresConfig.builder()
+                .putTypes("jti", TokenStoreConfig.builder().store("redis").build())
+                .build()))
+                .isInstanceOf(ConfigurationException.class);
+    }
+
+    @Test
+    void sweepExpiredTokensFromMemory() {
+        InMemoryAccountTokensRepository store = new InMemoryAccountTokensRepository(2);
+        Instant now = Instant.now();
+
+        store.save(token("expired", now.minusSeconds(1))).join();
+        store.save(token("valid", now.plusSeconds(60))).join();
+
+        assertThat(store.sweepExpired(now)).isEqualTo(1);
+        assertThat(store.getByToken("expired").join()).isEmpty();
+        assertThat(store.getByToken("valid").join()).isPresent();
+    }
+
+    @Test
+    void rejectTokensOnceMemoryIsFull() {
+        InMemoryAccountTokensRepository store = new InMemoryAccountTokensRepository(2);
+        Instant now = Instant.now();
+
+        store.save(token("expired", now.minusSeconds(1))).join();
+        store.save(token("first", now.plusSeconds(60))).join();
+
+        // the expired token makes room for this one
+        store.save(token("second", now.plusSeconds(60))).join();
+
+        assertThatThrownBy(() -> store.save(token("third", now.plusSeconds(60))).join())
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.consume("first").join()).map(AccountTokenDO::getToken).isEqualTo(Optional.of("first"));
+    }
+}
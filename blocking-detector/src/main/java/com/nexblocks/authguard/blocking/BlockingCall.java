@@ -0,0 +1,44 @@
+package com.nexblocks.authguard.blocking;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * A call which waited on an incomplete future from a thread which
+ * isn't allowed to block.
+ */
+public final class BlockingCall {
+    private final String threadName;
+    private final String method;
+    private final StackTraceElement[] stackTrace;
+
+    BlockingCall(final String threadName, final String method, final StackTraceElement[] stackTrace) {
+        this.threadName = threadName;
+        this.method = method;
+        this.stackTrace = stackTrace;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public StackTraceElement[] getStackTrace() {
+        return stackTrace.clone();
+    }
+
+    @Override
+    public String toString() {
+        // skip the frames of the detector itself
+        String trace = Arrays.stream(stackTrace)
+                .filter(frame -> !frame.getClassName().startsWith(BlockingCallDetector.class.getName()))
+                .map(frame -> "\tat " + frame)
+                .collect(Collectors.joining(System.lineSeparator()));
+
+        return "CompletableFuture." + method + "() blocked thread " + threadName
+                + System.lineSeparator() + trace;
+    }
+}
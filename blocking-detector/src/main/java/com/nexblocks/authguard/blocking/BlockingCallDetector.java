@@ -0,0 +1,200 @@
+package com.nexblocks.authguard.blocking;
+
+import net.bytebuddy.agent.ByteBuddyAgent;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.matcher.ElementMatchers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Detects threads which wait on a {@link CompletableFuture} while they
+ * aren't supposed to block, i.e. request threads and event loops. Once
+ * installed, every call to {@code join} or {@code get} on a future which
+ * isn't done yet is checked against the current thread.
+ * <p>
+ * {@link CompletableFuture} is loaded by the bootstrap class loader, so
+ * the code added to it can't see this class. Instead, it looks up a
+ * callback which {@link #install(Mode)} leaves in the system properties.
+ * <p>
+ * The mode is read from the {@value #MODE_PROPERTY} system property:
+ * {@code off} (the default), {@code record} to only keep the blocking
+ * calls, or {@code fail} to also throw a {@link BlockingCallException}
+ * from the blocking call. Non-blocking threads are recognized by the
+ * prefix of their names, which can be replaced with a comma separated
+ * list in {@value #THREADS_PROPERTY}, or by running code in
+ * {@link #runNonBlocking(Runnable)}.
+ */
+public final class BlockingCallDetector {
+    public static final String MODE_PROPERTY = "authguard.blocking.detection";
+    public static final String THREADS_PROPERTY = "authguard.blocking.threads";
+
+    static final String CALLBACK_PROPERTY = "authguard.blocking.callback";
+
+    private static final List<String> DEFAULT_THREAD_PREFIXES = Arrays.asList(
+            "JettyServerThreadPool-", // Javalin request threads
+            "vert.x-eventloop-thread-"
+    );
+
+    public enum Mode {
+        OFF,
+        RECORD,
+        FAIL;
+
+        static Mode fromSystemProperties() {
+            String value = System.getProperty(MODE_PROPERTY, "off");
+
+            try {
+                return Mode.valueOf(value.trim().toUpperCase());
+            } catch (final IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown blocking detection mode " + value
+                        + ", expected one of off, record, fail");
+            }
+        }
+    }
+
+    private static final ThreadLocal<Boolean> MARKED_NON_BLOCKING = ThreadLocal.withInitial(() -> false);
+    private static final ConcurrentLinkedQueue<BlockingCall> CALLS = new ConcurrentLinkedQueue<>();
+
+    private static volatile Mode mode = Mode.OFF;
+    private static volatile List<String> threadPrefixes = DEFAULT_THREAD_PREFIXES;
+    private static boolean installed = false;
+
+    private BlockingCallDetector() {
+    }
+
+    /**
+     * Switches to the mode set in the system properties, installing the
+     * detector unless it's off.
+     *
+     * @return The mode which the detector is running in.
+     */
+    public static Mode installFromSystemProperties() {
+        String threads = System.getProperty(THREADS_PROPERTY);
+
+        if (threads != null && !threads.isBlank()) {
+            threadPrefixes = Arrays.stream(threads.split(","))
+                    .map(String::trim)
+                    .filter(prefix -> !prefix.isEmpty())
+                    .collect(Collectors.toList());
+        }
+
+        install(Mode.fromSystemProperties());
+
+        return mode;
+    }
+
+    /**
+     * Instruments {@link CompletableFuture} if it wasn't already, and
+     * switches to the given mode. Installing the agent attaches to the
+     * running JVM, which takes a while the first time.
+     */
+    public static synchronized void install(final Mode newMode) {
+        if (!installed && newMode != Mode.OFF) {
+            System.getProperties().put(CALLBACK_PROPERTY, (Consumer<String>) BlockingCallDetector::onBlockingCall);
+
+            new AgentBuilder.Default()
+                    .disableClassFormatChanges()
+                    .with(AgentBuilder.RedefinitionStrategy.RETRANSFORMATION)
+                    .with(AgentBuilder.InitializationStrategy.NoOp.INSTANCE)
+                    .with(AgentBuilder.TypeStrategy.Default.REDEFINE)
+                    .ignore(ElementMatchers.none())
+                    .type(ElementMatchers.is(CompletableFuture.class))
+                    .transform((builder, type, classLoader, module) -> builder.visit(
+                            Advice.to(WaitAdvice.class).on(ElementMatchers.named("join")
+                                    .or(ElementMatchers.named("get")))))
+                    .installOn(ByteBuddyAgent.install());
+
+            installed = true;
+        }
+
+        mode = newMode;
+    }
+
+    public static Mode mode() {
+        return mode;
+    }
+
+    /**
+     * Runs the given code as if the current thread was an event loop.
+     */
+    public static void runNonBlocking(final Runnable runnable) {
+        boolean previous = MARKED_NON_BLOCKING.get();
+
+        MARKED_NON_BLOCKING.set(true);
+
+        try {
+            runnable.run();
+        } finally {
+            MARKED_NON_BLOCKING.set(previous);
+        }
+    }
+
+    public static boolean isNonBlockingThread(final Thread thread) {
+        if (thread == Thread.currentThread() && MARKED_NON_BLOCKING.get()) {
+            return true;
+        }
+
+        String name = thread.getName();
+
+        return threadPrefixes.stream().anyMatch(name::startsWith);
+    }
+
+    /**
+     * @return The blocking calls made since the last time this was
+     *         called, which are then forgotten.
+     */
+    public static List<BlockingCall> drainBlockingCalls() {
+        List<BlockingCall> drained = new ArrayList<>();
+        BlockingCall call;
+
+        while ((call = CALLS.poll()) != null) {
+            drained.add(call);
+        }
+
+        return Collections.unmodifiableList(drained);
+    }
+
+    private static void onBlockingCall(final String method) {
+        Thread thread = Thread.currentThread();
+
+        if (mode == Mode.OFF || !isNonBlockingThread(thread)) {
+            return;
+        }
+
+        BlockingCall call = new BlockingCall(thread.getName(), method, new Throwable().getStackTrace());
+
+        CALLS.add(call);
+
+        if (mode == Mode.FAIL) {
+            throw new BlockingCallException(call);
+        }
+    }
+
+    /**
+     * Inlined into {@link CompletableFuture#join()} and the overloads of
+     * {@link CompletableFuture#get()}, where it can only use what the
+     * bootstrap class loader can see.
+     */
+    static class WaitAdvice {
+        @Advice.OnMethodEnter
+        @SuppressWarnings("unchecked")
+        static void enter(@Advice.This final CompletableFuture<?> future,
+                          @Advice.Origin("#m") final String method) {
+            if (!future.isDone()) {
+                Object callback = System.getProperties().get(CALLBACK_PROPERTY);
+
+                if (callback instanceof Consumer) {
+                    ((Consumer<String>) callback).accept(method);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.nexblocks.authguard.blocking;
+
+public class BlockingCallException extends IllegalStateException {
+    private final BlockingCall call;
+
+    public BlockingCallException(final BlockingCall call) {
+        super("CompletableFuture." + call.getMethod() + "() was called on non-blocking thread "
+                + call.getThreadName());
+        this.call = call;
+    }
+
+    public BlockingCall getCall() {
+        return call;
+    }
+}
@@ -0,0 +1,46 @@
+package com.nexblocks.authguard.blocking;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Installs the {@link BlockingCallDetector} before every test, and fails
+ * any test during which a non-blocking thread waited on a future. The
+ * failure is reported even if the test swallowed the exception thrown
+ * from the blocking call. In record mode the calls are only reported
+ * to the test output.
+ * <p>
+ * It's registered as a service, so it only needs the module on the
+ * test classpath and JUnit's extension auto-detection enabled.
+ */
+public class BlockingCallExtension implements BeforeEachCallback, AfterEachCallback {
+    @Override
+    public void beforeEach(final ExtensionContext context) {
+        BlockingCallDetector.installFromSystemProperties();
+        BlockingCallDetector.drainBlockingCalls();
+    }
+
+    @Override
+    public void afterEach(final ExtensionContext context) {
+        List<BlockingCall> calls = BlockingCallDetector.drainBlockingCalls();
+
+        if (calls.isEmpty()) {
+            return;
+        }
+
+        String report = calls.stream()
+                .map(BlockingCall::toString)
+                .collect(Collectors.joining(System.lineSeparator()));
+
+        if (BlockingCallDetector.mode() == BlockingCallDetector.Mode.FAIL) {
+            throw new AssertionError(context.getDisplayName() + " made " + calls.size()
+                    + " blocking call(s):" + System.lineSeparator() + report);
+        }
+
+        context.publishReportEntry("blockingCalls", report);
+    }
+}
@@ -0,0 +1,101 @@
+package com.nexblocks.authguard.blocking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BlockingCallDetectorTest {
+
+    /**
+     * Runs after the extension, which installs the detector in the
+     * mode the build asked for.
+     */
+    @BeforeEach
+    void install() {
+        BlockingCallDetector.install(BlockingCallDetector.Mode.RECORD);
+    }
+
+    @AfterEach
+    void restoreMode() {
+        BlockingCallDetector.drainBlockingCalls();
+        BlockingCallDetector.installFromSystemProperties();
+    }
+
+    @Test
+    void detectJoinOnNonBlockingThread() {
+        CompletableFuture<String> future = CompletableFuture.supplyAsync(() -> {
+            sleep(50);
+            return "done";
+        });
+
+        BlockingCallDetector.runNonBlocking(future::join);
+
+        List<BlockingCall> calls = BlockingCallDetector.drainBlockingCalls();
+
+        assertThat(calls).hasSize(1);
+        assertThat(calls.get(0).getMethod()).isEqualTo("join");
+        assertThat(calls.get(0).getThreadName()).isEqualTo(Thread.currentThread().getName());
+    }
+
+    @Test
+    void detectGetWithTimeoutOnNonBlockingThread() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+
+        BlockingCallDetector.runNonBlocking(() -> {
+            try {
+                future.get(1, TimeUnit.MILLISECONDS);
+            } catch (final Exception ignored) {
+                // only the call matters here
+            }
+        });
+
+        assertThat(BlockingCallDetector.drainBlockingCalls())
+                .extracting(BlockingCall::getMethod)
+                .containsExactly("get");
+    }
+
+    @Test
+    void ignoreCompletedFutures() {
+        BlockingCallDetector.runNonBlocking(() -> CompletableFuture.completedFuture("done").join());
+
+        assertThat(BlockingCallDetector.drainBlockingCalls()).isEmpty();
+    }
+
+    @Test
+    void ignoreOtherThreads() {
+        CompletableFuture<String> future = CompletableFuture.supplyAsync(() -> {
+            sleep(50);
+            return "done";
+        });
+
+        future.join();
+
+        assertThat(BlockingCallDetector.drainBlockingCalls()).isEmpty();
+    }
+
+    @Test
+    void failInFailMode() {
+        BlockingCallDetector.install(BlockingCallDetector.Mode.FAIL);
+
+        CompletableFuture<String> future = new CompletableFuture<>();
+
+        assertThatThrownBy(() -> BlockingCallDetector.runNonBlocking(future::join))
+                .isInstanceOf(BlockingCallException.class);
+        assertThat(future.isDone()).isFalse();
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.nexblocks.authguard.bootstrap.steps;
 
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
+import com.nexblocks.authguard.bootstrap.BootstrapOrder;
 import com.nexblocks.authguard.bootstrap.BootstrapStep;
 import com.nexblocks.authguard.config.ConfigContext;
 import com.nexblocks.authguard.service.PermissionsService;
@@ -18,6 +19,8 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+// roles are looked up before they're created, so only one step creates them at a time
+@BootstrapOrder(after = { AdminRolesBootstrap.class, DefaultRolesBootstrap.class })
 public class EntitiesBootstrap implements BootstrapStep {
     private final Logger log = LoggerFactory.getLogger(this.getClass());
 
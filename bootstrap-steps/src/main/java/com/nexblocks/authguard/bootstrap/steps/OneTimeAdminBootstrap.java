@@ -2,6 +2,7 @@ package com.nexblocks.authguard.bootstrap.steps;
 
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
+import com.nexblocks.authguard.bootstrap.BootstrapOrder;
 import com.nexblocks.authguard.bootstrap.BootstrapStep;
 import com.nexblocks.authguard.config.ConfigContext;
 import com.nexblocks.authguard.service.AccountsService;
@@ -15,6 +16,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
+@BootstrapOrder(after = AdminRolesBootstrap.class)
 public class OneTimeAdminBootstrap implements BootstrapStep {
     private static final String OTA_ROLE = "one_time_admin";
     private static final String RESERVED_DOMAIN = "global";
@@ -36,8 +38,8 @@ public class OneTimeAdminBootstrap implements BootstrapStep {
 
     @Override
     public void run() {
-        final List<AccountBO> admins = accountsService.getAdmins().join();
-        final List<AccountBO> oneTimeAdmins = accountsService.getByRole(OTA_ROLE, RESERVED_DOMAIN).join();
+        final List<AccountBO> admins = accountsService.getAdmins(null).join();
+        final List<AccountBO> oneTimeAdmins = accountsService.getByRole(OTA_ROLE, RESERVED_DOMAIN, null).join();
 
         if (admins.isEmpty() && oneTimeAdmins.isEmpty()) {
             log.info("No admin accounts were found, a one-time admin account will be created");
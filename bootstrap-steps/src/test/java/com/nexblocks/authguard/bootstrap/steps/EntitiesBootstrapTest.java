@@ -80,11 +80,11 @@ class EntitiesBootstrapTest {
                 .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
 
         Mockito.when(permissionsService.validate(Mockito.anyList(), Mockito.anyString(), Mockito.any()))
-                .thenReturn(Collections.singletonList(PermissionBO.builder()
+                .thenReturn(CompletableFuture.completedFuture(Collections.singletonList(PermissionBO.builder()
                         .group("tests")
                         .name("existing")
                         .domain("test")
-                        .build()));
+                        .build())));
 
         entitiesBootstrap.run();
 
@@ -0,0 +1,27 @@
+package com.nexblocks.authguard.bootstrap;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares where a {@link BootstrapStep} runs relative to the other
+ * steps. A step without it doesn't depend on any other step and is
+ * critical, so it can run as soon as the bootstrap starts.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface BootstrapOrder {
+    /**
+     * The steps which have to complete successfully before this one
+     * runs. A step which isn't on the classpath is ignored.
+     */
+    Class<? extends BootstrapStep>[] after() default {};
+
+    /**
+     * Whether the server has to wait for this step before it starts.
+     * Steps which critical steps depend on are waited for either way.
+     */
+    boolean critical() default true;
+}
@@ -5,27 +5,236 @@ import com.google.inject.Injector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Runs every {@link BootstrapStep} on the classpath. Steps run on a
+ * bounded pool as soon as the steps they come after, as declared by
+ * {@link BootstrapOrder}, have completed, so independent steps run
+ * concurrently. A step is skipped if any step it comes after failed or
+ * was skipped itself.
+ */
 public class BootstrapRunner {
     private static Logger LOG = LoggerFactory.getLogger(BootstrapRunner.class);
 
+    public static final int DEFAULT_CONCURRENCY = 4;
+
     private final ClassSearch classSearch;
     private final Injector injector;
+    private final int concurrency;
+    private final Map<String, Long> timings = Collections.synchronizedMap(new LinkedHashMap<>());
 
     public BootstrapRunner(final ClassSearch classSearch, final Injector injector) {
+        this(classSearch, injector, DEFAULT_CONCURRENCY);
+    }
+
+    public BootstrapRunner(final ClassSearch classSearch, final Injector injector, final int concurrency) {
         this.classSearch = classSearch;
         this.injector = injector;
+        this.concurrency = Math.max(concurrency, 1);
     }
 
+    /**
+     * Runs every step and waits until all of them are done.
+     */
     public void runAll() {
-        classSearch.findAllImplementationClass(BootstrapStep.class)
-                .stream()
-                .map(injector::getInstance)
-                .forEach(step -> {
-                    try {
-                        step.run();
-                    } catch (final Exception e) {
-                        LOG.error("Bootstrap step {} threw an error", step.getClass().getCanonicalName(), e);
-                    }
+        start().all.join();
+    }
+
+    /**
+     * Runs every step but only waits until the critical ones, and the
+     * steps which they come after, are done.
+     *
+     * @return A future which completes once the remaining steps are
+     *         done too.
+     */
+    public CompletableFuture<Void> runCritical() {
+        final Run run = start();
+
+        run.critical.join();
+
+        return run.all;
+    }
+
+    /**
+     * @return How long each step which ran took in milliseconds, in the
+     *         order in which they completed.
+     */
+    public Map<String, Long> getTimings() {
+        synchronized (timings) {
+            return new LinkedHashMap<>(timings);
+        }
+    }
+
+    private Run start() {
+        final Map<Class<? extends BootstrapStep>, List<Class<? extends BootstrapStep>>> dependencies =
+                dependencies(classSearch.findAllImplementationClass(BootstrapStep.class));
+
+        if (dependencies.isEmpty()) {
+            final CompletableFuture<Void> done = CompletableFuture.completedFuture(null);
+
+            return new Run(done, done);
+        }
+
+        final List<Class<? extends BootstrapStep>> ordered = order(dependencies);
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(concurrency, dependencies.size()),
+                new BootstrapThreadFactory());
+        final Map<Class<? extends BootstrapStep>, CompletableFuture<Boolean>> results = new HashMap<>();
+        final List<CompletableFuture<Boolean>> critical = new ArrayList<>();
+        final long start = System.nanoTime();
+
+        for (Class<? extends BootstrapStep> stepClass : ordered) {
+            final List<CompletableFuture<Boolean>> previous = dependencies.get(stepClass).stream()
+                    .map(results::get)
+                    .collect(Collectors.toList());
+
+            final CompletableFuture<Boolean> result = CompletableFuture.allOf(previous.toArray(new CompletableFuture[0]))
+                    .thenApplyAsync(ignored -> {
+                        if (previous.stream().allMatch(CompletableFuture::join)) {
+                            return run(stepClass);
+                        }
+
+                        LOG.warn("Skipping bootstrap step {} since a step it comes after didn't complete",
+                                stepClass.getCanonicalName());
+
+                        return false;
+                    }, executor);
+
+            results.put(stepClass, result);
+
+            if (isCritical(stepClass)) {
+                critical.add(result);
+            }
+        }
+
+        final CompletableFuture<Void> all = CompletableFuture.allOf(results.values().toArray(new CompletableFuture[0]))
+                .whenComplete((ignored, e) -> {
+                    executor.shutdown();
+
+                    LOG.info("Ran {} bootstrap steps in {} ms", results.size(), (System.nanoTime() - start) / 1_000_000);
                 });
+
+        return new Run(CompletableFuture.allOf(critical.toArray(new CompletableFuture[0])), all);
+    }
+
+    private boolean run(final Class<? extends BootstrapStep> stepClass) {
+        final long start = System.nanoTime();
+
+        try {
+            injector.getInstance(stepClass).run();
+        } catch (final Exception e) {
+            LOG.error("Bootstrap step {} threw an error", stepClass.getCanonicalName(), e);
+
+            return false;
+        }
+
+        final long duration = (System.nanoTime() - start) / 1_000_000;
+
+        timings.put(stepClass.getCanonicalName(), duration);
+
+        LOG.info("Bootstrap step {} completed in {} ms", stepClass.getCanonicalName(), duration);
+
+        return true;
+    }
+
+    private Map<Class<? extends BootstrapStep>, List<Class<? extends BootstrapStep>>> dependencies(
+            final Set<Class<? extends BootstrapStep>> stepClasses) {
+        final Map<Class<? extends BootstrapStep>, List<Class<? extends BootstrapStep>>> dependencies = new HashMap<>();
+
+        for (Class<? extends BootstrapStep> stepClass : stepClasses) {
+            final BootstrapOrder order = stepClass.getAnnotation(BootstrapOrder.class);
+            final List<Class<? extends BootstrapStep>> after = new ArrayList<>();
+
+            if (order != null) {
+                for (Class<? extends BootstrapStep> dependency : order.after()) {
+                    if (stepClasses.contains(dependency)) {
+                        after.add(dependency);
+                    } else {
+                        LOG.debug("Bootstrap step {} comes after {}, which wasn't found",
+                                stepClass.getCanonicalName(), dependency.getCanonicalName());
+                    }
+                }
+            }
+
+            dependencies.put(stepClass, after);
+        }
+
+        return dependencies;
+    }
+
+    /**
+     * Orders the steps so that every step comes after its dependencies,
+     * and by name otherwise to keep the order the same between runs.
+     */
+    private List<Class<? extends BootstrapStep>> order(
+            final Map<Class<? extends BootstrapStep>, List<Class<? extends BootstrapStep>>> dependencies) {
+        final List<Class<? extends BootstrapStep>> ordered = new ArrayList<>(dependencies.size());
+        final Set<Class<? extends BootstrapStep>> visiting = new HashSet<>();
+        final Set<Class<? extends BootstrapStep>> visited = new HashSet<>();
+
+        dependencies.keySet().stream()
+                .sorted(Comparator.comparing(Class::getName))
+                .forEach(stepClass -> visit(stepClass, dependencies, visiting, visited, ordered));
+
+        return ordered;
+    }
+
+    private void visit(final Class<? extends BootstrapStep> stepClass,
+                       final Map<Class<? extends BootstrapStep>, List<Class<? extends BootstrapStep>>> dependencies,
+                       final Set<Class<? extends BootstrapStep>> visiting,
+                       final Set<Class<? extends BootstrapStep>> visited,
+                       final List<Class<? extends BootstrapStep>> ordered) {
+        if (visited.contains(stepClass)) {
+            return;
+        }
+
+        if (!visiting.add(stepClass)) {
+            throw new IllegalStateException("Bootstrap step " + stepClass.getCanonicalName()
+                    + " comes after itself through its dependencies");
+        }
+
+        for (Class<? extends BootstrapStep> dependency : dependencies.get(stepClass)) {
+            visit(dependency, dependencies, visiting, visited, ordered);
+        }
+
+        visiting.remove(stepClass);
+        visited.add(stepClass);
+        ordered.add(stepClass);
+    }
+
+    private static boolean isCritical(final Class<? extends BootstrapStep> stepClass) {
+        final BootstrapOrder order = stepClass.getAnnotation(BootstrapOrder.class);
+
+        return order == null || order.critical();
+    }
+
+    private static final class Run {
+        private final CompletableFuture<Void> critical;
+        private final CompletableFuture<Void> all;
+
+        private Run(final CompletableFuture<Void> critical, final CompletableFuture<Void> all) {
+            this.critical = critical;
+            this.all = all;
+        }
+    }
+
+    private static final class BootstrapThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, "bootstrap-" + count.incrementAndGet());
+
+            // steps which are left to finish in the background shouldn't keep the process alive
+            thread.setDaemon(true);
+
+            return thread;
+        }
     }
 }
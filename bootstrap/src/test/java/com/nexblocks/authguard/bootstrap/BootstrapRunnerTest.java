@@ -0,0 +1,173 @@
+package com.nexblocks.authguard.bootstrap;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.nexblocks.authguard.injection.ClassSearch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BootstrapRunnerTest {
+    private static final List<String> COMPLETED = Collections.synchronizedList(new ArrayList<>());
+
+    private static CountDownLatch bothStarted;
+    private static CountDownLatch releaseBackground;
+
+    private ClassSearch classSearch;
+    private Injector injector;
+
+    public static class First implements BootstrapStep {
+        @Override
+        public void run() {
+            awaitOther();
+            COMPLETED.add("first");
+        }
+    }
+
+    public static class Second implements BootstrapStep {
+        @Override
+        public void run() {
+            awaitOther();
+            COMPLETED.add("second");
+        }
+    }
+
+    @BootstrapOrder(after = { First.class, Second.class })
+    public static class Third implements BootstrapStep {
+        @Override
+        public void run() {
+            COMPLETED.add("third");
+        }
+    }
+
+    public static class Failing implements BootstrapStep {
+        @Override
+        public void run() {
+            throw new IllegalStateException("Failed on purpose");
+        }
+    }
+
+    @BootstrapOrder(after = Failing.class)
+    public static class AfterFailing implements BootstrapStep {
+        @Override
+        public void run() {
+            COMPLETED.add("after failing");
+        }
+    }
+
+    @BootstrapOrder(critical = false)
+    public static class Background implements BootstrapStep {
+        @Override
+        public void run() {
+            try {
+                releaseBackground.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            COMPLETED.add("background");
+        }
+    }
+
+    @BootstrapOrder(after = CycleB.class)
+    public static class CycleA implements BootstrapStep {
+        @Override
+        public void run() {
+        }
+    }
+
+    @BootstrapOrder(after = CycleA.class)
+    public static class CycleB implements BootstrapStep {
+        @Override
+        public void run() {
+        }
+    }
+
+    private static void awaitOther() {
+        bothStarted.countDown();
+
+        try {
+            bothStarted.await(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @BeforeEach
+    void setup() {
+        COMPLETED.clear();
+        bothStarted = new CountDownLatch(2);
+        releaseBackground = new CountDownLatch(1);
+
+        classSearch = Mockito.mock(ClassSearch.class);
+        injector = Guice.createInjector();
+    }
+
+    private void mockSteps(final Class<? extends BootstrapStep>... steps) {
+        Mockito.when(classSearch.findAllImplementationClass(BootstrapStep.class))
+                .thenReturn(new HashSet<>(Arrays.asList(steps)));
+    }
+
+    @Test
+    void runIndependentStepsConcurrently() {
+        mockSteps(First.class, Second.class, Third.class);
+
+        BootstrapRunner runner = new BootstrapRunner(classSearch, injector, 2);
+
+        runner.runAll();
+
+        // the first two steps only complete if they ran at the same time
+        assertThat(bothStarted.getCount()).isZero();
+        assertThat(COMPLETED).hasSize(3);
+        assertThat(COMPLETED.get(2)).isEqualTo("third");
+        assertThat(runner.getTimings()).containsOnlyKeys(First.class.getCanonicalName(),
+                Second.class.getCanonicalName(), Third.class.getCanonicalName());
+    }
+
+    @Test
+    void skipStepsAfterFailedOnes() {
+        mockSteps(Failing.class, AfterFailing.class, Third.class, First.class, Second.class);
+
+        BootstrapRunner runner = new BootstrapRunner(classSearch, injector);
+
+        runner.runAll();
+
+        assertThat(COMPLETED).containsExactlyInAnyOrder("first", "second", "third");
+        assertThat(runner.getTimings()).doesNotContainKeys(Failing.class.getCanonicalName(),
+                AfterFailing.class.getCanonicalName());
+    }
+
+    @Test
+    void runCriticalLeavesTheRestInTheBackground() {
+        mockSteps(Background.class, Third.class, First.class, Second.class);
+
+        BootstrapRunner runner = new BootstrapRunner(classSearch, injector);
+
+        CompletableFuture<Void> remaining = runner.runCritical();
+
+        assertThat(COMPLETED).containsExactlyInAnyOrder("first", "second", "third");
+        assertThat(remaining).isNotDone();
+
+        releaseBackground.countDown();
+        remaining.join();
+
+        assertThat(COMPLETED).contains("background");
+    }
+
+    @Test
+    void rejectCycles() {
+        mockSteps(CycleA.class, CycleB.class);
+
+        BootstrapRunner runner = new BootstrapRunner(classSearch, injector);
+
+        assertThatThrownBy(runner::runAll).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -1,14 +1,30 @@
 package com.nexblocks.authguard.dal.cache;
 
 import com.nexblocks.authguard.dal.model.AccountLockDO;
+import com.nexblocks.authguard.dal.repository.ExpiringRecordRepository;
 
+import java.time.Instant;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
-public interface AccountLocksRepository {
+public interface AccountLocksRepository extends ExpiringRecordRepository {
     CompletableFuture<Collection<AccountLockDO>> findByAccountId(long accountId);
 
+    /**
+     * Finds the locks of an account which haven't expired yet. The
+     * default implementation reads all of them and filters them here;
+     * implementations should filter them in the query instead.
+     */
+    default CompletableFuture<Collection<AccountLockDO>> findActiveByAccountId(final long accountId,
+                                                                             final Instant now) {
+        return findByAccountId(accountId)
+                .thenApply(locks -> locks.stream()
+                        .filter(lock -> lock.getExpiresAt().isAfter(now))
+                        .collect(Collectors.toList()));
+    }
+
     CompletableFuture<AccountLockDO> save(AccountLockDO accountLock);
 
     CompletableFuture<Optional<AccountLockDO>> delete(long id);
@@ -1,12 +1,59 @@
 package com.nexblocks.authguard.dal.cache;
 
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
+import com.nexblocks.authguard.dal.repository.ExpiringRecordRepository;
 
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
-public interface AccountTokensRepository {
+/**
+ * Keeps tokens which are issued to accounts. Each method has a variant
+ * which takes the {@link TokenType} of the token, which is what callers
+ * use. By default the type is ignored and all tokens are kept together;
+ * implementations which keep each type separately override the typed
+ * variants. Which store each type is routed to is configured when the
+ * repository is bound.
+ */
+public interface AccountTokensRepository extends ExpiringRecordRepository {
     CompletableFuture<AccountTokenDO> save(AccountTokenDO tokenDO);
     CompletableFuture<Optional<AccountTokenDO>> getByToken(String token);
     CompletableFuture<Optional<AccountTokenDO>> deleteToken(String token);
+
+    /**
+     * Gets a token and deletes it in the same step, so that a single-use
+     * token can only be used once however many requests race for it. Only
+     * one caller gets the token; the others get an empty result.
+     * <p>
+     * The default implementation reads the token and then deletes it, and
+     * only returns it if {@link #deleteToken(String)} reported that it was
+     * the one which deleted it, which takes two round trips. Implementations
+     * should override it with a single atomic operation, such as a delete
+     * which returns the deleted row.
+     */
+    default CompletableFuture<Optional<AccountTokenDO>> consume(final String token) {
+        return getByToken(token).thenCompose(found -> {
+            if (found.isEmpty()) {
+                return CompletableFuture.completedFuture(found);
+            }
+
+            return deleteToken(token)
+                    .thenApply(deleted -> deleted.isPresent() ? found : Optional.<AccountTokenDO>empty());
+        });
+    }
+
+    default CompletableFuture<AccountTokenDO> save(final TokenType type, final AccountTokenDO tokenDO) {
+        return save(tokenDO);
+    }
+
+    default CompletableFuture<Optional<AccountTokenDO>> getByToken(final TokenType type, final String token) {
+        return getByToken(token);
+    }
+
+    default CompletableFuture<Optional<AccountTokenDO>> deleteToken(final TokenType type, final String token) {
+        return deleteToken(token);
+    }
+
+    default CompletableFuture<Optional<AccountTokenDO>> consume(final TokenType type, final String token) {
+        return consume(token);
+    }
 }
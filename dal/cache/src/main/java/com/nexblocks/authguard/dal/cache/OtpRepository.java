@@ -1,11 +1,12 @@
 package com.nexblocks.authguard.dal.cache;
 
 import com.nexblocks.authguard.dal.model.OneTimePasswordDO;
+import com.nexblocks.authguard.dal.repository.ExpiringRecordRepository;
 
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
-public interface OtpRepository {
+public interface OtpRepository extends ExpiringRecordRepository {
     CompletableFuture<OneTimePasswordDO> save(OneTimePasswordDO password);
     CompletableFuture<Optional<OneTimePasswordDO>> getById(long id);
 }
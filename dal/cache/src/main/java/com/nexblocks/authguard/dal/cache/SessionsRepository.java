@@ -1,12 +1,13 @@
 package com.nexblocks.authguard.dal.cache;
 
 import com.nexblocks.authguard.dal.model.SessionDO;
+import com.nexblocks.authguard.dal.repository.ExpiringRecordRepository;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
-public interface SessionsRepository {
+public interface SessionsRepository extends ExpiringRecordRepository {
     CompletableFuture<SessionDO> save(SessionDO session);
     CompletableFuture<Optional<SessionDO>> getById(long sessionId);
     CompletableFuture<Optional<SessionDO>> getByToken(String sessionToken);
@@ -0,0 +1,30 @@
+package com.nexblocks.authguard.dal.cache;
+
+import java.util.Locale;
+
+/**
+ * The kinds of tokens which are kept in {@link AccountTokensRepository}.
+ * Each has its own lifetime and access pattern, so each can be kept in
+ * a store of its own.
+ */
+public enum TokenType {
+    REFRESH_TOKEN,
+    JTI,
+    ACTION_TOKEN,
+    OIDC_REQUEST,
+    AUTHORIZATION_CODE,
+    TOTP_LINKER,
+    PASSWORDLESS,
+    PASSWORD_RESET,
+    EMAIL_VERIFICATION;
+
+    /**
+     * Parses a type from either its constant name or its camel case
+     * name, e.g. AUTHORIZATION_CODE or authorizationCode.
+     *
+     * @throws IllegalArgumentException If there is no such type.
+     */
+    public static TokenType fromName(final String name) {
+        return valueOf(name.replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,73 @@
+package com.nexblocks.authguard.dal.cache;
+
+import com.nexblocks.authguard.dal.model.AccountTokenDO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountTokensRepositoryTest {
+
+    /**
+     * Only implements the required methods, so that consume falls back
+     * to the default implementation.
+     */
+    private static class InMemoryAccountTokens implements AccountTokensRepository {
+        private final Map<String, AccountTokenDO> tokens = new ConcurrentHashMap<>();
+
+        @Override
+        public CompletableFuture<AccountTokenDO> save(final AccountTokenDO tokenDO) {
+            tokens.put(tokenDO.getToken(), tokenDO);
+
+            return CompletableFuture.completedFuture(tokenDO);
+        }
+
+        @Override
+        public CompletableFuture<Optional<AccountTokenDO>> getByToken(final String token) {
+            return CompletableFuture.supplyAsync(() -> Optional.ofNullable(tokens.get(token)));
+        }
+
+        @Override
+        public CompletableFuture<Optional<AccountTokenDO>> deleteToken(final String token) {
+            return CompletableFuture.supplyAsync(() -> Optional.ofNullable(tokens.remove(token)));
+        }
+    }
+
+    @Test
+    void consume() {
+        InMemoryAccountTokens repository = new InMemoryAccountTokens();
+        AccountTokenDO accountToken = AccountTokenDO.builder()
+                .token("token")
+                .associatedAccountId(101)
+                .build();
+
+        repository.save(accountToken).join();
+
+        assertThat(repository.consume("token").join()).contains(accountToken);
+        assertThat(repository.getByToken("token").join()).isEmpty();
+        assertThat(repository.consume("token").join()).isEmpty();
+    }
+
+    @Test
+    void consumeConcurrently() {
+        InMemoryAccountTokens repository = new InMemoryAccountTokens();
+
+        repository.save(AccountTokenDO.builder().token("token").build()).join();
+
+        List<Optional<AccountTokenDO>> results = IntStream.range(0, 16)
+                .mapToObj(ignored -> repository.consume("token"))
+                .collect(Collectors.toList())
+                .stream()
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList());
+
+        assertThat(results.stream().filter(Optional::isPresent)).hasSize(1);
+    }
+}
@@ -52,6 +52,60 @@ import java.util.Set;
                 "LEFT JOIN FETCH account.roles role " +
                 "WHERE role = :role AND account.domain = :domain AND account.deleted = false "
 )
+@NamedQuery(
+        name = "accounts.getByRoleAfterCursor",
+        query = "SELECT account FROM AccountDO account " +
+                "JOIN account.roles role " +
+                "WHERE role = :role AND account.domain = :domain AND account.deleted = false " +
+                "AND account.id > :cursor ORDER BY account.id"
+)
+@NamedQuery(
+        name = "accounts.getByDomain",
+        query = "SELECT account FROM AccountDO account " +
+                "WHERE account.domain = :domain AND account.deleted = false AND account.id > :cursor " +
+                "ORDER BY account.id"
+)
+@NamedQuery(
+        name = "accounts.getAuthViewById",
+        query = "SELECT NEW com.nexblocks.authguard.dal.model.AuthAccountView(" +
+                "account.id, account.domain, account.externalId, account.active, " +
+                "account.email.email, account.email.verified, " +
+                "account.phoneNumber.number, account.phoneNumber.verified, " +
+                "account.hashedPassword.password, account.hashedPassword.salt, " +
+                "account.passwordUpdatedAt, account.passwordVersion) " +
+                "FROM AccountDO account " +
+                "WHERE account.id = :id AND account.deleted = false"
+)
+@NamedQuery(
+        name = "accounts.getAuthViewByIdentifier",
+        query = "SELECT NEW com.nexblocks.authguard.dal.model.AuthAccountView(" +
+                "account.id, account.domain, account.externalId, account.active, " +
+                "account.email.email, account.email.verified, " +
+                "account.phoneNumber.number, account.phoneNumber.verified, " +
+                "account.hashedPassword.password, account.hashedPassword.salt, " +
+                "account.passwordUpdatedAt, account.passwordVersion) " +
+                "FROM AccountDO account " +
+                "JOIN account.identifiers identifier " +
+                "WHERE identifier.identifier = :identifier AND identifier.domain = :domain AND account.deleted = false"
+)
+@NamedQuery(
+        name = "accounts.getRolesByAccountId",
+        query = "SELECT role FROM AccountDO account " +
+                "JOIN account.roles role " +
+                "WHERE account.id = :id"
+)
+@NamedQuery(
+        name = "accounts.getPermissionsByAccountId",
+        query = "SELECT permission FROM AccountDO account " +
+                "JOIN account.permissions permission " +
+                "WHERE account.id = :id"
+)
+@NamedQuery(
+        name = "accounts.getIdentifiersByAccountId",
+        query = "SELECT identifier FROM AccountDO account " +
+                "JOIN account.identifiers identifier " +
+                "WHERE account.id = :id"
+)
 @NamedQuery(
         name = "accounts.getByIdentifier",
         query = "SELECT account FROM AccountDO account " +
@@ -29,6 +29,12 @@ import java.util.Set;
                 "AND app.deleted = false AND app.id > :cursor " +
                 "ORDER BY app.id "
 )
+@NamedQuery(
+        name = "apps.getByDomain",
+        query = "SELECT app FROM AppDO app WHERE app.domain = :domain " +
+                "AND app.deleted = false AND app.id > :cursor " +
+                "ORDER BY app.id "
+)
 public class AppDO extends AbstractDO {
     private String externalId;
     private String name;
@@ -0,0 +1,78 @@
+package com.nexblocks.authguard.dal.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * The part of an account which is needed to authenticate it and to
+ * issue tokens for it. It isn't an entity; the scalar fields are
+ * selected with the accounts.getAuthViewBy* queries, and the roles,
+ * permissions, and identifiers with the accounts.get*ByAccountId
+ * queries. Reading the collections separately avoids the product of
+ * all three which a join fetch of the whole account returns.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuthAccountView {
+    private Long id;
+    private String domain;
+    private String externalId;
+    private boolean active;
+
+    private EmailDO email;
+    private PhoneNumberDO phoneNumber;
+
+    private PasswordDO hashedPassword;
+    private Instant passwordUpdatedAt;
+    private int passwordVersion;
+
+    private Set<String> roles;
+    private Set<PermissionDO> permissions;
+    private Set<UserIdentifierDO> identifiers;
+
+    /**
+     * Used by the constructor expression of the queries, which can't
+     * select embedded values as a whole.
+     */
+    public AuthAccountView(final Long id, final String domain, final String externalId, final Boolean active,
+                           final String email, final Boolean emailVerified,
+                           final String phoneNumber, final Boolean phoneNumberVerified,
+                           final String password, final String salt,
+                           final Instant passwordUpdatedAt, final Integer passwordVersion) {
+        this.id = id;
+        this.domain = domain;
+        this.externalId = externalId;
+        this.active = Boolean.TRUE.equals(active);
+        this.email = email == null ? null : new EmailDO(email, Boolean.TRUE.equals(emailVerified));
+        this.phoneNumber = phoneNumber == null
+                ? null
+                : new PhoneNumberDO(phoneNumber, Boolean.TRUE.equals(phoneNumberVerified));
+        this.hashedPassword = password == null ? null : new PasswordDO(password, salt);
+        this.passwordUpdatedAt = passwordUpdatedAt;
+        this.passwordVersion = passwordVersion == null ? 0 : passwordVersion;
+    }
+
+    public static AuthAccountView of(final AccountDO account) {
+        return AuthAccountView.builder()
+                .id(account.getId())
+                .domain(account.getDomain())
+                .externalId(account.getExternalId())
+                .active(account.isActive())
+                .email(account.getEmail())
+                .phoneNumber(account.getPhoneNumber())
+                .hashedPassword(account.getHashedPassword())
+                .passwordUpdatedAt(account.getPasswordUpdatedAt())
+                .passwordVersion(account.getPasswordVersion())
+                .roles(account.getRoles())
+                .permissions(account.getPermissions())
+                .identifiers(account.getIdentifiers())
+                .build();
+    }
+}
@@ -31,6 +31,13 @@ import javax.persistence.Table;
                 "AND event.createdAt < :cursor " +
                 "ORDER BY event.createdAt desc"
 )
+@NamedQuery(
+        name = "events.getByDomainAfterId",
+        query = "SELECT event FROM EventDO event " +
+                "WHERE event.domain = :domain " +
+                "AND event.id > :cursor " +
+                "ORDER BY event.id"
+)
 public class EventDO extends AbstractDO {
     private String domain;
     private String eventType;
@@ -32,6 +32,12 @@ import javax.persistence.Table;
                 "WHERE attempt.entityId = :entityId AND attempt.exchangeFrom = :exchangeFrom " +
                 "AND attempt.createdAt > :timestamp"
 )
+@NamedQuery(
+        name = "exchange_attempts.getAll",
+        query = "SELECT attempt FROM ExchangeAttemptDO attempt " +
+                "WHERE attempt.id > :cursor " +
+                "ORDER BY attempt.id"
+)
 public class ExchangeAttemptDO extends AbstractDO {
     private long entityId;
     private String exchangeFrom;
@@ -0,0 +1,32 @@
+package com.nexblocks.authguard.dal.repository;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A repository of records which expire, and which the expiry sweeper
+ * purges in small batches. Records aren't deleted by default, so a
+ * store only shrinks once its implementation overrides these methods.
+ */
+public interface ExpiringRecordRepository {
+    /**
+     * Deletes at most the given number of records which expired before
+     * the given time. Implementations should delete them with a single
+     * bounded statement which uses an index on the expiry time, so that
+     * a batch stays cheap however large the backlog is.
+     *
+     * @return The number of records which were deleted.
+     */
+    default CompletableFuture<Integer> deleteExpiredBefore(final Instant before, final int limit) {
+        return CompletableFuture.completedFuture(0);
+    }
+
+    /**
+     * Counts the records which expired before the given time and are
+     * yet to be deleted. It's only used for metrics, so an estimate is
+     * good enough.
+     */
+    default CompletableFuture<Long> countExpiredBefore(final Instant before) {
+        return CompletableFuture.completedFuture(0L);
+    }
+}
@@ -198,6 +198,81 @@ class AccountJpaTest {
         Assertions.assertThat(retrieved).isEmpty();
     }
 
+    @Test
+    void getAuthViewByIdentifier() {
+        final AuthAccountView view = entityManager.createNamedQuery("accounts.getAuthViewByIdentifier", AuthAccountView.class)
+                .setParameter("identifier", "username")
+                .setParameter("domain", "main")
+                .getSingleResult();
+
+        assertThat(view.getId()).isEqualTo(createdAccount.getId());
+        assertThat(view.getDomain()).isEqualTo("main");
+        assertThat(view.getExternalId()).isEqualTo(createdAccount.getExternalId());
+        assertThat(view.getEmail()).isEqualTo(createdAccount.getEmail());
+        assertThat(view.getHashedPassword()).isEqualTo(createdAccount.getHashedPassword());
+        assertThat(view.getRoles()).isNull();
+    }
+
+    @Test
+    void getAuthViewOfDeletedById() {
+        final List<AuthAccountView> retrieved = entityManager.createNamedQuery("accounts.getAuthViewById", AuthAccountView.class)
+                .setParameter("id", deletedAccount.getId())
+                .getResultList();
+
+        assertThat(retrieved).isEmpty();
+    }
+
+    @Test
+    void getCollectionsByAccountId() {
+        final List<String> roles = entityManager.createNamedQuery("accounts.getRolesByAccountId", String.class)
+                .setParameter("id", createdAccount.getId())
+                .getResultList();
+        final List<PermissionDO> permissions = entityManager.createNamedQuery("accounts.getPermissionsByAccountId", PermissionDO.class)
+                .setParameter("id", createdAccount.getId())
+                .getResultList();
+        final List<UserIdentifierDO> identifiers = entityManager.createNamedQuery("accounts.getIdentifiersByAccountId", UserIdentifierDO.class)
+                .setParameter("id", createdAccount.getId())
+                .getResultList();
+
+        assertThat(roles).containsExactlyInAnyOrderElementsOf(createdAccount.getRoles());
+        assertThat(permissions).containsExactlyInAnyOrderElementsOf(createdAccount.getPermissions());
+        assertThat(identifiers).containsExactlyInAnyOrderElementsOf(createdAccount.getIdentifiers());
+    }
+
+    @Test
+    void getByRoleAfterCursor() {
+        final TypedQuery<AccountDO> query = entityManager.createNamedQuery("accounts.getByRoleAfterCursor", AccountDO.class)
+                .setParameter("role", "test")
+                .setParameter("domain", "main")
+                .setParameter("cursor", 0L);
+
+        Assertions.assertThat(query.getResultList()).containsExactly(createdAccount);
+
+        query.setParameter("cursor", createdAccount.getId());
+
+        Assertions.assertThat(query.getResultList()).isEmpty();
+    }
+
+    @Test
+    void getByDomain() {
+        final TypedQuery<AccountDO> query = entityManager.createNamedQuery("accounts.getByDomain", AccountDO.class)
+                .setParameter("domain", "main")
+                .setParameter("cursor", 0L);
+
+        final List<AccountDO> retrieved = query.getResultList();
+        Assertions.assertThat(retrieved).contains(createdAccount).doesNotContain(deletedAccount);
+    }
+
+    @Test
+    void getByDomainAfterCursor() {
+        final TypedQuery<AccountDO> query = entityManager.createNamedQuery("accounts.getByDomain", AccountDO.class)
+                .setParameter("domain", "main")
+                .setParameter("cursor", createdAccount.getId());
+
+        final List<AccountDO> retrieved = query.getResultList();
+        Assertions.assertThat(retrieved).doesNotContain(createdAccount);
+    }
+
     @Test
     void getDeletedById() {
         final TypedQuery<AccountDO> query = entityManager.createNamedQuery("accounts.getById", AccountDO.class)
@@ -31,6 +31,7 @@ public class AppJpaTest {
                 .parentAccountId(101L)
                 .name("Test Application")
                 .externalId("external-id")
+                .domain("main")
                 .build();
 
         deletedApp = AppDO.builder()
@@ -75,6 +76,16 @@ public class AppJpaTest {
         Assertions.assertThat(retrieved).containsExactly(createdApp);
     }
 
+    @Test
+    void getByDomain() {
+        final TypedQuery<AppDO> query = entityManager.createNamedQuery("apps.getByDomain", AppDO.class)
+                .setParameter("domain", "main")
+                .setParameter("cursor", 0L);
+
+        final List<AppDO> retrieved = query.getResultList();
+        Assertions.assertThat(retrieved).containsExactly(createdApp);
+    }
+
     @Test
     void getDeletedById() {
         final TypedQuery<AppDO> query = entityManager.createNamedQuery("apps.getById", AppDO.class)
@@ -104,4 +104,15 @@ public class EventsJpaTest {
         List<EventDO> retrieved = query.getResultList();
         Assertions.assertThat(retrieved).containsExactly(secondEvent);
     }
+
+    @Test
+    void getByDomainAfterId() {
+        TypedQuery<EventDO> query = entityManager.createNamedQuery("events.getByDomainAfterId", EventDO.class)
+                .setParameter("domain", "main")
+                .setParameter("cursor", firstEvent.getId())
+                .setMaxResults(1);
+
+        List<EventDO> retrieved = query.getResultList();
+        Assertions.assertThat(retrieved).containsExactly(secondEvent);
+    }
 }
@@ -90,4 +90,13 @@ public class ExchangeAttemptJpaTest {
         final List<ExchangeAttemptDO> retrieved = query.getResultList();
         Assertions.assertThat(retrieved).containsExactly(firstAttempt);
     }
+
+    @Test
+    void getAll() {
+        final TypedQuery<ExchangeAttemptDO> query = entityManager.createNamedQuery("exchange_attempts.getAll",
+                ExchangeAttemptDO.class).setParameter("cursor", firstAttempt.getId());
+
+        final List<ExchangeAttemptDO> retrieved = query.getResultList();
+        Assertions.assertThat(retrieved).containsExactly(secondAttempt, thirdAttempt);
+    }
 }
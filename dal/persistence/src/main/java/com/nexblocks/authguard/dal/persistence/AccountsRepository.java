@@ -1,15 +1,98 @@
 package com.nexblocks.authguard.dal.persistence;
 
 import com.nexblocks.authguard.dal.model.AccountDO;
+import com.nexblocks.authguard.dal.model.AuthAccountView;
 import com.nexblocks.authguard.dal.repository.Repository;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.stream.Collectors;
 
 public interface AccountsRepository extends Repository<AccountDO> {
     CompletableFuture<Optional<AccountDO>> getByExternalId(String externalId);
     CompletableFuture<Optional<AccountDO>> getByEmail(String email, String domain);
-    CompletableFuture<List<AccountDO>> getByRole(String role, String domain);
     CompletableFuture<Optional<AccountDO>> findByIdentifier(String identifier, final String domain);
+
+    /**
+     * Finds the part of an account which is needed to authenticate it.
+     * The default implementation reads the whole account; implementations
+     * should use the queries described in {@link AuthAccountView}.
+     */
+    default CompletableFuture<Optional<AuthAccountView>> getAuthViewById(final long id) {
+        return getById(id).thenApply(opt -> opt.map(AuthAccountView::of));
+    }
+
+    /**
+     * Same as {@link #getAuthViewById(long)} but by an identifier.
+     */
+    default CompletableFuture<Optional<AuthAccountView>> findAuthViewByIdentifier(final String identifier,
+                                                                                 final String domain) {
+        return findByIdentifier(identifier, domain).thenApply(opt -> opt.map(AuthAccountView::of));
+    }
+
+    /**
+     * Reads the accounts of a domain in order of their IDs, starting
+     * after the cursor. It's used by exports, and fails by default like
+     * {@link ApplicationsRepository#getByDomain(String, Page)}.
+     */
+    default CompletableFuture<List<AccountDO>> getByDomain(final String domain, final Page<Long> page) {
+        return CompletableFuture.failedFuture(
+                new UnsupportedOperationException("The DAL implementation doesn't support exporting accounts"));
+    }
+
+    /**
+     * Saves all accounts at once. The default implementation saves
+     * them one by one; implementations should override it with a
+     * single batched write. If any account fails, the returned
+     * future fails, and it's up to the implementation whether the
+     * others were saved.
+     */
+    default CompletableFuture<List<AccountDO>> saveAll(final List<AccountDO> accounts) {
+        List<CompletableFuture<AccountDO>> saved = accounts.stream()
+                .map(this::save)
+                .collect(Collectors.toList());
+
+        return CompletableFuture.allOf(saved.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> saved.stream()
+                        .map(CompletableFuture::join)
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * Publishes all accounts with a role in order of their IDs, starting
+     * after the cursor. Pages of the given size are only read as the
+     * subscriber asks for more.
+     */
+    default Flow.Publisher<AccountDO> streamByRole(final String role, final String domain,
+                                                   final Long cursor, final int pageSize) {
+        return new PagedPublisher<>(page -> getByRole(role, domain, page), cursor, pageSize);
+    }
+
+    /**
+     * @deprecated Reads every account with the role into a single list,
+     * which doesn't scale with the number of accounts. Use the paged
+     * {@link #getByRole(String, String, Page)} or
+     * {@link #streamByRole(String, String, Long, int)} instead. It's
+     * only kept for DAL implementations which don't have the paged one.
+     */
+    @Deprecated
+    CompletableFuture<List<AccountDO>> getByRole(String role, String domain);
+
+    /**
+     * Reads the accounts with a role in order of their IDs, starting
+     * after the cursor. The default implementation reads all of them
+     * with {@link #getByRole(String, String)} and returns the requested
+     * page; implementations should override it with a keyset query.
+     */
+    default CompletableFuture<List<AccountDO>> getByRole(final String role, final String domain,
+                                                        final Page<Long> page) {
+        return getByRole(role, domain).thenApply(accounts -> accounts.stream()
+                .filter(account -> account.getId() > page.getCursor())
+                .sorted(Comparator.comparingLong(AccountDO::getId))
+                .limit(page.getCount())
+                .collect(Collectors.toList()));
+    }
 }
@@ -10,4 +10,15 @@ import java.util.concurrent.CompletableFuture;
 public interface ApplicationsRepository extends Repository<AppDO> {
     CompletableFuture<Optional<AppDO>> getByExternalId(String externalId);
     CompletableFuture<List<AppDO>> getAllForAccount(long accountId, Page<Long> page);
+
+    /**
+     * Reads the apps of a domain in order of their IDs, starting after
+     * the cursor. It's used by exports. The default implementation fails
+     * with an {@link UnsupportedOperationException} so that DAL
+     * implementations which were built before exports keep working.
+     */
+    default CompletableFuture<List<AppDO>> getByDomain(final String domain, final Page<Long> page) {
+        return CompletableFuture.failedFuture(
+                new UnsupportedOperationException("The DAL implementation doesn't support exporting apps"));
+    }
 }
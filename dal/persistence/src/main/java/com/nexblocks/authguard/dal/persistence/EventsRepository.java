@@ -13,4 +13,14 @@ public interface EventsRepository
     CompletableFuture<List<EventDO>> findByDomainDescending(String domain, Page<Instant> page);
     CompletableFuture<List<EventDO>> findByDomainAndChannelDescending(String domain, String channel,
                                                                       Page<Instant> page);
+
+    /**
+     * Reads the events of a domain in order of their IDs, starting after
+     * the cursor. It's used by exports, and fails by default like
+     * {@link ApplicationsRepository#getByDomain(String, Page)}.
+     */
+    default CompletableFuture<List<EventDO>> findByDomain(final String domain, final Page<Long> page) {
+        return CompletableFuture.failedFuture(
+                new UnsupportedOperationException("The DAL implementation doesn't support exporting events"));
+    }
 }
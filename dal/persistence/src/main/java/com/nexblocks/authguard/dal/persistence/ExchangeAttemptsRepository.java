@@ -6,6 +6,7 @@ import com.nexblocks.authguard.dal.repository.IndelibleRecordRepository;
 
 import java.time.Instant;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 public interface ExchangeAttemptsRepository
@@ -17,4 +18,14 @@ public interface ExchangeAttemptsRepository
     CompletableFuture<Collection<ExchangeAttemptDO>> findByEntityAndTimestampAndExchange(long entityId,
                                                                                          Instant fromTimestamp,
                                                                                          String fromExchange);
+
+    /**
+     * Reads all exchange attempts in order of their IDs, starting after
+     * the cursor. It's used by exports, and fails by default like
+     * {@link ApplicationsRepository#getByDomain(String, Page)}.
+     */
+    default CompletableFuture<List<ExchangeAttemptDO>> findAll(final Page<Long> page) {
+        return CompletableFuture.failedFuture(
+                new UnsupportedOperationException("The DAL implementation doesn't support exporting exchange attempts"));
+    }
 }
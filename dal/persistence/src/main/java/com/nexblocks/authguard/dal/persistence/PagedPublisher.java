@@ -0,0 +1,151 @@
+package com.nexblocks.authguard.dal.persistence;
+
+import com.nexblocks.authguard.dal.model.AbstractDO;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Publishes the results of a keyset paginated query. A page is only
+ * fetched once the subscriber asked for more records than what's left
+ * of the previous one, so at most one page is held in memory at a time.
+ * The ID of the last record of every page is the cursor of the next.
+ * <p>
+ * Every subscriber walks the query from the start on its own.
+ */
+public class PagedPublisher<T extends AbstractDO> implements Flow.Publisher<T> {
+    private final Function<Page<Long>, CompletableFuture<List<T>>> fetch;
+    private final Long cursor;
+    private final int pageSize;
+
+    public PagedPublisher(final Function<Page<Long>, CompletableFuture<List<T>>> fetch,
+                          final Long cursor, final int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+
+        this.fetch = fetch;
+        this.cursor = cursor;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super T> subscriber) {
+        subscriber.onSubscribe(new PageSubscription(subscriber));
+    }
+
+    /**
+     * All signals to the subscriber are sent from drain, which only one
+     * thread can run at a time. Requests or fetched pages which arrive
+     * while another thread is draining are picked up by that thread.
+     */
+    private class PageSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final Queue<T> buffer = new ArrayDeque<>();
+
+        private volatile List<T> fetched;
+        private volatile Throwable failure;
+        private volatile boolean cancelled;
+
+        private Long next = cursor;
+        private boolean fetching;
+        private boolean lastPage;
+        private boolean done;
+
+        PageSubscription(final Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                failure = new IllegalArgumentException("Requested a non-positive number of records");
+            } else {
+                demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            }
+
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        private void drain() {
+            if (pending.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+
+            do {
+                if (!done) {
+                    drainOnce();
+                }
+
+                missed = pending.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drainOnce() {
+            if (cancelled) {
+                done = true;
+                buffer.clear();
+                return;
+            }
+
+            if (failure != null) {
+                done = true;
+                buffer.clear();
+                subscriber.onError(failure);
+                return;
+            }
+
+            List<T> page = fetched;
+
+            if (page != null) {
+                fetched = null;
+                fetching = false;
+                lastPage = page.size() < pageSize;
+
+                if (!page.isEmpty()) {
+                    next = page.get(page.size() - 1).getId();
+                    buffer.addAll(page);
+                }
+            }
+
+            while (demand.get() > 0 && !buffer.isEmpty() && !cancelled) {
+                subscriber.onNext(buffer.poll());
+                demand.decrementAndGet();
+            }
+
+            if (buffer.isEmpty() && lastPage && !cancelled) {
+                done = true;
+                subscriber.onComplete();
+            } else if (buffer.isEmpty() && demand.get() > 0 && !fetching && !cancelled) {
+                fetching = true;
+
+                fetch.apply(LongPage.of(next, pageSize))
+                        .whenComplete((records, e) -> {
+                            if (e != null) {
+                                failure = e;
+                            } else {
+                                fetched = records;
+                            }
+
+                            drain();
+                        });
+            }
+        }
+    }
+}
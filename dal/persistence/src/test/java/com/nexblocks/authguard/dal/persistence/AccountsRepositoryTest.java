@@ -0,0 +1,33 @@
+package com.nexblocks.authguard.dal.persistence;
+
+import com.nexblocks.authguard.dal.model.AccountDO;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountsRepositoryTest {
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void pageByRoleWithoutAPagedQuery() {
+        // a DAL implementation which only has the unpaged query
+        AccountsRepository repository = Mockito.mock(AccountsRepository.class, Mockito.CALLS_REAL_METHODS);
+
+        Mockito.doReturn(CompletableFuture.completedFuture(Arrays.asList(
+                AccountDO.builder().id(4L).build(),
+                AccountDO.builder().id(1L).build(),
+                AccountDO.builder().id(3L).build(),
+                AccountDO.builder().id(2L).build(),
+                AccountDO.builder().id(5L).build())))
+                .when(repository).getByRole("admin", "main");
+
+        List<AccountDO> page = repository.getByRole("admin", "main", LongPage.of(1L, 3)).join();
+
+        assertThat(page).extracting(AccountDO::getId).containsExactly(2L, 3L, 4L);
+    }
+}
@@ -0,0 +1,123 @@
+package com.nexblocks.authguard.dal.persistence;
+
+import com.nexblocks.authguard.dal.model.AccountDO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PagedPublisherTest {
+
+    /**
+     * Pages over accounts with IDs 1 to total.
+     */
+    private static class Accounts {
+        private final long total;
+        private final List<Page<Long>> fetched = new ArrayList<>();
+
+        Accounts(final long total) {
+            this.total = total;
+        }
+
+        CompletableFuture<List<AccountDO>> fetch(final Page<Long> page) {
+            fetched.add(page);
+
+            return CompletableFuture.completedFuture(LongStream
+                    .rangeClosed(page.getCursor() + 1, Math.min(total, page.getCursor() + page.getCount()))
+                    .mapToObj(id -> AccountDO.builder().id(id).build())
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<AccountDO> {
+        private final List<Long> received = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private boolean completed;
+        private Throwable error;
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(final AccountDO item) {
+            received.add(item.getId());
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    @Test
+    void publishAllPages() {
+        Accounts accounts = new Accounts(5);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        new PagedPublisher<>(accounts::fetch, null, 2).subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.received).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(subscriber.completed).isTrue();
+        assertThat(accounts.fetched).extracting(Page::getCursor).containsExactly(0L, 2L, 4L);
+    }
+
+    @Test
+    void fetchOnlyWhenRequested() {
+        Accounts accounts = new Accounts(10);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        new PagedPublisher<>(accounts::fetch, 3L, 2).subscribe(subscriber);
+
+        assertThat(accounts.fetched).isEmpty();
+
+        subscriber.subscription.request(3);
+
+        assertThat(subscriber.received).containsExactly(4L, 5L, 6L);
+        assertThat(subscriber.completed).isFalse();
+        assertThat(accounts.fetched).hasSize(2);
+
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(10);
+
+        assertThat(subscriber.received).hasSize(3);
+        assertThat(accounts.fetched).hasSize(2);
+    }
+
+    @Test
+    void failWhenFetchFails() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        new PagedPublisher<AccountDO>(page -> CompletableFuture.failedFuture(new IllegalStateException("down")),
+                null, 2).subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        assertThat(subscriber.error).isInstanceOf(IllegalStateException.class);
+        assertThat(subscriber.received).isEmpty();
+    }
+
+    @Test
+    void manyPagesDontGrowTheStack() {
+        Accounts accounts = new Accounts(100_000);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        new PagedPublisher<>(accounts::fetch, null, 1).subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.received).hasSize(100_000);
+        assertThat(subscriber.completed).isTrue();
+    }
+}
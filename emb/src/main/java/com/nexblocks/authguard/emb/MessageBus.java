@@ -6,6 +6,10 @@ import com.google.common.collect.ImmutableMap;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.google.inject.name.Named;
+import com.nexblocks.authguard.metrics.Counter;
+import com.nexblocks.authguard.metrics.MetricFamily;
+import com.nexblocks.authguard.metrics.MetricsRegistry;
+import com.nexblocks.authguard.metrics.events.MessagePublishEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,9 +27,17 @@ public class MessageBus {
 
     private final List<MessageSubscriber> globalSubscribers;
 
-    @Inject
+    private final MetricFamily<Counter> publishedMessages;
+
     public MessageBus(final MessagePublisherFactory factory,
                       final @Named("emb") ConfigContext channelsConfig) {
+        this(factory, channelsConfig, new MetricsRegistry());
+    }
+
+    @Inject
+    public MessageBus(final MessagePublisherFactory factory,
+                      final @Named("emb") ConfigContext channelsConfig,
+                      final MetricsRegistry metrics) {
         final ImmutableMap.Builder<String, MessagePublisher> channelsMapBuilder = ImmutableMap.builder();
         final Collection<String> channelsNames = channelsConfig.getAsCollection("channels", String.class);
 
@@ -45,15 +57,27 @@ public class MessageBus {
         }
 
         this.globalSubscribers = new ArrayList<>();
+        this.publishedMessages = metrics.counter("authguard_messages_published_total",
+                "Messages published to each channel, including those dropped because the channel doesn't exist",
+                "channel", "result");
     }
 
     public void publish(final String channel, final Message message) {
+        final MessagePublishEvent event = new MessagePublishEvent(message.getDomain(), channel);
+        event.begin();
+
         final MessagePublisher publisher = get(channel);
 
         if (publisher == null) {
             LOG.debug("Attempt to publish to non-existing channel " + channel);
+
+            publishedMessages.labels(channel, MessagePublishEvent.DROPPED).increment();
+            event.complete(MessagePublishEvent.DROPPED);
         } else {
             publisher.publish(message);
+
+            publishedMessages.labels(channel, MessagePublishEvent.PUBLISHED).increment();
+            event.complete(MessagePublishEvent.PUBLISHED);
         }
     }
 
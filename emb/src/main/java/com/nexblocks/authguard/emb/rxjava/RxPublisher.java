@@ -3,41 +3,73 @@ package com.nexblocks.authguard.emb.rxjava;
 import com.nexblocks.authguard.emb.MessagePublisher;
 import com.nexblocks.authguard.emb.MessageSubscriber;
 import com.nexblocks.authguard.emb.model.Message;
+import com.nexblocks.authguard.metrics.tracing.Scope;
+import com.nexblocks.authguard.metrics.tracing.Span;
+import com.nexblocks.authguard.metrics.tracing.Traces;
+import io.reactivex.rxjava3.core.Scheduler;
 import io.reactivex.rxjava3.functions.Consumer;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import io.reactivex.rxjava3.subjects.PublishSubject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Publishes messages to its subscribers on a scheduler. Each message
+ * carries the span of the thread which published it, so a subscriber
+ * handling it is traced as part of the same trace.
+ */
 public class RxPublisher implements MessagePublisher {
     private static final Logger LOG = LoggerFactory.getLogger(RxPublisher.class);
 
     private final String channel;
-    private final PublishSubject<Message> subject = PublishSubject.create();
+    private final Scheduler scheduler;
+    private final PublishSubject<Envelope> subject = PublishSubject.create();
 
     public RxPublisher(final String channel) {
+        this(channel, Schedulers.io());
+    }
+
+    public RxPublisher(final String channel, final Scheduler scheduler) {
         this.channel = channel;
+        this.scheduler = scheduler;
     }
 
     @Override
     public void publish(final Message message) {
-        subject.onNext(message);
+        subject.onNext(new Envelope(message, Traces.current()));
     }
 
     @Override
     public void acceptSubscriber(final MessageSubscriber subscriber) {
-        subject.observeOn(Schedulers.io())
+        subject.observeOn(scheduler)
                 .subscribe(safeConsumer(subscriber));
     }
 
-    private Consumer<Message> safeConsumer(final MessageSubscriber subscriber) {
-        return message -> {
-            try {
-                subscriber.onMessage(message.withChannel(channel));
+    private Consumer<Envelope> safeConsumer(final MessageSubscriber subscriber) {
+        String spanName = "emb " + channel + " " + subscriber.getClass().getSimpleName();
+
+        return envelope -> {
+            Span span = envelope.span.startChild(spanName);
+
+            try (Scope ignored = span.makeCurrent()) {
+                subscriber.onMessage(envelope.message.withChannel(channel));
+                span.end();
             } catch (Throwable e) {
+                span.end(e);
+
                 LOG.warn("Subscriber {} threw an exception. This violates the message subscriber specifications and " +
                         "needs to be fixed", subscriber.getClass(), e);
             }
         };
     }
+
+    private static final class Envelope {
+        private final Message message;
+        private final Span span;
+
+        private Envelope(final Message message, final Span span) {
+            this.message = message;
+            this.span = span;
+        }
+    }
 }
@@ -1,11 +1,28 @@
 package com.nexblocks.authguard.emb.rxjava;
 
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
 import com.nexblocks.authguard.emb.MessagePublisher;
 import com.nexblocks.authguard.emb.MessagePublisherFactory;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+import java.util.concurrent.Executor;
 
 public class RxPublisherFactory implements MessagePublisherFactory {
+    private Scheduler scheduler = Schedulers.io();
+
+    /**
+     * Delivers messages on the given pool instead of the unbounded
+     * IO scheduler of RxJava, if one was bound.
+     */
+    @Inject(optional = true)
+    void setExecutor(final @Named("messaging") Executor executor) {
+        this.scheduler = Schedulers.from(executor);
+    }
+
     @Override
     public MessagePublisher create(final String channel) {
-        return new RxPublisher(channel);
+        return new RxPublisher(channel, scheduler);
     }
 }
@@ -0,0 +1,16 @@
+package com.nexblocks.authguard.injection;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an implementation which AuthGuard creates and binds itself,
+ * e.g. one which wraps a plugin, so that {@link ClassSearch} never
+ * mistakes it for a plugin.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface BuiltIn {
+}
@@ -2,27 +2,59 @@ package com.nexblocks.authguard.injection;
 
 import com.google.inject.AbstractModule;
 import org.reflections.Reflections;
+import org.reflections.util.ClasspathHelper;
+import org.reflections.util.ConfigurationBuilder;
+import org.reflections.util.FilterBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Modifier;
+import java.net.URL;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
+/**
+ * Finds the implementations of a type within the search packages. The
+ * plugin indexes written at compile time by {@link PluginIndexProcessor}
+ * are used wherever they exist, and only the jars and directories which
+ * don't have one are scanned. That scan is shared by every search over
+ * the same packages, so the binders don't each scan the classpath again.
+ * Classes marked as {@link BuiltIn} are never returned.
+ */
 public class ClassSearch {
+    private static final Logger LOG = LoggerFactory.getLogger(ClassSearch.class);
+
+    private static final ConcurrentMap<Set<String>, Scan> SCANS = new ConcurrentHashMap<>();
+
+    private final List<String> searchPackages;
+    private final ClassLoader classLoader;
+    private final PluginIndex index;
     private final Reflections reflections;
     private Set<Class<? extends AbstractModule>> injectorModules;
 
     public ClassSearch(final Collection<String> searchPackages) {
-        this.reflections = new Reflections(searchPackages);
+        Scan scan = SCANS.computeIfAbsent(Set.copyOf(searchPackages), ClassSearch::scan);
+
+        this.searchPackages = List.copyOf(searchPackages);
+        this.classLoader = scan.classLoader;
+        this.index = scan.index;
+        this.reflections = scan.reflections;
     }
 
     public ClassSearch(final Reflections reflections) {
+        this.searchPackages = List.of();
+        this.classLoader = ClassSearch.class.getClassLoader();
+        this.index = PluginIndex.EMPTY;
         this.reflections = reflections;
     }
 
     public <T> Class<? extends T> findImplementationClass(final Class<T> base) throws NoImplementationFoundException {
-        final Set<Class<? extends T>> implementations = reflections.getSubTypesOf(base);
+        final Set<Class<? extends T>> implementations = findSubTypes(base);
 
         return implementations.stream()
                 .filter(clazz -> !clazz.isInterface())
@@ -31,11 +63,91 @@ public class ClassSearch {
     }
 
     public <T> Set<Class<? extends T>> findAllImplementationClass(final Class<T> base) {
-        final Set<Class<? extends T>> implementations = reflections.getSubTypesOf(base);
+        final Set<Class<? extends T>> implementations = findSubTypes(base);
 
         return implementations.stream()
                 .filter(clazz -> !clazz.isInterface())
                 .filter(clazz -> !Modifier.isAbstract(clazz.getModifiers()))
                 .collect(Collectors.toSet());
     }
+
+    private <T> Set<Class<? extends T>> findSubTypes(final Class<T> base) {
+        final Set<Class<? extends T>> subTypes = new HashSet<>();
+
+        for (final String name : index.implementationsOf(base.getName())) {
+            if (inSearchPackages(name)) {
+                final Class<? extends T> subType = load(name, base);
+
+                if (subType != null) {
+                    subTypes.add(subType);
+                }
+            }
+        }
+
+        if (reflections != null) {
+            subTypes.addAll(reflections.getSubTypesOf(base));
+        }
+
+        subTypes.removeIf(subType -> subType.isAnnotationPresent(BuiltIn.class));
+
+        return subTypes;
+    }
+
+    private boolean inSearchPackages(final String className) {
+        return searchPackages.stream().anyMatch(className::startsWith);
+    }
+
+    private <T> Class<? extends T> load(final String name, final Class<T> base) {
+        try {
+            final Class<?> clazz = Class.forName(name, false, classLoader);
+
+            return base.isAssignableFrom(clazz) ? clazz.asSubclass(base) : null;
+        } catch (final ClassNotFoundException | LinkageError e) {
+            LOG.warn("Class {} is in a plugin index but couldn't be loaded", name, e);
+
+            return null;
+        }
+    }
+
+    private static Scan scan(final Set<String> searchPackages) {
+        final ClassLoader classLoader = classLoader();
+        final PluginIndex index = PluginIndex.load(classLoader);
+
+        final Set<URL> unindexed = searchPackages.stream()
+                .flatMap(searchPackage -> ClasspathHelper.forPackage(searchPackage, classLoader).stream())
+                .filter(root -> !index.covers(root))
+                .collect(Collectors.toSet());
+
+        LOG.info("Found {} plugin indexes, scanning {} other classpath roots for {}",
+                index.size(), unindexed.size(), searchPackages);
+
+        final FilterBuilder filter = new FilterBuilder();
+        searchPackages.forEach(filter::includePackage);
+
+        final Reflections reflections = unindexed.isEmpty()
+                ? null
+                : new Reflections(new ConfigurationBuilder()
+                        .setUrls(unindexed)
+                        .filterInputsBy(filter));
+
+        return new Scan(classLoader, index, reflections);
+    }
+
+    private static ClassLoader classLoader() {
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+
+        return contextClassLoader == null ? ClassSearch.class.getClassLoader() : contextClassLoader;
+    }
+
+    private static final class Scan {
+        private final ClassLoader classLoader;
+        private final PluginIndex index;
+        private final Reflections reflections;
+
+        private Scan(final ClassLoader classLoader, final PluginIndex index, final Reflections reflections) {
+            this.classLoader = classLoader;
+            this.index = index;
+            this.reflections = reflections;
+        }
+    }
 }
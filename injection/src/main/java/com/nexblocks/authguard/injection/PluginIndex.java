@@ -0,0 +1,123 @@
+package com.nexblocks.authguard.injection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The plugin indexes which {@link PluginIndexProcessor} wrote into the
+ * jars and class directories on the classpath, merged together. Each
+ * line of an index is a class followed by the types it extends or
+ * implements, separated by spaces.
+ */
+class PluginIndex {
+    private static final Logger LOG = LoggerFactory.getLogger(PluginIndex.class);
+
+    static final String LOCATION = PluginIndexProcessor.LOCATION;
+
+    static final PluginIndex EMPTY = new PluginIndex(Collections.emptyMap(), Collections.emptySet());
+
+    private final Map<String, Set<String>> implementations;
+    private final Set<String> indexedRoots;
+
+    PluginIndex(final Map<String, Set<String>> implementations, final Set<String> indexedRoots) {
+        this.implementations = implementations;
+        this.indexedRoots = indexedRoots;
+    }
+
+    static PluginIndex load(final ClassLoader classLoader) {
+        Map<String, Set<String>> implementations = new HashMap<>();
+        Set<String> indexedRoots = new HashSet<>();
+
+        try {
+            Enumeration<URL> indexes = classLoader.getResources(LOCATION);
+
+            while (indexes.hasMoreElements()) {
+                URL index = indexes.nextElement();
+
+                read(index, implementations);
+                indexedRoots.add(rootOf(index));
+            }
+        } catch (final IOException e) {
+            LOG.warn("Failed to read the plugin indexes, the classpath will be scanned instead", e);
+
+            return EMPTY;
+        }
+
+        return new PluginIndex(implementations, indexedRoots);
+    }
+
+    /**
+     * @return The names of the indexed classes which extend or implement
+     *         the given type.
+     */
+    Set<String> implementationsOf(final String type) {
+        return implementations.getOrDefault(type, Collections.emptySet());
+    }
+
+    /**
+     * @return Whether the jar or directory at the given classpath root
+     *         has an index, in which case it doesn't need to be scanned.
+     */
+    boolean covers(final URL root) {
+        return indexedRoots.contains(normalize(root.toExternalForm()));
+    }
+
+    int size() {
+        return indexedRoots.size();
+    }
+
+    private static void read(final URL index, final Map<String, Set<String>> implementations) throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(index.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                String[] names = line.trim().split(" ");
+
+                for (int i = 1; i < names.length; i++) {
+                    implementations.computeIfAbsent(names[i], ignored -> new HashSet<>()).add(names[0]);
+                }
+            }
+        }
+    }
+
+    private static String rootOf(final URL index) {
+        String url = index.toExternalForm();
+
+        return normalize(url.substring(0, url.length() - LOCATION.length()));
+    }
+
+    /*
+     * The same root can be written as a jar URL or as a file URL, with
+     * or without a trailing separator.
+     */
+    private static String normalize(final String root) {
+        String normalized = root;
+
+        if (normalized.startsWith("jar:")) {
+            normalized = normalized.substring("jar:".length());
+        }
+
+        if (normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+
+        if (normalized.endsWith("!")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+
+        return normalized;
+    }
+}
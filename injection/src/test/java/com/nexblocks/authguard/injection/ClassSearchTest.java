@@ -1,11 +1,18 @@
 package com.nexblocks.authguard.injection;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.reflections.Reflections;
 import org.reflections.util.ClasspathHelper;
 import org.reflections.util.ConfigurationBuilder;
 import org.reflections.util.FilterBuilder;
 
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -20,6 +27,14 @@ class ClassSearchTest {
         assertThat(implementation).isEqualTo(MockAccountsRepository.class);
     }
 
+    @Test
+    void skipBuiltInImplementations() {
+        final ClassSearch classSearch = new ClassSearch(new Reflections("com.nexblocks.authguard"));
+
+        assertThat(classSearch.findAllImplementationClass(Interface.class))
+                .containsExactly(MockAccountsRepository.class);
+    }
+
     @Test
     void findAccountsRepositoryNoImplementation() {
         final Reflections reflections = new Reflections(new ConfigurationBuilder()
@@ -32,6 +47,32 @@ class ClassSearchTest {
         assertThatThrownBy(() -> classSearch.findImplementationClass(Interface.class)).isInstanceOf(NoImplementationFoundException.class);
     }
 
+    @Test
+    void findImplementationsInPluginIndex(@TempDir final Path classpathRoot) throws Exception {
+        final Path index = classpathRoot.resolve(PluginIndex.LOCATION);
+
+        Files.createDirectories(index.getParent());
+        Files.writeString(index, MockAccountsRepository.class.getName() + " " + Interface.class.getName() + "\n"
+                + NotImpl.class.getName() + " " + Interface.class.getName() + "\n");
+
+        final ClassLoader previous = Thread.currentThread().getContextClassLoader();
+        final URL[] urls = { classpathRoot.toUri().toURL() };
+
+        try (URLClassLoader classLoader = new URLClassLoader(urls, getClass().getClassLoader())) {
+            Thread.currentThread().setContextClassLoader(classLoader);
+
+            // no classes are under this name, so only the index can find them
+            final ClassSearch classSearch = new ClassSearch(Collections.singletonList(
+                    ClassSearchTest.class.getName() + "$Mock"));
+
+            assertThat(classSearch.findAllImplementationClass(Interface.class))
+                    .containsExactly(MockAccountsRepository.class);
+            assertThat(PluginIndex.load(classLoader).covers(urls[0])).isTrue();
+        } finally {
+            Thread.currentThread().setContextClassLoader(previous);
+        }
+    }
+
     // Mock classes for tests
     interface Interface {}
 
@@ -40,4 +81,7 @@ class ClassSearchTest {
 
     interface NotImpl extends Interface {}
 
+    @BuiltIn
+    class BuiltInAccountsRepository implements Interface { }
+
 }
\ No newline at end of file
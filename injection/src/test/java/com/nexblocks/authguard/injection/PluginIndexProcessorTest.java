@@ -0,0 +1,111 @@
+package com.nexblocks.authguard.injection;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PluginIndexProcessorTest {
+
+    @Test
+    void indexConcreteImplementations(@TempDir final Path directory) throws Exception {
+        final Path sources = directory.resolve("sources/com/nexblocks/authguard/sample");
+        final Path classes = directory.resolve("classes");
+
+        Files.createDirectories(sources);
+        Files.createDirectories(classes);
+
+        Files.writeString(sources.resolve("Repository.java"),
+                "package com.nexblocks.authguard.sample;\n"
+                        + "public interface Repository {}\n");
+        Files.writeString(sources.resolve("AccountsRepository.java"),
+                "package com.nexblocks.authguard.sample;\n"
+                        + "public interface AccountsRepository extends Repository {}\n");
+        Files.writeString(sources.resolve("BaseRepository.java"),
+                "package com.nexblocks.authguard.sample;\n"
+                        + "public abstract class BaseRepository implements AccountsRepository {}\n");
+        Files.writeString(sources.resolve("MockAccountsRepository.java"),
+                "package com.nexblocks.authguard.sample;\n"
+                        + "public class MockAccountsRepository extends BaseRepository {\n"
+                        + "    public static class Nested implements Repository {}\n"
+                        + "}\n");
+        Files.writeString(sources.resolve("Unrelated.java"),
+                "package com.nexblocks.authguard.sample;\n"
+                        + "public class Unrelated implements Runnable { public void run() {} }\n");
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final List<String> arguments = List.of(
+                "-d", classes.toString(),
+                "-processor", PluginIndexProcessor.class.getName(),
+                "-processorpath", System.getProperty("java.class.path"),
+                sources.resolve("Repository.java").toString(),
+                sources.resolve("AccountsRepository.java").toString(),
+                sources.resolve("BaseRepository.java").toString(),
+                sources.resolve("MockAccountsRepository.java").toString(),
+                sources.resolve("Unrelated.java").toString());
+
+        assertThat(compiler.run(null, null, null, arguments.toArray(new String[0]))).isZero();
+
+        assertThat(Files.readAllLines(classes.resolve(PluginIndex.LOCATION))).containsExactly(
+                "com.nexblocks.authguard.sample.MockAccountsRepository "
+                        + "com.nexblocks.authguard.sample.AccountsRepository "
+                        + "com.nexblocks.authguard.sample.BaseRepository "
+                        + "com.nexblocks.authguard.sample.Repository",
+                "com.nexblocks.authguard.sample.MockAccountsRepository$Nested "
+                        + "com.nexblocks.authguard.sample.Repository");
+    }
+
+    @Test
+    void keepThePreviousIndexOnPartialCompiles(@TempDir final Path directory) throws Exception {
+        final Path sources = directory.resolve("sources/com/nexblocks/authguard/sample");
+        final Path classes = directory.resolve("classes");
+
+        Files.createDirectories(sources);
+        Files.createDirectories(classes);
+
+        Files.writeString(sources.resolve("Repository.java"),
+                "package com.nexblocks.authguard.sample;\n"
+                        + "public interface Repository {}\n");
+        Files.writeString(sources.resolve("AccountsRepository.java"),
+                "package com.nexblocks.authguard.sample;\n"
+                        + "public class AccountsRepository implements Repository {}\n");
+        Files.writeString(sources.resolve("AppsRepository.java"),
+                "package com.nexblocks.authguard.sample;\n"
+                        + "public class AppsRepository implements Repository {}\n");
+
+        assertThat(compile(classes, sources.resolve("Repository.java"), sources.resolve("AccountsRepository.java"),
+                sources.resolve("AppsRepository.java"))).isZero();
+
+        // only one of the plugins changed, and the other one is no longer a plugin
+        Files.writeString(sources.resolve("AppsRepository.java"),
+                "package com.nexblocks.authguard.sample;\n"
+                        + "public class AppsRepository {}\n");
+
+        assertThat(compile(classes, sources.resolve("AppsRepository.java"))).isZero();
+
+        assertThat(Files.readAllLines(classes.resolve(PluginIndex.LOCATION))).containsExactly(
+                "com.nexblocks.authguard.sample.AccountsRepository "
+                        + "com.nexblocks.authguard.sample.Repository");
+    }
+
+    private static int compile(final Path classes, final Path... sources) {
+        final List<String> arguments = new ArrayList<>(List.of(
+                "-d", classes.toString(),
+                "-classpath", classes.toString(),
+                "-processor", PluginIndexProcessor.class.getName(),
+                "-processorpath", System.getProperty("java.class.path")));
+
+        for (final Path source : sources) {
+            arguments.add(source.toString());
+        }
+
+        return ToolProvider.getSystemJavaCompiler().run(null, null, null, arguments.toArray(new String[0]));
+    }
+}
@@ -6,8 +6,11 @@ import com.google.inject.Inject;
 import com.google.inject.name.Named;
 import com.nexblocks.authguard.config.ConfigContext;
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.jwt.crypto.TokenEncryptorAdapter;
+import com.nexblocks.authguard.metrics.events.TokenSigningEvent;
+import com.nexblocks.authguard.metrics.tracing.Traces;
 import com.nexblocks.authguard.service.TrackingSessionsService;
 import com.nexblocks.authguard.service.auth.AuthProvider;
 import com.nexblocks.authguard.service.auth.ProvidesToken;
@@ -95,12 +98,20 @@ public class AccessTokenProvider implements AuthProvider {
 
         LOG.debug("Access token request. accountId={}, domain={}", account.getId(), account.getDomain());
 
-        JwtTokenBuilder tokenBuilder = generateAccessToken(account, restrictions, options);
+        return Traces.traceAsync("token.access", () -> nextJti()
+                .thenCompose(id -> generateTokens(id, account, restrictions, options)));
+    }
+
+    private CompletableFuture<AuthResponseBO> generateTokens(final String id, final AccountBO account,
+                                                             final TokenRestrictionsBO restrictions,
+                                                             final TokenOptionsBO options) {
+        JwtTokenBuilder tokenBuilder = generateAccessToken(id, account, restrictions, options);
 
         LOG.info("Generated access token. accountId={}, domain={}", account.getId(), account.getDomain());
 
-        String signedToken = tokenBuilder.getBuilder().sign(algorithm);
-        String finalToken = encryptIfNeeded(signedToken);
+        String finalToken = new TokenSigningEvent(account.getDomain(), options == null ? null : options.getSource(),
+                TOKEN_TYPE, encrypt)
+                .record(() -> encryptIfNeeded(tokenBuilder.getBuilder().sign(algorithm)));
         String refreshToken = jwtGenerator.generateRandomRefreshToken();
 
         return trackingSessionsService.isSessionActive(options.getTrackingSession(), account.getDomain())
@@ -153,7 +164,7 @@ public class AccessTokenProvider implements AuthProvider {
         AccountTokenDO.AccountTokenDOBuilder<?, ?> accountToken = AccountTokenDO.builder()
                 .id(ID.generate())
                 .createdAt(Instant.now())
-                .token(refreshToken)
+                .token(RefreshTokens.digest(refreshToken))
                 .associatedAccountId(accountId)
                 .expiresAt(refreshTokenExpiry())
                 .tokenRestrictions(serviceMapper.toDO(tokenRestrictions)); // Mapstruct already checks for null
@@ -169,20 +180,29 @@ public class AccessTokenProvider implements AuthProvider {
                     .userAgent(tokenOptions.getUserAgent());
         }
 
-        return accountTokensRepository.save(accountToken.build());
+        return accountTokensRepository.save(TokenType.REFRESH_TOKEN, accountToken.build());
     }
 
     private CompletableFuture<Optional<AccountTokenDO>> deleteRefreshToken(final String refreshToken) {
-        return accountTokensRepository.deleteToken(refreshToken);
+        return RefreshTokens.storageKey(refreshToken)
+                .map(key -> accountTokensRepository.deleteToken(TokenType.REFRESH_TOKEN, key))
+                .orElseGet(() -> CompletableFuture.completedFuture(Optional.empty()));
+    }
+
+    private CompletableFuture<String> nextJti() {
+        return strategy.useJti()
+                ? jti.next()
+                : CompletableFuture.completedFuture(null);
     }
 
-    private JwtTokenBuilder generateAccessToken(final AccountBO account, final TokenRestrictionsBO restrictions,
+    private JwtTokenBuilder generateAccessToken(final String id, final AccountBO account,
+                                                final TokenRestrictionsBO restrictions,
                                                 final TokenOptionsBO options) {
         JwtTokenBuilder.Builder tokenBuilder = JwtTokenBuilder.builder();
-        JWTCreator.Builder jwtBuilder = jwtGenerator.generateUnsignedToken(account, tokenTtl);
+        JWTCreator.Builder jwtBuilder = jwtGenerator.generateUnsignedToken(account, tokenTtl)
+                .withClaim(JwtTokenVerifier.DOMAIN_CLAIM, account.getDomain());
 
-        if (strategy.useJti()) {
-            final String id = jti.next();
+        if (id != null) {
             jwtBuilder.withJWTId(id);
             tokenBuilder.id(id);
         }
@@ -7,6 +7,8 @@ import com.nexblocks.authguard.config.ConfigContext;
 import com.nexblocks.authguard.service.config.JwtConfig;
 import com.nexblocks.authguard.service.config.StrategyConfig;
 
+import java.util.concurrent.CompletableFuture;
+
 public class AccessTokenVerifier {
     private final JwtTokenVerifier jwtTokenVerifier;
 
@@ -26,8 +28,15 @@ public class AccessTokenVerifier {
         this.jwtTokenVerifier = new JwtTokenVerifier(strategy, jti, algorithm);
     }
 
-    public String verify(final String token) {
-        jwtTokenVerifier.verifyAccountToken(token);
-        return token;
+    public CompletableFuture<String> verify(final String token) {
+        return jwtTokenVerifier.verifyAccountTokenAsync(token).thenApply(ignored -> token);
+    }
+
+    public CompletableFuture<Long> verifyAccountId(final String token) {
+        return jwtTokenVerifier.verifyAccountTokenAsync(token);
+    }
+
+    public CompletableFuture<Long> verifyAccountId(final String token, final String domain) {
+        return jwtTokenVerifier.verifyAccountTokenAsync(token, domain);
     }
 }
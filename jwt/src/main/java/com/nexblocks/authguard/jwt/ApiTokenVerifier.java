@@ -8,6 +8,8 @@ import com.nexblocks.authguard.service.config.StrategyConfig;
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
 
+import java.util.concurrent.CompletableFuture;
+
 public class ApiTokenVerifier implements AuthVerifier {
     private final JwtTokenVerifier jwtVerifier;
 
@@ -25,4 +27,8 @@ public class ApiTokenVerifier implements AuthVerifier {
     public Long verifyAccountToken(final String token) {
         return jwtVerifier.verifyAccountToken(token);
     }
+
+    public CompletableFuture<Long> verifyAccountTokenAsync(final String token) {
+        return jwtVerifier.verifyAccountTokenAsync(token);
+    }
 }
@@ -3,9 +3,13 @@ package com.nexblocks.authguard.jwt;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.service.util.ID;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * This class is only here until a proper implementation is available
  */
@@ -19,18 +23,16 @@ public class BasicJtiProvider implements JtiProvider {
     }
 
     @Override
-    public String next() {
-        final AccountTokenDO persistedToken = accountTokensRepository.save(AccountTokenDO.builder()
+    public CompletableFuture<String> next() {
+        return accountTokensRepository.save(TokenType.JTI, AccountTokenDO.builder()
                 .id(ID.generate())
                 .token(ID.generateSimplifiedUuid())
                 .build())
-                .join();
-
-        return persistedToken.getToken();
+                .thenApply(AccountTokenDO::getToken);
     }
 
     @Override
-    public boolean validate(final String jti) {
-        return accountTokensRepository.getByToken(jti).join().isPresent();
+    public CompletableFuture<Boolean> validate(final String jti) {
+        return accountTokensRepository.getByToken(TokenType.JTI, jti).thenApply(Optional::isPresent);
     }
 }
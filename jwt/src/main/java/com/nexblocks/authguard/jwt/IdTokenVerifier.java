@@ -7,6 +7,8 @@ import com.nexblocks.authguard.config.ConfigContext;
 import com.nexblocks.authguard.service.config.JwtConfig;
 import com.nexblocks.authguard.service.config.StrategyConfig;
 
+import java.util.concurrent.CompletableFuture;
+
 public class IdTokenVerifier {
     private final JwtTokenVerifier jwtTokenVerifier;
 
@@ -26,8 +28,7 @@ public class IdTokenVerifier {
         this.jwtTokenVerifier = new JwtTokenVerifier(strategy, jti, algorithm);
     }
 
-    public String verify(final String token) {
-        jwtTokenVerifier.verifyAccountToken(token);
-        return token;
+    public CompletableFuture<String> verify(final String token) {
+        return jwtTokenVerifier.verifyAccountTokenAsync(token).thenApply(ignored -> token);
     }
 }
@@ -1,13 +1,16 @@
 package com.nexblocks.authguard.jwt;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * JTI interface.
  */
 public interface JtiProvider {
     /**
-     * @return A unique JTI.
+     * @return A unique JTI, available once it's been
+     *         stored.
      */
-    String next();
+    CompletableFuture<String> next();
 
     /**
      * Check a JTI against a blacklist
@@ -15,5 +18,5 @@ public interface JtiProvider {
      * @return True if the JTI is valid, false
      *         otherwise.
      */
-    boolean validate(String jti);
+    CompletableFuture<Boolean> validate(String jti);
 }
@@ -45,48 +45,62 @@ public class JwtApiKeyProvider implements AuthProvider {
         throw new UnsupportedOperationException("API keys cannot be generated for an account");
     }
 
+    /**
+     * Waits for the JTI to be stored, use {@link #generateKey(AppBO, Instant)}
+     * instead where possible.
+     */
     @Override
     public AuthResponseBO generateToken(final AppBO app) {
-        final JwtTokenBuilder tokenBuilder = generateApiToken(app, null);
-        final String token = tokenBuilder.getBuilder().sign(algorithm);
-
-        return AuthResponseBO.builder()
-                .type(TOKEN_TYPE)
-                .token(token)
-                .entityType(EntityType.APPLICATION)
-                .entityId(app.getId())
-                .build();
+        return generateKey(app, null).join();
     }
 
+    /**
+     * Waits for the JTI to be stored, use {@link #generateKey(ClientBO, Instant)}
+     * instead where possible.
+     */
     @Override
     public AuthResponseBO generateToken(ClientBO client) {
-        final JwtTokenBuilder tokenBuilder = generateApiToken(client, null);
-        final String token = tokenBuilder.getBuilder().sign(algorithm);
-
-        return AuthResponseBO.builder()
-                .type(TOKEN_TYPE)
-                .token(token)
-                .entityType(EntityType.CLIENT)
-                .entityId(client.getId())
-                .build();
+        return generateKey(client, null).join();
     }
 
+    /**
+     * Waits for the JTI to be stored, use {@link #generateKey(AppBO, Instant)}
+     * instead where possible.
+     */
     @Override
     public AuthResponseBO generateToken(final AppBO app, final Instant expiresAt) {
-        final JwtTokenBuilder tokenBuilder = generateApiToken(app, expiresAt);
-        final String token = tokenBuilder.getBuilder().sign(algorithm);
-
-        return AuthResponseBO.builder()
-                .type(TOKEN_TYPE)
-                .token(token)
-                .entityType(EntityType.APPLICATION)
-                .entityId(app.getId())
-                .build();
+        return generateKey(app, expiresAt).join();
     }
 
-    private JwtTokenBuilder generateApiToken(final AppBO app, final Instant expiresAt) {
-        final String keyId = jti.next();
+    public CompletableFuture<AuthResponseBO> generateKey(final AppBO app, final Instant expiresAt) {
+        return jti.next().thenApply(keyId -> {
+            final JwtTokenBuilder tokenBuilder = generateApiToken(keyId, app, expiresAt);
+            final String token = tokenBuilder.getBuilder().sign(algorithm);
+
+            return AuthResponseBO.builder()
+                    .type(TOKEN_TYPE)
+                    .token(token)
+                    .entityType(EntityType.APPLICATION)
+                    .entityId(app.getId())
+                    .build();
+        });
+    }
 
+    public CompletableFuture<AuthResponseBO> generateKey(final ClientBO client, final Instant expiresAt) {
+        return jti.next().thenApply(keyId -> {
+            final JwtTokenBuilder tokenBuilder = generateApiToken(keyId, client, expiresAt);
+            final String token = tokenBuilder.getBuilder().sign(algorithm);
+
+            return AuthResponseBO.builder()
+                    .type(TOKEN_TYPE)
+                    .token(token)
+                    .entityType(EntityType.CLIENT)
+                    .entityId(client.getId())
+                    .build();
+        });
+    }
+
+    private JwtTokenBuilder generateApiToken(final String keyId, final AppBO app, final Instant expiresAt) {
         final JWTCreator.Builder jwtBuilder = JWT.create()
                 .withSubject("" + app.getId())
                 .withJWTId(keyId)
@@ -119,9 +133,7 @@ public class JwtApiKeyProvider implements AuthProvider {
                 .build();
     }
 
-    private JwtTokenBuilder generateApiToken(final ClientBO client, final Instant expiresAt) {
-        final String keyId = jti.next();
-
+    private JwtTokenBuilder generateApiToken(final String keyId, final ClientBO client, final Instant expiresAt) {
         final JWTCreator.Builder jwtBuilder = JWT.create()
                 .withSubject("" + client.getId())
                 .withJWTId(keyId)
@@ -12,8 +12,6 @@ import java.time.ZoneId;
 import java.util.Date;
 
 public class JwtGenerator {
-    private static final int RANDOM_SIZE = 128;
-
     private final JwtConfig jwtConfig;
 
     private final CryptographicRandom random;
@@ -39,6 +37,6 @@ public class JwtGenerator {
     }
 
     String generateRandomRefreshToken() {
-        return random.base64(RANDOM_SIZE);
+        return RefreshTokens.PREFIX + random.base64UrlWithoutPadding(RefreshTokens.RANDOM_SIZE);
     }
 }
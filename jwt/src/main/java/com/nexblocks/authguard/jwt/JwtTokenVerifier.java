@@ -9,9 +9,14 @@ import com.nexblocks.authguard.service.auth.AuthVerifier;
 import com.nexblocks.authguard.service.config.StrategyConfig;
 import com.nexblocks.authguard.service.exceptions.ServiceAuthorizationException;
 import com.nexblocks.authguard.service.exceptions.codes.ErrorCode;
-import io.vavr.control.Try;
+import com.nexblocks.authguard.service.model.AuthRequest;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class JwtTokenVerifier implements AuthVerifier {
+    static final String DOMAIN_CLAIM = "domain";
+
     private final StrategyConfig strategy;
     private final JtiProvider jti;
     private final JWTVerifier verifier;
@@ -31,35 +36,88 @@ public class JwtTokenVerifier implements AuthVerifier {
         this.verifier = JWT.require(algorithm).build();
     }
 
-    Try<DecodedJWT> verify(final String token) {
+    /**
+     * Checks the signature and claims right away, then checks the JTI
+     * against the provider if the strategy uses them.
+     */
+    CompletableFuture<DecodedJWT> verify(final String token) {
+        DecodedJWT verified;
+
         try {
             DecodedJWT decoded = JWT.decode(token);
-            DecodedJWT verified = verifier.verify(decoded);
-
-            if (this.verifyJti(verified)) {
-                return Try.success(verified);
-            } else {
-                return Try.failure(new ServiceAuthorizationException(ErrorCode.INVALID_TOKEN, "Invalid JTI"));
-            }
+            verified = verifier.verify(decoded);
         } catch (final JWTVerificationException e) {
-            return Try.failure(new ServiceAuthorizationException(ErrorCode.GENERIC_AUTH_FAILURE, "Invalid JWT"));
+            return CompletableFuture.failedFuture(
+                    new ServiceAuthorizationException(ErrorCode.GENERIC_AUTH_FAILURE, "Invalid JWT"));
         }
+
+        return verifyJti(verified)
+                .thenCompose(valid -> valid
+                        ? CompletableFuture.completedFuture(verified)
+                        : CompletableFuture.failedFuture(
+                                new ServiceAuthorizationException(ErrorCode.INVALID_TOKEN, "Invalid JTI")));
     }
 
-    private boolean verifyJti(final DecodedJWT decoded) {
-        return !strategy.useJti() || jti.validate(decoded.getId());
+    private CompletableFuture<Boolean> verifyJti(final DecodedJWT decoded) {
+        if (!strategy.useJti()) {
+            return CompletableFuture.completedFuture(true);
+        }
+
+        return jti.validate(decoded.getId());
     }
 
+    /**
+     * Only waits if the strategy uses JTIs, since they have to be looked
+     * up. {@link #verifyAccountTokenAsync(String)} never waits.
+     */
     @Override
-    public Long verifyAccountToken(String token) {
+    public Long verifyAccountToken(final String token) {
+        try {
+            return verifyAccountTokenAsync(token).join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    public CompletableFuture<Long> verifyAccountTokenAsync(final String token) {
+        return verify(token).thenCompose(this::subjectOf);
+    }
+
+    /**
+     * Same as {@link #verifyAccountTokenAsync(String)}, but also fails
+     * if the token wasn't issued in the given domain. A null domain
+     * isn't checked, and neither are tokens which were issued before
+     * they had a domain claim.
+     */
+    public CompletableFuture<Long> verifyAccountTokenAsync(final String token, final String domain) {
         return verify(token)
-                .flatMap(payload -> {
-                    try {
-                        return Try.success(Long.parseLong(payload.getSubject()));
-                    } catch (Exception e) {
-                        return Try.failure(new ServiceAuthorizationException(ErrorCode.GENERIC_AUTH_FAILURE, "Invalid JWT subject"));
+                .thenCompose(payload -> {
+                    String tokenDomain = payload.getClaim(DOMAIN_CLAIM).asString();
+
+                    if (domain != null && tokenDomain != null && !domain.equals(tokenDomain)) {
+                        return CompletableFuture.failedFuture(
+                                new ServiceAuthorizationException(ErrorCode.INVALID_TOKEN, "Invalid token"));
                     }
-                })
-                .get();
+
+                    return subjectOf(payload);
+                });
+    }
+
+    private CompletableFuture<Long> subjectOf(final DecodedJWT payload) {
+        try {
+            return CompletableFuture.completedFuture(Long.parseLong(payload.getSubject()));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(
+                    new ServiceAuthorizationException(ErrorCode.GENERIC_AUTH_FAILURE, "Invalid JWT subject"));
+        }
+    }
+
+    @Override
+    public CompletableFuture<Long> verifyAccountTokenAsync(final AuthRequest request) {
+        return verifyAccountTokenAsync(request.getToken());
     }
 }
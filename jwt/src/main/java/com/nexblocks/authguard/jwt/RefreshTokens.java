@@ -0,0 +1,74 @@
+package com.nexblocks.authguard.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * The format of refresh tokens and the keys which they're stored under.
+ * A refresh token is {@value #PREFIX} followed by 32 random bytes in
+ * unpadded base64url, 47 characters in total. Only the SHA-256 digest
+ * of a token is stored, so the key is always 43 characters and a copy
+ * of the database can't be used to refresh anything. The token has 256
+ * bits of entropy, which is why it doesn't need a salt or a slow hash.
+ * <p>
+ * Tokens in the previous format, 128 random bytes in padded base64,
+ * were stored as they are. They're only looked up as they are if they
+ * have exactly that shape, which a digest never has, and only while
+ * {@code acceptLegacyRefreshTokens} is turned on. Anything else is not
+ * a refresh token and has no key at all.
+ */
+public final class RefreshTokens {
+    public static final String PREFIX = "agr_";
+    public static final int RANDOM_SIZE = 32;
+
+    private static final Pattern COMPACT = Pattern.compile(Pattern.quote(PREFIX) + "[A-Za-z0-9_-]{43}");
+    private static final Pattern LEGACY = Pattern.compile("[A-Za-z0-9+/]{171}=");
+
+    private RefreshTokens() {
+    }
+
+    public static boolean isCompact(final String token) {
+        return token != null && COMPACT.matcher(token).matches();
+    }
+
+    public static boolean isLegacy(final String token) {
+        return token != null && LEGACY.matcher(token).matches();
+    }
+
+    /**
+     * @return The key which the token is stored under, or empty if it's
+     *         neither a compact nor a legacy refresh token.
+     */
+    public static Optional<String> storageKey(final String token) {
+        if (isCompact(token)) {
+            return Optional.of(digest(token));
+        }
+
+        if (isLegacy(token)) {
+            return Optional.of(token);
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * @return The digest which a newly issued token is stored under.
+     */
+    public static String digest(final String token) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(sha256().digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            // every JDK has to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.nexblocks.authguard.jwt.exchange;
+
+import com.google.inject.Inject;
+import com.nexblocks.authguard.jwt.AccessTokenVerifier;
+import com.nexblocks.authguard.service.exchange.Exchange;
+import com.nexblocks.authguard.service.exchange.TokenExchange;
+import com.nexblocks.authguard.service.model.AuthRequestBO;
+import com.nexblocks.authguard.service.model.AuthResponseBO;
+
+import java.util.concurrent.CompletableFuture;
+
+@TokenExchange(from = "accessToken", to = "accountId")
+public class AccessTokenToAccountId implements Exchange {
+    private static final String TOKEN_TYPE = "account_id";
+
+    private final AccessTokenVerifier accessTokenVerifier;
+
+    @Inject
+    public AccessTokenToAccountId(final AccessTokenVerifier accessTokenVerifier) {
+        this.accessTokenVerifier = accessTokenVerifier;
+    }
+
+    @Override
+    public CompletableFuture<AuthResponseBO> exchange(final AuthRequestBO request) {
+        return accessTokenVerifier.verifyAccountId(request.getToken(), request.getDomain())
+                .thenApply(accountId -> AuthResponseBO.builder()
+                        .type(TOKEN_TYPE)
+                        .token(accountId)
+                        .build());
+    }
+}
@@ -25,7 +25,7 @@ public class BasicToAccessToken implements Exchange {
 
     @Override
     public CompletableFuture<AuthResponseBO> exchange(final AuthRequestBO request) {
-        return basicAuth.authenticateAndGetAccountSession(request)
+        return basicAuth.authenticateAndGetAuthAccountSession(request)
                 .thenCompose(accountSession -> {
                     TokenOptionsBO options = getOptions(request, accountSession.getSession());
 
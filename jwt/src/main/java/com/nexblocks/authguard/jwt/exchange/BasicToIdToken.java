@@ -23,7 +23,7 @@ public class BasicToIdToken implements Exchange {
 
     @Override
     public CompletableFuture<AuthResponseBO> exchange(final AuthRequestBO request) {
-        return basicAuth.authenticateAndGetAccount(request)
+        return basicAuth.authenticateAndGetAuthAccount(request)
                 .thenCompose(idTokenProvider::generateToken);
     }
 }
@@ -23,7 +23,7 @@ public class BasicToOIdC implements Exchange {
 
     @Override
     public CompletableFuture<AuthResponseBO> exchange(final AuthRequestBO request) {
-        return basicAuth.authenticateAndGetAccountSession(request)
+        return basicAuth.authenticateAndGetAuthAccountSession(request)
                 .thenCompose(accountSession -> generateTokens(accountSession, request.getRestrictions()));
     }
 
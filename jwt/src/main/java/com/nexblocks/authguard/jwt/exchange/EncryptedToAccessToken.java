@@ -27,16 +27,16 @@ public class EncryptedToAccessToken implements Exchange {
     @Override
     public CompletableFuture<AuthResponseBO> exchange(final AuthRequestBO request) {
         String encrypted = request.getToken();
-        Either<Exception, String> decrypted = tokenEncryptor.decryptEncoded(encrypted)
-                .map(accessTokenVerifier::verify);
+        Either<Exception, String> decrypted = tokenEncryptor.decryptEncoded(encrypted);
 
         if (decrypted.isLeft()) {
             return CompletableFuture.failedFuture(decrypted.getLeft());
         }
 
-        return CompletableFuture.completedFuture(AuthResponseBO.builder()
-                .type(TOKEN_TYPE)
-                .token(decrypted.get())
-                .build());
+        return accessTokenVerifier.verify(decrypted.get())
+                .thenApply(token -> AuthResponseBO.builder()
+                        .type(TOKEN_TYPE)
+                        .token(token)
+                        .build());
     }
 }
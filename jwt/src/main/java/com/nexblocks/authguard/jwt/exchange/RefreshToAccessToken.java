@@ -4,8 +4,10 @@ import com.google.inject.Inject;
 import com.google.inject.name.Named;
 import com.nexblocks.authguard.config.ConfigContext;
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.jwt.AccessTokenProvider;
+import com.nexblocks.authguard.jwt.RefreshTokens;
 import com.nexblocks.authguard.service.AccountsService;
 import com.nexblocks.authguard.service.config.JwtConfig;
 import com.nexblocks.authguard.service.exceptions.ServiceAuthorizationException;
@@ -56,10 +58,23 @@ public class RefreshToAccessToken implements Exchange {
 
     @Override
     public CompletableFuture<AuthResponseBO> exchange(final AuthRequestBO request) {
-        return accountTokensRepository.getByToken(request.getToken())
+        String token = request.getToken();
+
+        // only the shapes which were issued are looked up, so a stored digest can't be presented as a token
+        Optional<String> storageKey = RefreshTokens.isLegacy(token) && !jwtConfig.acceptLegacyRefreshTokens()
+                ? Optional.empty()
+                : RefreshTokens.storageKey(token);
+
+        if (storageKey.isEmpty()) {
+            return CompletableFuture.failedFuture(new ServiceAuthorizationException(ErrorCode.INVALID_TOKEN,
+                    "Invalid token"));
+        }
+
+        // consumed before it's checked, so that concurrent requests can't both exchange the same token
+        return accountTokensRepository.consume(TokenType.REFRESH_TOKEN, storageKey.get())
                 .thenCompose(opt -> {
                     if (opt.isPresent()) {
-                        return this.generateAndClear(opt.get(), request);
+                        return this.generate(opt.get(), request);
                     }
 
                     return CompletableFuture.failedFuture(new ServiceAuthorizationException(ErrorCode.INVALID_TOKEN,
@@ -67,16 +82,6 @@ public class RefreshToAccessToken implements Exchange {
                 });
     }
 
-    private CompletableFuture<AuthResponseBO> generateAndClear(final AccountTokenDO accountToken,
-                                                               final AuthRequest request) {
-        return generate(accountToken, request)
-                .whenComplete((result, e) -> {
-                    if (e == null) {
-                        deleteRefreshToken(accountToken);
-                    }
-                });
-    }
-
     private CompletableFuture<AuthResponseBO> generate(final AccountTokenDO accountToken,
                                                        final AuthRequest authRequest) {
         if (!validateExpirationDateTime(accountToken)) {
@@ -84,8 +89,6 @@ public class RefreshToAccessToken implements Exchange {
                     new ServiceAuthorizationException(ErrorCode.EXPIRED_TOKEN, "Refresh token has expired",
                             EntityType.ACCOUNT, accountToken.getAssociatedAccountId());
 
-            deleteRefreshToken(accountToken);
-
             return CompletableFuture.failedFuture(error);
         }
 
@@ -116,16 +119,14 @@ public class RefreshToAccessToken implements Exchange {
                 .deviceId(accountToken.getDeviceId())
                 .build();
 
-        return getAccount(accountId, accountToken)
+        return getAccount(accountId)
                 .thenCompose(account -> accessTokenProvider.generateToken(account, tokenRestrictions, options));
     }
 
-    private CompletableFuture<AccountBO> getAccount(final long accountId, final AccountTokenDO accountToken) {
-        return accountsService.getByIdUnchecked(accountId)
+    private CompletableFuture<AccountBO> getAccount(final long accountId) {
+        return accountsService.getAuthAccountById(accountId)
                 .thenCompose(opt -> {
                     if (opt.isEmpty()) {
-                        deleteRefreshToken(accountToken);
-
                         return CompletableFuture.failedFuture(new ServiceAuthorizationException(ErrorCode.ACCOUNT_DOES_NOT_EXIST,
                                 "Could not find account " + accountId));
                     }
@@ -177,20 +178,4 @@ public class RefreshToAccessToken implements Exchange {
 
         return Optional.empty();
     }
-
-    private void deleteRefreshToken(final AccountTokenDO accountToken) {
-        LOG.info("Deleting old refresh token. tokenId={}, accountId={}",
-                accountToken.getId(), accountToken.getAssociatedAccountId());
-
-        accountTokensRepository.deleteToken(accountToken.getToken())
-                .whenComplete((deletedToken, e) -> {
-                    if (e == null) {
-                        LOG.info("Deleted refresh token. tokenId={}, accountId={}",
-                                accountToken.getId(), accountToken.getAssociatedAccountId());
-                    } else {
-                        LOG.error("Failed to delete refresh token. tokenId={}, accountId={}",
-                                accountToken.getId(), accountToken.getAssociatedAccountId(), e);
-                    }
-                });
-    }
 }
@@ -26,22 +26,18 @@ public class JwtApiKeyExchange implements ApiKeyExchange {
     }
 
     @Override
-    public AuthResponseBO generateKey(final AppBO app, final Instant expiresAt) {
-        return expiresAt == null ?
-                tokenProvider.generateToken(app) :
-                tokenProvider.generateToken(app, expiresAt);
+    public CompletableFuture<AuthResponseBO> generateKey(final AppBO app, final Instant expiresAt) {
+        return tokenProvider.generateKey(app, expiresAt);
     }
 
     @Override
-    public AuthResponseBO generateKey(ClientBO client, Instant expiresAt) {
-        return expiresAt == null ?
-                tokenProvider.generateToken(client) :
-                tokenProvider.generateToken(client, expiresAt);
+    public CompletableFuture<AuthResponseBO> generateKey(ClientBO client, Instant expiresAt) {
+        return tokenProvider.generateKey(client, expiresAt);
     }
 
     @Override
     public CompletableFuture<Optional<Long>> verifyAndGetAppId(final String apiKey) {
-        return CompletableFuture.completedFuture(Optional.of(tokenVerifier.verifyAccountToken(apiKey)));
+        return tokenVerifier.verifyAccountTokenAsync(apiKey).thenApply(Optional::of);
     }
 
     @Override
@@ -5,6 +5,7 @@ import com.google.inject.Inject;
 import com.google.inject.name.Named;
 import com.nexblocks.authguard.config.ConfigContext;
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.jwt.exchange.PkceParameters;
 import com.nexblocks.authguard.service.auth.AuthProvider;
@@ -75,7 +76,7 @@ public class AuthorizationCodeProvider implements AuthProvider {
             }
         }
 
-        return accountTokensRepository.save(accountToken.build())
+        return accountTokensRepository.save(TokenType.AUTHORIZATION_CODE, accountToken.build())
                 .thenApply(ignored -> AuthResponseBO.builder()
                         .type("authorizationCode")
                         .token(code)
@@ -2,6 +2,7 @@ package com.nexblocks.authguard.jwt.oauth;
 
 import com.google.inject.Inject;
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.service.auth.AuthVerifier;
 import com.nexblocks.authguard.service.exceptions.ServiceAuthorizationException;
@@ -34,7 +35,7 @@ public class AuthorizationCodeVerifier implements AuthVerifier {
 
     @Override
     public Either<Exception, AccountTokenDO> verifyAndGetAccountToken(final AuthRequest request) {
-        return accountTokensRepository.getByToken(request.getToken())
+        return accountTokensRepository.consume(TokenType.AUTHORIZATION_CODE, request.getToken())
                 .join()
                 .map(this::verifyToken)
                 .orElseGet(() -> Either.left(new ServiceAuthorizationException(ErrorCode.INVALID_TOKEN, "Invalid authorization code")));
@@ -48,7 +49,7 @@ public class AuthorizationCodeVerifier implements AuthVerifier {
 
     @Override
     public CompletableFuture<AccountTokenDO> verifyAndGetAccountTokenAsync(final AuthRequest request) {
-        return accountTokensRepository.getByToken(request.getToken())
+        return accountTokensRepository.consume(TokenType.AUTHORIZATION_CODE, request.getToken())
                 .thenCompose(opt -> {
                     if (opt.isPresent()) {
                         return AsyncUtils.fromTry(tryVerifyToken(opt.get()));
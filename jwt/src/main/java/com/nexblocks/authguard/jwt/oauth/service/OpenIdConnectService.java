@@ -2,6 +2,7 @@ package com.nexblocks.authguard.jwt.oauth.service;
 
 import com.google.inject.Inject;
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.jwt.exchange.PkceParameters;
 import com.nexblocks.authguard.jwt.oauth.route.ImmutableOpenIdConnectRequest;
@@ -80,14 +81,14 @@ public class OpenIdConnectService {
                             .trackingSession(session.getSessionToken())
                             .build();
 
-                    return accountTokensRepository.save(accountToken);
+                    return accountTokensRepository.save(TokenType.OIDC_REQUEST, accountToken);
                 });
     }
 
     public CompletableFuture<OpenIdConnectRequest> getRequestFromToken(final String token,
                                                                        final RequestContextBO requestContext,
                                                                        final String domain) {
-        return accountTokensRepository.getByToken(token)
+        return accountTokensRepository.getByToken(TokenType.OIDC_REQUEST, token)
                 .thenCompose(opt -> {
                     if (opt.isEmpty()) {
                         return CompletableFuture.failedFuture(new ServiceNotFoundException(ErrorCode.INVALID_TOKEN,
@@ -4,6 +4,7 @@ import com.auth0.jwt.JWT;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.auth0.jwt.interfaces.Verification;
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.jwt.crypto.TokenEncryptorAdapter;
 import com.nexblocks.authguard.service.TrackingSessionsService;
@@ -97,8 +98,8 @@ class AccessTokenProviderTest {
         Mockito.when(trackingSessionsService.isSessionActive(Mockito.eq("terminated"), Mockito.any()))
                 .thenReturn(CompletableFuture.completedFuture(false));
 
-        Mockito.when(accountTokensRepository.save(Mockito.any())).thenAnswer(invocation -> {
-            AccountTokenDO arg = invocation.getArgument(0);
+        Mockito.when(accountTokensRepository.save(Mockito.eq(TokenType.REFRESH_TOKEN), Mockito.any())).thenAnswer(invocation -> {
+            AccountTokenDO arg = invocation.getArgument(1);
             return CompletableFuture.completedFuture(arg);
         });
 
@@ -124,10 +125,11 @@ class AccessTokenProviderTest {
 
         ArgumentCaptor<AccountTokenDO> accountTokenCaptor = ArgumentCaptor.forClass(AccountTokenDO.class);
 
-        Mockito.verify(accountTokensRepository).save(accountTokenCaptor.capture());
+        Mockito.verify(accountTokensRepository).save(Mockito.eq(TokenType.REFRESH_TOKEN), accountTokenCaptor.capture());
 
         assertThat(accountTokenCaptor.getValue().getAssociatedAccountId()).isEqualTo(account.getId());
-        assertThat(accountTokenCaptor.getValue().getToken()).isEqualTo(tokens.getRefreshToken());
+        assertThat(accountTokenCaptor.getValue().getToken())
+                .isEqualTo(RefreshTokens.digest((String) tokens.getRefreshToken()));
         assertThat(accountTokenCaptor.getValue().getExpiresAt()).isNotNull()
                 .isAfter(Instant.now());
 
@@ -179,10 +181,11 @@ class AccessTokenProviderTest {
 
         ArgumentCaptor<AccountTokenDO> accountTokenCaptor = ArgumentCaptor.forClass(AccountTokenDO.class);
 
-        Mockito.verify(accountTokensRepository).save(accountTokenCaptor.capture());
+        Mockito.verify(accountTokensRepository).save(Mockito.eq(TokenType.REFRESH_TOKEN), accountTokenCaptor.capture());
 
         assertThat(accountTokenCaptor.getValue().getAssociatedAccountId()).isEqualTo(account.getId());
-        assertThat(accountTokenCaptor.getValue().getToken()).isEqualTo(tokens.getRefreshToken());
+        assertThat(accountTokenCaptor.getValue().getToken())
+                .isEqualTo(RefreshTokens.digest((String) tokens.getRefreshToken()));
         assertThat(accountTokenCaptor.getValue().getExpiresAt()).isNotNull()
                 .isAfter(Instant.now());
 
@@ -217,10 +220,11 @@ class AccessTokenProviderTest {
 
         ArgumentCaptor<AccountTokenDO> accountTokenCaptor = ArgumentCaptor.forClass(AccountTokenDO.class);
 
-        Mockito.verify(accountTokensRepository).save(accountTokenCaptor.capture());
+        Mockito.verify(accountTokensRepository).save(Mockito.eq(TokenType.REFRESH_TOKEN), accountTokenCaptor.capture());
 
         assertThat(accountTokenCaptor.getValue().getAssociatedAccountId()).isEqualTo(account.getId());
-        assertThat(accountTokenCaptor.getValue().getToken()).isEqualTo(tokens.getRefreshToken());
+        assertThat(accountTokenCaptor.getValue().getToken())
+                .isEqualTo(RefreshTokens.digest((String) tokens.getRefreshToken()));
         assertThat(accountTokenCaptor.getValue().getExpiresAt()).isNotNull()
                 .isAfter(Instant.now());
         assertThat(accountTokenCaptor.getValue().getTokenRestrictions())
@@ -270,14 +274,15 @@ class AccessTokenProviderTest {
                 .trackingSession("tracking-session")
                 .build();
 
-        Mockito.verify(accountTokensRepository).save(accountTokenCaptor.capture());
+        Mockito.verify(accountTokensRepository).save(Mockito.eq(TokenType.REFRESH_TOKEN), accountTokenCaptor.capture());
 
         assertThat(accountTokenCaptor.getValue())
                 .usingRecursiveComparison()
                 .ignoringFields(SKIPPED_FIELDS)
                 .isEqualTo(expectedRefreshToken);
 
-        assertThat(accountTokenCaptor.getValue().getToken()).isEqualTo(tokens.getRefreshToken());
+        assertThat(accountTokenCaptor.getValue().getToken())
+                .isEqualTo(RefreshTokens.digest((String) tokens.getRefreshToken()));
         assertThat(accountTokenCaptor.getValue().getExpiresAt()).isNotNull()
                 .isAfter(Instant.now());
     }
@@ -288,7 +293,7 @@ class AccessTokenProviderTest {
 
         String jti = UUID.randomUUID().toString();
 
-        Mockito.when(jtiProvider.next()).thenReturn(jti);
+        Mockito.when(jtiProvider.next()).thenReturn(CompletableFuture.completedFuture(jti));
 
         AccountBO account = RANDOM.nextObject(AccountBO.class).withActive(true);
         TokenOptionsBO options = TokenOptionsBO.builder()
@@ -308,15 +313,15 @@ class AccessTokenProviderTest {
     void delete() {
         AccessTokenProvider accessTokenProvider = newProviderInstance(jwtConfig(), strategyConfig());
 
-        String refreshToken = "refresh";
+        String refreshToken = RefreshTokens.PREFIX + "V1kHmBy2wK4Qd1tP9aXzR3uJc6eLf0sN8gTyWbIoEhA";
         long accountId = 101;
         AuthRequestBO deleteRequest = AuthRequestBO.builder().token(refreshToken).build();
 
-        Mockito.when(accountTokensRepository.deleteToken(refreshToken))
+        Mockito.when(accountTokensRepository.deleteToken(TokenType.REFRESH_TOKEN, RefreshTokens.digest(refreshToken)))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(
                         AccountTokenDO.builder()
                                 .associatedAccountId(accountId)
-                                .token(refreshToken)
+                                .token(RefreshTokens.digest(refreshToken))
                                 .build()
                 )));
 
@@ -336,16 +341,28 @@ class AccessTokenProviderTest {
     void deleteInvalidToken() {
         AccessTokenProvider accessTokenProvider = newProviderInstance(jwtConfig(), strategyConfig());
 
-        String refreshToken = "refresh";
+        String refreshToken = RefreshTokens.PREFIX + "V1kHmBy2wK4Qd1tP9aXzR3uJc6eLf0sN8gTyWbIoEhA";
         AuthRequestBO deleteRequest = AuthRequestBO.builder().token(refreshToken).build();
 
-        Mockito.when(accountTokensRepository.deleteToken(refreshToken))
+        Mockito.when(accountTokensRepository.deleteToken(TokenType.REFRESH_TOKEN, RefreshTokens.digest(refreshToken)))
                 .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
 
         assertThatThrownBy(() -> accessTokenProvider.delete(deleteRequest).join())
                 .hasCauseInstanceOf(ServiceAuthorizationException.class);
     }
 
+    @Test
+    void deleteWithoutLookingUpMalformedTokens() {
+        AccessTokenProvider accessTokenProvider = newProviderInstance(jwtConfig(), strategyConfig());
+
+        AuthRequestBO deleteRequest = AuthRequestBO.builder().token("refresh").build();
+
+        assertThatThrownBy(() -> accessTokenProvider.delete(deleteRequest).join())
+                .hasCauseInstanceOf(ServiceAuthorizationException.class);
+
+        Mockito.verify(accountTokensRepository, Mockito.never()).deleteToken(Mockito.eq(TokenType.REFRESH_TOKEN), Mockito.any());
+    }
+
     private void verifyToken(String token, long subject, String jti, List<String> permissions) {
         Verification verifier = JWT.require(JwtConfigParser.parseAlgorithm(ALGORITHM, null, KEY))
                 .withIssuer(ISSUER)
@@ -1,6 +1,7 @@
 package com.nexblocks.authguard.jwt;
 
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -24,17 +25,17 @@ class BasicJtiProviderTest {
 
     @Test
     void generate() {
-        Mockito.when(repository.save(any()))
-                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0, AccountTokenDO.class)));
+        Mockito.when(repository.save(Mockito.eq(TokenType.JTI), any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(1, AccountTokenDO.class)));
 
-        assertThat(provider.next()).isNotNull();
+        assertThat(provider.next().join()).isNotNull();
     }
 
     @Test
     void notGenerated() {
-        Mockito.when(repository.getByToken(any()))
+        Mockito.when(repository.getByToken(Mockito.eq(TokenType.JTI), any()))
                 .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
 
-        assertThat(provider.validate("malicious")).isFalse();
+        assertThat(provider.validate("malicious").join()).isFalse();
     }
 }
@@ -16,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -59,9 +60,9 @@ class JwtApiKeyProviderTest {
         final String jti = "tokenId";
         final AppBO app = RANDOM.nextObject(AppBO.class);
 
-        Mockito.when(jtiProvider.next()).thenReturn(jti);
+        Mockito.when(jtiProvider.next()).thenReturn(CompletableFuture.completedFuture(jti));
 
-        final AuthResponseBO tokens = tokenProvider.generateToken(app);
+        final AuthResponseBO tokens = tokenProvider.generateKey(app, null).join();
 
         assertThat(tokens).isNotNull();
         assertThat(tokens.getToken()).isNotNull();
@@ -84,9 +85,9 @@ class JwtApiKeyProviderTest {
                         .name("read")
                         .build());
 
-        Mockito.when(jtiProvider.next()).thenReturn(jti);
+        Mockito.when(jtiProvider.next()).thenReturn(CompletableFuture.completedFuture(jti));
 
-        final AuthResponseBO tokens = tokenProvider.generateToken(app);
+        final AuthResponseBO tokens = tokenProvider.generateKey(app, null).join();
 
         assertThat(tokens).isNotNull();
         assertThat(tokens.getToken()).isNotNull();
@@ -113,9 +114,9 @@ class JwtApiKeyProviderTest {
         final AppBO app = RANDOM.nextObject(AppBO.class);
         final Instant expiresAt = Instant.now().plusSeconds(5);
 
-        Mockito.when(jtiProvider.next()).thenReturn(jti);
+        Mockito.when(jtiProvider.next()).thenReturn(CompletableFuture.completedFuture(jti));
 
-        final AuthResponseBO tokens = tokenProvider.generateToken(app, expiresAt);
+        final AuthResponseBO tokens = tokenProvider.generateKey(app, expiresAt).join();
 
         assertThat(tokens).isNotNull();
         assertThat(tokens.getToken()).isNotNull();
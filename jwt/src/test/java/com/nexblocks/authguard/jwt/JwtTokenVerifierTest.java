@@ -22,8 +22,11 @@ import java.time.Instant;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class JwtTokenVerifierTest {
     private static String ALGORITHM = "HMAC256";
@@ -80,6 +83,11 @@ class JwtTokenVerifierTest {
                 .build();
     }
     
+    private Try<DecodedJWT> verify(JwtTokenVerifier jwtTokenVerifier, String token) {
+        return Try.of(() -> jwtTokenVerifier.verify(token).join())
+                .recoverWith(CompletionException.class, e -> Try.failure(e.getCause()));
+    }
+
     @Test
     void validate() {
         StrategyConfig strategyConfig = strategyConfig(false);
@@ -89,7 +97,7 @@ class JwtTokenVerifierTest {
 
         AccountBO account = RANDOM.nextObject(AccountBO.class);
         AuthResponseBO tokens = generateToken(jwtConfig, account, null);
-        Try<DecodedJWT> validatedToken = jwtTokenVerifier.verify(tokens.getToken().toString());
+        Try<DecodedJWT> validatedToken = verify(jwtTokenVerifier, tokens.getToken().toString());
 
         assertThat(validatedToken.isSuccess()).isTrue();
         verifyToken(validatedToken.get(), account.getId(), null, null, null);
@@ -112,7 +120,7 @@ class JwtTokenVerifierTest {
 
         JwtTokenVerifier jwtTokenVerifier = newVerifierInstance(strategyConfig);
 
-        Try<DecodedJWT> validatedToken = jwtTokenVerifier.verify(token);
+        Try<DecodedJWT> validatedToken = verify(jwtTokenVerifier, token);
 
         assertThat(validatedToken.isFailure()).isTrue();
         assertThat(validatedToken.getCause()).isInstanceOf(ServiceAuthorizationException.class);
@@ -127,12 +135,12 @@ class JwtTokenVerifierTest {
 
         String jti = UUID.randomUUID().toString();
 
-        Mockito.when(jtiProvider.next()).thenReturn(jti);
-        Mockito.when(jtiProvider.validate(jti)).thenReturn(true);
+        Mockito.when(jtiProvider.next()).thenReturn(CompletableFuture.completedFuture(jti));
+        Mockito.when(jtiProvider.validate(jti)).thenReturn(CompletableFuture.completedFuture(true));
 
         AccountBO account = RANDOM.nextObject(AccountBO.class);
         AuthResponseBO tokens = generateToken(jwtConfig, account, jti);
-        Try<DecodedJWT> validatedToken = jwtTokenVerifier.verify(tokens.getToken().toString());
+        Try<DecodedJWT> validatedToken = verify(jwtTokenVerifier, tokens.getToken().toString());
 
         assertThat(validatedToken.isSuccess()).isTrue();
         verifyToken(validatedToken.get(), account.getId(), jti, null, null);
@@ -147,16 +155,51 @@ class JwtTokenVerifierTest {
 
         String jti = UUID.randomUUID().toString();
 
-        Mockito.when(jtiProvider.next()).thenReturn(jti);
-        Mockito.when(jtiProvider.validate(jti)).thenReturn(false);
+        Mockito.when(jtiProvider.next()).thenReturn(CompletableFuture.completedFuture(jti));
+        Mockito.when(jtiProvider.validate(jti)).thenReturn(CompletableFuture.completedFuture(false));
 
         AccountBO account = RANDOM.nextObject(AccountBO.class);
         AuthResponseBO tokens = generateToken(jwtConfig, account, jti);
-        Try<DecodedJWT> validatedToken = jwtTokenVerifier.verify(tokens.getToken().toString());
+        Try<DecodedJWT> validatedToken = verify(jwtTokenVerifier, tokens.getToken().toString());
 
         assertThat(validatedToken.isFailure()).isTrue();
     }
 
+    @Test
+    void validateDomain() {
+        JwtConfig jwtConfig = jwtConfig();
+        JwtTokenVerifier jwtTokenVerifier = newVerifierInstance(strategyConfig(false));
+
+        AccountBO account = RANDOM.nextObject(AccountBO.class).withDomain("main");
+
+        Algorithm algorithm = JwtConfigParser.parseAlgorithm(jwtConfig.getAlgorithm(), jwtConfig.getPublicKey(),
+                jwtConfig.getPrivateKey());
+        String token = new JwtGenerator(jwtConfig).generateUnsignedToken(account, Duration.ofMinutes(5))
+                .withClaim(JwtTokenVerifier.DOMAIN_CLAIM, account.getDomain())
+                .sign(algorithm);
+
+        assertThat(jwtTokenVerifier.verifyAccountTokenAsync(token, "main").join()).isEqualTo(account.getId());
+        assertThat(jwtTokenVerifier.verifyAccountTokenAsync(token, null).join()).isEqualTo(account.getId());
+        assertThatThrownBy(() -> jwtTokenVerifier.verifyAccountTokenAsync(token, "other").join())
+                .hasCauseInstanceOf(ServiceAuthorizationException.class);
+    }
+
+    @Test
+    void validateDomainWithoutClaim() {
+        JwtConfig jwtConfig = jwtConfig();
+        JwtTokenVerifier jwtTokenVerifier = newVerifierInstance(strategyConfig(false));
+
+        AccountBO account = RANDOM.nextObject(AccountBO.class).withDomain("main");
+
+        // tokens which were issued before they had a domain claim
+        Algorithm algorithm = JwtConfigParser.parseAlgorithm(jwtConfig.getAlgorithm(), jwtConfig.getPublicKey(),
+                jwtConfig.getPrivateKey());
+        String token = new JwtGenerator(jwtConfig).generateUnsignedToken(account, Duration.ofMinutes(5))
+                .sign(algorithm);
+
+        assertThat(jwtTokenVerifier.verifyAccountTokenAsync(token, "main").join()).isEqualTo(account.getId());
+    }
+
     @Test
     void validateWithAlgNone() {
         StrategyConfig strategyConfig = strategyConfig(false);
@@ -169,7 +212,7 @@ class JwtTokenVerifierTest {
         String payload = tokens.getToken().toString().split("\\.")[1];
         String maliciousToken = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9." + payload + ".signature";
 
-        assertThat(jwtTokenVerifier.verify(maliciousToken)).isEmpty();
+        assertThat(verify(jwtTokenVerifier, maliciousToken)).isEmpty();
     }
 
     private void verifyToken(DecodedJWT decodedJWT, long subject, String jti, List<PermissionBO> permissions,
@@ -0,0 +1,47 @@
+package com.nexblocks.authguard.jwt;
+
+import com.nexblocks.authguard.service.config.JwtConfig;
+import com.nexblocks.authguard.service.random.CryptographicRandom;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefreshTokensTest {
+    @Test
+    void generateCompactTokens() {
+        JwtGenerator generator = new JwtGenerator(JwtConfig.builder().build());
+
+        String token = generator.generateRandomRefreshToken();
+
+        assertThat(token).startsWith(RefreshTokens.PREFIX).hasSize(47).matches("[A-Za-z0-9_-]+");
+        assertThat(RefreshTokens.isLegacy(token)).isFalse();
+        assertThat(generator.generateRandomRefreshToken()).isNotEqualTo(token);
+    }
+
+    @Test
+    void storeCompactTokensByTheirDigest() {
+        String token = new JwtGenerator(JwtConfig.builder().build()).generateRandomRefreshToken();
+
+        assertThat(RefreshTokens.storageKey(token)).hasValueSatisfying(key -> assertThat(key)
+                .hasSize(43)
+                .isNotEqualTo(token)
+                .isEqualTo(RefreshTokens.digest(token)));
+    }
+
+    @Test
+    void storeLegacyTokensAsTheyAre() {
+        String legacy = new CryptographicRandom().base64(128);
+
+        assertThat(RefreshTokens.isLegacy(legacy)).isTrue();
+        assertThat(RefreshTokens.storageKey(legacy)).contains(legacy);
+    }
+
+    @Test
+    void noKeyForAnythingElse() {
+        String digest = RefreshTokens.digest(new JwtGenerator(JwtConfig.builder().build()).generateRandomRefreshToken());
+
+        assertThat(RefreshTokens.storageKey(digest)).isEmpty();
+        assertThat(RefreshTokens.storageKey("bGVnYWN5IHRva2Vu+/==")).isEmpty();
+        assertThat(RefreshTokens.storageKey(null)).isEmpty();
+    }
+}
@@ -79,7 +79,7 @@ class AuthorizationCodeToOidcTest {
         Mockito.when(authorizationCodeVerifier.verifyAndGetAccountTokenAsync(authRequest))
                 .thenReturn(CompletableFuture.completedFuture(accountToken));
 
-        Mockito.when(accountsService.getByIdUnchecked(accountToken.getAssociatedAccountId()))
+        Mockito.when(accountsService.getAuthAccountById(accountToken.getAssociatedAccountId()))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(account)));
 
         Mockito.when(openIdConnectTokenProvider.generateToken(account, null, options))
@@ -132,7 +132,7 @@ class AuthorizationCodeToOidcTest {
         Mockito.when(authorizationCodeVerifier.verifyAndGetAccountTokenAsync(authRequest))
                 .thenReturn(CompletableFuture.completedFuture(accountToken));
 
-        Mockito.when(accountsService.getByIdUnchecked(accountToken.getAssociatedAccountId()))
+        Mockito.when(accountsService.getAuthAccountById(accountToken.getAssociatedAccountId()))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(account)));
 
         Mockito.when(openIdConnectTokenProvider.generateToken(account, serviceMapper.toBO(accountToken.getTokenRestrictions()), options))
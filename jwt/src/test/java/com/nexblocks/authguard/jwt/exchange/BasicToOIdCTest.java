@@ -54,7 +54,7 @@ class BasicToOIdCTest {
                 .trackingSession("tracking-token")
                 .build();
 
-        Mockito.when(basicAuth.authenticateAndGetAccountSession(authRequest))
+        Mockito.when(basicAuth.authenticateAndGetAuthAccountSession(authRequest))
                 .thenReturn(CompletableFuture.completedFuture(AccountSessionBO.builder()
                         .account(account)
                         .session(SessionBO.builder()
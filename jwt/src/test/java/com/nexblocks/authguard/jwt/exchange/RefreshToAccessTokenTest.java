@@ -1,12 +1,15 @@
 package com.nexblocks.authguard.jwt.exchange;
 
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.dal.model.TokenRestrictionsDO;
 import com.nexblocks.authguard.jwt.AccessTokenProvider;
+import com.nexblocks.authguard.jwt.RefreshTokens;
 import com.nexblocks.authguard.service.AccountsService;
 import com.nexblocks.authguard.service.config.JwtConfig;
 import com.nexblocks.authguard.service.exceptions.ServiceAuthorizationException;
+import com.nexblocks.authguard.service.exceptions.codes.ErrorCode;
 import com.nexblocks.authguard.service.mappers.ServiceMapperImpl;
 import com.nexblocks.authguard.service.model.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,6 +26,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class RefreshToAccessTokenTest {
+    // 128 random bytes in padded base64, the way refresh tokens used to be issued
+    private static final String LEGACY_TOKEN = "CzBVep/E6Q4zWH2ix+wRNluApcrvFDleg6jN8hc8YYar0PUaP2SJrtP4HUJnjLHW"
+            + "+yBFao+02f4jSG2St9wBJktwlbrfBClOc5i94gcsUXabwOUKL1R5nsPoDTJXfKHG6xA1Wn+kye4TOF2Cp8zxFjtgharP9Bk+Y4it0vccQWY=";
+
     private AccountTokensRepository accountTokensRepository;
     private AccountsService accountsService;
     private AccessTokenProvider accessTokenProvider;
@@ -36,17 +43,15 @@ class RefreshToAccessTokenTest {
         accessTokenProvider = Mockito.mock(AccessTokenProvider.class);
 
         refreshToAccessToken = new RefreshToAccessToken(accountTokensRepository, accountsService,
-                accessTokenProvider, JwtConfig.builder().build(), new ServiceMapperImpl());
-
-        Mockito.when(accountTokensRepository.deleteToken(Mockito.any()))
-                .thenReturn(CompletableFuture.completedFuture(Optional.of(AccountTokenDO.builder().build())));
+                accessTokenProvider, JwtConfig.builder().acceptLegacyRefreshTokens(true).build(),
+                new ServiceMapperImpl());
     }
 
     @Test
-    void exchange() throws InterruptedException {
+    void exchange() {
         // data
         long accountId = 101;
-        String refreshToken = "refresh_token";
+        String refreshToken = LEGACY_TOKEN;
 
         AuthRequestBO authRequest = AuthRequestBO.builder()
                 .token(refreshToken)
@@ -78,10 +83,10 @@ class RefreshToAccessTokenTest {
                 .build();
 
         // mock
-        Mockito.when(accountTokensRepository.getByToken(authRequest.getToken()))
+        Mockito.when(accountTokensRepository.consume(TokenType.REFRESH_TOKEN, authRequest.getToken()))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(accountToken)));
 
-        Mockito.when(accountsService.getByIdUnchecked(accountId))
+        Mockito.when(accountsService.getAuthAccountById(accountId))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(account)));
 
         Mockito.when(accessTokenProvider.generateToken(account, null, options))
@@ -93,15 +98,14 @@ class RefreshToAccessTokenTest {
         // assert
         assertThat(actual).isEqualTo(newTokens);
 
-        Thread.sleep(50L); // triggering deleting happens in the background so give it some time
-        Mockito.verify(accountTokensRepository).deleteToken(refreshToken);
+        Mockito.verify(accountTokensRepository).consume(TokenType.REFRESH_TOKEN, refreshToken);
     }
 
     @Test
-    void exchangeWithRestrictions() throws InterruptedException {
+    void exchangeWithRestrictions() {
         // data
         long accountId = 101;
-        String refreshToken = "refresh_token";
+        String refreshToken = LEGACY_TOKEN;
         String restrictionPermission = "permission.read";
 
         AuthRequestBO authRequest = AuthRequestBO.builder()
@@ -143,10 +147,10 @@ class RefreshToAccessTokenTest {
                 .build();
 
         // mock
-        Mockito.when(accountTokensRepository.getByToken(authRequest.getToken()))
+        Mockito.when(accountTokensRepository.consume(TokenType.REFRESH_TOKEN, authRequest.getToken()))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(accountToken)));
 
-        Mockito.when(accountsService.getByIdUnchecked(accountId))
+        Mockito.when(accountsService.getAuthAccountById(accountId))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(account)));
 
         Mockito.when(accessTokenProvider.generateToken(account, restrictions, options))
@@ -158,15 +162,92 @@ class RefreshToAccessTokenTest {
         // assert
         assertThat(actual).isEqualTo(newTokens);
 
-        Thread.sleep(50L); // triggering deleting happens in the background so give it some time
-        Mockito.verify(accountTokensRepository).deleteToken(refreshToken);
+        Mockito.verify(accountTokensRepository).consume(TokenType.REFRESH_TOKEN, refreshToken);
+    }
+
+    @Test
+    void exchangeCompactToken() {
+        long accountId = 101;
+        String refreshToken = RefreshTokens.PREFIX + "V1kHmBy2wK4Qd1tP9aXzR3uJc6eLf0sN8gTyWbIoEhA";
+        String storageKey = RefreshTokens.digest(refreshToken);
+
+        AuthRequestBO authRequest = AuthRequestBO.builder()
+                .token(refreshToken)
+                .build();
+
+        AccountTokenDO accountToken = AccountTokenDO.builder()
+                .token(storageKey)
+                .associatedAccountId(accountId)
+                .expiresAt(Instant.now().plus(Duration.ofMinutes(1)))
+                .sourceAuthType("basic")
+                .build();
+
+        AccountBO account = AccountBO.builder()
+                .id(accountId)
+                .build();
+
+        AuthResponseBO newTokens = AuthResponseBO.builder()
+                .token("new_token")
+                .refreshToken("new_refresh_token")
+                .build();
+
+        Mockito.when(accountTokensRepository.consume(TokenType.REFRESH_TOKEN, storageKey))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(accountToken)));
+        Mockito.when(accountsService.getAuthAccountById(accountId))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(account)));
+        Mockito.when(accessTokenProvider.generateToken(Mockito.eq(account), Mockito.any(), Mockito.any()))
+                .thenReturn(CompletableFuture.completedFuture(newTokens));
+
+        assertThat(refreshToAccessToken.exchange(authRequest).join()).isEqualTo(newTokens);
+
+        Mockito.verify(accountTokensRepository, Mockito.never()).consume(TokenType.REFRESH_TOKEN, refreshToken);
+    }
+
+    @Test
+    void rejectStoredDigests() {
+        String storedDigest = RefreshTokens.digest(RefreshTokens.PREFIX + "V1kHmBy2wK4Qd1tP9aXzR3uJc6eLf0sN8gTyWbIoEhA");
+
+        Mockito.when(accountTokensRepository.consume(TokenType.REFRESH_TOKEN, storedDigest))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(AccountTokenDO.builder()
+                        .token(storedDigest)
+                        .associatedAccountId(101)
+                        .expiresAt(Instant.now().plus(Duration.ofMinutes(1)))
+                        .build())));
+
+        AuthRequestBO authRequest = AuthRequestBO.builder()
+                .token(storedDigest)
+                .build();
+
+        assertThatThrownBy(() -> refreshToAccessToken.exchange(authRequest).join())
+                .hasCauseInstanceOf(ServiceAuthorizationException.class)
+                .cause()
+                .extracting(e -> ((ServiceAuthorizationException) e).getErrorCode())
+                .isEqualTo(ErrorCode.INVALID_TOKEN.getCode());
+
+        Mockito.verify(accountTokensRepository, Mockito.never()).consume(Mockito.eq(TokenType.REFRESH_TOKEN), Mockito.any());
+    }
+
+    @Test
+    void rejectLegacyTokensOnceTheyAreNoLongerAccepted() {
+        RefreshToAccessToken strictExchange = new RefreshToAccessToken(accountTokensRepository, accountsService,
+                accessTokenProvider, JwtConfig.builder().acceptLegacyRefreshTokens(false).build(),
+                new ServiceMapperImpl());
+
+        AuthRequestBO authRequest = AuthRequestBO.builder()
+                .token(LEGACY_TOKEN)
+                .build();
+
+        assertThatThrownBy(() -> strictExchange.exchange(authRequest).join())
+                .hasCauseInstanceOf(ServiceAuthorizationException.class);
+
+        Mockito.verify(accountTokensRepository, Mockito.never()).consume(Mockito.eq(TokenType.REFRESH_TOKEN), Mockito.any());
     }
 
     @Test
-    void exchangeExpiredToken() throws InterruptedException {
+    void exchangeExpiredToken() {
         // data
         long accountId = 101;
-        String refreshToken = "refresh_token";
+        String refreshToken = LEGACY_TOKEN;
 
         AuthRequestBO authRequest = AuthRequestBO.builder()
                 .token(refreshToken)
@@ -179,22 +260,21 @@ class RefreshToAccessTokenTest {
                 .build();
 
         // mock
-        Mockito.when(accountTokensRepository.getByToken(authRequest.getToken()))
+        Mockito.when(accountTokensRepository.consume(TokenType.REFRESH_TOKEN, authRequest.getToken()))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(accountToken)));
 
         // do
         assertThatThrownBy(() -> refreshToAccessToken.exchange(authRequest).join())
                 .hasCauseInstanceOf(ServiceAuthorizationException.class);
 
-        Thread.sleep(50L); // triggering deleting happens in the background so give it some time
-        Mockito.verify(accountTokensRepository).deleteToken(refreshToken);
+        Mockito.verify(accountTokensRepository).consume(TokenType.REFRESH_TOKEN, refreshToken);
     }
 
     @Test
     void exchangeNoAccount() {
         // data
         long accountId = 101;
-        String refreshToken = "refresh_token";
+        String refreshToken = LEGACY_TOKEN;
 
         AuthRequestBO authRequest = AuthRequestBO.builder()
                 .token(refreshToken)
@@ -207,10 +287,10 @@ class RefreshToAccessTokenTest {
                 .build();
 
         // mock
-        Mockito.when(accountTokensRepository.getByToken(authRequest.getToken()))
+        Mockito.when(accountTokensRepository.consume(TokenType.REFRESH_TOKEN, authRequest.getToken()))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(accountToken)));
 
-        Mockito.when(accountsService.getByIdUnchecked(accountId))
+        Mockito.when(accountsService.getAuthAccountById(accountId))
                 .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
 
         // do
@@ -221,14 +301,14 @@ class RefreshToAccessTokenTest {
     @Test
     void exchangeInvalidToken() {
         // data
-        String refreshToken = "refresh_token";
+        String refreshToken = LEGACY_TOKEN;
 
         AuthRequestBO authRequest = AuthRequestBO.builder()
                 .token(refreshToken)
                 .build();
 
         // mock
-        Mockito.when(accountTokensRepository.getByToken(authRequest.getToken()))
+        Mockito.when(accountTokensRepository.consume(TokenType.REFRESH_TOKEN, authRequest.getToken()))
                 .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
 
         // do
@@ -237,10 +317,10 @@ class RefreshToAccessTokenTest {
     }
 
     @Test
-    void exchangeWithTokenOptionChecks() throws InterruptedException {
+    void exchangeWithTokenOptionChecks() {
         // data
         long accountId = 101;
-        String refreshToken = "refresh_token";
+        String refreshToken = LEGACY_TOKEN;
 
         AuthRequestBO authRequest = AuthRequestBO.builder()
                 .token(refreshToken)
@@ -282,10 +362,10 @@ class RefreshToAccessTokenTest {
                 .build();
 
         // mock
-        Mockito.when(accountTokensRepository.getByToken(authRequest.getToken()))
+        Mockito.when(accountTokensRepository.consume(TokenType.REFRESH_TOKEN, authRequest.getToken()))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(accountToken)));
 
-        Mockito.when(accountsService.getByIdUnchecked(accountId))
+        Mockito.when(accountsService.getAuthAccountById(accountId))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(account)));
 
         Mockito.when(accessTokenProvider.generateToken(account, null, tokenOptions))
@@ -297,15 +377,14 @@ class RefreshToAccessTokenTest {
         // assert
         assertThat(actual).isEqualTo(newTokens);
 
-        Thread.sleep(50L); // triggering deleting happens in the background so give it some time
-        Mockito.verify(accountTokensRepository).deleteToken(refreshToken);
+        Mockito.verify(accountTokensRepository).consume(TokenType.REFRESH_TOKEN, refreshToken);
     }
 
     @Test
     void exchangeWithMismatchedTokenOptions() {
         // data
         long accountId = 101;
-        String refreshToken = "refresh_token";
+        String refreshToken = LEGACY_TOKEN;
 
         AuthRequestBO authRequest = AuthRequestBO.builder()
                 .token(refreshToken)
@@ -323,13 +402,14 @@ class RefreshToAccessTokenTest {
                 .build();
 
         // mock
-        Mockito.when(accountTokensRepository.getByToken(authRequest.getToken()))
+        Mockito.when(accountTokensRepository.consume(TokenType.REFRESH_TOKEN, authRequest.getToken()))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(accountToken)));
 
         // do
         assertThatThrownBy(() -> refreshToAccessToken.exchange(authRequest).join())
                 .hasCauseInstanceOf(ServiceAuthorizationException.class);
 
-        Mockito.verify(accountTokensRepository, Mockito.never()).deleteToken(refreshToken);
+        // the token is gone even though it was rejected
+        Mockito.verify(accountTokensRepository).consume(TokenType.REFRESH_TOKEN, refreshToken);
     }
 }
\ No newline at end of file
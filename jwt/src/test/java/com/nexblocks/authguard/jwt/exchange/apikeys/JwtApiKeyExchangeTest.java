@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -36,10 +37,10 @@ class JwtApiKeyExchangeTest {
                 .id("authResponse")
                 .build();
 
-        Mockito.when(apiKeyProvider.generateToken(app))
-                        .thenReturn(expected);
+        Mockito.when(apiKeyProvider.generateKey(app, null))
+                .thenReturn(CompletableFuture.completedFuture(expected));
 
-        final AuthResponseBO actual = exchange.generateKey(app, null);
+        final AuthResponseBO actual = exchange.generateKey(app, null).join();
 
         assertThat(actual).isEqualTo(expected);
     }
@@ -55,10 +56,10 @@ class JwtApiKeyExchangeTest {
                 .id("authResponse")
                 .build();
 
-        Mockito.when(apiKeyProvider.generateToken(app, expiresAt))
-                .thenReturn(expected);
+        Mockito.when(apiKeyProvider.generateKey(app, expiresAt))
+                .thenReturn(CompletableFuture.completedFuture(expected));
 
-        final AuthResponseBO actual = exchange.generateKey(app, expiresAt);
+        final AuthResponseBO actual = exchange.generateKey(app, expiresAt).join();
 
         assertThat(actual).isEqualTo(expected);
     }
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.nexblocks.authguard.config.ConfigContext;
 import com.nexblocks.authguard.config.JacksonConfigContext;
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.jwt.exchange.ImmutablePkceParameters;
 import com.nexblocks.authguard.service.mappers.ServiceMapperImpl;
@@ -37,8 +38,8 @@ class AuthorizationCodeProviderTest {
         AuthorizationCodeProvider authorizationCodeProvider =
                 new AuthorizationCodeProvider(accountTokensRepository, new ServiceMapperImpl(), config());
 
-        Mockito.when(accountTokensRepository.save(Mockito.any()))
-                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0, AccountTokenDO.class)));
+        Mockito.when(accountTokensRepository.save(Mockito.eq(TokenType.AUTHORIZATION_CODE), Mockito.any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(1, AccountTokenDO.class)));
 
         AccountBO account = AccountBO.builder()
                 .id(101)
@@ -53,7 +54,7 @@ class AuthorizationCodeProviderTest {
         ArgumentCaptor<AccountTokenDO> argCaptor = ArgumentCaptor.forClass(AccountTokenDO.class);
 
         Mockito.verify(accountTokensRepository, Mockito.times(1))
-                .save(argCaptor.capture());
+                .save(Mockito.eq(TokenType.AUTHORIZATION_CODE), argCaptor.capture());
 
         assertThat(argCaptor.getValue().getToken()).isEqualTo(tokens.getToken());
         assertThat(argCaptor.getValue().getAssociatedAccountId()).isEqualTo(account.getId());
@@ -81,8 +82,8 @@ class AuthorizationCodeProviderTest {
                 .userAgent("test")
                 .build();
 
-        Mockito.when(accountTokensRepository.save(Mockito.any()))
-                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0, AccountTokenDO.class)));
+        Mockito.when(accountTokensRepository.save(Mockito.eq(TokenType.AUTHORIZATION_CODE), Mockito.any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(1, AccountTokenDO.class)));
 
         AuthResponseBO tokens = authorizationCodeProvider.generateToken(account, options).join();
 
@@ -101,7 +102,7 @@ class AuthorizationCodeProviderTest {
                 .build();
 
         Mockito.verify(accountTokensRepository, Mockito.times(1))
-                .save(argCaptor.capture());
+                .save(Mockito.eq(TokenType.AUTHORIZATION_CODE), argCaptor.capture());
 
         assertThat(argCaptor.getValue().getToken()).isEqualTo(tokens.getToken());
         assertThat(argCaptor.getValue().getAssociatedAccountId()).isEqualTo(account.getId());
@@ -134,8 +135,8 @@ class AuthorizationCodeProviderTest {
                         .build())
                 .build();
 
-        Mockito.when(accountTokensRepository.save(Mockito.any()))
-                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0, AccountTokenDO.class)));
+        Mockito.when(accountTokensRepository.save(Mockito.eq(TokenType.AUTHORIZATION_CODE), Mockito.any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(1, AccountTokenDO.class)));
 
         AuthResponseBO tokens = authorizationCodeProvider.generateToken(account, options).join();
 
@@ -146,7 +147,7 @@ class AuthorizationCodeProviderTest {
         ArgumentCaptor<AccountTokenDO> argCaptor = ArgumentCaptor.forClass(AccountTokenDO.class);
 
         Mockito.verify(accountTokensRepository, Mockito.times(1))
-                .save(argCaptor.capture());
+                .save(Mockito.eq(TokenType.AUTHORIZATION_CODE), argCaptor.capture());
 
         assertThat(argCaptor.getValue().getToken()).isEqualTo(tokens.getToken());
         assertThat(argCaptor.getValue().getAssociatedAccountId()).isEqualTo(account.getId());
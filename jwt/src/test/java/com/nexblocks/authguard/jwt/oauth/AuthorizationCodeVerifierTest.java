@@ -1,6 +1,7 @@
 package com.nexblocks.authguard.jwt.oauth;
 
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.service.exceptions.ServiceAuthorizationException;
 import org.junit.jupiter.api.Test;
@@ -30,7 +31,7 @@ class AuthorizationCodeVerifierTest {
                 .token(authorizationCode)
                 .build();
 
-        Mockito.when(accountTokensRepository.getByToken(authorizationCode))
+        Mockito.when(accountTokensRepository.consume(TokenType.AUTHORIZATION_CODE, authorizationCode))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(accountToken)));
 
         assertThat(authorizationCodeVerifier.verifyAccountToken(authorizationCode)).isEqualTo(accountId);
@@ -43,7 +44,7 @@ class AuthorizationCodeVerifierTest {
 
         String authorizationCode = "authorization-code";
 
-        Mockito.when(accountTokensRepository.getByToken(authorizationCode))
+        Mockito.when(accountTokensRepository.consume(TokenType.AUTHORIZATION_CODE, authorizationCode))
                 .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
 
         assertThatThrownBy(() -> authorizationCodeVerifier.verifyAccountToken(authorizationCode))
@@ -64,7 +65,7 @@ class AuthorizationCodeVerifierTest {
                 .token(authorizationCode)
                 .build();
 
-        Mockito.when(accountTokensRepository.getByToken(authorizationCode))
+        Mockito.when(accountTokensRepository.consume(TokenType.AUTHORIZATION_CODE, authorizationCode))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(accountToken)));
 
         assertThatThrownBy(() -> authorizationCodeVerifier.verifyAccountToken(authorizationCode))
@@ -2,6 +2,7 @@ package com.nexblocks.authguard.jwt.oauth.service;
 
 import com.google.common.collect.ImmutableMap;
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.jwt.exchange.PkceParameters;
 import com.nexblocks.authguard.jwt.oauth.route.ImmutableOpenIdConnectRequest;
@@ -95,7 +96,7 @@ class OpenIdConnectServiceTest {
                 .userAgent("test-client")
                 .build();
         
-        Mockito.when(accountTokensRepository.getByToken(token.getToken()))
+        Mockito.when(accountTokensRepository.getByToken(TokenType.OIDC_REQUEST, token.getToken()))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(token)));
 
         OpenIdConnectRequest retrievedRequest =
@@ -116,7 +117,7 @@ class OpenIdConnectServiceTest {
                 .userAgent("other-client")
                 .build();
 
-        Mockito.when(accountTokensRepository.getByToken(token.getToken()))
+        Mockito.when(accountTokensRepository.getByToken(TokenType.OIDC_REQUEST, token.getToken()))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(token)));
 
         assertThatThrownBy(() -> openIdConnectService.getRequestFromToken(token.getToken(), requestContext, "main").join())
@@ -137,7 +138,7 @@ class OpenIdConnectServiceTest {
                 .userAgent("test-client")
                 .build();
 
-        Mockito.when(accountTokensRepository.getByToken(token.getToken()))
+        Mockito.when(accountTokensRepository.getByToken(TokenType.OIDC_REQUEST, token.getToken()))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(token)));
 
         assertThatThrownBy(() -> openIdConnectService.getRequestFromToken(token.getToken(), requestContext, "other").join())
@@ -0,0 +1,26 @@
+package com.nexblocks.authguard.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A value which only goes up.
+ */
+public class Counter {
+    private final LongAdder value = new LongAdder();
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(final long amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("A counter can't be decreased");
+        }
+
+        value.add(amount);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+}
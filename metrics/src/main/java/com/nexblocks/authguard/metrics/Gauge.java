@@ -0,0 +1,32 @@
+package com.nexblocks.authguard.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A value which goes up and down, like the number of requests which
+ * are in progress.
+ */
+public class Gauge {
+    private final LongAdder value = new LongAdder();
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void decrement() {
+        value.decrement();
+    }
+
+    /**
+     * Replaces the value, which is only safe for gauges which no other
+     * thread updates at the same time.
+     */
+    public void set(final long newValue) {
+        value.reset();
+        value.add(newValue);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+}
@@ -0,0 +1,78 @@
+package com.nexblocks.authguard.metrics;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * All the metrics which share a name and differ only by the values of
+ * their labels, e.g. the latency of each route. A metric is created the
+ * first time its label values are used, and the same instance is
+ * returned from then on. Callers which use the same labels on every
+ * call should keep the metric instead of looking it up each time.
+ */
+public class MetricFamily<T> {
+    private final String name;
+    private final String help;
+    private final MetricType type;
+    private final List<String> labelNames;
+    private final Supplier<T> factory;
+    private final Map<List<String>, T> metrics = new ConcurrentHashMap<>();
+
+    MetricFamily(final String name, final String help, final MetricType type,
+                 final String[] labelNames, final Supplier<T> factory) {
+        this.name = name;
+        this.help = help;
+        this.type = type;
+        this.labelNames = List.of(labelNames);
+        this.factory = factory;
+    }
+
+    /**
+     * @param labelValues The values of the labels, in the same order
+     *                    as their names were given when the family was
+     *                    registered.
+     */
+    public T labels(final String... labelValues) {
+        if (labelValues.length != labelNames.size()) {
+            throw new IllegalArgumentException("Metric " + name + " has labels " + labelNames
+                    + " but was given " + labelValues.length + " values");
+        }
+
+        List<String> key = Arrays.asList(labelValues);
+        T metric = metrics.get(key);
+
+        if (metric != null) {
+            return metric;
+        }
+
+        // the array is owned by the caller, so it's copied before being kept
+        return metrics.computeIfAbsent(List.of(labelValues), ignored -> factory.get());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getHelp() {
+        return help;
+    }
+
+    public MetricType getType() {
+        return type;
+    }
+
+    public List<String> getLabelNames() {
+        return labelNames;
+    }
+
+    /**
+     * @return The metrics created so far, by their label values.
+     */
+    public Map<List<String>, T> getMetrics() {
+        return Collections.unmodifiableMap(metrics);
+    }
+}
@@ -0,0 +1,20 @@
+package com.nexblocks.authguard.metrics;
+
+public enum MetricType {
+    COUNTER("counter"),
+    GAUGE("gauge"),
+    SUMMARY("summary");
+
+    private final String exposedName;
+
+    MetricType(final String exposedName) {
+        this.exposedName = exposedName;
+    }
+
+    /**
+     * @return The type as it's written in the Prometheus text format.
+     */
+    public String getExposedName() {
+        return exposedName;
+    }
+}
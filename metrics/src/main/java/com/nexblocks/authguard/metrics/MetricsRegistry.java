@@ -0,0 +1,63 @@
+package com.nexblocks.authguard.metrics;
+
+import com.google.inject.Singleton;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+
+/**
+ * Holds the metrics of the whole application. Families are registered
+ * by name, and registering a name which already exists returns the
+ * existing family as long as it's of the same type, so that the same
+ * metric can be shared between components without coordinating which
+ * one creates it.
+ * <p>
+ * Nothing in here takes a lock once a metric exists: looking it up is
+ * a read from a concurrent map, and updating it is an atomic increment.
+ */
+@Singleton
+public class MetricsRegistry {
+    private final Map<String, MetricFamily<?>> families = new ConcurrentSkipListMap<>();
+
+    public MetricFamily<Counter> counter(final String name, final String help, final String... labelNames) {
+        return register(name, help, MetricType.COUNTER, labelNames, Counter::new);
+    }
+
+    public MetricFamily<Gauge> gauge(final String name, final String help, final String... labelNames) {
+        return register(name, help, MetricType.GAUGE, labelNames, Gauge::new);
+    }
+
+    /**
+     * Latencies are recorded in nanoseconds and exposed in seconds, so
+     * the name should end with _seconds.
+     */
+    public MetricFamily<LatencyHistogram> latency(final String name, final String help,
+                                                  final String... labelNames) {
+        return register(name, help, MetricType.SUMMARY, labelNames, LatencyHistogram::new);
+    }
+
+    /**
+     * @return All families, ordered by name.
+     */
+    public Collection<MetricFamily<?>> getFamilies() {
+        return Collections.unmodifiableCollection(families.values());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> MetricFamily<T> register(final String name, final String help, final MetricType type,
+                                         final String[] labelNames, final Supplier<T> factory) {
+        MetricFamily<?> family = families.computeIfAbsent(name,
+                ignored -> new MetricFamily<>(name, help, type, labelNames, factory));
+
+        if (family.getType() != type || !family.getLabelNames().equals(List.of(labelNames))) {
+            throw new IllegalArgumentException("Metric " + name + " was already registered as a "
+                    + family.getType().getExposedName() + " with labels " + family.getLabelNames());
+        }
+
+        return (MetricFamily<T>) family;
+    }
+}
@@ -0,0 +1,100 @@
+package com.nexblocks.authguard.metrics;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a {@link MetricsRegistry} in the text format which Prometheus
+ * scrapes. Latency histograms are written as summaries in seconds, with
+ * the quantiles in {@link #QUANTILES}.
+ */
+public final class PrometheusTextFormat {
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    static final double[] QUANTILES = { 0.5, 0.9, 0.99, 0.999 };
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private PrometheusTextFormat() {
+    }
+
+    public static String write(final MetricsRegistry registry) {
+        StringBuilder out = new StringBuilder();
+
+        for (MetricFamily<?> family : registry.getFamilies()) {
+            write(family, out);
+        }
+
+        return out.toString();
+    }
+
+    private static void write(final MetricFamily<?> family, final StringBuilder out) {
+        String name = family.getName();
+
+        out.append("# HELP ").append(name).append(' ').append(escapeHelp(family.getHelp())).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(family.getType().getExposedName()).append('\n');
+
+        for (Map.Entry<List<String>, ?> entry : family.getMetrics().entrySet()) {
+            List<String> labelNames = family.getLabelNames();
+            List<String> labelValues = entry.getKey();
+            Object metric = entry.getValue();
+
+            if (metric instanceof Counter) {
+                sample(out, name, labelNames, labelValues, null, ((Counter) metric).get());
+            } else if (metric instanceof Gauge) {
+                sample(out, name, labelNames, labelValues, null, ((Gauge) metric).get());
+            } else if (metric instanceof LatencyHistogram) {
+                LatencyHistogram.Snapshot snapshot = ((LatencyHistogram) metric).snapshot();
+
+                for (double quantile : QUANTILES) {
+                    sample(out, name, labelNames, labelValues, Double.toString(quantile),
+                            seconds(snapshot.getValueAtQuantile(quantile)));
+                }
+
+                sample(out, name + "_sum", labelNames, labelValues, null, seconds(snapshot.getTotalNanos()));
+                sample(out, name + "_count", labelNames, labelValues, null, snapshot.getCount());
+            }
+        }
+    }
+
+    private static void sample(final StringBuilder out, final String name, final List<String> labelNames,
+                               final List<String> labelValues, final String quantile, final Object value) {
+        out.append(name);
+
+        if (!labelNames.isEmpty() || quantile != null) {
+            out.append('{');
+
+            for (int i = 0; i < labelNames.size(); i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+
+                out.append(labelNames.get(i)).append("=\"").append(escapeLabel(labelValues.get(i))).append('"');
+            }
+
+            if (quantile != null) {
+                if (!labelNames.isEmpty()) {
+                    out.append(',');
+                }
+
+                out.append("quantile=\"").append(quantile).append('"');
+            }
+
+            out.append('}');
+        }
+
+        out.append(' ').append(value).append('\n');
+    }
+
+    private static double seconds(final long nanos) {
+        return nanos / NANOS_PER_SECOND;
+    }
+
+    private static String escapeHelp(final String help) {
+        return help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    private static String escapeLabel(final String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
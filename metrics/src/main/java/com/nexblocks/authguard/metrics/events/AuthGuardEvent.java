@@ -0,0 +1,144 @@
+package com.nexblocks.authguard.metrics.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * The fields shared by the Flight Recorder events of each stage of an
+ * exchange. A stage which returns a future is timed until its future
+ * completes, regardless of which thread completes it, so an event
+ * covers the time spent waiting for the database or a pool as well.
+ * <p>
+ * When the recorder isn't running, or the event is disabled, nothing
+ * is timed and no callback is attached to the future, so the events
+ * can be left in place in production.
+ * <p>
+ * The fields are protected because Flight Recorder ignores private
+ * fields which are declared in a superclass of an event.
+ */
+@Category("AuthGuard")
+@StackTrace(false)
+public abstract class AuthGuardEvent extends Event {
+    public static final String SUCCESS = "success";
+    public static final String FAILURE = "failure";
+
+    @Label("Domain")
+    protected String domain;
+
+    @Label("Exchange")
+    @Description("The exchange, or the type of credentials which the stage was started from")
+    protected String exchange;
+
+    @Label("Outcome")
+    protected String outcome;
+
+    @Label("Error")
+    @Description("The type of the exception which the stage failed with")
+    protected String error;
+
+    public void setDomain(final String domain) {
+        this.domain = domain;
+    }
+
+    public void setExchange(final String exchange) {
+        this.exchange = exchange;
+    }
+
+    public void setOutcome(final String outcome) {
+        this.outcome = outcome;
+    }
+
+    /**
+     * Times an asynchronous stage until its future completes. An
+     * exception thrown before the future is returned is recorded as
+     * a failure and rethrown.
+     */
+    public <T> CompletableFuture<T> recordAsync(final Supplier<CompletableFuture<T>> stage) {
+        if (!isEnabled()) {
+            return stage.get();
+        }
+
+        begin();
+
+        CompletableFuture<T> future;
+
+        try {
+            future = stage.get();
+        } catch (final RuntimeException | Error e) {
+            completeWith(e);
+            throw e;
+        }
+
+        future.whenComplete((ignored, e) -> completeWith(e));
+
+        return future;
+    }
+
+    /**
+     * Times a synchronous stage.
+     */
+    public <T> T record(final Supplier<T> stage) {
+        if (!isEnabled()) {
+            return stage.get();
+        }
+
+        begin();
+
+        try {
+            T result = stage.get();
+            completeWith(null);
+
+            return result;
+        } catch (final RuntimeException | Error e) {
+            completeWith(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Ends a stage which was begun by the caller, with an outcome
+     * other than success or failure.
+     */
+    public void complete(final String outcome) {
+        end();
+
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+
+    private void completeWith(final Throwable e) {
+        end();
+
+        if (shouldCommit()) {
+            if (e == null) {
+                outcome = SUCCESS;
+            } else {
+                outcome = FAILURE;
+                error = unwrap(e).getClass().getName();
+            }
+
+            commit();
+        }
+    }
+
+    private static Throwable unwrap(final Throwable e) {
+        Throwable cause = e;
+
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+
+        return cause;
+    }
+}
@@ -0,0 +1,15 @@
+package com.nexblocks.authguard.metrics.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.nexblocks.authguard.Exchange")
+@Label("Token Exchange")
+@Description("A whole exchange, from the request to the generated tokens")
+public class ExchangeEvent extends AuthGuardEvent {
+    public ExchangeEvent(final String domain, final String fromTokenType, final String toTokenType) {
+        setDomain(domain);
+        setExchange(fromTokenType + "-" + toTokenType);
+    }
+}
@@ -0,0 +1,22 @@
+package com.nexblocks.authguard.metrics.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.nexblocks.authguard.MessagePublish")
+@Label("Message Publish")
+@Description("Handing a message to the publisher of its channel")
+public class MessagePublishEvent extends AuthGuardEvent {
+    public static final String PUBLISHED = "published";
+    public static final String DROPPED = "dropped";
+
+    @Label("Channel")
+    private final String channel;
+
+    public MessagePublishEvent(final String domain, final String channel) {
+        this.channel = channel;
+
+        setDomain(domain);
+    }
+}
@@ -0,0 +1,20 @@
+package com.nexblocks.authguard.metrics.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.nexblocks.authguard.PasswordVerification")
+@Label("Password Verification")
+@Description("Verifying a password against its hash, including the time spent waiting for the hashing pool")
+public class PasswordVerificationEvent extends AuthGuardEvent {
+    @Label("Algorithm")
+    private final String algorithm;
+
+    public PasswordVerificationEvent(final String domain, final String algorithm) {
+        this.algorithm = algorithm;
+
+        setDomain(domain);
+        setExchange("basic");
+    }
+}
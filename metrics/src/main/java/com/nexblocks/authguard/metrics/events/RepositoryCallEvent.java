@@ -0,0 +1,21 @@
+package com.nexblocks.authguard.metrics.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.nexblocks.authguard.RepositoryCall")
+@Label("Repository Call")
+@Description("An asynchronous call to a repository, including the time spent waiting for its bulkhead")
+public class RepositoryCallEvent extends AuthGuardEvent {
+    @Label("Repository")
+    private final String repository;
+
+    @Label("Method")
+    private final String method;
+
+    public RepositoryCallEvent(final String repository, final String method) {
+        this.repository = repository;
+        this.method = method;
+    }
+}
@@ -0,0 +1,25 @@
+package com.nexblocks.authguard.metrics.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.nexblocks.authguard.TokenSigning")
+@Label("Token Signing")
+@Description("Signing a token, and encrypting it if encryption is enabled")
+public class TokenSigningEvent extends AuthGuardEvent {
+    @Label("Token Type")
+    private final String tokenType;
+
+    @Label("Encrypted")
+    private final boolean encrypted;
+
+    public TokenSigningEvent(final String domain, final String source, final String tokenType,
+                             final boolean encrypted) {
+        this.tokenType = tokenType;
+        this.encrypted = encrypted;
+
+        setDomain(domain);
+        setExchange(source);
+    }
+}
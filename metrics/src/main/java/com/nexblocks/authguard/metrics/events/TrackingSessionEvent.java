@@ -0,0 +1,19 @@
+package com.nexblocks.authguard.metrics.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.nexblocks.authguard.TrackingSession")
+@Label("Tracking Session")
+@Description("Starting, checking, or terminating a tracking session")
+public class TrackingSessionEvent extends AuthGuardEvent {
+    @Label("Operation")
+    private final String operation;
+
+    public TrackingSessionEvent(final String domain, final String operation) {
+        this.operation = operation;
+
+        setDomain(domain);
+    }
+}
@@ -0,0 +1,70 @@
+package com.nexblocks.authguard.metrics.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Samples about a fixed number of traces per second whatever the
+ * request rate is. The probability of sampling a trace is set every
+ * second from the rate of the previous second, and the number of
+ * traces sampled in a second is capped on top of that, so a sudden
+ * burst can't be sampled at the rate of a quiet period.
+ * <p>
+ * Callers which were sampled upstream are sampled too as long as
+ * the cap allows it, and callers which weren't are never sampled.
+ */
+public class AdaptiveSampler implements Sampler {
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int samplesPerSecond;
+    private final LongAdder seen = new LongAdder();
+    private final AtomicLong sampled = new AtomicLong();
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+
+    private volatile double probability = 1.0;
+
+    /**
+     * @param samplesPerSecond The number of traces to sample each
+     *                         second. A value of 0 disables sampling.
+     */
+    public AdaptiveSampler(final int samplesPerSecond) {
+        this.samplesPerSecond = samplesPerSecond;
+    }
+
+    @Override
+    public boolean sample(final TraceContext parent) {
+        if (samplesPerSecond <= 0 || (parent != null && !parent.isSampled())) {
+            return false;
+        }
+
+        rollWindow();
+        seen.increment();
+
+        if (parent == null && probability < 1.0 && ThreadLocalRandom.current().nextDouble() >= probability) {
+            return false;
+        }
+
+        return sampled.incrementAndGet() <= samplesPerSecond;
+    }
+
+    double getProbability() {
+        return probability;
+    }
+
+    private void rollWindow() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        long elapsed = now - start;
+
+        if (elapsed < WINDOW_NANOS || !windowStart.compareAndSet(start, now)) {
+            return;
+        }
+
+        double perSecond = seen.sumThenReset() * (double) WINDOW_NANOS / elapsed;
+
+        probability = perSecond <= samplesPerSecond ? 1.0 : samplesPerSecond / perSecond;
+        sampled.set(0);
+    }
+}
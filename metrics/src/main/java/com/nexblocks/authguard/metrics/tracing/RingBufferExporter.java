@@ -0,0 +1,83 @@
+package com.nexblocks.authguard.metrics.tracing;
+
+import com.google.inject.Singleton;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the most recent spans in memory, overwriting the oldest ones,
+ * so the slowest recent traces can be looked up without any external
+ * collector. Exporting a span is a single atomic increment and write.
+ */
+@Singleton
+public class RingBufferExporter implements SpanExporter {
+    public static final int DEFAULT_CAPACITY = 10_000;
+
+    private final AtomicReferenceArray<Span> spans;
+    private final AtomicLong next = new AtomicLong();
+
+    public RingBufferExporter() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public RingBufferExporter(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity of the ring buffer must be positive");
+        }
+
+        this.spans = new AtomicReferenceArray<>(capacity);
+    }
+
+    @Override
+    public void export(final Span span) {
+        int index = (int) (next.getAndIncrement() % spans.length());
+
+        spans.set(index, span);
+    }
+
+    /**
+     * @param minDurationMicros Traces which took less are left out.
+     * @param limit The maximum number of traces to return.
+     * @return The slowest traces which are still in the buffer, slowest
+     *         first. A trace whose older spans were overwritten is
+     *         returned with the spans which are left.
+     */
+    public List<Trace> getSlowTraces(final long minDurationMicros, final int limit) {
+        List<Span> buffered = new ArrayList<>(spans.length());
+
+        for (int i = 0; i < spans.length(); i++) {
+            Span span = spans.get(i);
+
+            if (span != null) {
+                buffered.add(span);
+            }
+        }
+
+        List<Span> roots = buffered.stream()
+                .filter(Span::isRoot)
+                .filter(span -> span.getDurationMicros() >= minDurationMicros)
+                .sorted(Comparator.comparingLong(Span::getDurationMicros).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+
+        Set<String> traceIds = roots.stream()
+                .map(Span::getTraceId)
+                .collect(Collectors.toSet());
+
+        Map<String, List<Span>> byTrace = buffered.stream()
+                .filter(span -> traceIds.contains(span.getTraceId()))
+                .sorted(Comparator.comparing(Span::getStartTime))
+                .collect(Collectors.groupingBy(Span::getTraceId));
+
+        return roots.stream()
+                .map(root -> new Trace(root, byTrace.get(root.getTraceId())))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,13 @@
+package com.nexblocks.authguard.metrics.tracing;
+
+/**
+ * Decides whether a new trace is recorded. Only the root of a trace
+ * is sampled; the spans under it follow its decision.
+ */
+public interface Sampler {
+    /**
+     * @param parent The context received from the caller, or null if
+     *               the trace starts here.
+     */
+    boolean sample(TraceContext parent);
+}
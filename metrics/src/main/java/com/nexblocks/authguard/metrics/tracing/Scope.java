@@ -0,0 +1,18 @@
+package com.nexblocks.authguard.metrics.tracing;
+
+/**
+ * Restores the span which was current before a span was made current.
+ * It has to be closed on the same thread which opened it.
+ */
+public final class Scope implements AutoCloseable {
+    private final Span previous;
+
+    Scope(final Span previous) {
+        this.previous = previous;
+    }
+
+    @Override
+    public void close() {
+        Span.setCurrent(previous);
+    }
+}
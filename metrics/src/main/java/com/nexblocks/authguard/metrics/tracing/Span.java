@@ -0,0 +1,191 @@
+package com.nexblocks.authguard.metrics.tracing;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A timed operation within a trace. A span which wasn't sampled is
+ * represented by {@link #NOT_SAMPLED}, which records nothing and whose
+ * children aren't sampled either, so the code which creates spans
+ * doesn't need to check whether tracing is on.
+ * <p>
+ * The span of the current thread is kept in a thread local. Work
+ * handed to the service executors carries it along, see
+ * {@link Traces#propagate(Runnable)}.
+ */
+public class Span {
+    public static final Span NOT_SAMPLED = new Span();
+
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    private final Tracer tracer;
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private final boolean root;
+    private final Instant startTime;
+    private final long startNanos;
+    private final Map<String, String> attributes;
+    private final AtomicBoolean ended = new AtomicBoolean();
+
+    private volatile String name;
+    private volatile String error;
+    private volatile long durationNanos = -1;
+
+    private Span() {
+        this.tracer = null;
+        this.traceId = null;
+        this.spanId = null;
+        this.parentSpanId = null;
+        this.root = false;
+        this.startTime = null;
+        this.startNanos = 0;
+        this.attributes = Collections.emptyMap();
+        this.name = null;
+        this.ended.set(true);
+    }
+
+    Span(final Tracer tracer, final String name, final String traceId, final String parentSpanId,
+         final boolean root) {
+        this.tracer = tracer;
+        this.name = name;
+        this.traceId = traceId;
+        this.spanId = TraceContext.randomSpanId();
+        this.parentSpanId = parentSpanId;
+        this.root = root;
+        this.startTime = Instant.now();
+        this.startNanos = System.nanoTime();
+        this.attributes = new ConcurrentHashMap<>();
+    }
+
+    static Span current() {
+        return CURRENT.get();
+    }
+
+    static void setCurrent(final Span span) {
+        if (span == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(span);
+        }
+    }
+
+    public boolean isRecording() {
+        return tracer != null;
+    }
+
+    public Span startChild(final String name) {
+        if (!isRecording()) {
+            return NOT_SAMPLED;
+        }
+
+        return new Span(tracer, name, traceId, spanId, false);
+    }
+
+    /**
+     * Makes this span the parent of the spans started on this thread
+     * until the returned scope is closed.
+     */
+    public Scope makeCurrent() {
+        Span previous = CURRENT.get();
+
+        setCurrent(this);
+
+        return new Scope(previous);
+    }
+
+    public Span setName(final String name) {
+        if (isRecording()) {
+            this.name = name;
+        }
+
+        return this;
+    }
+
+    public Span setAttribute(final String key, final Object value) {
+        if (isRecording() && value != null) {
+            attributes.put(key, value.toString());
+        }
+
+        return this;
+    }
+
+    public void end() {
+        end((String) null);
+    }
+
+    public void end(final Throwable e) {
+        end(e == null ? null : Traces.unwrap(e).getClass().getName());
+    }
+
+    /**
+     * Ends the span as failed with the given reason, or as successful
+     * if the reason is null. Only the first call has any effect.
+     */
+    public void end(final String error) {
+        if (!isRecording() || !ended.compareAndSet(false, true)) {
+            return;
+        }
+
+        this.error = error;
+        this.durationNanos = System.nanoTime() - startNanos;
+
+        tracer.export(this);
+    }
+
+    /**
+     * @return The context to send to other services, or null if this
+     *         span isn't recorded.
+     */
+    public TraceContext context() {
+        return isRecording() ? new TraceContext(traceId, spanId, true) : null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    /**
+     * @return Whether the span is the first one of its trace in this
+     *         process, even if it has a parent in another service.
+     */
+    public boolean isRoot() {
+        return root;
+    }
+
+    public Instant getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * @return How long the span took, or -1 if it hasn't ended yet.
+     */
+    public long getDurationMicros() {
+        long duration = durationNanos;
+
+        return duration < 0 ? -1 : duration / 1_000;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public Map<String, String> getAttributes() {
+        return Collections.unmodifiableMap(attributes);
+    }
+}
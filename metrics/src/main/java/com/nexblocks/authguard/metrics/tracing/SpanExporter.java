@@ -0,0 +1,12 @@
+package com.nexblocks.authguard.metrics.tracing;
+
+/**
+ * Receives every sampled span once it ends. It's called on the thread
+ * which ended the span, which is often a request or a DAL thread, so
+ * an exporter which sends spans elsewhere should only queue them here.
+ * <p>
+ * Implementations in the search packages are picked up automatically.
+ */
+public interface SpanExporter {
+    void export(Span span);
+}
@@ -0,0 +1,42 @@
+package com.nexblocks.authguard.metrics.tracing;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The spans of a trace which were recorded in this process, ordered
+ * by when they started.
+ */
+public class Trace {
+    private final Span root;
+    private final List<Span> spans;
+
+    Trace(final Span root, final List<Span> spans) {
+        this.root = root;
+        this.spans = spans;
+    }
+
+    public String getTraceId() {
+        return root.getTraceId();
+    }
+
+    public String getName() {
+        return root.getName();
+    }
+
+    public Instant getStartTime() {
+        return root.getStartTime();
+    }
+
+    public long getDurationMicros() {
+        return root.getDurationMicros();
+    }
+
+    public String getError() {
+        return root.getError();
+    }
+
+    public List<Span> getSpans() {
+        return spans;
+    }
+}
@@ -0,0 +1,123 @@
+package com.nexblocks.authguard.metrics.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The part of a span which crosses process boundaries, as carried by
+ * the W3C traceparent header.
+ */
+public final class TraceContext {
+    private static final String VERSION = "00";
+    private static final String INVALID_VERSION = "ff";
+    private static final int TRACEPARENT_LENGTH = 55;
+    private static final int FLAG_SAMPLED = 0x01;
+
+    private final String traceId;
+    private final String spanId;
+    private final boolean sampled;
+
+    public TraceContext(final String traceId, final String spanId, final boolean sampled) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.sampled = sampled;
+    }
+
+    /**
+     * @return The context in a traceparent header, or null if the header
+     *         is missing or malformed, in which case a new trace should
+     *         be started.
+     */
+    public static TraceContext fromTraceparent(final String traceparent) {
+        if (traceparent == null || traceparent.length() < TRACEPARENT_LENGTH) {
+            return null;
+        }
+
+        String[] parts = traceparent.trim().split("-");
+
+        if (parts.length < 4 || parts[0].equals(INVALID_VERSION)
+                || !isHex(parts[0], 2) || !isHex(parts[1], 32) || !isHex(parts[2], 16) || !isHex(parts[3], 2)) {
+            return null;
+        }
+
+        // the version only adds fields at the end, so anything after the flags can be ignored
+        if (parts[0].equals(VERSION) && parts.length != 4) {
+            return null;
+        }
+
+        if (isZero(parts[1]) || isZero(parts[2])) {
+            return null;
+        }
+
+        boolean sampled = (Integer.parseInt(parts[3], 16) & FLAG_SAMPLED) != 0;
+
+        return new TraceContext(parts[1], parts[2], sampled);
+    }
+
+    public String toTraceparent() {
+        return VERSION + "-" + traceId + "-" + spanId + "-" + (sampled ? "01" : "00");
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    static String randomTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        return hex(random.nextLong()) + hex(nonZero(random));
+    }
+
+    static String randomSpanId() {
+        return hex(nonZero(ThreadLocalRandom.current()));
+    }
+
+    private static long nonZero(final ThreadLocalRandom random) {
+        long value;
+
+        do {
+            value = random.nextLong();
+        } while (value == 0);
+
+        return value;
+    }
+
+    private static String hex(final long value) {
+        String hex = Long.toHexString(value);
+
+        return hex.length() == 16 ? hex : "0".repeat(16 - hex.length()) + hex;
+    }
+
+    private static boolean isHex(final String value, final int length) {
+        if (value.length() != length) {
+            return false;
+        }
+
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+
+            if (!(c >= '0' && c <= '9') && !(c >= 'a' && c <= 'f')) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isZero(final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) != '0') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
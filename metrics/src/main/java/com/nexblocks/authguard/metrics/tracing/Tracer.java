@@ -0,0 +1,61 @@
+package com.nexblocks.authguard.metrics.tracing;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Starts traces at the boundaries of the application, such as an HTTP
+ * request, and hands the spans which end to the exporters. Everything
+ * within a trace is started through {@link Traces} instead.
+ */
+@Singleton
+public class Tracer {
+    private static final Logger LOG = LoggerFactory.getLogger(Tracer.class);
+
+    public static final int DEFAULT_SAMPLES_PER_SECOND = 10;
+
+    private final Sampler sampler;
+    private final List<SpanExporter> exporters;
+
+    @Inject
+    public Tracer(final RingBufferExporter ringBuffer) {
+        this(new AdaptiveSampler(DEFAULT_SAMPLES_PER_SECOND), List.of(ringBuffer));
+    }
+
+    public Tracer(final Sampler sampler, final List<SpanExporter> exporters) {
+        this.sampler = sampler;
+        this.exporters = List.copyOf(exporters);
+    }
+
+    /**
+     * Starts a trace, or continues the one of the caller if it sent
+     * its context.
+     *
+     * @param traceparent The W3C traceparent header, or null.
+     */
+    public Span startTrace(final String name, final String traceparent) {
+        TraceContext parent = TraceContext.fromTraceparent(traceparent);
+
+        if (!sampler.sample(parent)) {
+            return Span.NOT_SAMPLED;
+        }
+
+        return parent == null
+                ? new Span(this, name, TraceContext.randomTraceId(), null, true)
+                : new Span(this, name, parent.getTraceId(), parent.getSpanId(), true);
+    }
+
+    void export(final Span span) {
+        for (SpanExporter exporter : exporters) {
+            try {
+                exporter.export(span);
+            } catch (final RuntimeException e) {
+                LOG.warn("Span exporter {} failed", exporter.getClass().getSimpleName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.nexblocks.authguard.metrics.tracing;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Starts spans under the span of the current thread. New traces are
+ * only started at the boundaries through {@link Tracer}, so none of
+ * these record anything unless they're called within a sampled trace.
+ */
+public final class Traces {
+    private Traces() {
+    }
+
+    /**
+     * @return The span of the current thread, or {@link Span#NOT_SAMPLED}
+     *         if there's none.
+     */
+    public static Span current() {
+        Span span = Span.current();
+
+        return span == null ? Span.NOT_SAMPLED : span;
+    }
+
+    public static Span startSpan(final String name) {
+        return current().startChild(name);
+    }
+
+    /**
+     * Clears the span of the current thread, for threads which are
+     * returned to a pool without closing a scope.
+     */
+    public static void detach() {
+        Span.setCurrent(null);
+    }
+
+    /**
+     * Traces an asynchronous stage as a child of the current span. The
+     * child is current while the stage is started, so the calls it makes
+     * and the tasks it submits are nested under it. Whatever is chained
+     * to the returned future continues under the current span rather
+     * than under the span of the thread which completed the stage.
+     */
+    public static <T> CompletableFuture<T> traceAsync(final String name,
+                                                      final Supplier<CompletableFuture<T>> stage) {
+        Span parent = current();
+
+        if (!parent.isRecording()) {
+            return stage.get();
+        }
+
+        Span span = parent.startChild(name);
+        CompletableFuture<T> future;
+
+        try (Scope ignored = span.makeCurrent()) {
+            future = stage.get();
+        } catch (final RuntimeException | Error e) {
+            span.end(e);
+            throw e;
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        future.whenComplete((value, e) -> {
+            span.end(e);
+
+            try (Scope ignored = parent.makeCurrent()) {
+                if (e == null) {
+                    result.complete(value);
+                } else {
+                    result.completeExceptionally(e);
+                }
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * @return A task which runs under the span which is current now, or
+     *         the task itself if nothing is being traced.
+     */
+    public static Runnable propagate(final Runnable task) {
+        Span span = Span.current();
+
+        if (span == null || !span.isRecording()) {
+            return task;
+        }
+
+        return () -> {
+            try (Scope ignored = span.makeCurrent()) {
+                task.run();
+            }
+        };
+    }
+
+    static Throwable unwrap(final Throwable e) {
+        Throwable cause = e;
+
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+
+        return cause;
+    }
+}
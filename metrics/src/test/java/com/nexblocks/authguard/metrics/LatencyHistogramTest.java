@@ -0,0 +1,81 @@
+package com.nexblocks.authguard.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    @Test
+    void bucketsCoverEveryValue() {
+        for (long value = 0; value < 100_000; value++) {
+            int index = LatencyHistogram.indexOf(value);
+
+            assertThat(LatencyHistogram.highestEquivalentValue(index)).isGreaterThanOrEqualTo(value);
+
+            if (index > 0) {
+                assertThat(LatencyHistogram.highestEquivalentValue(index - 1)).isLessThan(value);
+            }
+        }
+    }
+
+    @Test
+    void quantilesWithinPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (int millis = 1; millis <= 1000; millis++) {
+            histogram.record(millis, TimeUnit.MILLISECONDS);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.getCount()).isEqualTo(1000);
+        assertThat(snapshot.getMaxNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertThat((double) snapshot.getValueAtQuantile(0.5))
+                .isCloseTo(TimeUnit.MILLISECONDS.toNanos(500), within(TimeUnit.MILLISECONDS.toNanos(500) * 0.04));
+        assertThat((double) snapshot.getValueAtQuantile(0.99))
+                .isCloseTo(TimeUnit.MILLISECONDS.toNanos(990), within(TimeUnit.MILLISECONDS.toNanos(990) * 0.04));
+        assertThat(snapshot.getValueAtQuantile(1)).isEqualTo(snapshot.getMaxNanos());
+    }
+
+    @Test
+    void clampOutOfRangeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.getValueAtQuantile(0.5)).isEqualTo(0);
+        assertThat(snapshot.getValueAtQuantile(1)).isEqualTo(LatencyHistogram.MAX_TRACKABLE_NANOS);
+    }
+
+    @Test
+    void emptySnapshot() {
+        assertThat(new LatencyHistogram().snapshot().getValueAtQuantile(0.99)).isEqualTo(0);
+    }
+
+    @Test
+    void recordFromManyThreads() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        CompletableFuture<?>[] writers = IntStream.range(0, 8)
+                .mapToObj(thread -> CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        histogram.record(i);
+                    }
+                }))
+                .toArray(CompletableFuture[]::new);
+
+        CompletableFuture.allOf(writers).join();
+
+        assertThat(histogram.getCount()).isEqualTo(80_000);
+        assertThat(histogram.snapshot().getCount()).isEqualTo(80_000);
+    }
+}
@@ -0,0 +1,60 @@
+package com.nexblocks.authguard.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PrometheusTextFormatTest {
+
+    @Test
+    void writeCountersAndGauges() {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        registry.counter("test_messages_total", "Messages", "channel").labels("auth").add(3);
+        registry.counter("test_messages_total", "Messages", "channel").labels("a\"b").increment();
+        registry.gauge("test_in_flight", "In flight").labels().increment();
+
+        String text = PrometheusTextFormat.write(registry);
+
+        assertThat(text).startsWith("# HELP test_in_flight In flight\n"
+                + "# TYPE test_in_flight gauge\n"
+                + "test_in_flight 1\n"
+                + "# HELP test_messages_total Messages\n"
+                + "# TYPE test_messages_total counter\n");
+        assertThat(text).contains("test_messages_total{channel=\"auth\"} 3\n");
+        assertThat(text).contains("test_messages_total{channel=\"a\\\"b\"} 1\n");
+    }
+
+    @Test
+    void writeLatencyAsSummary() {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        registry.latency("test_duration_seconds", "Duration", "route")
+                .labels("/accounts")
+                .record(2, TimeUnit.SECONDS);
+
+        String text = PrometheusTextFormat.write(registry);
+
+        assertThat(text).contains("# TYPE test_duration_seconds summary\n");
+        assertThat(text).contains("test_duration_seconds{route=\"/accounts\",quantile=\"0.99\"} 2.0\n");
+        assertThat(text).contains("test_duration_seconds_sum{route=\"/accounts\"} 2.0\n");
+        assertThat(text).contains("test_duration_seconds_count{route=\"/accounts\"} 1\n");
+    }
+
+    @Test
+    void rejectConflictingRegistrations() {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        registry.counter("test_total", "Total", "a");
+
+        assertThatThrownBy(() -> registry.gauge("test_total", "Total", "a"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> registry.counter("test_total", "Total", "b"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> registry.counter("test_total", "Total", "a").labels("x", "y"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
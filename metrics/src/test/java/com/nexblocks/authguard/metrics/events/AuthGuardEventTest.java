@@ -0,0 +1,74 @@
+package com.nexblocks.authguard.metrics.events;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuthGuardEventTest {
+    private static final String EXCHANGE_EVENT = "com.nexblocks.authguard.Exchange";
+
+    @Test
+    void leaveFuturesAloneWhenNotRecording() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+
+        assertThat(new ExchangeEvent("main", "basic", "accessToken").recordAsync(() -> future))
+                .isSameAs(future);
+    }
+
+    @Test
+    void recordOutcomeWhenFutureCompletes() throws Exception {
+        List<RecordedEvent> events = recordExchanges(() -> {
+            CompletableFuture<String> pending = new CompletableFuture<>();
+
+            new ExchangeEvent("main", "basic", "accessToken").recordAsync(() -> pending);
+            new ExchangeEvent("main", "basic", "idToken")
+                    .recordAsync(() -> CompletableFuture.failedFuture(new IllegalStateException()));
+
+            assertThatThrownBy(() -> new ExchangeEvent("other", "otp", "accessToken")
+                    .recordAsync(() -> {
+                        throw new IllegalArgumentException();
+                    }))
+                    .isInstanceOf(IllegalArgumentException.class);
+
+            pending.complete("done");
+        });
+
+        assertThat(events)
+                .extracting(event -> event.getString("exchange") + " " + event.getString("domain") + " "
+                        + event.getString("outcome") + " " + event.getString("error"))
+                .containsExactlyInAnyOrder(
+                        "basic-accessToken main success null",
+                        "basic-idToken main failure java.lang.IllegalStateException",
+                        "otp-accessToken other failure java.lang.IllegalArgumentException");
+    }
+
+    private static List<RecordedEvent> recordExchanges(final Runnable exchanges) throws Exception {
+        Path file = Files.createTempFile("authguard-events", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(EXCHANGE_EVENT).withoutThreshold();
+            recording.start();
+
+            exchanges.run();
+
+            recording.stop();
+            recording.dump(file);
+
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals(EXCHANGE_EVENT))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
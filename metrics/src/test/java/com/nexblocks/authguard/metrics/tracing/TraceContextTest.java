@@ -0,0 +1,61 @@
+package com.nexblocks.authguard.metrics.tracing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TraceContextTest {
+
+    @Test
+    void parseTraceparent() {
+        TraceContext context = TraceContext.fromTraceparent(
+                "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+
+        assertThat(context).isNotNull();
+        assertThat(context.getTraceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(context.getSpanId()).isEqualTo("00f067aa0ba902b7");
+        assertThat(context.isSampled()).isTrue();
+        assertThat(context.toTraceparent()).isEqualTo("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+    }
+
+    @Test
+    void parseNotSampledTraceparent() {
+        TraceContext context = TraceContext.fromTraceparent(
+                "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-00");
+
+        assertThat(context).isNotNull();
+        assertThat(context.isSampled()).isFalse();
+    }
+
+    @Test
+    void ignoreInvalidTraceparent() {
+        assertThat(TraceContext.fromTraceparent(null)).isNull();
+        assertThat(TraceContext.fromTraceparent("garbage")).isNull();
+        assertThat(TraceContext.fromTraceparent("ff-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01")).isNull();
+        assertThat(TraceContext.fromTraceparent("00-00000000000000000000000000000000-00f067aa0ba902b7-01")).isNull();
+        assertThat(TraceContext.fromTraceparent("00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01")).isNull();
+        assertThat(TraceContext.fromTraceparent("00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01")).isNull();
+        assertThat(TraceContext.fromTraceparent("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01-extra"))
+                .isNull();
+    }
+
+    @Test
+    void acceptFutureVersions() {
+        TraceContext context = TraceContext.fromTraceparent(
+                "01-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01-extra");
+
+        assertThat(context).isNotNull();
+        assertThat(context.getTraceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+    }
+
+    @Test
+    void randomIds() {
+        String traceId = TraceContext.randomTraceId();
+        String spanId = TraceContext.randomSpanId();
+
+        assertThat(TraceContext.fromTraceparent(new TraceContext(traceId, spanId, true).toTraceparent()))
+                .isNotNull();
+        assertThat(traceId).hasSize(32);
+        assertThat(spanId).hasSize(16);
+    }
+}
@@ -0,0 +1,146 @@
+package com.nexblocks.authguard.metrics.tracing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TracesTest {
+    private final RingBufferExporter ringBuffer = new RingBufferExporter(100);
+    private final Tracer tracer = new Tracer(parent -> true, List.of(ringBuffer));
+
+    @AfterEach
+    void detach() {
+        Traces.detach();
+    }
+
+    @Test
+    void nestAsyncStagesAcrossThreads() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AtomicReference<Span> seenByTask = new AtomicReference<>();
+
+        try {
+            Span root = tracer.startTrace("request", null);
+            root.makeCurrent();
+
+            String result = Traces.traceAsync("service", () -> Traces.traceAsync("repository",
+                    () -> CompletableFuture.supplyAsync(() -> {
+                        seenByTask.set(Traces.current());
+                        return "value";
+                    }, command -> executor.execute(Traces.propagate(command)))))
+                    .thenApply(value -> {
+                        assertThat(Traces.current()).isSameAs(root);
+                        return value;
+                    })
+                    .join();
+
+            root.end();
+
+            assertThat(result).isEqualTo("value");
+            assertThat(seenByTask.get().getName()).isEqualTo("repository");
+        } finally {
+            executor.shutdown();
+        }
+
+        List<Trace> traces = ringBuffer.getSlowTraces(0, 10);
+
+        assertThat(traces).hasSize(1);
+
+        List<Span> spans = traces.get(0).getSpans();
+        Span request = spans.get(0);
+        Span service = spans.get(1);
+        Span repository = spans.get(2);
+
+        assertThat(spans).hasSize(3);
+        assertThat(request.getName()).isEqualTo("request");
+        assertThat(service.getParentSpanId()).isEqualTo(request.getSpanId());
+        assertThat(repository.getParentSpanId()).isEqualTo(service.getSpanId());
+        assertThat(spans).allMatch(span -> span.getTraceId().equals(request.getTraceId()));
+        assertThat(spans).allMatch(span -> span.getDurationMicros() >= 0);
+    }
+
+    @Test
+    void recordFailures() {
+        Span root = tracer.startTrace("request", null);
+        root.makeCurrent();
+
+        CompletableFuture<String> failed = Traces.traceAsync("repository",
+                () -> CompletableFuture.failedFuture(new IllegalStateException()));
+
+        assertThatThrownBy(failed::join).hasCauseInstanceOf(IllegalStateException.class);
+
+        root.end();
+
+        List<Span> spans = ringBuffer.getSlowTraces(0, 10).get(0).getSpans();
+
+        assertThat(spans.get(1).getError()).isEqualTo(IllegalStateException.class.getName());
+        assertThat(spans.get(0).getError()).isNull();
+    }
+
+    @Test
+    void notSampledRecordsNothing() {
+        Tracer notSampling = new Tracer(parent -> false, List.of(ringBuffer));
+        Span root = notSampling.startTrace("request", null);
+        CompletableFuture<String> stage = CompletableFuture.completedFuture("value");
+
+        root.makeCurrent();
+
+        assertThat(root).isSameAs(Span.NOT_SAMPLED);
+        assertThat(Traces.traceAsync("repository", () -> stage)).isSameAs(stage);
+        assertThat(Traces.startSpan("child")).isSameAs(Span.NOT_SAMPLED);
+
+        Runnable task = () -> {};
+        assertThat(Traces.propagate(task)).isSameAs(task);
+
+        root.end();
+
+        assertThat(ringBuffer.getSlowTraces(0, 10)).isEmpty();
+    }
+
+    @Test
+    void continueCallerTrace() {
+        Span root = tracer.startTrace("request", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+
+        assertThat(root.getTraceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(root.getParentSpanId()).isEqualTo("00f067aa0ba902b7");
+        assertThat(root.isRoot()).isTrue();
+    }
+
+    @Test
+    void slowestTracesFirst() throws InterruptedException {
+        for (long sleep : new long[] { 0, 60, 30 }) {
+            Span root = tracer.startTrace("sleep " + sleep, null);
+            TimeUnit.MILLISECONDS.sleep(sleep);
+            root.end();
+        }
+
+        List<Trace> traces = ringBuffer.getSlowTraces(TimeUnit.MILLISECONDS.toMicros(20), 10);
+
+        assertThat(traces).extracting(Trace::getName).containsExactly("sleep 60", "sleep 30");
+        assertThat(ringBuffer.getSlowTraces(0, 1)).extracting(Trace::getName).containsExactly("sleep 60");
+    }
+
+    @Test
+    void capSampledTracesPerSecond() {
+        AdaptiveSampler sampler = new AdaptiveSampler(5);
+        TraceContext notSampledParent = new TraceContext(TraceContext.randomTraceId(),
+                TraceContext.randomSpanId(), false);
+
+        long sampled = IntStream.range(0, 1000)
+                .filter(i -> sampler.sample(null))
+                .count();
+
+        assertThat(sampled).isLessThanOrEqualTo(5);
+        assertThat(sampler.sample(notSampledParent)).isFalse();
+        assertThat(new AdaptiveSampler(0).sample(null)).isFalse();
+    }
+}
@@ -0,0 +1,189 @@
+package com.nexblocks.authguard.injection;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Writes the plugin index of a module when it's compiled. Every
+ * concrete class which extends or implements an AuthGuard type is
+ * listed with all of those types, the same classes which scanning the
+ * classpath would have found. This covers the exchanges, the
+ * providers, the repositories, the message subscribers, the bootstrap
+ * steps, and anything else the binders look up by type.
+ * <p>
+ * A compile which only covers some of the sources, like an incremental
+ * build in an IDE, keeps the entries of the previous index for the
+ * classes which it didn't compile and which still exist, so that it
+ * doesn't drop the plugins of the rest of the module.
+ * <p>
+ * The parent POM runs it on every module. A plugin which is built
+ * outside of this project needs this artifact on its annotation
+ * processor path to get an index, otherwise it's scanned at startup.
+ */
+@SupportedAnnotationTypes("*")
+public class PluginIndexProcessor extends AbstractProcessor {
+    static final String LOCATION = "META-INF/authguard/plugins.index";
+
+    private static final String INDEXED_PACKAGE = "com.nexblocks.authguard.";
+
+    private final Map<String, Set<String>> index = new TreeMap<>();
+    private final Set<String> compiled = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            write();
+        } else {
+            for (Element element : roundEnv.getRootElements()) {
+                visit(element);
+            }
+        }
+
+        // other processors may be interested in the same annotations
+        return false;
+    }
+
+    private void visit(final Element element) {
+        if (!element.getKind().isClass() && !element.getKind().isInterface()) {
+            return;
+        }
+
+        TypeElement type = (TypeElement) element;
+
+        compiled.add(binaryName(type));
+
+        if (isPlugin(type)) {
+            Set<String> supertypes = new TreeSet<>();
+            collectSupertypes(type.asType(), supertypes);
+
+            if (!supertypes.isEmpty()) {
+                index.put(binaryName(type), supertypes);
+            }
+        }
+
+        for (Element enclosed : type.getEnclosedElements()) {
+            visit(enclosed);
+        }
+    }
+
+    private static boolean isPlugin(final TypeElement type) {
+        return type.getKind() == ElementKind.CLASS && !type.getModifiers().contains(Modifier.ABSTRACT);
+    }
+
+    private void collectSupertypes(final TypeMirror type, final Set<String> supertypes) {
+        for (TypeMirror supertype : processingEnv.getTypeUtils().directSupertypes(type)) {
+            if (supertype.getKind() != TypeKind.DECLARED) {
+                continue;
+            }
+
+            TypeElement element = (TypeElement) ((DeclaredType) supertype).asElement();
+            String name = binaryName(element);
+
+            if (name.startsWith(INDEXED_PACKAGE)) {
+                supertypes.add(name);
+            }
+
+            collectSupertypes(supertype, supertypes);
+        }
+    }
+
+    private String binaryName(final TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private void write() {
+        Map<String, Set<String>> previous = readPrevious();
+        Map<String, Set<String>> merged = new TreeMap<>(index);
+
+        previous.forEach((name, supertypes) -> {
+            if (!compiled.contains(name) && stillExists(name)) {
+                merged.putIfAbsent(name, supertypes);
+            }
+        });
+
+        // an empty index is still written over a previous one, so that it doesn't list removed plugins
+        if (merged.isEmpty() && previous.isEmpty()) {
+            return;
+        }
+
+        try {
+            FileObject file = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", LOCATION);
+
+            try (Writer writer = file.openWriter()) {
+                for (Map.Entry<String, Set<String>> entry : merged.entrySet()) {
+                    writer.write(entry.getKey());
+
+                    for (String supertype : entry.getValue()) {
+                        writer.write(' ');
+                        writer.write(supertype);
+                    }
+
+                    writer.write('\n');
+                }
+            }
+        } catch (final IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to write the plugin index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return The index which a previous compile left in the output, or
+     *         an empty one if there isn't any.
+     */
+    private Map<String, Set<String>> readPrevious() {
+        Map<String, Set<String>> previous = new TreeMap<>();
+
+        try {
+            FileObject file = processingEnv.getFiler()
+                    .getResource(StandardLocation.CLASS_OUTPUT, "", LOCATION);
+
+            try (BufferedReader reader = new BufferedReader(file.openReader(true))) {
+                String line;
+
+                while ((line = reader.readLine()) != null) {
+                    String[] names = line.trim().split(" ");
+
+                    if (names.length > 1) {
+                        previous.put(names[0], new TreeSet<>(Arrays.asList(names).subList(1, names.length)));
+                    }
+                }
+            }
+        } catch (final IOException | IllegalArgumentException e) {
+            // there's no previous index
+        }
+
+        return previous;
+    }
+
+    private boolean stillExists(final String binaryName) {
+        return processingEnv.getElementUtils().getTypeElement(binaryName.replace('$', '.')) != null;
+    }
+}
@@ -4,6 +4,7 @@ import com.google.inject.Inject;
 import com.google.inject.name.Named;
 import com.nexblocks.authguard.config.ConfigContext;
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.emb.MessageSubscriber;
 import com.nexblocks.authguard.emb.annotations.Channel;
@@ -91,7 +92,7 @@ public class VerificationSubscriber implements MessageSubscriber {
                         .additionalInformation(Collections.singletonMap("email", email.getEmail()))
                         .build();
 
-                accountTokensRepository.save(accountToken);
+                accountTokensRepository.save(TokenType.EMAIL_VERIFICATION, accountToken);
 
                 final ImmutableEmail email1 = ImmutableEmail.builder()
                         .template(EMAIL_TEMPLATE)
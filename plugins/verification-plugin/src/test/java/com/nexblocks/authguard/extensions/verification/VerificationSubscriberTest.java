@@ -2,6 +2,7 @@ package com.nexblocks.authguard.extensions.verification;
 
 import com.nexblocks.authguard.config.ConfigContext;
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.emb.model.EventType;
 import com.nexblocks.authguard.emb.model.Message;
@@ -67,7 +68,7 @@ class VerificationSubscriberTest {
         final ArgumentCaptor<AccountTokenDO> accountTokenCaptor = ArgumentCaptor.forClass(AccountTokenDO.class);
         final ArgumentCaptor<ImmutableEmail> emailCaptor = ArgumentCaptor.forClass(ImmutableEmail.class);
 
-        Mockito.verify(accountTokensRepository).save(accountTokenCaptor.capture());
+        Mockito.verify(accountTokensRepository).save(Mockito.eq(TokenType.EMAIL_VERIFICATION), accountTokenCaptor.capture());
         Mockito.verify(emailProvider, Mockito.times(1))
                 .send(emailCaptor.capture());
 
@@ -0,0 +1,97 @@
+package com.nexblocks.authguard.rest;
+
+import com.google.inject.Injector;
+import com.nexblocks.authguard.config.ConfigContext;
+import com.nexblocks.authguard.rest.mappers.RestMapper;
+import com.nexblocks.authguard.rest.streaming.AccountImportReader;
+import com.nexblocks.authguard.rest.streaming.NdJsonStream;
+import com.nexblocks.authguard.service.AccountImportService;
+import com.nexblocks.authguard.service.model.AccountImportSummaryBO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+
+/**
+ * Imports accounts from a file without running the server. The
+ * results are written to the output as NDJSON, and the last reported
+ * line is kept in a checkpoint file next to the imported file. Running
+ * the same import again resumes after the checkpoint.
+ */
+public class AccountImportRunner {
+    private static final String CHECKPOINT_SUFFIX = ".checkpoint";
+    private static final long CHECKPOINT_INTERVAL_MILLIS = 1000;
+
+    public AccountImportSummaryBO run(final ConfigContext configContext, final Path file, final String domain,
+                                      final OutputStream output) {
+        Collection<String> searchPackages = configContext.getSubContext("injection")
+                .getAsCollection("packages", String.class);
+        Injector injector = ServerRunner.createInjector(configContext, searchPackages);
+
+        return run(injector.getInstance(AccountImportService.class), injector.getInstance(RestMapper.class),
+                file, domain, output);
+    }
+
+    AccountImportSummaryBO run(final AccountImportService importService, final RestMapper restMapper,
+                               final Path file, final String domain, final OutputStream output) {
+        Path checkpointFile = file.resolveSibling(file.getFileName() + CHECKPOINT_SUFFIX);
+        long resumeAfter = readCheckpoint(checkpointFile);
+        AccountImportReader.Format format = file.getFileName().toString().endsWith(".csv")
+                ? AccountImportReader.Format.CSV
+                : AccountImportReader.Format.NDJSON;
+
+        try (InputStream input = Files.newInputStream(file);
+             AccountImportReader reader = new AccountImportReader(input, format, domain, resumeAfter, restMapper)) {
+            NdJsonStream ndJson = new NdJsonStream(output);
+            long[] lastWrite = { System.currentTimeMillis() };
+
+            AccountImportSummaryBO summary = importService.importAccounts(reader, domain, result -> {
+                ndJson.write(restMapper.toDTO(result));
+
+                if (System.currentTimeMillis() - lastWrite[0] >= CHECKPOINT_INTERVAL_MILLIS) {
+                    writeCheckpoint(checkpointFile, result.getLine());
+                    lastWrite[0] = System.currentTimeMillis();
+                }
+            }).join();
+
+            ndJson.write(restMapper.toDTO(summary));
+
+            if (summary.getCheckpoint() != null) {
+                writeCheckpoint(checkpointFile, summary.getCheckpoint());
+            }
+
+            return summary;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long readCheckpoint(final Path checkpointFile) {
+        if (!Files.exists(checkpointFile)) {
+            return 0;
+        }
+
+        try {
+            return Long.parseLong(Files.readString(checkpointFile, StandardCharsets.UTF_8).trim());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeCheckpoint(final Path checkpointFile, final long line) {
+        try {
+            Path temporary = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+
+            Files.writeString(temporary, Long.toString(line), StandardCharsets.UTF_8);
+            Files.move(temporary, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
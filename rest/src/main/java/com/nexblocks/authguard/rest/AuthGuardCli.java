@@ -5,19 +5,46 @@ import com.google.inject.ProvisionException;
 import com.nexblocks.authguard.config.ConfigContext;
 import com.nexblocks.authguard.rest.exceptions.InitializationException;
 import com.nexblocks.authguard.service.exceptions.ConfigurationException;
+import com.nexblocks.authguard.service.model.AccountImportSummaryBO;
 import org.apache.commons.cli.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletionException;
+
 public class AuthGuardCli {
     private final static Logger log = LoggerFactory.getLogger(AuthGuardCli.class);
 
     private final ConfigurationLoader configurationLoader;
     private final ServerRunner serverRunner;
+    private final PasswordCalibrationRunner calibrationRunner;
+    private final AccountImportRunner importRunner;
+    private final ExportRunner exportRunner;
 
     public AuthGuardCli(final ConfigurationLoader configurationLoader, final ServerRunner serverRunner) {
+        this(configurationLoader, serverRunner, new PasswordCalibrationRunner());
+    }
+
+    public AuthGuardCli(final ConfigurationLoader configurationLoader, final ServerRunner serverRunner,
+                        final PasswordCalibrationRunner calibrationRunner) {
+        this(configurationLoader, serverRunner, calibrationRunner, new AccountImportRunner());
+    }
+
+    public AuthGuardCli(final ConfigurationLoader configurationLoader, final ServerRunner serverRunner,
+                        final PasswordCalibrationRunner calibrationRunner, final AccountImportRunner importRunner) {
+        this(configurationLoader, serverRunner, calibrationRunner, importRunner, new ExportRunner());
+    }
+
+    public AuthGuardCli(final ConfigurationLoader configurationLoader, final ServerRunner serverRunner,
+                        final PasswordCalibrationRunner calibrationRunner, final AccountImportRunner importRunner,
+                        final ExportRunner exportRunner) {
         this.configurationLoader = configurationLoader;
         this.serverRunner = serverRunner;
+        this.calibrationRunner = calibrationRunner;
+        this.importRunner = importRunner;
+        this.exportRunner = exportRunner;
     }
 
     public int execute(final String[] args) {
@@ -47,6 +74,75 @@ public class AuthGuardCli {
         log.info("Initialized configuration context");
         log.debug("Loaded configuration: {}", configContext);
 
+        // calibrate passwords
+        if (cmd.hasOption("calibrate-passwords")) {
+            try {
+                System.out.println(calibrationRunner.run(configContext));
+            } catch (final ConfigurationException e) {
+                log.error("Configuration error: {}", e.getMessage());
+                return 2;
+            }
+
+            return 0;
+        }
+
+        // import accounts
+        if (cmd.hasOption("import-accounts")) {
+            if (!cmd.hasOption("domain")) {
+                log.error("Option 'import-accounts' requires 'domain'");
+                return 1;
+            }
+
+            try {
+                AccountImportSummaryBO summary = importRunner.run(configContext,
+                        Paths.get(cmd.getOptionValue("import-accounts")), cmd.getOptionValue("domain"), System.out);
+
+                log.info("Imported {} accounts, {} failed", summary.getImported(), summary.getFailed());
+            } catch (final ConfigurationException e) {
+                log.error("Configuration error: {}", e.getMessage());
+                return 2;
+            } catch (final CompletionException | UncheckedIOException e) {
+                log.error("Failed to import accounts. Error: ", e.getCause());
+                return 3;
+            }
+
+            return 0;
+        }
+
+        // export
+        if (cmd.hasOption("export")) {
+            final ExportRunner.Entity entity;
+            final Long cursor;
+
+            try {
+                entity = ExportRunner.Entity.fromName(cmd.getOptionValue("export"));
+                cursor = cmd.hasOption("cursor") ? Long.valueOf(cmd.getOptionValue("cursor")) : null;
+            } catch (final IllegalArgumentException e) {
+                log.error("Invalid export arguments: {}", e.getMessage());
+                return 1;
+            }
+
+            if (entity != ExportRunner.Entity.EXCHANGE_ATTEMPTS && !cmd.hasOption("domain")) {
+                log.error("Option 'export' requires 'domain'");
+                return 1;
+            }
+
+            try {
+                long exported = exportRunner.run(configContext, entity, cmd.getOptionValue("domain"),
+                        cursor, System.out);
+
+                log.info("Exported {} records", exported);
+            } catch (final ConfigurationException e) {
+                log.error("Configuration error: {}", e.getMessage());
+                return 2;
+            } catch (final CompletionException | UncheckedIOException e) {
+                log.error("Failed to export. Error: ", e.getCause());
+                return 3;
+            }
+
+            return 0;
+        }
+
         // run the server
         if (cmd.hasOption("disable-bootstrap") && cmd.hasOption("disable-server")) {
             log.error("Options 'disable-bootstrap' and 'disable-server' cannot be used together");
@@ -84,6 +180,35 @@ public class AuthGuardCli {
                         .hasArg(false)
                         .desc("Don't run the server")
                         .build())
+                .addOption(Option.builder()
+                        .longOpt("calibrate-passwords")
+                        .hasArg(false)
+                        .desc("Benchmark the password algorithm on this host, print a new password version, and exit")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("import-accounts")
+                        .hasArg(true)
+                        .argName("file")
+                        .desc("Import accounts from an NDJSON or a CSV file, print the results, and exit. "
+                                + "Running it again resumes after the last imported line")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("domain")
+                        .hasArg(true)
+                        .desc("The domain to import accounts into or to export from")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("export")
+                        .hasArg(true)
+                        .argName("accounts|apps|events|exchange_attempts")
+                        .desc("Export the records of a domain as NDJSON to the output, and exit")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("cursor")
+                        .hasArg(true)
+                        .argName("id")
+                        .desc("Continue an export after the record with this ID")
+                        .build())
                 .addOption("h", "help", false, "Show help and usage");
     }
 
@@ -0,0 +1,74 @@
+package com.nexblocks.authguard.rest;
+
+import com.google.inject.Injector;
+import com.nexblocks.authguard.config.ConfigContext;
+import com.nexblocks.authguard.rest.mappers.RestMapper;
+import com.nexblocks.authguard.rest.streaming.NdJsonStream;
+import com.nexblocks.authguard.service.ExportService;
+
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Exports the records of a domain as NDJSON without running the
+ * server. An interrupted export can be continued by passing the ID
+ * of the last written record as the cursor.
+ */
+public class ExportRunner {
+    public enum Entity {
+        ACCOUNTS,
+        APPS,
+        EVENTS,
+        EXCHANGE_ATTEMPTS;
+
+        public static Entity fromName(final String name) {
+            return valueOf(name.toUpperCase());
+        }
+    }
+
+    public long run(final ConfigContext configContext, final Entity entity, final String domain,
+                    final Long cursor, final OutputStream output) {
+        Collection<String> searchPackages = configContext.getSubContext("injection")
+                .getAsCollection("packages", String.class);
+        Injector injector = ServerRunner.createInjector(configContext, searchPackages);
+
+        return run(injector.getInstance(ExportService.class), injector.getInstance(RestMapper.class),
+                entity, domain, cursor, output);
+    }
+
+    long run(final ExportService exportService, final RestMapper restMapper, final Entity entity,
+             final String domain, final Long cursor, final OutputStream output) {
+        NdJsonStream ndJson = new NdJsonStream(output, false);
+        CompletableFuture<Long> exported;
+
+        switch (entity) {
+            case ACCOUNTS:
+                exported = exportService.exportAccounts(domain, cursor,
+                        account -> ndJson.write(restMapper.toDTO(account)));
+                break;
+
+            case APPS:
+                exported = exportService.exportApps(domain, cursor, app -> ndJson.write(restMapper.toDTO(app)));
+                break;
+
+            case EVENTS:
+                exported = exportService.exportEvents(domain, cursor, event -> ndJson.write(restMapper.toDTO(event)));
+                break;
+
+            case EXCHANGE_ATTEMPTS:
+                exported = exportService.exportExchangeAttempts(cursor,
+                        attempt -> ndJson.write(restMapper.toDTO(attempt)));
+                break;
+
+            default:
+                throw new IllegalArgumentException("Unsupported export " + entity);
+        }
+
+        long count = exported.join();
+
+        ndJson.flush();
+
+        return count;
+    }
+}
@@ -0,0 +1,55 @@
+package com.nexblocks.authguard.rest;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
+import com.nexblocks.authguard.basic.config.CalibrationConfig;
+import com.nexblocks.authguard.basic.config.PasswordsConfig;
+import com.nexblocks.authguard.basic.passwords.PasswordCalibrator;
+import com.nexblocks.authguard.config.ConfigContext;
+import com.nexblocks.authguard.service.exceptions.ConfigurationException;
+
+import java.util.Collections;
+
+/**
+ * Runs {@link PasswordCalibrator} against the passwords configuration
+ * and renders the result as a YAML block which can be pasted into the
+ * configuration file.
+ */
+public class PasswordCalibrationRunner {
+    private static final String PASSWORDS_CONFIG = "passwords";
+
+    private final ObjectMapper mapper = new ObjectMapper(new YAMLFactory()
+            .disable(YAMLGenerator.Feature.WRITE_DOC_START_MARKER))
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    public boolean runOnStartup(final ConfigContext configContext) {
+        PasswordsConfig passwordsConfig = configContext.getAsConfigBean(PASSWORDS_CONFIG, PasswordsConfig.class);
+
+        return passwordsConfig != null
+                && passwordsConfig.getCalibration() != null
+                && passwordsConfig.getCalibration().runOnStartup();
+    }
+
+    public String run(final ConfigContext configContext) {
+        PasswordsConfig passwordsConfig = configContext.getAsConfigBean(PASSWORDS_CONFIG, PasswordsConfig.class);
+
+        if (passwordsConfig == null) {
+            throw new ConfigurationException("No passwords configuration was found to calibrate");
+        }
+
+        CalibrationConfig calibrationConfig = passwordsConfig.getCalibration() != null
+                ? passwordsConfig.getCalibration()
+                : CalibrationConfig.builder().build();
+
+        PasswordsConfig calibrated = new PasswordCalibrator(calibrationConfig).calibrate(passwordsConfig);
+
+        try {
+            return mapper.writeValueAsString(Collections.singletonMap(PASSWORDS_CONFIG, calibrated));
+        } catch (final JsonProcessingException e) {
+            throw new IllegalStateException("Failed to write the calibrated configuration", e);
+        }
+    }
+}
@@ -10,10 +10,23 @@ import com.nexblocks.authguard.api.routes.ApiRoute;
 import com.nexblocks.authguard.bindings.*;
 import com.nexblocks.authguard.bootstrap.BootstrapRunner;
 import com.nexblocks.authguard.config.ConfigContext;
+import com.nexblocks.authguard.dal.repository.ExpiringRecordRepository;
 import com.nexblocks.authguard.injection.ClassSearch;
+import com.nexblocks.authguard.metrics.MetricsRegistry;
 import com.nexblocks.authguard.rest.bindings.MappersBinder;
 import com.nexblocks.authguard.rest.config.ImmutableServerConfig;
 import com.nexblocks.authguard.rest.server.AuthGuardServer;
+import com.nexblocks.authguard.rest.server.Readiness;
+import com.nexblocks.authguard.rest.server.ServerTuning;
+import com.nexblocks.authguard.service.concurrent.BulkheadRepositories;
+import com.nexblocks.authguard.service.concurrent.ExpirySweeper;
+import com.nexblocks.authguard.service.config.BootstrapConfig;
+import com.nexblocks.authguard.service.config.IdsConfig;
+import com.nexblocks.authguard.service.config.RandomConfig;
+import com.nexblocks.authguard.service.config.SweeperConfig;
+import com.nexblocks.authguard.service.random.CryptographicRandom;
+import com.nexblocks.authguard.service.util.ID;
+import com.nexblocks.authguard.service.util.NodeIds;
 import io.javalin.Javalin;
 import io.javalin.json.JavalinJackson;
 import org.slf4j.Logger;
@@ -21,7 +34,9 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 import static io.javalin.apibuilder.ApiBuilder.path;
 
@@ -36,25 +51,55 @@ public class ServerRunner {
 
         final ClassSearch classSearch = new ClassSearch(searchPackages);
 
+        // password calibration
+        final PasswordCalibrationRunner calibrationRunner = new PasswordCalibrationRunner();
+
+        if (calibrationRunner.runOnStartup(configContext)) {
+            log.info("Calibrated password configuration. Add it to the configuration file to use it:\n{}",
+                    calibrationRunner.run(configContext));
+        }
+
+        final ImmutableServerConfig serverConfig = Optional.ofNullable(configContext.getAsConfigBean("server", ImmutableServerConfig.class))
+                .orElseGet(() -> ImmutableServerConfig.builder()
+                        .port(3000)
+                        .build());
+
+        // node ID
+        final IdsConfig idsConfig = Optional.ofNullable(configContext.getAsConfigBean("ids", IdsConfig.class))
+                .orElseGet(() -> IdsConfig.builder().build());
+
+        NodeIds.resolve(idsConfig).ifPresentOrElse(ID::useNodeId,
+                () -> log.warn("No node ID was configured, using the random node ID {}. IDs may collide if more "
+                        + "than one node shares the same database", ID.getNodeId()));
+
+        // random generators
+        CryptographicRandom.configure(Optional.ofNullable(configContext.getAsConfigBean("random", RandomConfig.class))
+                .orElseGet(() -> RandomConfig.builder().build()));
+
         // injectors
-        final Injector injector = Guice.createInjector(new MappersBinder(),
-                new ConfigBinder(configContext),
-                new ExchangesBinder(configContext, searchPackages),
-                new ApiKeysExchangeBinder(configContext, searchPackages),
-                new ApiRoutesBinder(searchPackages, configContext),
-                new ServicesBinder(configContext),
-                new JwtBinder(configContext),
-                new DalBinder(configContext, searchPackages),
-                new EmbBinder(searchPackages),
-                new ExternalProvidersBinder(configContext, searchPackages));
+        final Injector injector = createInjector(configContext, searchPackages, serverConfig.useVirtualThreads());
 
         log.info("Initialed injection binders");
 
         // run bootstraps
         if (!disableBootstrap) {
-            new BootstrapRunner(classSearch, injector).runAll();
-
-            log.info("Completed bootstrap");
+            final BootstrapConfig bootstrapConfig = Optional
+                    .ofNullable(configContext.getAsConfigBean("bootstrap", BootstrapConfig.class))
+                    .orElseGet(() -> BootstrapConfig.builder().build());
+            final BootstrapRunner bootstrapRunner =
+                    new BootstrapRunner(classSearch, injector, bootstrapConfig.getConcurrency());
+
+            // without a server to start there's nothing to gain from not waiting for everything
+            if (bootstrapConfig.finishNonCriticalInBackground() && !disableServer) {
+                bootstrapRunner.runCritical()
+                        .thenRun(() -> log.info("Completed bootstrap. timings={}", bootstrapRunner.getTimings()));
+
+                log.info("Completed critical bootstrap steps, the rest will continue in the background");
+            } else {
+                bootstrapRunner.runAll();
+
+                log.info("Completed bootstrap. timings={}", bootstrapRunner.getTimings());
+            }
         } else {
             log.info("Skipping bootstrap steps");
         }
@@ -66,12 +111,16 @@ public class ServerRunner {
             return;
         }
 
-        final ImmutableServerConfig serverConfig = Optional.ofNullable(configContext.getAsConfigBean("server", ImmutableServerConfig.class))
-                .orElseGet(() -> ImmutableServerConfig.builder()
-                        .port(3000)
-                        .build());
+        final JavalinJackson jsonMapper = new JavalinJackson()
+                .updateMapper(mapper -> mapper.registerModule(new JavaTimeModule())
+                        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
 
         new AuthGuardServer(injector, serverConfig).start(Javalin.create(config -> {
+            // Javalin falls back to platform threads if the JDK doesn't have virtual ones
+            config.useVirtualThreads = serverConfig.useVirtualThreads();
+
+            new ServerTuning(serverConfig).apply(config);
+
             if (serverConfig.enforceSsl()) {
                 config.bundledPlugins.enableSslRedirects();
             }
@@ -79,9 +128,7 @@ public class ServerRunner {
             List<Binding<ApiRoute>> routeBindings =
                     injector.findBindingsByType(TypeLiteral.get(ApiRoute.class));
 
-            config.jsonMapper(new JavalinJackson()
-                    .updateMapper(mapper -> mapper.registerModule(new JavaTimeModule())
-                            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)));
+            config.jsonMapper(jsonMapper);
 
             config.router.apiBuilder(() -> {
                 routeBindings.forEach(binding -> {
@@ -92,6 +139,64 @@ public class ServerRunner {
                     path("/" + route.getPath(), route);
                 });
             });
-        }), serverConfig.getPort());
+        }));
+
+        // the server is up but reports that it isn't ready until it's warm
+        if (serverConfig.getWarmUp().enabled()) {
+            new WarmUpRunner(injector, serverConfig.getWarmUp(), jsonMapper).run();
+        }
+
+        injector.getInstance(Readiness.class).markReady();
+
+        log.info("The server is ready");
+
+        // purge expired records in the background
+        final SweeperConfig sweeperConfig = Optional
+                .ofNullable(configContext.getAsConfigBean("sweeper", SweeperConfig.class))
+                .orElseGet(() -> SweeperConfig.builder().build());
+
+        if (sweeperConfig.enabled()) {
+            new ExpirySweeper(expiringRepositories(injector), sweeperConfig,
+                    injector.getInstance(MetricsRegistry.class)).start();
+        }
+    }
+
+    /**
+     * Finds every repository which keeps expiring records, including the
+     * ones which came from plugins, by the name of its interface.
+     */
+    static Map<String, ExpiringRecordRepository> expiringRepositories(final Injector injector) {
+        final Map<String, ExpiringRecordRepository> repositories = new TreeMap<>();
+
+        injector.getAllBindings().forEach((key, binding) -> {
+            final Class<?> type = key.getTypeLiteral().getRawType();
+
+            if (key.getAnnotationType() == null && type.isInterface() && type != ExpiringRecordRepository.class
+                    && ExpiringRecordRepository.class.isAssignableFrom(type)) {
+                repositories.put(BulkheadRepositories.nameOf(type), (ExpiringRecordRepository) binding.getProvider().get());
+            }
+        });
+
+        return repositories;
+    }
+
+    static Injector createInjector(final ConfigContext configContext, final Collection<String> searchPackages) {
+        return createInjector(configContext, searchPackages, false);
+    }
+
+    static Injector createInjector(final ConfigContext configContext, final Collection<String> searchPackages,
+                                   final boolean virtualThreads) {
+        return Guice.createInjector(new MappersBinder(),
+                new ConfigBinder(configContext),
+                new ExchangesBinder(configContext, searchPackages),
+                new ApiKeysExchangeBinder(configContext, searchPackages),
+                new ApiRoutesBinder(searchPackages, configContext),
+                new ServicesBinder(configContext),
+                new JwtBinder(configContext),
+                new DalBinder(configContext, searchPackages),
+                new EmbBinder(searchPackages),
+                new ExecutionBinder(virtualThreads),
+                new TracingBinder(searchPackages),
+                new ExternalProvidersBinder(configContext, searchPackages));
     }
 }
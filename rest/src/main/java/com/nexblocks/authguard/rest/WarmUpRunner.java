@@ -0,0 +1,204 @@
+package com.nexblocks.authguard.rest;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.google.inject.Injector;
+import com.nexblocks.authguard.api.common.RestJsonMapper;
+import com.nexblocks.authguard.api.dto.entities.AccountDTO;
+import com.nexblocks.authguard.api.dto.entities.AuthResponseDTO;
+import com.nexblocks.authguard.api.dto.requests.AuthRequestDTO;
+import com.nexblocks.authguard.api.dto.requests.CreateAccountRequestDTO;
+import com.nexblocks.authguard.basic.passwords.SecurePassword;
+import com.nexblocks.authguard.basic.passwords.SecurePasswordProvider;
+import com.nexblocks.authguard.jwt.JwtConfigParser;
+import com.nexblocks.authguard.rest.config.WarmUpConfig;
+import com.nexblocks.authguard.rest.mappers.RestMapper;
+import com.nexblocks.authguard.service.config.JwtConfig;
+import com.nexblocks.authguard.service.model.AccountBO;
+import com.nexblocks.authguard.service.model.AccountEmailBO;
+import com.nexblocks.authguard.service.model.AuthResponseBO;
+import com.nexblocks.authguard.service.model.EntityType;
+import com.nexblocks.authguard.service.model.HashedPasswordBO;
+import io.javalin.json.JsonMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the work which an exchange does, with synthetic inputs, until
+ * the JIT has compiled it. That's hashing and verifying passwords with
+ * every configured version, signing and verifying tokens, and mapping
+ * the main request and response bodies to and from JSON. Nothing is
+ * read from or written to the repositories, so warming up doesn't
+ * leave any data behind.
+ */
+public class WarmUpRunner {
+    private static final Logger LOG = LoggerFactory.getLogger(WarmUpRunner.class);
+
+    private static final String PASSWORD = "warm-up-Password-1";
+    private static final String AUTH_REQUEST = "{\"identifier\":\"warm-up\",\"password\":\"" + PASSWORD
+            + "\",\"domain\":\"warm-up\",\"restrictions\":{\"permissions\":[\"warm-up:read\"],\"scopes\":[]}}";
+    private static final String CREATE_ACCOUNT_REQUEST = "{\"domain\":\"warm-up\",\"firstName\":\"Warm\","
+            + "\"lastName\":\"Up\",\"roles\":[\"warm-up\"],\"email\":{\"email\":\"warm-up@example.com\"},"
+            + "\"identifiers\":[{\"type\":\"USERNAME\",\"identifier\":\"warm-up\"}],"
+            + "\"plainPassword\":\"" + PASSWORD + "\"}";
+
+    private final Injector injector;
+    private final WarmUpConfig config;
+    private final JsonMapper jsonMapper;
+
+    public WarmUpRunner(final Injector injector, final WarmUpConfig config, final JsonMapper jsonMapper) {
+        this.injector = injector;
+        this.config = config;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Runs the warm-up until every task has run its iterations or the
+     * maximum duration is up. A task which fails is skipped, since the
+     * server works the same without it.
+     *
+     * @return The number of iterations which each task completed,
+     *         leaving out the tasks which failed.
+     */
+    public Map<String, Integer> run() {
+        final long start = System.nanoTime();
+        final long deadline = start + config.getMaxDuration() * 1_000_000;
+        final Map<String, Integer> completedIterations = new LinkedHashMap<>();
+
+        for (WarmUpTask task : tasks()) {
+            int completed = 0;
+
+            try {
+                while (completed < task.iterations && System.nanoTime() < deadline) {
+                    task.body.run();
+                    completed++;
+                }
+            } catch (final RuntimeException e) {
+                LOG.warn("Warm-up task {} failed after {} iterations", task.name, completed, e);
+                continue;
+            }
+
+            LOG.info("Warm-up task {} ran {} of {} iterations", task.name, completed, task.iterations);
+            completedIterations.put(task.name, completed);
+        }
+
+        LOG.info("Completed warm-up in {} ms", (System.nanoTime() - start) / 1_000_000);
+
+        return completedIterations;
+    }
+
+    private List<WarmUpTask> tasks() {
+        final List<WarmUpTask> tasks = new ArrayList<>();
+        final SecurePasswordProvider passwords = injector.getInstance(SecurePasswordProvider.class);
+
+        tasks.add(passwordTask("v" + passwords.getCurrentVersion(), passwords.get()));
+
+        for (Map.Entry<Integer, SecurePassword> previous : passwords.getPreviousVersions().entrySet()) {
+            // passwords imported from other providers are only ever verified against existing hashes
+            if (!SecurePasswordProvider.isForeignVersion(previous.getKey())) {
+                tasks.add(passwordTask("v" + previous.getKey(), previous.getValue()));
+            }
+        }
+
+        final JwtConfig jwtConfig = injector.getInstance(JwtConfig.class);
+
+        if (jwtConfig != null && jwtConfig.getAlgorithm() != null) {
+            tasks.add(jwtTask(jwtConfig));
+        }
+
+        tasks.add(jsonTask(injector.getInstance(RestMapper.class)));
+
+        return tasks;
+    }
+
+    private WarmUpTask passwordTask(final String version, final SecurePassword securePassword) {
+        return new WarmUpTask("password " + securePassword.getAlgorithm() + " " + version,
+                config.getPasswordIterations(), () -> {
+                    HashedPasswordBO hashed = securePassword.hash(PASSWORD);
+
+                    if (!securePassword.verify(PASSWORD, hashed)) {
+                        throw new IllegalStateException("A password didn't match its own hash");
+                    }
+                });
+    }
+
+    private WarmUpTask jwtTask(final JwtConfig jwtConfig) {
+        final Algorithm algorithm = JwtConfigParser.parseAlgorithm(jwtConfig.getAlgorithm(),
+                jwtConfig.getPublicKey(), jwtConfig.getPrivateKey());
+        final JWTVerifier verifier = JWT.require(algorithm).build();
+
+        return new WarmUpTask("jwt " + jwtConfig.getAlgorithm(), config.getIterations(), () -> {
+            String token = JWT.create()
+                    .withIssuer(jwtConfig.getIssuer())
+                    .withSubject("1")
+                    .withArrayClaim("permissions", new String[] { "warm-up:read" })
+                    .withIssuedAt(new Date())
+                    .withExpiresAt(Date.from(Instant.now().plusSeconds(60)))
+                    .sign(algorithm);
+
+            verifier.verify(token);
+        });
+    }
+
+    private WarmUpTask jsonTask(final RestMapper restMapper) {
+        final AccountBO account = AccountBO.builder()
+                .id(1)
+                .domain("warm-up")
+                .active(true)
+                .createdAt(Instant.now())
+                .lastModified(Instant.now())
+                .firstName("Warm")
+                .lastName("Up")
+                .addRoles("warm-up")
+                .email(AccountEmailBO.builder()
+                        .email("warm-up@example.com")
+                        .verified(true)
+                        .build())
+                .build();
+
+        final AuthResponseBO authResponse = AuthResponseBO.builder()
+                .type("accessToken")
+                .token("warm-up")
+                .refreshToken("warm-up")
+                .entityType(EntityType.ACCOUNT)
+                .entityId(1)
+                .validFor(60L)
+                .build();
+
+        return new WarmUpTask("json", config.getIterations(), () -> {
+            AuthRequestDTO authRequest = RestJsonMapper.asClass(AUTH_REQUEST, AuthRequestDTO.class);
+            restMapper.toBO(authRequest);
+
+            CreateAccountRequestDTO createAccount = RestJsonMapper.asClass(CREATE_ACCOUNT_REQUEST,
+                    CreateAccountRequestDTO.class);
+            restMapper.toBO(createAccount);
+
+            String authResponseJson = jsonMapper.toJsonString(restMapper.toDTO(authResponse), AuthResponseDTO.class);
+            jsonMapper.fromJsonString(authResponseJson, AuthResponseDTO.class);
+
+            String accountJson = jsonMapper.toJsonString(restMapper.toDTO(account), AccountDTO.class);
+            AccountDTO parsedAccount = jsonMapper.fromJsonString(accountJson, AccountDTO.class);
+            restMapper.toBO(parsedAccount);
+        });
+    }
+
+    private static final class WarmUpTask {
+        private final String name;
+        private final int iterations;
+        private final Runnable body;
+
+        private WarmUpTask(final String name, final int iterations, final Runnable body) {
+            this.name = name;
+            this.iterations = iterations;
+            this.body = body;
+        }
+    }
+}
@@ -13,7 +13,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 public class AuthorizationHandler implements Handler {
     private static final Logger LOG = LoggerFactory.getLogger(AuthorizationHandler.class);
@@ -29,6 +31,11 @@ public class AuthorizationHandler implements Handler {
         this.apiKeysService = apiKeysService;
     }
 
+    /**
+     * Authenticating the actor may need the database, so it's done in a
+     * future which the rest of the request waits for without holding on
+     * to the request thread.
+     */
     @Override
     public void handle(@NotNull final Context context) {
         Optional.ofNullable(context.header("Authorization"))
@@ -49,11 +56,11 @@ public class AuthorizationHandler implements Handler {
     private void populateActor(final Context context, final String[] authorization) {
         switch (authorization[0]) {
             case "Basic":
-                populateBasicActor(context, authorization[1]);
+                context.future(() -> populateBasicActor(context, authorization[1]));
                 break;
 
             case "Bearer":
-                populateBearerActor(context, authorization[1]);
+                context.future(() -> populateBearerActor(context, authorization[1]));
                 return;
 
             default:
@@ -61,30 +68,42 @@ public class AuthorizationHandler implements Handler {
         }
     }
 
-    private void populateBasicActor(final Context context, final String base64Credentials) {
-        try {
-            AccountBO account = basicAuth.authenticateAndGetAccount(base64Credentials).join();
-            LOG.info("Authenticated actor {} with basic credentials", account.getId());
-            context.attribute("actor", account);
-        } catch (Exception e) {
-            LOG.info("Failed to authenticate actor with basic credentials");
-            context.status(401).json(new Error("401", "Failed to authenticate with basic scheme"));
-        }
+    private CompletableFuture<Void> populateBasicActor(final Context context, final String base64Credentials) {
+        return authenticate(() -> basicAuth.authenticateAndGetAccount(base64Credentials))
+                .handle((account, e) -> {
+                    if (e != null) {
+                        LOG.info("Failed to authenticate actor with basic credentials");
+                        context.status(401).json(new Error("401", "Failed to authenticate with basic scheme"));
+                    } else {
+                        LOG.info("Authenticated actor {} with basic credentials", account.getId());
+                        context.attribute("actor", account);
+                    }
+
+                    return null;
+                });
     }
 
-    private void populateBearerActor(final Context context, final String apiKey) {
-        try {
-            ClientBO actorClient = apiKeysService.validateClientApiKey(apiKey, API_KEY_TYPE).join();
-            LOG.info("Authenticated actor {} with bearer token", actorClient.getId());
-            context.attribute("actor", actorClient);
-        } catch (CompletionException e) {
-            LOG.warn("Failed to authenticate actor with bearer token", e.getCause());
+    private CompletableFuture<Void> populateBearerActor(final Context context, final String apiKey) {
+        return authenticate(() -> apiKeysService.validateClientApiKey(apiKey, API_KEY_TYPE))
+                .handle((actorClient, e) -> {
+                    if (e != null) {
+                        LOG.warn("Failed to authenticate actor with bearer token",
+                                e instanceof CompletionException ? e.getCause() : e);
+                        context.status(401).json(new Error("401", "Failed to authenticate with bearer scheme"));
+                    } else {
+                        LOG.info("Authenticated actor {} with bearer token", actorClient.getId());
+                        context.attribute("actor", actorClient);
+                    }
 
-            context.status(401).json(new Error("401", "Failed to authenticate with bearer scheme"));
-        } catch (Throwable e) {
-            LOG.warn("An error occurred while validating API key", e);
+                    return null;
+                });
+    }
 
-            context.status(401).json(new Error("401", "Failed to authenticate with bearer scheme"));
+    private <T> CompletableFuture<T> authenticate(final Supplier<CompletableFuture<T>> authentication) {
+        try {
+            return authentication.get();
+        } catch (final Exception e) {
+            return CompletableFuture.failedFuture(e);
         }
     }
 }
@@ -0,0 +1,34 @@
+package com.nexblocks.authguard.rest.config;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.immutables.value.Value;
+
+@Value.Immutable
+@Value.Style(validationMethod = Value.Style.ValidationMethod.NONE, jdkOnly = true)
+@JsonSerialize(as = ImmutableCompressionConfig.class)
+@JsonDeserialize(as = ImmutableCompressionConfig.class)
+public interface CompressionConfig {
+    @Value.Default
+    default boolean enabled() {
+        return true;
+    }
+
+    /**
+     * Responses smaller than this, in bytes, are sent as they are.
+     * Most token responses are small enough that compressing them
+     * costs more than it saves.
+     */
+    @Value.Default
+    default Integer getMinSize() {
+        return 1500;
+    }
+
+    /**
+     * The gzip level, from 1 (fastest) to 9 (smallest).
+     */
+    @Value.Default
+    default Integer getLevel() {
+        return 6;
+    }
+}
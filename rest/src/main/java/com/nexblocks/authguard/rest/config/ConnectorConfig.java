@@ -0,0 +1,49 @@
+package com.nexblocks.authguard.rest.config;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.immutables.value.Value;
+
+/**
+ * Applies to both the HTTP and the HTTPS connectors.
+ */
+@Value.Immutable
+@Value.Style(validationMethod = Value.Style.ValidationMethod.NONE, jdkOnly = true)
+@JsonSerialize(as = ImmutableConnectorConfig.class)
+@JsonDeserialize(as = ImmutableConnectorConfig.class)
+public interface ConnectorConfig {
+    /**
+     * The number of threads accepting connections. A negative value
+     * lets Jetty pick one based on the number of cores.
+     */
+    @Value.Default
+    default Integer getAcceptors() {
+        return -1;
+    }
+
+    /**
+     * The number of threads selecting ready connections. A negative
+     * value lets Jetty pick one based on the number of cores.
+     */
+    @Value.Default
+    default Integer getSelectors() {
+        return -1;
+    }
+
+    /**
+     * How long, in milliseconds, an idle connection is kept open.
+     */
+    @Value.Default
+    default Long getIdleTimeout() {
+        return 30_000L;
+    }
+
+    /**
+     * The backlog of connections waiting to be accepted. A value of 0
+     * uses the default of the operating system.
+     */
+    @Value.Default
+    default Integer getAcceptQueueSize() {
+        return 0;
+    }
+}
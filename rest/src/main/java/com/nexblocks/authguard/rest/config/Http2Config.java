@@ -0,0 +1,25 @@
+package com.nexblocks.authguard.rest.config;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.immutables.value.Value;
+
+/**
+ * HTTP/2 needs the Jetty HTTP/2 server on the classpath, which the
+ * http2 build profile adds.
+ */
+@Value.Immutable
+@Value.Style(validationMethod = Value.Style.ValidationMethod.NONE, jdkOnly = true)
+@JsonSerialize(as = ImmutableHttp2Config.class)
+@JsonDeserialize(as = ImmutableHttp2Config.class)
+public interface Http2Config {
+    /**
+     * Accept HTTP/2 without TLS (h2c) on the HTTP port.
+     */
+    boolean cleartext();
+
+    /**
+     * Negotiate HTTP/2 over TLS on the secure port.
+     */
+    boolean tls();
+}
@@ -27,4 +27,58 @@ public interface ServerConfig {
     Integer getPort();
     Integer getSecurePort();
     Set<String> getUnprotectedPaths();
+
+    /**
+     * Serves requests, repository completions, and message subscribers
+     * on virtual threads. It's ignored on JDKs without virtual threads.
+     */
+    boolean useVirtualThreads();
+
+    @Value.Default
+    default ThreadPoolConfig getThreadPool() {
+        return ImmutableThreadPoolConfig.builder().build();
+    }
+
+    @Value.Default
+    default ConnectorConfig getConnector() {
+        return ImmutableConnectorConfig.builder().build();
+    }
+
+    @Value.Default
+    default Http2Config getHttp2() {
+        return ImmutableHttp2Config.builder().build();
+    }
+
+    @Value.Default
+    default CompressionConfig getCompression() {
+        return ImmutableCompressionConfig.builder().build();
+    }
+
+    /**
+     * Runs the hot paths of an exchange before the server is reported
+     * ready, so the first requests don't run cold code.
+     */
+    @Value.Default
+    default WarmUpConfig getWarmUp() {
+        return ImmutableWarmUpConfig.builder().build();
+    }
+
+    /**
+     * The largest request body, in bytes, which is read.
+     */
+    @Value.Default
+    default Long getMaxRequestSize() {
+        return 1_000_000L;
+    }
+
+    /**
+     * The number of requests which can be in progress at the same
+     * time, including those waiting for a thread. Any more get a 503
+     * right away instead of adding to the wait. A value of 0 disables
+     * the limit.
+     */
+    @Value.Default
+    default Integer getMaxPendingRequests() {
+        return 0;
+    }
 }
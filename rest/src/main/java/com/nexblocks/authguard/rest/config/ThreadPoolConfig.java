@@ -0,0 +1,43 @@
+package com.nexblocks.authguard.rest.config;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.immutables.value.Value;
+
+/**
+ * The Jetty pool which requests are served on. It isn't used when the
+ * server runs on virtual threads.
+ */
+@Value.Immutable
+@Value.Style(validationMethod = Value.Style.ValidationMethod.NONE, jdkOnly = true)
+@JsonSerialize(as = ImmutableThreadPoolConfig.class)
+@JsonDeserialize(as = ImmutableThreadPoolConfig.class)
+public interface ThreadPoolConfig {
+    @Value.Default
+    default Integer getMinThreads() {
+        return 8;
+    }
+
+    @Value.Default
+    default Integer getMaxThreads() {
+        return 250;
+    }
+
+    /**
+     * The number of jobs which can wait for a free thread. Jetty drops
+     * the connections of any more. A value of 0 leaves it unbounded.
+     */
+    @Value.Default
+    default Integer getQueueSize() {
+        return 0;
+    }
+
+    /**
+     * How long, in milliseconds, an idle thread above the minimum is
+     * kept around.
+     */
+    @Value.Default
+    default Integer getIdleTimeout() {
+        return 60_000;
+    }
+}
@@ -0,0 +1,40 @@
+package com.nexblocks.authguard.rest.config;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.immutables.value.Value;
+
+@Value.Immutable
+@Value.Style(validationMethod = Value.Style.ValidationMethod.NONE, jdkOnly = true)
+@JsonSerialize(as = ImmutableWarmUpConfig.class)
+@JsonDeserialize(as = ImmutableWarmUpConfig.class)
+public interface WarmUpConfig {
+    boolean enabled();
+
+    /**
+     * How many times the token signing and the JSON mapping are run.
+     */
+    @Value.Default
+    default Integer getIterations() {
+        return 10_000;
+    }
+
+    /**
+     * How many times each password version is hashed and verified.
+     * Hashing is slow on purpose, so it needs far fewer runs before
+     * it's compiled.
+     */
+    @Value.Default
+    default Integer getPasswordIterations() {
+        return 20;
+    }
+
+    /**
+     * The longest time, in milliseconds, which the warm-up can take
+     * before the server is reported ready anyway.
+     */
+    @Value.Default
+    default Long getMaxDuration() {
+        return 60_000L;
+    }
+}
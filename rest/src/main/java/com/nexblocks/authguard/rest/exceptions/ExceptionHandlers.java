@@ -42,6 +42,15 @@ public class ExceptionHandlers {
                 .json(error);
     }
 
+    public static void serviceUnavailableException(final ServiceUnavailableException e, final Context context) {
+        LOG.debug("Service unavailable exception was thrown", e);
+
+        final Error error = new Error(e.getErrorCode(), e.getMessage());
+        context.status(503)
+                .header("Retry-After", "1")
+                .json(error);
+    }
+
     public static void serviceAuthorizationException(final ServiceAuthorizationException e, final Context context) {
         LOG.debug("Service authorization exception was thrown", e);
 
@@ -96,6 +105,8 @@ public class ExceptionHandlers {
             serviceConflictException((ServiceConflictException) cause, context);
         } else if (cause instanceof ServiceNotFoundException) {
             serviceNotFoundException((ServiceNotFoundException) cause, context);
+        } else if (cause instanceof ServiceUnavailableException) {
+            serviceUnavailableException((ServiceUnavailableException) cause, context);
         } else if (cause instanceof ServiceException) {
             serviceException((ServiceException) cause, context);
         } else if (cause instanceof RuntimeJsonException) {
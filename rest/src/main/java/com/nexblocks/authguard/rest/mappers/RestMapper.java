@@ -77,6 +77,12 @@ public interface RestMapper {
 
     TotpKeyDTO toDTO(TotpKeyBO totpKeyBO);
 
+    IntrospectionRequestBO toBO(IntrospectionRequestDTO introspectionRequestDTO);
+    IntrospectionResultDTO toDTO(IntrospectionResultBO introspectionResultBO);
+
+    AccountImportResultDTO toDTO(AccountImportResultBO accountImportResultBO);
+    AccountImportSummaryDTO toDTO(AccountImportSummaryBO accountImportSummaryBO);
+
     default String toBase32(final byte[] blob) {
         return blob == null ? null : InternalBase32.encode(blob);
     }
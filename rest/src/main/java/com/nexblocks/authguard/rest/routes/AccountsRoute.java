@@ -14,6 +14,8 @@ import com.nexblocks.authguard.api.dto.validation.violations.ViolationType;
 import com.nexblocks.authguard.api.routes.AccountsApi;
 import com.nexblocks.authguard.rest.access.ActorDomainVerifier;
 import com.nexblocks.authguard.rest.mappers.RestMapper;
+import com.nexblocks.authguard.rest.streaming.AccountImportReader;
+import com.nexblocks.authguard.rest.streaming.NdJsonStream;
 import com.nexblocks.authguard.service.*;
 import com.nexblocks.authguard.service.model.Client;
 import com.nexblocks.authguard.service.model.*;
@@ -28,6 +30,7 @@ import java.util.stream.Collectors;
 
 public class AccountsRoute extends AccountsApi {
     private final AccountsService accountsService;
+    private final AccountImportService accountImportService;
     private final ApplicationsService applicationsService;
     private final AccountLocksService accountLocksService;
     private final KeyManagementService keyManagementService;
@@ -41,12 +44,14 @@ public class AccountsRoute extends AccountsApi {
 
     @Inject
     AccountsRoute(final AccountsService accountsService,
+                  final AccountImportService accountImportService,
                   final ApplicationsService applicationsService,
                   final AccountLocksService accountLocksService,
                   final KeyManagementService keyManagementService,
                   final TrackingSessionsService trackingSessionsService,
                   final RestMapper restMapper) {
         this.accountsService = accountsService;
+        this.accountImportService = accountImportService;
         this.applicationsService = applicationsService;
         this.accountLocksService = accountLocksService;
         this.keyManagementService = keyManagementService;
@@ -94,6 +99,36 @@ public class AccountsRoute extends AccountsApi {
         context.future(() -> result.thenAccept(r -> context.status(201).json(r)));
     }
 
+    @Override
+    public void importAccounts(final Context context) {
+        String domain = context.pathParam("domain");
+
+        if (!ActorDomainVerifier.verifyActorDomain(context, domain)) {
+            return;
+        }
+
+        long resumeAfter = context.queryParamAsClass("resumeAfter", Long.class).getOrDefault(0L);
+        AccountImportReader reader = new AccountImportReader(context.bodyInputStream(),
+                AccountImportReader.Format.fromContentType(context.contentType()), domain, resumeAfter, restMapper);
+
+        context.contentType(NdJsonStream.CONTENT_TYPE);
+
+        NdJsonStream ndJson = new NdJsonStream(context.outputStream());
+        CompletableFuture<Void> done = accountImportService
+                .importAccounts(reader, domain, result -> ndJson.write(restMapper.toDTO(result)))
+                .thenAccept(summary -> ndJson.write(restMapper.toDTO(summary)))
+                .whenComplete((ignored, e) -> {
+                    reader.close();
+
+                    // a failed import is reported by the exception handlers, which still need the stream
+                    if (e == null) {
+                        ndJson.close();
+                    }
+                });
+
+        context.future(() -> done);
+    }
+
     @Override
     public void getById(final Context context) {
         Validator<Long> accountId = context.pathParamAsClass("id", Long.class);
@@ -142,6 +177,25 @@ public class AccountsRoute extends AccountsApi {
         context.future(() -> exists.thenAccept(context::json));
     }
 
+    @Override
+    public void getByRole(final Context context) {
+        String domain = context.pathParam("domain");
+
+        if (!ActorDomainVerifier.verifyActorDomain(context, domain)) {
+            return;
+        }
+
+        String role = context.pathParam("role");
+        Long cursor = context.queryParamAsClass("cursor", Long.class).getOrDefault(null);
+
+        CompletableFuture<List<AccountDTO>> accounts = accountsService.getByRole(role, domain, cursor)
+                .thenApply(list -> list.stream()
+                        .map(restMapper::toDTO)
+                        .collect(Collectors.toList()));
+
+        context.future(() -> accounts.thenAccept(context::json));
+    }
+
     @Override
     public void deleteAccount(final Context context) {
         Validator<Long> accountId = context.pathParamAsClass("id", Long.class);
@@ -4,14 +4,31 @@ import com.google.inject.Inject;
 import com.nexblocks.authguard.api.routes.AdminApi;
 import com.nexblocks.authguard.bindings.PluginsRegistry;
 import com.nexblocks.authguard.config.ConfigContext;
+import com.nexblocks.authguard.metrics.tracing.RingBufferExporter;
+import com.nexblocks.authguard.rest.mappers.RestMapper;
+import com.nexblocks.authguard.rest.streaming.NdJsonExport;
+import com.nexblocks.authguard.service.ExportService;
+import com.nexblocks.authguard.service.concurrent.ExecutionPools;
 import io.javalin.http.Context;
 
+import java.util.Map;
+
 public class AdminRoute extends AdminApi {
     private final ConfigContext configContext;
+    private final ExportService exportService;
+    private final ExecutionPools executionPools;
+    private final RestMapper restMapper;
+    private final RingBufferExporter traces;
 
     @Inject
-    public AdminRoute(final ConfigContext configContext) {
+    public AdminRoute(final ConfigContext configContext, final ExportService exportService,
+                      final ExecutionPools executionPools, final RestMapper restMapper,
+                      final RingBufferExporter traces) {
         this.configContext = configContext;
+        this.exportService = exportService;
+        this.executionPools = executionPools;
+        this.restMapper = restMapper;
+        this.traces = traces;
     }
 
     public void getConfig(final Context context) {
@@ -22,4 +39,28 @@ public class AdminRoute extends AdminApi {
     public void getBindings(final Context context) {
         context.json(PluginsRegistry.getBindingsGroupedByPackage());
     }
+
+    @Override
+    public void getExecution(final Context context) {
+        context.json(Map.of(
+                "virtualThreads", executionPools.isUsingVirtualThreads(),
+                "executors", executionPools.getExecutors(),
+                "bulkheads", executionPools.getBulkheads(),
+                "pinning", executionPools.getPinningHotSpots()
+        ));
+    }
+
+    @Override
+    public void getTraces(final Context context) {
+        long minDurationMs = context.queryParamAsClass("minDurationMs", Long.class).getOrDefault(0L);
+        int limit = context.queryParamAsClass("limit", Integer.class).getOrDefault(20);
+
+        context.json(traces.getSlowTraces(minDurationMs * 1_000, limit));
+    }
+
+    @Override
+    public void exportExchangeAttempts(final Context context) {
+        NdJsonExport.respond(context, (cursor, ndJson) -> exportService
+                .exportExchangeAttempts(cursor, attempt -> ndJson.write(restMapper.toDTO(attempt))));
+    }
 }
@@ -160,12 +160,12 @@ public class AuthRoute extends AuthApi {
                 .fromExchange(fromExchange)
                 .build();
 
-        Collection<ExchangeAttemptDTO> attempts = exchangeAttemptsService.find(query)
-                .stream()
-                .map(restMapper::toDTO)
-                .collect(Collectors.toList());
+        CompletableFuture<Collection<ExchangeAttemptDTO>> attempts = exchangeAttemptsService.find(query)
+                .thenApply(found -> found.stream()
+                        .map(restMapper::toDTO)
+                        .collect(Collectors.toList()));
 
-        context.json(attempts);
+        context.future(() -> attempts.thenAccept(context::json));
     }
 
     private Optional<AuthRequestDTO> getValidRequestOrFail(final Context context) {
@@ -0,0 +1,64 @@
+package com.nexblocks.authguard.rest.routes;
+
+import com.google.inject.Inject;
+import com.nexblocks.authguard.api.common.Domain;
+import com.nexblocks.authguard.api.routes.ExportApi;
+import com.nexblocks.authguard.rest.access.ActorDomainVerifier;
+import com.nexblocks.authguard.rest.mappers.RestMapper;
+import com.nexblocks.authguard.rest.streaming.NdJsonExport;
+import com.nexblocks.authguard.service.ExportService;
+import io.javalin.http.Context;
+
+public class ExportRoute extends ExportApi {
+    private final ExportService exportService;
+    private final RestMapper restMapper;
+
+    @Inject
+    public ExportRoute(final ExportService exportService, final RestMapper restMapper) {
+        this.exportService = exportService;
+        this.restMapper = restMapper;
+    }
+
+    @Override
+    public void exportAccounts(final Context context) {
+        String domain = Domain.fromContext(context);
+
+        if (!ActorDomainVerifier.verifyActorDomain(context, domain)) {
+            return;
+        }
+
+        String role = context.queryParam("role");
+
+        if (role != null) {
+            NdJsonExport.respond(context, (cursor, ndJson) -> exportService
+                    .exportAccountsByRole(domain, role, cursor, account -> ndJson.write(restMapper.toDTO(account))));
+        } else {
+            NdJsonExport.respond(context, (cursor, ndJson) -> exportService
+                    .exportAccounts(domain, cursor, account -> ndJson.write(restMapper.toDTO(account))));
+        }
+    }
+
+    @Override
+    public void exportApps(final Context context) {
+        String domain = Domain.fromContext(context);
+
+        if (!ActorDomainVerifier.verifyActorDomain(context, domain)) {
+            return;
+        }
+
+        NdJsonExport.respond(context, (cursor, ndJson) -> exportService
+                .exportApps(domain, cursor, app -> ndJson.write(restMapper.toDTO(app))));
+    }
+
+    @Override
+    public void exportEvents(final Context context) {
+        String domain = Domain.fromContext(context);
+
+        if (!ActorDomainVerifier.verifyActorDomain(context, domain)) {
+            return;
+        }
+
+        NdJsonExport.respond(context, (cursor, ndJson) -> exportService
+                .exportEvents(domain, cursor, event -> ndJson.write(restMapper.toDTO(event))));
+    }
+}
@@ -1,11 +1,29 @@
 package com.nexblocks.authguard.rest.routes;
 
+import com.google.inject.Inject;
 import com.nexblocks.authguard.api.routes.GeneralApi;
+import com.nexblocks.authguard.rest.server.Readiness;
 import io.javalin.http.Context;
 
+import java.util.Map;
+
 public class GeneralRoute extends GeneralApi {
+    private final Readiness readiness;
+
+    @Inject
+    public GeneralRoute(final Readiness readiness) {
+        this.readiness = readiness;
+    }
+
     @Override
     public void heartbeat(final Context context) {
         context.status(200).result("");
     }
+
+    @Override
+    public void ready(final Context context) {
+        boolean ready = readiness.isReady();
+
+        context.status(ready ? 200 : 503).json(Map.of("ready", ready));
+    }
 }
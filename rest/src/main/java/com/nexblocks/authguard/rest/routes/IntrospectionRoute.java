@@ -0,0 +1,67 @@
+package com.nexblocks.authguard.rest.routes;
+
+import com.google.inject.Inject;
+import com.nexblocks.authguard.api.common.BodyHandler;
+import com.nexblocks.authguard.api.common.Domain;
+import com.nexblocks.authguard.api.dto.entities.CollectionResponseDTO;
+import com.nexblocks.authguard.api.dto.entities.IntrospectionResultDTO;
+import com.nexblocks.authguard.api.dto.requests.BatchIntrospectionRequestDTO;
+import com.nexblocks.authguard.api.routes.IntrospectionApi;
+import com.nexblocks.authguard.rest.mappers.RestMapper;
+import com.nexblocks.authguard.rest.streaming.NdJsonStream;
+import com.nexblocks.authguard.service.TokenIntrospectionService;
+import com.nexblocks.authguard.service.model.IntrospectionRequestBO;
+import io.javalin.http.Context;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+public class IntrospectionRoute extends IntrospectionApi {
+    private final TokenIntrospectionService introspectionService;
+    private final RestMapper restMapper;
+
+    private final BodyHandler<BatchIntrospectionRequestDTO> batchRequestBodyHandler;
+
+    @Inject
+    public IntrospectionRoute(final TokenIntrospectionService introspectionService, final RestMapper restMapper) {
+        this.introspectionService = introspectionService;
+        this.restMapper = restMapper;
+
+        this.batchRequestBodyHandler = new BodyHandler.Builder<>(BatchIntrospectionRequestDTO.class)
+                .build();
+    }
+
+    @Override
+    public void introspectBatch(final Context context) {
+        BatchIntrospectionRequestDTO request = batchRequestBodyHandler.getValidated(context);
+        String domain = Domain.fromContext(context);
+        List<IntrospectionRequestBO> requests = request.getTokens()
+                .stream()
+                .map(restMapper::toBO)
+                .collect(Collectors.toList());
+
+        boolean stream = requests.size() > introspectionService.getStreamingThreshold()
+                || NdJsonStream.CONTENT_TYPE.equals(context.header("Accept"));
+
+        if (stream) {
+            // results are written as they complete, so the order won't match the request
+            context.contentType(NdJsonStream.CONTENT_TYPE);
+
+            NdJsonStream ndJson = new NdJsonStream(context.outputStream());
+            CompletableFuture<Void> done = introspectionService
+                    .introspectAll(requests, domain, result -> ndJson.write(restMapper.toDTO(result)))
+                    .whenComplete((ignored, e) -> ndJson.close());
+
+            context.future(() -> done);
+        } else {
+            CompletableFuture<CollectionResponseDTO<IntrospectionResultDTO>> results = introspectionService
+                    .introspectAll(requests, domain)
+                    .thenApply(list -> CollectionResponseDTO.<IntrospectionResultDTO>builder()
+                            .items(list.stream().map(restMapper::toDTO).collect(Collectors.toList()))
+                            .build());
+
+            context.future(() -> results.thenAccept(context::json));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.nexblocks.authguard.rest.routes;
+
+import com.google.inject.Inject;
+import com.nexblocks.authguard.api.routes.MetricsApi;
+import com.nexblocks.authguard.metrics.MetricsRegistry;
+import com.nexblocks.authguard.metrics.PrometheusTextFormat;
+import io.javalin.http.Context;
+
+public class MetricsRoute extends MetricsApi {
+    private final MetricsRegistry metrics;
+
+    @Inject
+    public MetricsRoute(final MetricsRegistry metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void getMetrics(final Context context) {
+        context.contentType(PrometheusTextFormat.CONTENT_TYPE)
+                .result(PrometheusTextFormat.write(metrics));
+    }
+}
@@ -37,6 +37,10 @@ public class AuthGuardServer {
     private void configure(final Javalin app) {
         LOG.info("Configuring server");
 
+        if (serverConfig.getMaxPendingRequests() > 0) {
+            new LoadSheddingHandlers(serverConfig.getMaxPendingRequests()).configure(app);
+        }
+
         app.beforeMatched(new RolesAccessManager(serverConfig.getUnprotectedPaths()));
 
         final ServerMiddlewareHandlers middleware = new ServerMiddlewareHandlers(injector);
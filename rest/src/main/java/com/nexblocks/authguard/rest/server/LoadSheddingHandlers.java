@@ -0,0 +1,45 @@
+package com.nexblocks.authguard.rest.server;
+
+import com.nexblocks.authguard.service.exceptions.ServiceUnavailableException;
+import com.nexblocks.authguard.service.exceptions.codes.ErrorCode;
+import io.javalin.Javalin;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Answers with a 503 right away once too many requests are in
+ * progress, before anything else is done for them. A request counts
+ * until its response is sent, so requests which wait on a future
+ * count too.
+ */
+public class LoadSheddingHandlers implements JavalinAppConfigurer {
+    private static final String ADMITTED = "admitted";
+
+    private final Semaphore pending;
+
+    public LoadSheddingHandlers(final int maxPendingRequests) {
+        this.pending = new Semaphore(maxPendingRequests);
+    }
+
+    @Override
+    public void configure(final Javalin app) {
+        app.before(context -> {
+            if (!pending.tryAcquire()) {
+                throw new ServiceUnavailableException(ErrorCode.SERVER_OVERLOADED,
+                        "The server is overloaded, try again later");
+            }
+
+            context.attribute(ADMITTED, true);
+        });
+
+        app.after(context -> {
+            if (context.attribute(ADMITTED) != null) {
+                pending.release();
+            }
+        });
+    }
+
+    int getAvailable() {
+        return pending.availablePermits();
+    }
+}
@@ -0,0 +1,20 @@
+package com.nexblocks.authguard.rest.server;
+
+import com.google.inject.Singleton;
+
+/**
+ * Whether the server should be sent traffic. The server starts out not
+ * ready, and is marked ready once it has warmed up.
+ */
+@Singleton
+public class Readiness {
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        this.ready = true;
+    }
+}
@@ -34,6 +34,8 @@ public class ServerExceptionHandlers implements JavalinAppConfigurer {
 
         app.exception(ServiceConflictException.class, ExceptionHandlers::serviceConflictException);
 
+        app.exception(ServiceUnavailableException.class, ExceptionHandlers::serviceUnavailableException);
+
         app.exception(RuntimeJsonException.class, ExceptionHandlers::jsonMappingException);
 
         app.exception(RequestValidationException.class, ExceptionHandlers::requestValidationException);
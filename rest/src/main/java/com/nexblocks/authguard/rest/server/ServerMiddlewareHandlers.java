@@ -1,37 +1,115 @@
 package com.nexblocks.authguard.rest.server;
 
+import com.nexblocks.authguard.metrics.Gauge;
+import com.nexblocks.authguard.metrics.LatencyHistogram;
+import com.nexblocks.authguard.metrics.MetricFamily;
+import com.nexblocks.authguard.metrics.MetricsRegistry;
+import com.nexblocks.authguard.metrics.tracing.Span;
+import com.nexblocks.authguard.metrics.tracing.Tracer;
+import com.nexblocks.authguard.metrics.tracing.Traces;
 import com.nexblocks.authguard.rest.access.AuthorizationHandler;
 import com.google.inject.Injector;
 import com.nexblocks.authguard.rest.access.DomainAuthorizationHandler;
 import io.javalin.Javalin;
+import io.javalin.http.Context;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class ServerMiddlewareHandlers implements JavalinAppConfigurer {
     private final static Logger log = LoggerFactory.getLogger(AuthGuardServer.class.getSimpleName());
 
+    // requests which didn't match any endpoint are grouped together to keep the number of routes bounded
+    private static final String UNMATCHED_ROUTE = "unmatched";
+    private static final String TRACEPARENT = "traceparent";
+
     private final Injector injector;
+    private final MetricFamily<LatencyHistogram> requestDurations;
+    private final Gauge requestsInFlight;
+    private final Tracer tracer;
 
     public ServerMiddlewareHandlers(final Injector injector) {
         this.injector = injector;
+
+        MetricsRegistry metrics = injector.getInstance(MetricsRegistry.class);
+
+        this.requestDurations = metrics.latency("authguard_http_request_duration_seconds",
+                "Time taken to handle a request, by route template and status class",
+                "method", "route", "status");
+        this.requestsInFlight = metrics.gauge("authguard_http_requests_in_flight",
+                "Requests which are being handled").labels();
+        this.tracer = injector.getInstance(Tracer.class);
     }
 
     @Override
     public void configure(final Javalin app) {
-        app.before(context -> context.attribute("time", System.currentTimeMillis()));
+        app.before(context -> {
+            context.attribute("time", System.nanoTime());
+            requestsInFlight.increment();
+
+            // set even when not sampled, so nothing left on this thread by a previous request is picked up
+            Span span = tracer.startTrace("HTTP " + context.method(), context.header(TRACEPARENT));
+            span.makeCurrent();
+            context.attribute("span", span);
+
+            if (span.isRecording()) {
+                context.header(TRACEPARENT, span.context().toTraceparent());
+            }
+        });
         app.before(injector.getInstance(AuthorizationHandler.class));
 
         app.before("/domain/{domain}", new DomainAuthorizationHandler());
 
         app.after(context -> {
-            final Long now = System.currentTimeMillis();
+            final long now = System.nanoTime();
             final Long start = context.attribute("time");
 
             if (start == null) {
                 log.info("{} {} - {}", context.method(), context.path(), context.status());
             } else {
-                log.info("{} {} - {} {} ms", context.method(), context.path(), context.status(), now - start);
+                requestsInFlight.decrement();
+                requestDurations.labels(context.method().name(), route(context), statusClass(context))
+                        .record(now - start);
+
+                log.info("{} {} - {} {} ms", context.method(), context.path(), context.status(),
+                        (now - start) / 1_000_000);
             }
+
+            endSpan(context);
         });
     }
+
+    private static void endSpan(final Context context) {
+        final Span span = context.attribute("span");
+
+        if (span == null) {
+            return;
+        }
+
+        span.setName(context.method() + " " + route(context))
+                .setAttribute("http.status", context.statusCode());
+
+        if (context.statusCode() >= 500) {
+            span.end("HTTP " + context.statusCode());
+        } else {
+            span.end();
+        }
+
+        if (Traces.current() == span) {
+            Traces.detach();
+        }
+    }
+
+    /*
+     * Javalin gives a message instead of a path when no endpoint
+     * matched the request.
+     */
+    private static String route(final Context context) {
+        String route = context.endpointHandlerPath();
+
+        return route.startsWith("/") ? route : UNMATCHED_ROUTE;
+    }
+
+    private static String statusClass(final Context context) {
+        return context.statusCode() / 100 + "xx";
+    }
 }
@@ -0,0 +1,195 @@
+package com.nexblocks.authguard.rest.server;
+
+import com.nexblocks.authguard.rest.config.*;
+import com.nexblocks.authguard.rest.exceptions.InitializationException;
+import io.javalin.compression.CompressionStrategy;
+import io.javalin.compression.Gzip;
+import io.javalin.config.JavalinConfig;
+import org.eclipse.jetty.server.*;
+import org.eclipse.jetty.util.BlockingArrayQueue;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Applies the thread pool, connectors, compression, and request size
+ * limit from {@link ServerConfig} to Javalin. The connectors are always
+ * created here, so the port given to Javalin when starting is ignored.
+ * <p>
+ * HTTP/2 isn't a dependency of the server, so its connection factories
+ * are only looked up once it's enabled.
+ */
+public class ServerTuning {
+    private static final Logger LOG = LoggerFactory.getLogger(ServerTuning.class);
+
+    // the name which Javalin gives its own pool, and which request threads are recognized by
+    private static final String THREAD_POOL_NAME = "JettyServerThreadPool";
+
+    private static final String H2C_FACTORY = "org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory";
+    private static final String H2_FACTORY = "org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory";
+    private static final String ALPN_FACTORY = "org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory";
+
+    private static final String HTTP_1_1 = "http/1.1";
+    private static final String H2 = "h2";
+
+    private final ServerConfig serverConfig;
+
+    public ServerTuning(final ServerConfig serverConfig) {
+        this.serverConfig = serverConfig;
+    }
+
+    public void apply(final JavalinConfig config) {
+        if (!serverConfig.useVirtualThreads()) {
+            config.jetty.threadPool = threadPool(serverConfig.getThreadPool());
+        }
+
+        config.http.maxRequestSize = serverConfig.getMaxRequestSize();
+
+        CompressionConfig compression = serverConfig.getCompression();
+
+        if (compression.enabled()) {
+            CompressionStrategy strategy = new CompressionStrategy(null, new Gzip(compression.getLevel()));
+            strategy.setDefaultMinSizeForCompression(compression.getMinSize());
+
+            config.http.customCompression(strategy);
+        } else {
+            config.http.disableCompression();
+        }
+
+        config.jetty.addConnector(this::httpConnector);
+
+        if (serverConfig.enableSsl()) {
+            config.jetty.addConnector(this::httpsConnector);
+        }
+    }
+
+    private QueuedThreadPool threadPool(final ThreadPoolConfig config) {
+        QueuedThreadPool pool = config.getQueueSize() > 0
+                ? new QueuedThreadPool(config.getMaxThreads(), config.getMinThreads(), config.getIdleTimeout(),
+                        new BlockingArrayQueue<>(config.getQueueSize()))
+                : new QueuedThreadPool(config.getMaxThreads(), config.getMinThreads(), config.getIdleTimeout());
+
+        pool.setName(THREAD_POOL_NAME);
+
+        LOG.info("Server thread pool configured. minThreads={}, maxThreads={}, queueSize={}",
+                config.getMinThreads(), config.getMaxThreads(),
+                config.getQueueSize() > 0 ? config.getQueueSize() : "unbounded");
+
+        return pool;
+    }
+
+    private Connector httpConnector(final Server server, final HttpConfiguration httpConfiguration) {
+        List<ConnectionFactory> factories = new ArrayList<>();
+
+        factories.add(new HttpConnectionFactory(httpConfiguration));
+
+        if (serverConfig.getHttp2().cleartext()) {
+            factories.add(http2Factory(H2C_FACTORY, httpConfiguration));
+        }
+
+        int port = Optional.ofNullable(serverConfig.getPort()).orElse(80);
+
+        return connector(server, port, factories);
+    }
+
+    private Connector httpsConnector(final Server server, final HttpConfiguration httpConfiguration) {
+        HttpConfiguration httpsConfiguration = new HttpConfiguration(httpConfiguration);
+        httpsConfiguration.addCustomizer(new SecureRequestCustomizer());
+
+        List<ConnectionFactory> factories = new ArrayList<>();
+        HttpConnectionFactory http1 = new HttpConnectionFactory(httpsConfiguration);
+
+        if (serverConfig.getHttp2().tls()) {
+            ConnectionFactory alpn = instantiate(ALPN_FACTORY, new Class<?>[] { String[].class },
+                    (Object) new String[] { H2, HTTP_1_1 });
+
+            factories.add(new SslConnectionFactory(sslContextFactory(), alpn.getProtocol()));
+            factories.add(alpn);
+            factories.add(http2Factory(H2_FACTORY, httpsConfiguration));
+        } else {
+            factories.add(new SslConnectionFactory(sslContextFactory(), http1.getProtocol()));
+        }
+
+        factories.add(http1);
+
+        int port = Optional.ofNullable(serverConfig.getSecurePort()).orElse(443);
+
+        return connector(server, port, factories);
+    }
+
+    private ServerConnector connector(final Server server, final int port, final List<ConnectionFactory> factories) {
+        ConnectorConfig config = serverConfig.getConnector();
+        ServerConnector connector = new ServerConnector(server, config.getAcceptors(), config.getSelectors(),
+                factories.toArray(new ConnectionFactory[0]));
+
+        connector.setPort(port);
+        connector.setIdleTimeout(config.getIdleTimeout());
+
+        if (config.getAcceptQueueSize() > 0) {
+            connector.setAcceptQueueSize(config.getAcceptQueueSize());
+        }
+
+        LOG.info("Server connector configured. port={}, protocols={}", port, connector.getProtocols());
+
+        return connector;
+    }
+
+    private SslContextFactory.Server sslContextFactory() {
+        if (serverConfig.getKeystorePath() == null) {
+            throw new InitializationException("SSL is enabled but no keystore was provided");
+        }
+
+        SslContextFactory.Server sslContextFactory = new SslContextFactory.Server();
+
+        sslContextFactory.setKeyStorePath(absolutePath(serverConfig.getKeystorePath()));
+        sslContextFactory.setKeyStorePassword(serverConfig.getKeystorePassword());
+
+        if (serverConfig.enableClientAuthentication()) {
+            if (serverConfig.getTruststorePath() == null) {
+                throw new InitializationException("Client authentication is enabled but no truststore was provided");
+            }
+
+            sslContextFactory.setTrustStorePath(absolutePath(serverConfig.getTruststorePath()));
+            sslContextFactory.setTrustStorePassword(serverConfig.getTruststorePassword());
+            sslContextFactory.setNeedClientAuth(true);
+        }
+
+        return sslContextFactory;
+    }
+
+    private String absolutePath(final String pathStr) {
+        Path path = Paths.get(pathStr).toAbsolutePath();
+
+        if (!Files.exists(path)) {
+            throw new InitializationException("Path " + path + " doesn't exist");
+        }
+
+        return path.toString();
+    }
+
+    private ConnectionFactory http2Factory(final String className, final HttpConfiguration httpConfiguration) {
+        return instantiate(className, new Class<?>[] { HttpConfiguration.class }, httpConfiguration);
+    }
+
+    private ConnectionFactory instantiate(final String className, final Class<?>[] parameterTypes,
+                                          final Object... arguments) {
+        try {
+            return (ConnectionFactory) Class.forName(className)
+                    .getConstructor(parameterTypes)
+                    .newInstance(arguments);
+        } catch (final ClassNotFoundException e) {
+            throw new InitializationException("HTTP/2 is enabled but " + className + " isn't on the classpath; "
+                    + "build with the http2 profile to include it");
+        } catch (final ReflectiveOperationException e) {
+            throw new InitializationException("Failed to create " + className + ": " + e.getMessage());
+        }
+    }
+}
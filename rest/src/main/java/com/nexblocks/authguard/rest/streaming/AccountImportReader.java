@@ -0,0 +1,296 @@
+package com.nexblocks.authguard.rest.streaming;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexblocks.authguard.api.dto.entities.AccountEmailDTO;
+import com.nexblocks.authguard.api.dto.entities.PhoneNumberDTO;
+import com.nexblocks.authguard.api.dto.entities.UserIdentifier;
+import com.nexblocks.authguard.api.dto.entities.UserIdentifierDTO;
+import com.nexblocks.authguard.api.dto.requests.CreateAccountRequestDTO;
+import com.nexblocks.authguard.api.dto.requests.ImportAccountRecordDTO;
+import com.nexblocks.authguard.api.dto.validation.Validator;
+import com.nexblocks.authguard.api.dto.validation.validators.Validators;
+import com.nexblocks.authguard.api.dto.validation.violations.Violation;
+import com.nexblocks.authguard.rest.mappers.RestMapper;
+import com.nexblocks.authguard.service.exceptions.codes.ErrorCode;
+import com.nexblocks.authguard.service.model.AccountBO;
+import com.nexblocks.authguard.service.model.AccountImportRecordBO;
+import com.nexblocks.authguard.service.model.HashedPasswordBO;
+import com.nexblocks.authguard.service.model.UserIdentifierBO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Reads account import records one line at a time, either from
+ * NDJSON or from CSV with a header row. Every record is validated
+ * like a create account request; records which fail are returned
+ * with an error rather than stopping the import.
+ * <p>
+ * Records are numbered by their line in the input, starting from 1,
+ * so that an import can be resumed after the last line it reported.
+ * Lines up to the resume point are skipped without being parsed.
+ * <p>
+ * CSV columns are named after the fields of a record. Roles are
+ * separated by ';', and a username column adds a username identifier.
+ * Quoted values can't span multiple lines.
+ */
+public class AccountImportReader implements Iterator<AccountImportRecordBO>, AutoCloseable {
+    public enum Format {
+        NDJSON,
+        CSV;
+
+        public static Format fromContentType(final String contentType) {
+            if (contentType != null && contentType.startsWith("text/csv")) {
+                return CSV;
+            }
+
+            return NDJSON;
+        }
+    }
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final String domain;
+    private final long resumeAfter;
+    private final RestMapper restMapper;
+    private final Validator<ImportAccountRecordDTO> validator;
+
+    private long lineNumber = 0;
+    private String[] csvHeader;
+    private AccountImportRecordBO next;
+
+    public AccountImportReader(final InputStream inputStream, final Format format, final String domain,
+                               final long resumeAfter, final RestMapper restMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        this.format = format;
+        this.domain = domain;
+        this.resumeAfter = resumeAfter;
+        this.restMapper = restMapper;
+        this.validator = Validators.getForClass(ImportAccountRecordDTO.class);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = readNext();
+        }
+
+        return next != null;
+    }
+
+    @Override
+    public AccountImportRecordBO next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        AccountImportRecordBO record = next;
+        next = null;
+
+        return record;
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private AccountImportRecordBO readNext() {
+        String line;
+
+        while ((line = readLine()) != null) {
+            lineNumber++;
+
+            if (format == Format.CSV && csvHeader == null) {
+                csvHeader = parseCsvLine(line);
+                continue;
+            }
+
+            if (lineNumber <= resumeAfter || line.isBlank()) {
+                continue;
+            }
+
+            return toRecord(line);
+        }
+
+        return null;
+    }
+
+    private String readLine() {
+        try {
+            return reader.readLine();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private AccountImportRecordBO toRecord(final String line) {
+        ImportAccountRecordDTO parsed;
+
+        try {
+            parsed = format == Format.CSV ? fromCsv(line) : objectMapper.readValue(line, ImportAccountRecordDTO.class);
+        } catch (final JsonProcessingException | IllegalArgumentException e) {
+            return failure(ErrorCode.INVALID_REQUEST_VALUE, "Failed to parse the record");
+        }
+
+        ImportAccountRecordDTO record = parsed.getDomain() == null ? parsed.withDomain(domain) : parsed;
+
+        if (!Objects.equals(record.getDomain(), domain)) {
+            return failure(ErrorCode.ENTITY_OUT_OF_SCOPE, "The record belongs to a different domain");
+        }
+
+        List<Violation> violations = validator.validate(record);
+
+        if (!violations.isEmpty()) {
+            return failure(ErrorCode.INVALID_REQUEST_VALUE, "Invalid fields " + violations.stream()
+                    .map(violation -> violation.getField() + " " + violation.getType())
+                    .collect(Collectors.toList()));
+        }
+
+        return AccountImportRecordBO.builder()
+                .line(lineNumber)
+                .account(toBO(record))
+                .build();
+    }
+
+    private AccountBO toBO(final ImportAccountRecordDTO record) {
+        AccountBO account = restMapper.toBO(CreateAccountRequestDTO.copyOf(record));
+
+        List<UserIdentifierBO> identifiers = account.getIdentifiers()
+                .stream()
+                .map(identifier -> identifier.withDomain(domain))
+                .collect(Collectors.toList());
+
+        AccountBO withIdentifiers = account.withIdentifiers(identifiers);
+
+        if (record.getHashedPassword() == null) {
+            return withIdentifiers;
+        }
+
+        return withIdentifiers
+                .withHashedPassword(HashedPasswordBO.builder()
+                        .password(record.getHashedPassword())
+                        .salt(record.getPasswordSalt())
+                        .build())
+                .withPasswordVersion(record.getPasswordVersion());
+    }
+
+    private AccountImportRecordBO failure(final ErrorCode errorCode, final String message) {
+        return AccountImportRecordBO.builder()
+                .line(lineNumber)
+                .errorCode(errorCode.getCode())
+                .message(message)
+                .build();
+    }
+
+    private ImportAccountRecordDTO fromCsv(final String line) {
+        String[] values = parseCsvLine(line);
+        Map<String, String> columns = new HashMap<>();
+
+        for (int i = 0; i < csvHeader.length && i < values.length; i++) {
+            if (!values[i].isEmpty()) {
+                columns.put(csvHeader[i], values[i]);
+            }
+        }
+
+        ImportAccountRecordDTO.Builder builder = ImportAccountRecordDTO.builder()
+                .domain(columns.get("domain"))
+                .externalId(columns.get("externalId"))
+                .firstName(columns.get("firstName"))
+                .middleName(columns.get("middleName"))
+                .lastName(columns.get("lastName"))
+                .fullName(columns.get("fullName"))
+                .plainPassword(columns.get("plainPassword"))
+                .hashedPassword(columns.get("hashedPassword"))
+                .passwordSalt(columns.get("passwordSalt"))
+                .passwordVersion(columns.containsKey("passwordVersion")
+                        ? Integer.valueOf(columns.get("passwordVersion"))
+                        : null);
+
+        if (columns.containsKey("email")) {
+            builder.email(AccountEmailDTO.builder()
+                    .email(columns.get("email"))
+                    .verified(Boolean.parseBoolean(columns.get("emailVerified")))
+                    .build());
+        }
+
+        if (columns.containsKey("backupEmail")) {
+            builder.backupEmail(AccountEmailDTO.builder()
+                    .email(columns.get("backupEmail"))
+                    .verified(Boolean.parseBoolean(columns.get("backupEmailVerified")))
+                    .build());
+        }
+
+        if (columns.containsKey("phoneNumber")) {
+            builder.phoneNumber(PhoneNumberDTO.builder()
+                    .number(columns.get("phoneNumber"))
+                    .verified(Boolean.parseBoolean(columns.get("phoneNumberVerified")))
+                    .build());
+        }
+
+        if (columns.containsKey("username")) {
+            builder.addIdentifiers(UserIdentifierDTO.builder()
+                    .type(UserIdentifier.Type.USERNAME)
+                    .identifier(columns.get("username"))
+                    .build());
+        }
+
+        if (columns.containsKey("roles")) {
+            Arrays.stream(columns.get("roles").split(";"))
+                    .map(String::trim)
+                    .filter(role -> !role.isEmpty())
+                    .forEach(builder::addRoles);
+        }
+
+        if (columns.containsKey("active")) {
+            builder.active(Boolean.parseBoolean(columns.get("active")));
+        }
+
+        return builder.build();
+    }
+
+    static String[] parseCsvLine(final String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+
+        values.add(current.toString());
+
+        return values.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,37 @@
+package com.nexblocks.authguard.rest.streaming;
+
+import io.javalin.http.Context;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+
+/**
+ * Streams an export as the response of a request. Lines aren't
+ * flushed one by one; the response buffer is flushed whenever it
+ * fills up, which keeps memory constant however big the export is.
+ */
+public final class NdJsonExport {
+    private NdJsonExport() {}
+
+    /**
+     * @param export Starts the export after the cursor in the request,
+     *               writing every record to the stream.
+     */
+    public static void respond(final Context context,
+                               final BiFunction<Long, NdJsonStream, CompletableFuture<Long>> export) {
+        Long cursor = context.queryParamAsClass("cursor", Long.class).getOrDefault(null);
+
+        context.contentType(NdJsonStream.CONTENT_TYPE);
+
+        NdJsonStream ndJson = new NdJsonStream(context.outputStream(), false);
+        CompletableFuture<Long> done = export.apply(cursor, ndJson)
+                .whenComplete((ignored, e) -> {
+                    // a failed export is reported by the exception handlers, which still need the stream
+                    if (e == null) {
+                        ndJson.close();
+                    }
+                });
+
+        context.future(() -> done);
+    }
+}
@@ -0,0 +1,78 @@
+package com.nexblocks.authguard.rest.streaming;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes objects as newline-delimited JSON directly to an
+ * output stream. By default, it flushes after every line so
+ * that clients can consume them as they are produced. Bulk
+ * writers can turn that off and leave flushing to the buffers.
+ * Instances are not thread-safe.
+ */
+public class NdJsonStream implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(NdJsonStream.class);
+
+    public static final String CONTENT_TYPE = "application/x-ndjson";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    private final JsonGenerator generator;
+    private final boolean flushEveryLine;
+
+    public NdJsonStream(final OutputStream outputStream) {
+        this(outputStream, true);
+    }
+
+    public NdJsonStream(final OutputStream outputStream, final boolean flushEveryLine) {
+        this.flushEveryLine = flushEveryLine;
+
+        try {
+            this.generator = objectMapper.getFactory().createGenerator(outputStream);
+            this.generator.setRootValueSeparator(null);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void write(final Object value) {
+        try {
+            objectMapper.writeValue(generator, value);
+            generator.writeRaw('\n');
+
+            if (flushEveryLine) {
+                generator.flush();
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void flush() {
+        try {
+            generator.flush();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            generator.close();
+        } catch (final IOException e) {
+            LOG.warn("Failed to close NDJSON stream", e);
+        }
+    }
+}
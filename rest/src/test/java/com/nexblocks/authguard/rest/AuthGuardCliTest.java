@@ -4,15 +4,21 @@ import com.nexblocks.authguard.config.ConfigContext;
 import com.nexblocks.authguard.config.JacksonConfigContext;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.nexblocks.authguard.service.model.AccountImportSummaryBO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.nio.file.Paths;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class AuthGuardCliTest {
     private ConfigurationLoader configurationLoader;
     private ServerRunner serverRunner;
+    private PasswordCalibrationRunner calibrationRunner;
+    private AccountImportRunner importRunner;
+    private ExportRunner exportRunner;
     private final ConfigContext configContext = new JacksonConfigContext(new ObjectNode(JsonNodeFactory.instance));
 
     private AuthGuardCli cli;
@@ -21,13 +27,16 @@ class AuthGuardCliTest {
     void setup() {
         configurationLoader = Mockito.mock(ConfigurationLoader.class);
         serverRunner = Mockito.mock(ServerRunner.class);
+        calibrationRunner = Mockito.mock(PasswordCalibrationRunner.class);
+        importRunner = Mockito.mock(AccountImportRunner.class);
+        exportRunner = Mockito.mock(ExportRunner.class);
 
         Mockito.when(configurationLoader.loadFromFile(Mockito.any()))
                 .thenReturn(configContext);
         Mockito.when(configurationLoader.loadFromResources())
                 .thenReturn(configContext);
 
-        cli = new AuthGuardCli(configurationLoader, serverRunner);
+        cli = new AuthGuardCli(configurationLoader, serverRunner, calibrationRunner, importRunner, exportRunner);
     }
 
     @Test
@@ -91,4 +100,70 @@ class AuthGuardCliTest {
 
         assertThat(exitCode).isEqualTo(1);
     }
-}
\ No newline at end of file
+
+    @Test
+    void executeCalibratePasswords() {
+        final String[] args = new String[] { "--calibrate-passwords" };
+
+        Mockito.when(calibrationRunner.run(configContext)).thenReturn("passwords:\n  version: 2\n");
+
+        final int exitCode = cli.execute(args);
+
+        assertThat(exitCode).isEqualTo(0);
+
+        Mockito.verify(calibrationRunner).run(configContext);
+        Mockito.verifyZeroInteractions(serverRunner);
+    }
+
+    @Test
+    void executeImportAccounts() {
+        final String[] args = new String[] { "--import-accounts", "/path/to/accounts.csv", "--domain", "main" };
+
+        Mockito.when(importRunner.run(configContext, Paths.get("/path/to/accounts.csv"), "main", System.out))
+                .thenReturn(AccountImportSummaryBO.builder().imported(2).failed(0).checkpoint(3L).build());
+
+        final int exitCode = cli.execute(args);
+
+        assertThat(exitCode).isEqualTo(0);
+
+        Mockito.verify(importRunner).run(configContext, Paths.get("/path/to/accounts.csv"), "main", System.out);
+        Mockito.verifyZeroInteractions(serverRunner);
+    }
+
+    @Test
+    void executeImportAccountsWithoutDomain() {
+        final String[] args = new String[] { "--import-accounts", "/path/to/accounts.csv" };
+
+        final int exitCode = cli.execute(args);
+
+        assertThat(exitCode).isEqualTo(1);
+
+        Mockito.verifyZeroInteractions(importRunner, serverRunner);
+    }
+
+    @Test
+    void executeExport() {
+        final String[] args = new String[] { "--export", "accounts", "--domain", "main", "--cursor", "101" };
+
+        Mockito.when(exportRunner.run(configContext, ExportRunner.Entity.ACCOUNTS, "main", 101L, System.out))
+                .thenReturn(5L);
+
+        final int exitCode = cli.execute(args);
+
+        assertThat(exitCode).isEqualTo(0);
+
+        Mockito.verify(exportRunner).run(configContext, ExportRunner.Entity.ACCOUNTS, "main", 101L, System.out);
+        Mockito.verifyZeroInteractions(serverRunner);
+    }
+
+    @Test
+    void executeExportUnknownEntity() {
+        final String[] args = new String[] { "--export", "secrets", "--domain", "main" };
+
+        final int exitCode = cli.execute(args);
+
+        assertThat(exitCode).isEqualTo(1);
+
+        Mockito.verifyZeroInteractions(exportRunner, serverRunner);
+    }
+}
@@ -10,6 +10,8 @@ public class MocksBinder extends AbstractModule {
     @Override
     protected void configure() {
         bind(AccountsService.class).toInstance(Mockito.mock(AccountsService.class));
+        bind(AccountImportService.class).toInstance(Mockito.mock(AccountImportService.class));
+        bind(ExportService.class).toInstance(Mockito.mock(ExportService.class));
         bind(ApplicationsService.class).toInstance(Mockito.mock(ApplicationsService.class));
         bind(ClientsService.class).toInstance(Mockito.mock(ClientsService.class));
         bind(AuthenticationService.class).toInstance(Mockito.mock(AuthenticationService.class));
@@ -30,5 +32,6 @@ public class MocksBinder extends AbstractModule {
         bind(EventsService.class).toInstance(Mockito.mock(EventsService.class));
         bind(KeyManagementService.class).toInstance(Mockito.mock(KeyManagementService.class));
         bind(TrackingSessionsService.class).toInstance(Mockito.mock(TrackingSessionsService.class));
+        bind(TokenIntrospectionService.class).toInstance(Mockito.mock(TokenIntrospectionService.class));
     }
 }
@@ -0,0 +1,37 @@
+package com.nexblocks.authguard.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.nexblocks.authguard.config.ConfigContext;
+import com.nexblocks.authguard.config.JacksonConfigContext;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordCalibrationRunnerTest {
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void run() {
+        ObjectNode root = mapper.createObjectNode();
+        ObjectNode passwords = root.putObject("passwords");
+        passwords.put("algorithm", "bcrypt");
+        passwords.putObject("calibration")
+                .put("targetLatency", "10s")
+                .put("concurrency", 1)
+                .put("samples", 1)
+                .put("maxSteps", 1);
+
+        ConfigContext configContext = new JacksonConfigContext(root);
+        PasswordCalibrationRunner runner = new PasswordCalibrationRunner();
+
+        String calibrated = runner.run(configContext);
+
+        assertThat(runner.runOnStartup(configContext)).isFalse();
+        assertThat(calibrated)
+                .startsWith("passwords:")
+                .contains("version: 2")
+                .contains("cost: 8")
+                .contains("previousVersions:");
+    }
+}
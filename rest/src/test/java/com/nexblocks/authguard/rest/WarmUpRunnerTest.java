@@ -0,0 +1,46 @@
+package com.nexblocks.authguard.rest;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.nexblocks.authguard.bindings.ConfigBinder;
+import com.nexblocks.authguard.config.ConfigContext;
+import com.nexblocks.authguard.rest.bindings.MappersBinder;
+import com.nexblocks.authguard.rest.config.ImmutableWarmUpConfig;
+import com.nexblocks.authguard.service.config.JwtConfig;
+import io.javalin.json.JavalinJackson;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WarmUpRunnerTest {
+
+    @Test
+    void run() {
+        ConfigContext configContext = new ConfigurationLoader().loadFromResources();
+        Injector injector = Guice.createInjector(
+                new ConfigBinder(configContext),
+                new MappersBinder(),
+                new AbstractModule() {
+                    @Override
+                    protected void configure() {
+                        bind(JwtConfig.class).toInstance(configContext.getAsConfigBean("jwt", JwtConfig.class));
+                    }
+                });
+
+        WarmUpRunner runner = new WarmUpRunner(injector, ImmutableWarmUpConfig.builder()
+                .enabled(true)
+                .iterations(50)
+                .passwordIterations(2)
+                .build(), new JavalinJackson());
+
+        Map<String, Integer> completed = runner.run();
+
+        assertThat(completed).containsOnly(
+                Map.entry("password scrypt v1", 2),
+                Map.entry("jwt HMAC256", 50),
+                Map.entry("json", 50));
+    }
+}
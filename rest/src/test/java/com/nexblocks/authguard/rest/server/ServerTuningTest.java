@@ -0,0 +1,100 @@
+package com.nexblocks.authguard.rest.server;
+
+import com.nexblocks.authguard.rest.config.ImmutableServerConfig;
+import com.nexblocks.authguard.rest.config.ImmutableThreadPoolConfig;
+import com.nexblocks.authguard.rest.config.ServerConfig;
+import com.nexblocks.authguard.rest.exceptions.ExceptionHandlers;
+import com.nexblocks.authguard.service.exceptions.ServiceUnavailableException;
+import io.javalin.Javalin;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServerTuningTest {
+    private Javalin app;
+
+    @AfterEach
+    void stop() {
+        if (app != null) {
+            app.stop();
+        }
+    }
+
+    @Test
+    void applyThreadPoolAndConnector() {
+        ServerConfig config = ImmutableServerConfig.builder()
+                .port(0)
+                .threadPool(ImmutableThreadPoolConfig.builder()
+                        .minThreads(4)
+                        .maxThreads(32)
+                        .queueSize(64)
+                        .build())
+                .build();
+
+        app = Javalin.create(javalinConfig -> new ServerTuning(config).apply(javalinConfig)).start();
+
+        QueuedThreadPool threadPool = (QueuedThreadPool) app.jettyServer().server().getThreadPool();
+
+        assertThat(threadPool.getMaxThreads()).isEqualTo(32);
+        assertThat(threadPool.getMinThreads()).isEqualTo(4);
+        assertThat(threadPool.getName()).isEqualTo("JettyServerThreadPool");
+
+        assertThat(app.jettyServer().server().getConnectors())
+                .hasSize(1)
+                .allSatisfy(connector -> {
+                    assertThat(connector.getProtocols()).containsExactly("http/1.1");
+                    assertThat(connector.getIdleTimeout()).isEqualTo(30_000);
+                });
+    }
+
+    @Test
+    void shedRequestsBeyondTheLimit() throws Exception {
+        CompletableFuture<String> slow = new CompletableFuture<>();
+        CountDownLatch admitted = new CountDownLatch(1);
+
+        app = Javalin.create();
+        new LoadSheddingHandlers(1).configure(app);
+        app.exception(ServiceUnavailableException.class, ExceptionHandlers::serviceUnavailableException);
+        app.get("/slow", context -> {
+            admitted.countDown();
+            context.future(() -> slow.thenAccept(context::result));
+        });
+        app.get("/fast", context -> context.result("fast"));
+        app.start(0);
+
+        int port = ((ServerConnector) app.jettyServer().server().getConnectors()[0]).getLocalPort();
+        HttpClient client = HttpClient.newHttpClient();
+
+        CompletableFuture<HttpResponse<String>> first = client.sendAsync(request(port, "/slow"),
+                HttpResponse.BodyHandlers.ofString());
+
+        // the first request holds the only slot until it completes
+        assertThat(admitted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        HttpResponse<String> shed = client.send(request(port, "/fast"), HttpResponse.BodyHandlers.ofString());
+
+        assertThat(shed.statusCode()).isEqualTo(503);
+        assertThat(shed.headers().firstValue("Retry-After")).contains("1");
+
+        slow.complete("slow");
+
+        assertThat(first.get().statusCode()).isEqualTo(200);
+        assertThat(client.send(request(port, "/fast"), HttpResponse.BodyHandlers.ofString()).body())
+                .isEqualTo("fast");
+    }
+
+    private static HttpRequest request(final int port, final String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.nexblocks.authguard.rest.streaming;
+
+import com.nexblocks.authguard.rest.mappers.RestMapperImpl;
+import com.nexblocks.authguard.service.exceptions.codes.ErrorCode;
+import com.nexblocks.authguard.service.model.AccountImportRecordBO;
+import com.nexblocks.authguard.service.model.UserIdentifier;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountImportReaderTest {
+
+    private List<AccountImportRecordBO> read(final String input, final AccountImportReader.Format format,
+                                             final long resumeAfter) {
+        List<AccountImportRecordBO> records = new ArrayList<>();
+
+        try (AccountImportReader reader = new AccountImportReader(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)),
+                format, "main", resumeAfter, new RestMapperImpl())) {
+            reader.forEachRemaining(records::add);
+        }
+
+        return records;
+    }
+
+    @Test
+    void readNdJson() {
+        String input = "{\"email\":{\"email\":\"first@test.net\"},\"plainPassword\":\"password\"}\n"
+                + "\n"
+                + "{\"email\":{\"email\":\"second@test.net\"},\"hashedPassword\":\"$2a$10$hash\",\"passwordVersion\":-1}\n";
+
+        List<AccountImportRecordBO> records = read(input, AccountImportReader.Format.NDJSON, 0);
+
+        assertThat(records).extracting(AccountImportRecordBO::getLine).containsExactly(1L, 3L);
+
+        assertThat(records.get(0).getAccount().getDomain()).isEqualTo("main");
+        assertThat(records.get(0).getAccount().getPlainPassword()).isEqualTo("password");
+
+        assertThat(records.get(1).getAccount().getHashedPassword().getPassword()).isEqualTo("$2a$10$hash");
+        assertThat(records.get(1).getAccount().getPasswordVersion()).isEqualTo(-1);
+    }
+
+    @Test
+    void readNdJsonInvalidRecords() {
+        String input = "not json\n"
+                + "{\"plainPassword\":\"password\"}\n"
+                + "{\"email\":{\"email\":\"user@test.net\"},\"hashedPassword\":\"hash\"}\n"
+                + "{\"domain\":\"other\",\"email\":{\"email\":\"user@test.net\"}}\n";
+
+        List<AccountImportRecordBO> records = read(input, AccountImportReader.Format.NDJSON, 0);
+
+        assertThat(records).hasSize(4);
+        assertThat(records).allMatch(record -> record.getAccount() == null);
+        assertThat(records).extracting(AccountImportRecordBO::getErrorCode).containsExactly(
+                ErrorCode.INVALID_REQUEST_VALUE.getCode(),
+                ErrorCode.INVALID_REQUEST_VALUE.getCode(),
+                ErrorCode.INVALID_REQUEST_VALUE.getCode(),
+                ErrorCode.ENTITY_OUT_OF_SCOPE.getCode());
+    }
+
+    @Test
+    void readCsv() {
+        String input = "username,email,emailVerified,roles,plainPassword,firstName\n"
+                + "first,first@test.net,true,admin;user,password,\"Smith, John\"\n"
+                + "second,second@test.net,false,,password,\"Say \"\"hi\"\"\"\n";
+
+        List<AccountImportRecordBO> records = read(input, AccountImportReader.Format.CSV, 0);
+
+        assertThat(records).extracting(AccountImportRecordBO::getLine).containsExactly(2L, 3L);
+
+        assertThat(records.get(0).getAccount().getFirstName()).isEqualTo("Smith, John");
+        assertThat(records.get(0).getAccount().getEmail().isVerified()).isTrue();
+        assertThat(records.get(0).getAccount().getRoles()).containsExactlyInAnyOrder("admin", "user");
+        assertThat(records.get(0).getAccount().getIdentifiers()).anyMatch(identifier ->
+                identifier.getType() == UserIdentifier.Type.USERNAME
+                        && identifier.getIdentifier().equals("first")
+                        && identifier.getDomain().equals("main"));
+
+        assertThat(records.get(1).getAccount().getFirstName()).isEqualTo("Say \"hi\"");
+        assertThat(records.get(1).getAccount().getRoles()).isEmpty();
+    }
+
+    @Test
+    void readResumesAfterCheckpoint() {
+        String input = "email,plainPassword\n"
+                + "first@test.net,password\n"
+                + "second@test.net,password\n"
+                + "third@test.net,password\n";
+
+        List<AccountImportRecordBO> records = read(input, AccountImportReader.Format.CSV, 3);
+
+        assertThat(records).hasSize(1);
+        assertThat(records.get(0).getLine()).isEqualTo(4);
+        assertThat(records.get(0).getAccount().getEmail().getEmail()).isEqualTo("third@test.net");
+    }
+}
@@ -0,0 +1,28 @@
+package com.nexblocks.authguard.service;
+
+import com.nexblocks.authguard.service.model.AccountImportRecordBO;
+import com.nexblocks.authguard.service.model.AccountImportResultBO;
+import com.nexblocks.authguard.service.model.AccountImportSummaryBO;
+
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Creates accounts in bulk from a stream of records. Unlike
+ * {@link AccountsService#create}, a failed record doesn't fail
+ * the whole import; it's reported in its result instead.
+ */
+public interface AccountImportService {
+    /**
+     * Reads the records in order and imports them in batches. The
+     * records are only read from the import thread, so they can be
+     * backed by a blocking source.
+     *
+     * @param consumer Receives the result of every record in the same
+     *                 order as the records, once its batch was saved.
+     *                 It's never called concurrently.
+     */
+    CompletableFuture<AccountImportSummaryBO> importAccounts(Iterator<AccountImportRecordBO> records, String domain,
+                                                           Consumer<AccountImportResultBO> consumer);
+}
@@ -22,6 +22,21 @@ public interface AccountsService extends IdempotentCrudService<AccountBO> {
     CompletableFuture<Optional<AccountBO>> getByIdentifier(String identifier, String domain);
     CompletableFuture<Optional<AccountBO>> getByIdentifierUnsafe(String identifier, String domain);
 
+    /**
+     * Finds an account with only the fields needed to authenticate it
+     * and to issue tokens for it: its ID, domain, external ID, active
+     * flag, email, phone number, password, roles, permissions, and
+     * identifiers. Like {@link #getByIdentifierUnsafe}, the password
+     * isn't removed. The result must not be used to update the account.
+     */
+    CompletableFuture<Optional<AccountBO>> getAuthAccountByIdentifier(String identifier, String domain);
+
+    /**
+     * Same as {@link #getAuthAccountByIdentifier} but by ID, and
+     * without checking the domain.
+     */
+    CompletableFuture<Optional<AccountBO>> getAuthAccountById(long id);
+
     CompletableFuture<Optional<AccountBO>> activate(long accountId, String domain);
 
     CompletableFuture<Optional<AccountBO>> deactivate(long accountId, String domain);
@@ -61,15 +76,17 @@ public interface AccountsService extends IdempotentCrudService<AccountBO> {
     CompletableFuture<Optional<AccountBO>> revokeRoles(long accountId, List<String> roles, String domain);
 
     /**
-     * Finds a list of all admins. This is useful only when deciding
-     * if a one-time admin account should be created or not.
+     * Finds a page of admins after the cursor. This is useful only
+     * when deciding if a one-time admin account should be created
+     * or not.
      */
-    CompletableFuture<List<AccountBO>> getAdmins();
+    CompletableFuture<List<AccountBO>> getAdmins(Long cursor);
 
     /**
-     * Finds a list of all accounts with a certain role.
-     * This is useful only when deciding if a one-time
-     * admin account should be created or not.
+     * Finds a page of the accounts with a certain role, ordered by
+     * their IDs. The ID of the last account of a page is the cursor
+     * of the next one. To go through all of them at once, use
+     * {@link ExportService#exportAccountsByRole}.
      */
-    CompletableFuture<List<AccountBO>> getByRole(String role, String domain);
+    CompletableFuture<List<AccountBO>> getByRole(String role, String domain, Long cursor);
 }
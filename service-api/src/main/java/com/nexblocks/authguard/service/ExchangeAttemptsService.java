@@ -4,9 +4,10 @@ import com.nexblocks.authguard.service.model.ExchangeAttemptBO;
 import com.nexblocks.authguard.service.model.ExchangeAttemptsQueryBO;
 
 import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 
 public interface ExchangeAttemptsService extends CrudService<ExchangeAttemptBO> {
-    Collection<ExchangeAttemptBO> getByEntityId(long entityId);
+    CompletableFuture<Collection<ExchangeAttemptBO>> getByEntityId(long entityId);
 
-    Collection<ExchangeAttemptBO> find(ExchangeAttemptsQueryBO query);
+    CompletableFuture<Collection<ExchangeAttemptBO>> find(ExchangeAttemptsQueryBO query);
 }
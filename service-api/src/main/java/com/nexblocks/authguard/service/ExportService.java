@@ -0,0 +1,43 @@
+package com.nexblocks.authguard.service;
+
+import com.nexblocks.authguard.service.model.AccountBO;
+import com.nexblocks.authguard.service.model.AppBO;
+import com.nexblocks.authguard.service.model.EventBO;
+import com.nexblocks.authguard.service.model.ExchangeAttemptBO;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Walks through all records of a type in ascending ID order and
+ * passes them to a consumer one page at a time, so that an export
+ * only ever holds a single page in memory. The next page isn't read
+ * until the consumer is done with the current one, which lets a slow
+ * consumer, like a network stream, throttle the export.
+ * <p>
+ * An export starts after the given cursor, which is the ID of the
+ * last record a previous export got to, or from the beginning if
+ * it's null. All methods return the number of exported records.
+ */
+public interface ExportService {
+    /**
+     * Exports accounts without their passwords.
+     */
+    CompletableFuture<Long> exportAccounts(String domain, Long cursor, Consumer<AccountBO> consumer);
+
+    /**
+     * Exports the accounts with a certain role without their passwords.
+     */
+    CompletableFuture<Long> exportAccountsByRole(String domain, String role, Long cursor,
+                                                 Consumer<AccountBO> consumer);
+
+    CompletableFuture<Long> exportApps(String domain, Long cursor, Consumer<AppBO> consumer);
+
+    CompletableFuture<Long> exportEvents(String domain, Long cursor, Consumer<EventBO> consumer);
+
+    /**
+     * Exports exchange attempts of all domains, since attempts
+     * aren't stored with one.
+     */
+    CompletableFuture<Long> exportExchangeAttempts(Long cursor, Consumer<ExchangeAttemptBO> consumer);
+}
@@ -9,7 +9,7 @@ import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 public interface PermissionsService extends CrudService<PermissionBO> {
-    List<PermissionBO> validate(Collection<PermissionBO> permissions, String domain, EntityType entityType);
+    CompletableFuture<List<PermissionBO>> validate(Collection<PermissionBO> permissions, String domain, EntityType entityType);
     CompletableFuture<List<PermissionBO>> getAll(String domain, Long cursor);
     CompletableFuture<List<PermissionBO>> getAllForGroup(String group, String domain, Long cursor);
     CompletableFuture<Optional<PermissionBO>> get(String domain, String group, String name);
@@ -11,5 +11,5 @@ import java.util.concurrent.CompletableFuture;
 public interface RolesService extends CrudService<RoleBO> {
     CompletableFuture<List<RoleBO>> getAll(String domain, Long cursor);
     CompletableFuture<Optional<RoleBO>> getRoleByName(String name, String domain);
-    List<String> verifyRoles(Collection<String> roles, String domain, EntityType entityType);
+    CompletableFuture<List<String>> verifyRoles(Collection<String> roles, String domain, EntityType entityType);
 }
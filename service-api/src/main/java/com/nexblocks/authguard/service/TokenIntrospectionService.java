@@ -0,0 +1,33 @@
+package com.nexblocks.authguard.service;
+
+import com.nexblocks.authguard.service.model.IntrospectionRequestBO;
+import com.nexblocks.authguard.service.model.IntrospectionResultBO;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Verifies tokens of different types without issuing new
+ * ones. A failed verification is reported as an inactive
+ * result rather than a failed future.
+ */
+public interface TokenIntrospectionService {
+    CompletableFuture<IntrospectionResultBO> introspect(IntrospectionRequestBO request, String domain);
+
+    /**
+     * Verifies all tokens in parallel and returns the results
+     * in the same order as the requests.
+     */
+    CompletableFuture<List<IntrospectionResultBO>> introspectAll(List<IntrospectionRequestBO> requests, String domain);
+
+    /**
+     * Verifies all tokens in parallel and passes each result
+     * to the consumer as soon as it's available. The consumer
+     * is never called concurrently.
+     */
+    CompletableFuture<Void> introspectAll(List<IntrospectionRequestBO> requests, String domain,
+                                          Consumer<IntrospectionResultBO> consumer);
+
+    int getStreamingThreshold();
+}
@@ -0,0 +1,99 @@
+package com.nexblocks.authguard.service.concurrent;
+
+import com.nexblocks.authguard.metrics.tracing.Traces;
+import com.nexblocks.authguard.service.util.NamedThreadFactory;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed pool of named threads with a bounded queue, which keeps
+ * track of how often it was full. What happens to a task which can't
+ * be queued depends on the pool; it's either rejected or run on the
+ * thread which submitted it, which slows that thread down instead.
+ * Tasks run under the trace span of the thread which submitted them.
+ */
+public class BoundedExecutor implements ServiceExecutor {
+    private final String name;
+    private final int queueCapacity;
+    private final ThreadPoolExecutor executor;
+    private final LongAdder saturated = new LongAdder();
+
+    private BoundedExecutor(final String name, final int threads, final int queueCapacity,
+                            final boolean runOnCallerWhenFull) {
+        this.name = name;
+        this.queueCapacity = queueCapacity;
+
+        RejectedExecutionHandler whenFull = runOnCallerWhenFull
+                ? new ThreadPoolExecutor.CallerRunsPolicy()
+                : new ThreadPoolExecutor.AbortPolicy();
+
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new NamedThreadFactory(name),
+                (runnable, pool) -> {
+                    saturated.increment();
+                    whenFull.rejectedExecution(runnable, pool);
+                });
+    }
+
+    /**
+     * Creates a pool which runs tasks on the calling thread once the
+     * queue is full.
+     */
+    public static BoundedExecutor runningOnCallerWhenFull(final String name, final int threads,
+                                                          final int queueCapacity) {
+        return new BoundedExecutor(name, threads, queueCapacity, true);
+    }
+
+    /**
+     * Creates a pool which throws a {@link RejectedExecutionException}
+     * once the queue is full.
+     */
+    public static BoundedExecutor rejectingWhenFull(final String name, final int threads,
+                                                    final int queueCapacity) {
+        return new BoundedExecutor(name, threads, queueCapacity, false);
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        executor.execute(Traces.propagate(command));
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public int getThreads() {
+        return executor.getMaximumPoolSize();
+    }
+
+    @Override
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    @Override
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    @Override
+    public long getCompletedCount() {
+        return executor.getCompletedTaskCount();
+    }
+
+    @Override
+    public long getSaturatedCount() {
+        return saturated.sum();
+    }
+
+    @Override
+    public double getSaturation() {
+        return (double) (getActiveCount() + getQueuedCount()) / (getThreads() + queueCapacity);
+    }
+}
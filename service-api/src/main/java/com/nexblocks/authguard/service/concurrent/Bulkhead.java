@@ -0,0 +1,72 @@
+package com.nexblocks.authguard.service.concurrent;
+
+import com.nexblocks.authguard.service.exceptions.ServiceUnavailableException;
+import com.nexblocks.authguard.service.exceptions.codes.ErrorCode;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of calls which can be in progress on a single
+ * repository, so that a slow store fails fast with a
+ * {@link ServiceUnavailableException} instead of holding on to every
+ * request which needs it.
+ */
+public class Bulkhead {
+    private final String name;
+    private final int limit;
+    private final Semaphore permits;
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param limit The number of calls which can be in progress at the
+     *              same time, or 0 for no limit.
+     */
+    public Bulkhead(final String name, final int limit) {
+        this.name = name;
+        this.limit = limit;
+        this.permits = limit > 0 ? new Semaphore(limit) : null;
+    }
+
+    public <T> CompletableFuture<T> call(final Supplier<CompletableFuture<T>> call) {
+        if (permits == null) {
+            return call.get();
+        }
+
+        if (!permits.tryAcquire()) {
+            rejected.increment();
+
+            return CompletableFuture.failedFuture(new ServiceUnavailableException(ErrorCode.REPOSITORY_OVERLOADED,
+                    "Too many calls to " + name + " are in progress, try again later"));
+        }
+
+        CompletableFuture<T> result;
+
+        try {
+            result = call.get();
+        } catch (final RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+
+        return result.whenComplete((ignored, e) -> permits.release());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInProgress() {
+        return permits == null ? 0 : limit - permits.availablePermits();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+}
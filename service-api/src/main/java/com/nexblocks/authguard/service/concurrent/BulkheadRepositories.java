@@ -0,0 +1,154 @@
+package com.nexblocks.authguard.service.concurrent;
+
+import com.nexblocks.authguard.metrics.Counter;
+import com.nexblocks.authguard.metrics.MetricFamily;
+import com.nexblocks.authguard.metrics.MetricsRegistry;
+import com.nexblocks.authguard.metrics.events.RepositoryCallEvent;
+import com.nexblocks.authguard.metrics.tracing.Traces;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Puts a repository behind a {@link Bulkhead}. Every method which
+ * returns a {@link CompletableFuture} counts towards the limit of the
+ * bulkhead until its future completes, and whatever follows it runs on
+ * the given executor rather than on the thread of the DAL plugin.
+ * Other methods are called as they are.
+ * <p>
+ * The outcome of every asynchronous call is counted per method, with
+ * calls rejected by the bulkhead counted as failures, and recorded as
+ * a {@link RepositoryCallEvent} when Flight Recorder is running, and
+ * traced as a span when it's made within a sampled trace.
+ */
+public final class BulkheadRepositories {
+    private static final String REPOSITORY_SUFFIX = "Repository";
+
+    private BulkheadRepositories() {
+    }
+
+    public static <T> T wrap(final Class<T> repositoryType, final T repository,
+                             final Bulkhead bulkhead, final Executor completions) {
+        return wrap(repositoryType, repository, bulkhead, completions, new MetricsRegistry());
+    }
+
+    public static <T> T wrap(final Class<T> repositoryType, final T repository,
+                             final Bulkhead bulkhead, final Executor completions,
+                             final MetricsRegistry metrics) {
+        Map<Method, InstrumentedMethod> instrumented = instrument(repositoryType, metrics);
+        String repositoryName = nameOf(repositoryType);
+
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return invoke(repository, method, args);
+            }
+
+            if (!CompletableFuture.class.isAssignableFrom(method.getReturnType())) {
+                return invoke(repository, method, args);
+            }
+
+            InstrumentedMethod instrumentedMethod = instrumented.get(method);
+            String spanName = instrumentedMethod == null
+                    ? repositoryName + "." + method.getName()
+                    : instrumentedMethod.spanName;
+
+            CompletableFuture<Object> future = Traces.traceAsync(spanName,
+                    () -> new RepositoryCallEvent(repositoryName, method.getName())
+                            .recordAsync(() -> bulkhead.call(() -> {
+                                CompletableFuture<Object> result = invokeAsync(repository, method, args);
+
+                                // a repository which answered right away didn't block anyone
+                                return result.isDone()
+                                        ? result
+                                        : result.whenCompleteAsync((ignored, e) -> {}, completions);
+                            })));
+
+            if (instrumentedMethod != null) {
+                future.whenComplete((ignored, e) -> (e == null
+                        ? instrumentedMethod.successes
+                        : instrumentedMethod.failures).increment());
+            }
+
+            return future;
+        };
+
+        return repositoryType.cast(Proxy.newProxyInstance(repositoryType.getClassLoader(),
+                new Class<?>[] { repositoryType }, handler));
+    }
+
+    /**
+     * @return The name of the bulkhead of a repository, which is its
+     *         name without the suffix, e.g. accountTokens for
+     *         AccountTokensRepository.
+     */
+    public static String nameOf(final Class<?> repositoryType) {
+        String name = repositoryType.getSimpleName();
+
+        if (name.endsWith(REPOSITORY_SUFFIX) && name.length() > REPOSITORY_SUFFIX.length()) {
+            name = name.substring(0, name.length() - REPOSITORY_SUFFIX.length());
+        }
+
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /*
+     * The counters and names are looked up once here so that a call
+     * only has to find its method in a map which never changes.
+     */
+    private static Map<Method, InstrumentedMethod> instrument(final Class<?> repositoryType,
+                                                              final MetricsRegistry metrics) {
+        MetricFamily<Counter> calls = metrics.counter("authguard_repository_calls_total",
+                "Asynchronous calls to each repository method by their outcome",
+                "repository", "method", "result");
+        String repository = nameOf(repositoryType);
+        Map<Method, InstrumentedMethod> instrumented = new HashMap<>();
+
+        for (Method method : repositoryType.getMethods()) {
+            if (CompletableFuture.class.isAssignableFrom(method.getReturnType())) {
+                instrumented.put(method, new InstrumentedMethod(repository + "." + method.getName(),
+                        calls.labels(repository, method.getName(), "success"),
+                        calls.labels(repository, method.getName(), "failure")));
+            }
+        }
+
+        return instrumented;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<Object> invokeAsync(final Object target, final Method method,
+                                                         final Object[] args) {
+        try {
+            return (CompletableFuture<Object>) invoke(target, method, args);
+        } catch (final RuntimeException | Error e) {
+            throw e;
+        } catch (final Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (final InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class InstrumentedMethod {
+        private final String spanName;
+        private final Counter successes;
+        private final Counter failures;
+
+        private InstrumentedMethod(final String spanName, final Counter successes, final Counter failures) {
+            this.spanName = spanName;
+            this.successes = successes;
+            this.failures = failures;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.nexblocks.authguard.service.concurrent;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.nexblocks.authguard.config.ConfigContext;
+import com.nexblocks.authguard.service.config.ExecutionConfig;
+import com.nexblocks.authguard.service.config.ExecutorConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * The pools which service stages are assigned to, one per concern, and
+ * the bulkheads of the repositories. Work which is assigned to a pool
+ * is never left to whichever thread completes a future or to the
+ * common pool, so one slow concern can't starve the others.
+ * <p>
+ * Pools which are owned by other components, like password hashing,
+ * register themselves here so that all of them can be watched in one
+ * place.
+ * <p>
+ * In virtual threads mode, the DAL and messaging pools start a virtual
+ * thread for each task instead, which suits plugins and subscribers
+ * that block, and pinned virtual threads are reported by a
+ * {@link PinningMonitor}. The mode needs a JDK with virtual threads;
+ * on older ones the platform pools are used.
+ */
+@Singleton
+public class ExecutionPools {
+    private static final Logger LOG = LoggerFactory.getLogger(ExecutionPools.class);
+
+    public static final String DAL = "dal";
+    public static final String CRYPTO = "crypto";
+    public static final String MESSAGING = "messaging";
+
+    private static final Duration PINNING_THRESHOLD = Duration.ofMillis(20);
+
+    private final ExecutionConfig config;
+    private final Map<String, ServiceExecutor> executors = new ConcurrentHashMap<>();
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+    private final PinningMonitor pinningMonitor;
+
+    @Inject
+    public ExecutionPools(final @Named("execution") ConfigContext configContext) {
+        this(configContext.asConfigBean(ExecutionConfig.class));
+    }
+
+    public ExecutionPools(final ExecutionConfig config) {
+        this(config, false);
+    }
+
+    public ExecutionPools(final ExecutionConfig config, final boolean virtualThreads) {
+        this.config = config;
+
+        boolean useVirtualThreads = virtualThreads && VirtualThreads.isAvailable();
+
+        if (virtualThreads && !useVirtualThreads) {
+            LOG.warn("Virtual threads were enabled but Java {} doesn't have them, using platform threads instead",
+                    System.getProperty("java.specification.version"));
+        }
+
+        if (useVirtualThreads) {
+            createVirtual(DAL);
+            createVirtual(MESSAGING);
+            this.pinningMonitor = new PinningMonitor(PINNING_THRESHOLD);
+        } else {
+            create(DAL, config.getDal());
+            create(MESSAGING, config.getMessaging());
+            this.pinningMonitor = null;
+        }
+
+        // crypto is CPU bound, so it wouldn't gain anything from virtual threads
+        create(CRYPTO, config.getCrypto());
+    }
+
+    /**
+     * Continues the work which follows a repository call.
+     */
+    public Executor dal() {
+        return executors.get(DAL);
+    }
+
+    public Executor crypto() {
+        return executors.get(CRYPTO);
+    }
+
+    public Executor messaging() {
+        return executors.get(MESSAGING);
+    }
+
+    /**
+     * Adds a pool which is owned by another component to the ones
+     * returned by {@link #getExecutors()}.
+     */
+    public void register(final ServiceExecutor executor) {
+        executors.put(executor.getName(), executor);
+    }
+
+    /**
+     * @param repository The name of the repository, as it appears in
+     *                   the configuration.
+     */
+    public Bulkhead bulkhead(final String repository) {
+        return bulkheads.computeIfAbsent(repository, name -> {
+            int limit = config.getBulkheads().getOrDefault(name, config.getDefaultBulkhead());
+
+            LOG.info("Bulkhead of {} initialized. limit={}", name, limit);
+
+            return new Bulkhead(name, limit);
+        });
+    }
+
+    public boolean isUsingVirtualThreads() {
+        return pinningMonitor != null;
+    }
+
+    public Collection<ServiceExecutor> getExecutors() {
+        return Collections.unmodifiableCollection(new ArrayList<>(executors.values()));
+    }
+
+    public Collection<Bulkhead> getBulkheads() {
+        return Collections.unmodifiableCollection(new ArrayList<>(bulkheads.values()));
+    }
+
+    /**
+     * @return How many times each frame pinned a virtual thread, or
+     *         nothing if virtual threads aren't used.
+     */
+    public Map<String, Long> getPinningHotSpots() {
+        return pinningMonitor == null ? Collections.emptyMap() : pinningMonitor.getHotSpots();
+    }
+
+    private void createVirtual(final String name) {
+        executors.put(name, new VirtualThreadExecutor(name));
+
+        LOG.info("Executor {} initialized with virtual threads", name);
+    }
+
+    private void create(final String name, final ExecutorConfig executorConfig) {
+        executors.put(name, BoundedExecutor.runningOnCallerWhenFull(name, executorConfig.getThreads(),
+                executorConfig.getQueueSize()));
+
+        LOG.info("Executor {} initialized. threads={}, queueSize={}", name,
+                executorConfig.getThreads(), executorConfig.getQueueSize());
+    }
+}
@@ -0,0 +1,181 @@
+package com.nexblocks.authguard.service.concurrent;
+
+import com.nexblocks.authguard.dal.repository.ExpiringRecordRepository;
+import com.nexblocks.authguard.metrics.Counter;
+import com.nexblocks.authguard.metrics.Gauge;
+import com.nexblocks.authguard.metrics.MetricFamily;
+import com.nexblocks.authguard.metrics.MetricsRegistry;
+import com.nexblocks.authguard.service.config.ConfigParser;
+import com.nexblocks.authguard.service.config.SweeperConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Purges expired records, like account tokens, sessions, OTPs, and
+ * account locks, from the repositories which keep them. Without it, a
+ * record is only deleted if someone presents it after it expired.
+ * <p>
+ * Each pass goes over the repositories one at a time, and deletes the
+ * records of each in batches through
+ * {@link ExpiringRecordRepository#deleteExpiredBefore(Instant, int)}.
+ * Only one batch is in progress at a time, and batches are spaced out
+ * to the configured rate, so a large backlog is worked off over several
+ * passes rather than competing with requests. The backlog and the
+ * number of purged records of each repository are exported as metrics.
+ */
+public class ExpirySweeper implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(ExpirySweeper.class);
+
+    private final List<Target> targets = new ArrayList<>();
+    private final SweeperConfig config;
+    private final Duration interval;
+    private final Executor pause;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile boolean closed;
+
+    /**
+     * @param repositories The repositories to sweep by their names, which
+     *                     are used as the label of their metrics.
+     */
+    public ExpirySweeper(final Map<String, ? extends ExpiringRecordRepository> repositories,
+                         final SweeperConfig config, final MetricsRegistry metrics) {
+        MetricFamily<Gauge> backlog = metrics.gauge("authguard_sweeper_backlog",
+                "Expired records which are yet to be purged", "repository");
+        MetricFamily<Counter> purged = metrics.counter("authguard_sweeper_purged_total",
+                "Expired records which were purged", "repository");
+        MetricFamily<Counter> failures = metrics.counter("authguard_sweeper_failures_total",
+                "Passes over a repository which failed", "repository");
+
+        repositories.forEach((name, repository) -> targets.add(new Target(name, repository,
+                backlog.labels(name), purged.labels(name), failures.labels(name))));
+
+        this.config = config;
+        this.interval = ConfigParser.parseDuration(config.getInterval());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "expiry-sweeper");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        this.pause = CompletableFuture.delayedExecutor(1000L / Math.max(config.getBatchesPerSecond(), 1),
+                TimeUnit.MILLISECONDS, scheduler);
+    }
+
+    /**
+     * Runs a pass after every interval until the sweeper is closed. The
+     * first one only starts after the first interval, so that it doesn't
+     * add to the load of a node which just started.
+     */
+    public void start() {
+        LOG.info("Sweeping expired records from {} every {}",
+                targets.stream().map(target -> target.name).collect(Collectors.toList()), interval);
+
+        scheduleNext();
+    }
+
+    private void scheduleNext() {
+        if (closed) {
+            return;
+        }
+
+        scheduler.schedule(() -> sweep().whenComplete((ignored, e) -> scheduleNext()),
+                interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs a single pass over all repositories. A repository which fails
+     * is skipped until the next pass.
+     *
+     * @return The number of records which were purged from each
+     *         repository.
+     */
+    public CompletableFuture<Map<String, Integer>> sweep() {
+        Instant before = Instant.now();
+        Map<String, Integer> results = new LinkedHashMap<>();
+        CompletableFuture<Void> pass = CompletableFuture.completedFuture(null);
+
+        for (Target target : targets) {
+            pass = pass.thenCompose(ignored -> sweep(target, before)
+                    .exceptionally(e -> {
+                        LOG.warn("Failed to purge expired records from {}", target.name, e);
+                        target.failures.increment();
+
+                        return 0;
+                    })
+                    .thenAccept(purged -> results.put(target.name, purged)));
+        }
+
+        return pass.thenApply(ignored -> {
+            LOG.debug("Purged expired records. purged={}", results);
+
+            return results;
+        });
+    }
+
+    private CompletableFuture<Integer> sweep(final Target target, final Instant before) {
+        return target.repository.countExpiredBefore(before)
+                .thenCompose(count -> {
+                    target.backlog.set(count);
+
+                    return deleteBatches(target, before, count, 0, 0);
+                });
+    }
+
+    private CompletableFuture<Integer> deleteBatches(final Target target, final Instant before, final long count,
+                                                     final int batch, final int purgedSoFar) {
+        int batchSize = config.getBatchSize();
+
+        return CompletableFuture.runAsync(() -> {}, pause)
+                .thenCompose(ignored -> target.repository.deleteExpiredBefore(before, batchSize))
+                .thenCompose(deleted -> {
+                    int purged = purgedSoFar + deleted;
+
+                    target.purged.add(deleted);
+                    target.backlog.set(Math.max(count - purged, 0));
+
+                    // a batch which isn't full means that nothing is left
+                    if (deleted < batchSize || batch + 1 >= config.getMaxBatchesPerPass() || closed) {
+                        return CompletableFuture.completedFuture(purged);
+                    }
+
+                    return deleteBatches(target, before, count, batch + 1, purged);
+                });
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        scheduler.shutdownNow();
+    }
+
+    private static final class Target {
+        private final String name;
+        private final ExpiringRecordRepository repository;
+        private final Gauge backlog;
+        private final Counter purged;
+        private final Counter failures;
+
+        private Target(final String name, final ExpiringRecordRepository repository, final Gauge backlog,
+                       final Counter purged, final Counter failures) {
+            this.name = name;
+            this.repository = repository;
+            this.backlog = backlog;
+            this.purged = purged;
+            this.failures = failures;
+        }
+    }
+}
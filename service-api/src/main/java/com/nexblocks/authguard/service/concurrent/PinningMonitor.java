@@ -0,0 +1,95 @@
+package com.nexblocks.authguard.service.concurrent;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Watches for virtual threads which block while pinned to their
+ * carrier thread, usually inside a synchronized block or a native
+ * call, and counts them by the first frame outside of the JDK. Those
+ * are the places which hold on to a carrier thread as if virtual
+ * threads weren't there.
+ * <p>
+ * It relies on the jdk.VirtualThreadPinned event, so it should only
+ * be started on JDKs which have virtual threads.
+ */
+public class PinningMonitor implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(PinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOG_EVERY = 100;
+
+    private final Map<String, LongAdder> hotSpots = new ConcurrentHashMap<>();
+    private final RecordingStream stream;
+
+    /**
+     * @param threshold How long a thread has to stay pinned for it
+     *                  to be counted.
+     */
+    public PinningMonitor(final Duration threshold) {
+        this.stream = new RecordingStream();
+
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+
+        LOG.info("Watching for pinned virtual threads. threshold={}ms", threshold.toMillis());
+    }
+
+    /**
+     * @return How many times each frame pinned a virtual thread.
+     */
+    public Map<String, Long> getHotSpots() {
+        Map<String, Long> counts = new TreeMap<>();
+
+        hotSpots.forEach((frame, count) -> counts.put(frame, count.sum()));
+
+        return Collections.unmodifiableMap(counts);
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+
+    private void record(final RecordedEvent event) {
+        String frame = firstApplicationFrame(event.getStackTrace());
+        LongAdder count = hotSpots.computeIfAbsent(frame, ignored -> new LongAdder());
+
+        count.increment();
+
+        long total = count.sum();
+
+        if (total == 1 || total % LOG_EVERY == 0) {
+            LOG.warn("A virtual thread was pinned while blocking. frame={}, duration={}ms, count={}",
+                    frame, event.getDuration().toMillis(), total);
+        }
+    }
+
+    private static String firstApplicationFrame(final RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+
+        return "jdk";
+    }
+}
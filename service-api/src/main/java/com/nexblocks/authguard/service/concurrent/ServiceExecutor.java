@@ -0,0 +1,29 @@
+package com.nexblocks.authguard.service.concurrent;
+
+import java.util.concurrent.Executor;
+
+/**
+ * An executor which a service stage can be assigned to, with the
+ * numbers needed to tell how busy it is.
+ */
+public interface ServiceExecutor extends Executor {
+    String getName();
+
+    int getActiveCount();
+
+    int getQueuedCount();
+
+    long getCompletedCount();
+
+    /**
+     * @return The number of tasks which found the executor full.
+     */
+    long getSaturatedCount();
+
+    /**
+     * @return How full the executor is, from 0 when it's idle to 1
+     *         when it can't take any more tasks without rejecting
+     *         them or running them on the caller.
+     */
+    double getSaturation();
+}
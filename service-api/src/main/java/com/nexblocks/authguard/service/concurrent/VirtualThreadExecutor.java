@@ -0,0 +1,70 @@
+package com.nexblocks.authguard.service.concurrent;
+
+import com.nexblocks.authguard.metrics.tracing.Traces;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs every task on a new virtual thread. There's nothing to queue
+ * and nothing to saturate, so only the running and completed tasks
+ * are counted; the repository bulkheads are what limits how many
+ * calls can block at the same time.
+ */
+public class VirtualThreadExecutor implements ServiceExecutor {
+    private final String name;
+    private final ExecutorService executor;
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+
+    public VirtualThreadExecutor(final String name) {
+        this.name = name;
+        this.executor = VirtualThreads.newExecutor(name);
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        Runnable traced = Traces.propagate(command);
+
+        executor.execute(() -> {
+            active.incrementAndGet();
+
+            try {
+                traced.run();
+            } finally {
+                active.decrementAndGet();
+                completed.increment();
+            }
+        });
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    @Override
+    public int getQueuedCount() {
+        return 0;
+    }
+
+    @Override
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    @Override
+    public long getSaturatedCount() {
+        return 0;
+    }
+
+    @Override
+    public double getSaturation() {
+        return 0;
+    }
+}
@@ -0,0 +1,85 @@
+package com.nexblocks.authguard.service.concurrent;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to virtual threads on JDKs which have them. The project is
+ * still built for Java 11, so the API is looked up at runtime instead
+ * of being called directly.
+ */
+public final class VirtualThreads {
+    private static final MethodHandle OF_VIRTUAL;
+    private static final MethodHandle NAME;
+    private static final MethodHandle FACTORY;
+    private static final MethodHandle THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        MethodHandle ofVirtual = null;
+        MethodHandle name = null;
+        MethodHandle factory = null;
+        MethodHandle threadPerTaskExecutor = null;
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            Class<?> virtualBuilder = Class.forName("java.lang.Thread$Builder$OfVirtual");
+
+            ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(virtualBuilder));
+            name = lookup.findVirtual(virtualBuilder, "name",
+                    MethodType.methodType(virtualBuilder, String.class, long.class));
+            factory = lookup.findVirtual(builder, "factory", MethodType.methodType(ThreadFactory.class));
+            threadPerTaskExecutor = lookup.findStatic(java.util.concurrent.Executors.class,
+                    "newThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class, ThreadFactory.class));
+        } catch (final ReflectiveOperationException e) {
+            // not available on this JDK
+        }
+
+        if (threadPerTaskExecutor != null) {
+            OF_VIRTUAL = ofVirtual;
+            NAME = name;
+            FACTORY = factory;
+            THREAD_PER_TASK_EXECUTOR = threadPerTaskExecutor;
+        } else {
+            OF_VIRTUAL = null;
+            NAME = null;
+            FACTORY = null;
+            THREAD_PER_TASK_EXECUTOR = null;
+        }
+    }
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isAvailable() {
+        return THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Creates an executor which starts a new virtual thread for every
+     * task. The threads are named authguard-{name}-virtual-{n}.
+     *
+     * @throws UnsupportedOperationException If the JDK doesn't have
+     *         virtual threads.
+     */
+    public static ExecutorService newExecutor(final String name) {
+        if (!isAvailable()) {
+            throw new UnsupportedOperationException("Virtual threads are not available on Java "
+                    + System.getProperty("java.specification.version"));
+        }
+
+        try {
+            Object builder = NAME.invoke(OF_VIRTUAL.invoke(), "authguard-" + name + "-virtual-", 1L);
+            ThreadFactory factory = (ThreadFactory) FACTORY.invoke(builder);
+
+            return (ExecutorService) THREAD_PER_TASK_EXECUTOR.invoke(factory);
+        } catch (final RuntimeException | Error e) {
+            throw e;
+        } catch (final Throwable e) {
+            throw new IllegalStateException("Failed to create a virtual thread executor", e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.nexblocks.authguard.service.config;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.immutables.value.Value;
+
+@Value.Immutable
+@ConfigStyle
+@JsonDeserialize(as = AccountImportConfig.class)
+public interface AccountImportConfigInterface {
+    /**
+     * The number of accounts written to the repository
+     * in a single save.
+     */
+    @Value.Default
+    default Integer getBatchSize() {
+        return 500;
+    }
+
+    /**
+     * The number of imports which can run at the same time.
+     * Any more are rejected until one of them finishes.
+     */
+    @Value.Default
+    default Integer getMaxConcurrentImports() {
+        return 2;
+    }
+
+    /**
+     * The number of passwords a single import can have
+     * waiting on the hashing executor. It should stay below
+     * the executor queue size to leave room for logins.
+     */
+    @Value.Default
+    default Integer getMaxInFlightHashes() {
+        return 32;
+    }
+}
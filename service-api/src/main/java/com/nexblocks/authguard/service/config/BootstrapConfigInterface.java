@@ -0,0 +1,26 @@
+package com.nexblocks.authguard.service.config;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.immutables.value.Value;
+
+@Value.Immutable
+@ConfigStyle
+@JsonDeserialize(as = BootstrapConfig.class)
+public interface BootstrapConfigInterface {
+    /**
+     * The number of bootstrap steps which can run at the same time.
+     */
+    @Value.Default
+    default Integer getConcurrency() {
+        return 4;
+    }
+
+    /**
+     * Whether to start the server once the critical bootstrap steps
+     * are done and let the rest finish in the background.
+     */
+    @Value.Default
+    default Boolean finishNonCriticalInBackground() {
+        return false;
+    }
+}
@@ -4,6 +4,10 @@ import java.time.Duration;
 
 public class ConfigParser {
     public static Duration parseDuration(final String str) {
+        if (str.endsWith("ms")) {
+            return Duration.ofMillis(Integer.parseInt(str.substring(0, str.length() - 2)));
+        }
+
         final int amount = Integer.parseInt(str.substring(0, str.length() - 1));
         final char unit = str.charAt(str.length() - 1);
 
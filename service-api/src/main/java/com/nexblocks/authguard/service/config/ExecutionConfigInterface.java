@@ -0,0 +1,58 @@
+package com.nexblocks.authguard.service.config;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.immutables.value.Value;
+
+import java.util.Map;
+
+@Value.Immutable
+@ConfigStyle
+@JsonDeserialize(as = ExecutionConfig.class)
+public interface ExecutionConfigInterface {
+    /**
+     * The pool which continues the work after a repository call
+     * completes, instead of the thread of the DAL plugin.
+     */
+    @Value.Default
+    default ExecutorConfig getDal() {
+        return ExecutorConfig.builder()
+                .threads(2 * Runtime.getRuntime().availableProcessors())
+                .build();
+    }
+
+    /**
+     * The pool which encrypts and decrypts keys.
+     */
+    @Value.Default
+    default ExecutorConfig getCrypto() {
+        return ExecutorConfig.builder().build();
+    }
+
+    /**
+     * The pool which delivers messages to the subscribers of the
+     * message bus.
+     */
+    @Value.Default
+    default ExecutorConfig getMessaging() {
+        return ExecutorConfig.builder().build();
+    }
+
+    /**
+     * The number of calls which can be in progress on a single
+     * repository at the same time, unless it has its own limit
+     * in {@link #getBulkheads()}. A value of 0, the default, disables
+     * the limit. Once a limit is reached, further calls fail right away
+     * with REPOSITORY_OVERLOADED, which is returned as a 503, instead
+     * of waiting for the repository.
+     */
+    @Value.Default
+    default Integer getDefaultBulkhead() {
+        return 0;
+    }
+
+    /**
+     * The limit of each repository, by the name of the repository
+     * without the "Repository" suffix, e.g. accounts or accountTokens.
+     */
+    Map<String, Integer> getBulkheads();
+}
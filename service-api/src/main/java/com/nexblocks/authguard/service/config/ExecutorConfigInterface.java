@@ -0,0 +1,26 @@
+package com.nexblocks.authguard.service.config;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.immutables.value.Value;
+
+@Value.Immutable
+@ConfigStyle
+@JsonDeserialize(as = ExecutorConfig.class)
+public interface ExecutorConfigInterface {
+    /**
+     * The number of threads in the pool.
+     */
+    @Value.Default
+    default Integer getThreads() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * The number of tasks which can wait for a free thread. Any
+     * more run on the thread which submitted them.
+     */
+    @Value.Default
+    default Integer getQueueSize() {
+        return 1024;
+    }
+}
@@ -0,0 +1,27 @@
+package com.nexblocks.authguard.service.config;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.immutables.value.Value;
+
+@Value.Immutable
+@ConfigStyle
+@JsonDeserialize(as = ExportConfig.class)
+public interface ExportConfigInterface {
+    /**
+     * The number of records read from the repository
+     * at a time.
+     */
+    @Value.Default
+    default Integer getPageSize() {
+        return 500;
+    }
+
+    /**
+     * The number of exports which can run at the same time.
+     * Any more are rejected until one of them finishes.
+     */
+    @Value.Default
+    default Integer getMaxConcurrentExports() {
+        return 2;
+    }
+}
@@ -0,0 +1,32 @@
+package com.nexblocks.authguard.service.config;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.immutables.value.Value;
+
+@Value.Immutable
+@ConfigStyle
+@JsonDeserialize(as = IdsConfig.class)
+public interface IdsConfigInterface {
+    /**
+     * The ID of this node, which has to be unique among all the nodes
+     * which share the same database. Takes precedence over the
+     * environment variable and the lease directory.
+     */
+    Integer getNodeId();
+
+    /**
+     * The environment variable to read the node ID from if it isn't
+     * set in the configuration.
+     */
+    @Value.Default
+    default String getNodeIdVariable() {
+        return "AUTHGUARD_NODE_ID";
+    }
+
+    /**
+     * A directory which all the nodes share, to lease the lowest free
+     * node ID from if it isn't set in the configuration or the
+     * environment.
+     */
+    String getLeaseDirectory();
+}
@@ -0,0 +1,36 @@
+package com.nexblocks.authguard.service.config;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.immutables.value.Value;
+
+@Value.Immutable
+@ConfigStyle
+@JsonDeserialize(as = IntrospectionConfig.class)
+public interface IntrospectionConfigInterface {
+    /**
+     * The maximum number of tokens accepted in a single
+     * batch request.
+     */
+    @Value.Default
+    default Integer getMaxBatchSize() {
+        return 100;
+    }
+
+    /**
+     * The number of threads which can run verifications
+     * at the same time.
+     */
+    @Value.Default
+    default Integer getParallelism() {
+        return 4;
+    }
+
+    /**
+     * Batches larger than this will have their results
+     * streamed back as they complete.
+     */
+    @Value.Default
+    default Integer getStreamingThreshold() {
+        return 50;
+    }
+}
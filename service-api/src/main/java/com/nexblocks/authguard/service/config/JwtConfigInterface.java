@@ -24,4 +24,15 @@ public interface JwtConfigInterface {
     }
 
     boolean checkRefreshTokenRequestIp();
+
+    /**
+     * Whether refresh tokens which were issued in the format from
+     * before they had a prefix are still accepted. It's off by default,
+     * and should only be turned on while upgrading, until the longest
+     * refresh token life has passed since the upgrade.
+     */
+    @Value.Default
+    default boolean acceptLegacyRefreshTokens() {
+        return false;
+    }
 }
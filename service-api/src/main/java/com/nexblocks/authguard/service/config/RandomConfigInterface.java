@@ -0,0 +1,43 @@
+package com.nexblocks.authguard.service.config;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.immutables.value.Value;
+
+@Value.Immutable
+@ConfigStyle
+@JsonDeserialize(as = RandomConfig.class)
+public interface RandomConfigInterface {
+    /**
+     * The SecureRandom algorithm which generates tokens, salts, and
+     * nonces, e.g. DRBG or NativePRNGNonBlocking. Neither blocks once
+     * the OS has gathered enough entropy after booting.
+     */
+    @Value.Default
+    default String getAlgorithm() {
+        return "DRBG";
+    }
+
+    /**
+     * The number of generators which threads can use at the same time.
+     */
+    @Value.Default
+    default Integer getStripes() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * The number of bytes which each generator produces at a time.
+     */
+    @Value.Default
+    default Integer getBufferSize() {
+        return 4096;
+    }
+
+    /**
+     * How long a generator is used before it's reseeded, e.g. 1h.
+     */
+    @Value.Default
+    default String getReseedInterval() {
+        return "1h";
+    }
+}
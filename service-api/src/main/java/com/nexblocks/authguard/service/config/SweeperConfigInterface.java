@@ -0,0 +1,51 @@
+package com.nexblocks.authguard.service.config;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.immutables.value.Value;
+
+@Value.Immutable
+@ConfigStyle
+@JsonDeserialize(as = SweeperConfig.class)
+public interface SweeperConfigInterface {
+    @Value.Default
+    default boolean enabled() {
+        return true;
+    }
+
+    /**
+     * How long the sweeper waits after a pass over all repositories
+     * before it starts the next one, e.g. 1m.
+     */
+    @Value.Default
+    default String getInterval() {
+        return "1m";
+    }
+
+    /**
+     * The number of expired records which are deleted at a time.
+     */
+    @Value.Default
+    default Integer getBatchSize() {
+        return 500;
+    }
+
+    /**
+     * The number of batches which are deleted per second at most, so
+     * that a large backlog is worked off slowly rather than competing
+     * with requests for the database.
+     */
+    @Value.Default
+    default Integer getBatchesPerSecond() {
+        return 5;
+    }
+
+    /**
+     * The number of batches which are deleted from each repository in
+     * a single pass at most. Whatever is left is picked up by the next
+     * pass.
+     */
+    @Value.Default
+    default Integer getMaxBatchesPerPass() {
+        return 100;
+    }
+}
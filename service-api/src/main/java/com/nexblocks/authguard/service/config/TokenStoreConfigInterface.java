@@ -0,0 +1,41 @@
+package com.nexblocks.authguard.service.config;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.immutables.value.Value;
+
+@Value.Immutable
+@ConfigStyle
+@JsonDeserialize(as = TokenStoreConfig.class)
+public interface TokenStoreConfigInterface {
+    String DURABLE = "durable";
+    String MEMORY = "memory";
+
+    /**
+     * Where tokens of the type are kept: durable for the DAL plugin, or
+     * memory to keep them on the heap of this node. Tokens in memory are
+     * lost on a restart and only seen by the node which issued them, so
+     * it only suits short-lived tokens behind sticky sessions or on a
+     * single node.
+     */
+    @Value.Default
+    default String getStore() {
+        return DURABLE;
+    }
+
+    /**
+     * The number of tokens which are kept in memory at most. Issuing a
+     * token fails while the store is full of unexpired tokens.
+     */
+    @Value.Default
+    default Integer getMaxEntries() {
+        return 100_000;
+    }
+
+    /**
+     * How often expired tokens are removed from memory, e.g. 1m.
+     */
+    @Value.Default
+    default String getSweepInterval() {
+        return "1m";
+    }
+}
@@ -0,0 +1,18 @@
+package com.nexblocks.authguard.service.config;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.immutables.value.Value;
+
+import java.util.Map;
+
+@Value.Immutable
+@ConfigStyle
+@JsonDeserialize(as = TokenStoresConfig.class)
+public interface TokenStoresConfigInterface {
+    /**
+     * The store of each token type, by the name of the type, e.g.
+     * authorizationCode or refreshToken. Types which aren't listed are
+     * kept by the DAL plugin.
+     */
+    Map<String, TokenStoreConfig> getTypes();
+}
@@ -0,0 +1,27 @@
+package com.nexblocks.authguard.service.config;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.immutables.value.Value;
+
+@Value.Immutable
+@ConfigStyle
+@JsonDeserialize(as = TracingConfig.class)
+public interface TracingConfigInterface {
+    /**
+     * About how many traces are recorded each second, whatever the
+     * request rate is. A value of 0 disables tracing.
+     */
+    @Value.Default
+    default Integer getSamplesPerSecond() {
+        return 10;
+    }
+
+    /**
+     * The number of recent spans which are kept in memory to look up
+     * slow traces.
+     */
+    @Value.Default
+    default Integer getBufferSize() {
+        return 10_000;
+    }
+}
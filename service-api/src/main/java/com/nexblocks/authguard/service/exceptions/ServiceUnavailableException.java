@@ -0,0 +1,13 @@
+package com.nexblocks.authguard.service.exceptions;
+
+import com.nexblocks.authguard.service.exceptions.codes.ErrorCode;
+
+/**
+ * Thrown when a request was rejected because the resources
+ * needed to process it are exhausted. Clients can retry later.
+ */
+public class ServiceUnavailableException extends ServiceException {
+    public ServiceUnavailableException(ErrorCode errorCode, String message) {
+        super(errorCode, message);
+    }
+}
@@ -7,9 +7,17 @@ public enum ErrorCode {
     ACCOUNT_EMAIL_REQUIRED("AC.032"),
     ACCOUNT_PHONE_NUMBER_REQUIRED("AC.032"),
     ACCOUNT_INACTIVE("AC.033"),
+    ACCOUNT_IMPORT_OVERLOADED("AC.034"),
 
     APP_DOES_NOT_EXIST("AP.011"),
 
+    EXPORT_OVERLOADED("EX.031"),
+    EXPORT_NOT_SUPPORTED("EX.032"),
+
+    REPOSITORY_OVERLOADED("RP.031"),
+
+    SERVER_OVERLOADED("SV.031"),
+
     CLIENT_NOT_PERMITTED("CL.032"),
 
     API_KEY_DOES_NOT_EXIST("AK.011"),
@@ -47,6 +55,7 @@ public enum ErrorCode {
     PASSWORDS_DO_NOT_MATCH("PW.021"),
     INVALID_PASSWORD("PW.022"),
     PASSWORD_EXPIRED("PW.023"),
+    PASSWORD_HASHING_OVERLOADED("PW.031"),
 
     LDAP_MULTIPLE_PASSWORD_ENTRIES("LD.021"),
     LDAP_ERROR("LD.031"),
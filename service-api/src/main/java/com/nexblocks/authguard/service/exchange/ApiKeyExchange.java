@@ -9,8 +9,8 @@ import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 public interface ApiKeyExchange {
-    AuthResponseBO generateKey(AppBO app, Instant expiresAt);
-    AuthResponseBO generateKey(ClientBO client, Instant expiresAt);
+    CompletableFuture<AuthResponseBO> generateKey(AppBO app, Instant expiresAt);
+    CompletableFuture<AuthResponseBO> generateKey(ClientBO client, Instant expiresAt);
 
     CompletableFuture<Optional<Long>> verifyAndGetAppId(String apiKey);
     CompletableFuture<Optional<Long>> verifyAndGetClientId(String apiKey);
@@ -17,6 +17,7 @@ public interface ServiceMapper {
 
     AccountDO toDO(AccountBO accountBO);
     AccountBO toBO(AccountDO accountDO);
+    AccountBO toBO(AuthAccountView authAccountView);
 
     AppDO toDO(AppBO appBO);
     AppBO toBO(AppDO appDO);
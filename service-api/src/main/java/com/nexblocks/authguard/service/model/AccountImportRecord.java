@@ -0,0 +1,17 @@
+package com.nexblocks.authguard.service.model;
+
+import org.immutables.value.Value;
+
+/**
+ * A single record read from an import source. Records which
+ * failed to parse or validate carry an error instead of an
+ * account, and are reported back without being imported.
+ */
+@Value.Immutable
+@BOStyle
+public interface AccountImportRecord {
+    long getLine();
+    AccountBO getAccount();
+    String getErrorCode();
+    String getMessage();
+}
@@ -0,0 +1,13 @@
+package com.nexblocks.authguard.service.model;
+
+import org.immutables.value.Value;
+
+@Value.Immutable
+@BOStyle
+public interface AccountImportResult {
+    long getLine();
+    boolean isImported();
+    Long getAccountId();
+    String getErrorCode();
+    String getMessage();
+}
@@ -0,0 +1,17 @@
+package com.nexblocks.authguard.service.model;
+
+import org.immutables.value.Value;
+
+@Value.Immutable
+@BOStyle
+public interface AccountImportSummary {
+    long getImported();
+    long getFailed();
+
+    /**
+     * The last line which was processed. Every record up to
+     * and including it was either saved or reported as failed,
+     * so an interrupted import can resume after it.
+     */
+    Long getCheckpoint();
+}
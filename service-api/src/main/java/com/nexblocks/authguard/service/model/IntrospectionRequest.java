@@ -0,0 +1,12 @@
+package com.nexblocks.authguard.service.model;
+
+import org.immutables.value.Value;
+
+@Value.Immutable
+@BOStyle
+public interface IntrospectionRequest {
+    String getTokenType();
+    @Value.Redacted
+    String getToken();
+    String getKeyType();
+}
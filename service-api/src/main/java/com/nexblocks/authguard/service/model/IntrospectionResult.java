@@ -0,0 +1,15 @@
+package com.nexblocks.authguard.service.model;
+
+import org.immutables.value.Value;
+
+@Value.Immutable
+@BOStyle
+public interface IntrospectionResult {
+    int getIndex();
+    String getTokenType();
+    boolean isActive();
+    EntityType getEntityType();
+    Long getEntityId();
+    String getErrorCode();
+    String getMessage();
+}
@@ -0,0 +1,163 @@
+package com.nexblocks.authguard.service.random;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A pool of {@link SecureRandom} instances which each fill a buffer in
+ * one call and hand out slices of it. Threads start at the stripe which
+ * their ID maps to and move on to the next one if it's busy, so they
+ * rarely wait for each other, and the cost of a call into the provider
+ * is spread over many small requests.
+ * <p>
+ * Bytes are cleared from the buffer as soon as they're handed out, so
+ * a heap dump doesn't give away anything which was generated before
+ * it. Each stripe reseeds itself once the reseed interval is up.
+ */
+public class BufferedSecureRandom {
+    private final String algorithm;
+    private final long reseedIntervalNanos;
+    private final Stripe[] stripes;
+
+    /**
+     * @param algorithm      The algorithm to get from {@link SecureRandom#getInstance(String)},
+     *                       or null for the default of the platform.
+     * @param stripes        The number of stripes, which is rounded up to
+     *                       a power of two.
+     * @param bufferSize     The number of bytes each stripe generates at
+     *                       a time. Larger requests skip the buffer.
+     * @param reseedInterval How long each stripe is used before it's
+     *                       reseeded.
+     * @throws NoSuchAlgorithmException If no provider implements the algorithm.
+     */
+    public BufferedSecureRandom(final String algorithm, final int stripes, final int bufferSize,
+                                final Duration reseedInterval) throws NoSuchAlgorithmException {
+        this.algorithm = algorithm;
+        this.reseedIntervalNanos = reseedInterval.toNanos();
+        this.stripes = new Stripe[Integer.highestOneBit(Math.max(stripes, 1) * 2 - 1)];
+
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new Stripe(newSecureRandom(), bufferSize);
+        }
+    }
+
+    public String getAlgorithm() {
+        return stripes[0].random.getAlgorithm();
+    }
+
+    public void nextBytes(final byte[] bytes) {
+        read(bytes.length, (source, offset, length) -> {
+            System.arraycopy(source, offset, bytes, 0, length);
+            return null;
+        });
+    }
+
+    /**
+     * Generates the given number of bytes and passes them to the reader
+     * in place, without copying them out first. The reader must not keep
+     * a reference to the source array.
+     */
+    public <T> T read(final int size, final Reader<T> reader) {
+        final Stripe stripe = lock();
+
+        try {
+            if (System.nanoTime() - stripe.seededAt > reseedIntervalNanos) {
+                reseed(stripe);
+            }
+
+            if (size > stripe.buffer.length) {
+                final byte[] bytes = new byte[size];
+
+                try {
+                    stripe.random.nextBytes(bytes);
+
+                    return reader.read(bytes, 0, size);
+                } finally {
+                    Arrays.fill(bytes, (byte) 0);
+                }
+            }
+
+            if (stripe.buffer.length - stripe.position < size) {
+                stripe.random.nextBytes(stripe.buffer);
+                stripe.position = 0;
+            }
+
+            final int offset = stripe.position;
+
+            stripe.position += size;
+
+            try {
+                return reader.read(stripe.buffer, offset, size);
+            } finally {
+                Arrays.fill(stripe.buffer, offset, offset + size, (byte) 0);
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private Stripe lock() {
+        final int mask = stripes.length - 1;
+        final int home = (int) Thread.currentThread().getId() & mask;
+
+        for (int i = 0; i < stripes.length; i++) {
+            final Stripe stripe = stripes[(home + i) & mask];
+
+            if (stripe.lock.tryLock()) {
+                return stripe;
+            }
+        }
+
+        final Stripe stripe = stripes[home];
+
+        stripe.lock.lock();
+
+        return stripe;
+    }
+
+    private void reseed(final Stripe stripe) {
+        try {
+            stripe.random.reseed();
+        } catch (final UnsupportedOperationException e) {
+            // only DRBG implementations can reseed themselves, the others are replaced with a freshly seeded instance
+            try {
+                stripe.random = newSecureRandom();
+            } catch (final NoSuchAlgorithmException impossible) {
+                throw new IllegalStateException(impossible);
+            }
+        }
+
+        // whatever was generated with the old seed isn't handed out anymore
+        Arrays.fill(stripe.buffer, (byte) 0);
+        stripe.position = stripe.buffer.length;
+        stripe.seededAt = System.nanoTime();
+    }
+
+    private SecureRandom newSecureRandom() throws NoSuchAlgorithmException {
+        return algorithm == null ? new SecureRandom() : SecureRandom.getInstance(algorithm);
+    }
+
+    @FunctionalInterface
+    public interface Reader<T> {
+        T read(byte[] source, int offset, int length);
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final byte[] buffer;
+
+        private SecureRandom random;
+        private int position;
+        private long seededAt;
+
+        private Stripe(final SecureRandom random, final int bufferSize) {
+            this.random = random;
+            this.buffer = new byte[bufferSize];
+            this.position = bufferSize;
+            this.seededAt = System.nanoTime();
+        }
+    }
+}
@@ -1,28 +1,61 @@
 package com.nexblocks.authguard.service.random;
 
-import java.security.SecureRandom;
+import com.nexblocks.authguard.service.config.ConfigParser;
+import com.nexblocks.authguard.service.config.RandomConfig;
+import com.nexblocks.authguard.service.exceptions.ConfigurationException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 
+/**
+ * Generates random bytes and tokens. All instances share one
+ * {@link BufferedSecureRandom}, so creating one is cheap, and it can be
+ * set up from the configuration with {@link #configure(RandomConfig)}.
+ */
 public class CryptographicRandom {
-    private final SecureRandom secureRandom;
+    private static volatile BufferedSecureRandom shared = create(RandomConfig.builder().build());
+
+    public static void configure(final RandomConfig config) {
+        shared = create(config);
+    }
 
-    public CryptographicRandom() {
-        secureRandom = new SecureRandom();
+    static BufferedSecureRandom create(final RandomConfig config) {
+        try {
+            return new BufferedSecureRandom(config.getAlgorithm(), config.getStripes(), config.getBufferSize(),
+                    ConfigParser.parseDuration(config.getReseedInterval()));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new ConfigurationException("Random algorithm " + config.getAlgorithm() + " isn't available", e);
+        }
     }
 
     public String base64(final int size) {
-        return Base64.getEncoder().encodeToString(bytes(size));
+        return shared.read(size, (source, offset, length) -> encode(Base64.getEncoder(), source, offset, length));
     }
 
     public String base64Url(final int size) {
-        return Base64.getUrlEncoder().encodeToString(bytes(size));
+        return shared.read(size, (source, offset, length) -> encode(Base64.getUrlEncoder(), source, offset, length));
+    }
+
+    public String base64UrlWithoutPadding(final int size) {
+        return shared.read(size, (source, offset, length) ->
+                encode(Base64.getUrlEncoder().withoutPadding(), source, offset, length));
     }
 
     public byte[] bytes(final int size) {
         final byte[] bytes = new byte[size];
 
-        secureRandom.nextBytes(bytes);
+        shared.nextBytes(bytes);
 
         return bytes;
     }
+
+    private static String encode(final Base64.Encoder encoder, final byte[] source, final int offset,
+                                 final int length) {
+        final ByteBuffer encoded = encoder.encode(ByteBuffer.wrap(source, offset, length));
+
+        return new String(encoded.array(), encoded.arrayOffset() + encoded.position(), encoded.remaining(),
+                StandardCharsets.ISO_8859_1);
+    }
 }
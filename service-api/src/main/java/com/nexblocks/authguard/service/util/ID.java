@@ -1,13 +1,16 @@
 package com.nexblocks.authguard.service.util;
 
-import de.mkammerer.snowflakeid.SnowflakeIdGenerator;
-
-import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
+/**
+ * Generates the IDs of all entities. The node ID should be set with
+ * {@link #useNodeId(int)} on startup, otherwise a random one is used
+ * and IDs may collide between nodes.
+ */
 public final class ID {
-    private static int generatorId = new Random().nextInt(31);
-    private static SnowflakeIdGenerator generator = SnowflakeIdGenerator.createDefault(generatorId);
+    private static volatile IdGenerator generator =
+            new IdGenerator(ThreadLocalRandom.current().nextInt(IdGenerator.MAX_NODE_ID + 1));
 
     public static String generateSimplifiedUuid() {
         final UUID uuid = UUID.randomUUID();
@@ -19,4 +22,15 @@ public final class ID {
     public static long generate() {
         return generator.next();
     }
+
+    public static synchronized void useNodeId(final int nodeId) {
+        // a new generator with the same node ID could repeat the IDs of this millisecond
+        if (generator.getNodeId() != nodeId) {
+            generator = new IdGenerator(nodeId);
+        }
+    }
+
+    public static int getNodeId() {
+        return generator.getNodeId();
+    }
 }
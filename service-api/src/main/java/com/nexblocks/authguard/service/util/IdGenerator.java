@@ -0,0 +1,113 @@
+package com.nexblocks.authguard.service.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Generates unique 63-bit ids, which are roughly ordered by time. An
+ * id is laid out as
+ * <pre>
+ *   | 41 bits: ms since 2020-01-01 | 10 bits: node | 3 bits: stripe | 9 bits: sequence |
+ * </pre>
+ * which keeps the timestamp where the snowflake generator which this
+ * one replaced put it, so new ids are always larger than old ones.
+ * <p>
+ * Each thread draws from one of {@value #STRIPES} stripes, which each
+ * have their own sequence and are updated with a single CAS, so threads
+ * rarely contend for the same one. A stripe which runs out of sequence
+ * numbers within a millisecond borrows the next one rather than waiting
+ * for the clock, up to {@value #MAX_DRIFT_MILLIS} ms ahead, and then
+ * hands the thread over to the next stripe. That allows for about four
+ * million ids per second per node, however they're spread over threads.
+ * Time is taken from a monotonic clock, so ids are unique within a
+ * process even if the wall clock moves backwards.
+ */
+public class IdGenerator {
+    public static final long EPOCH_MILLIS = 1577836800000L;
+
+    public static final int NODE_BITS = 10;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final int STRIPE_BITS = 3;
+    private static final int SEQUENCE_BITS = 9;
+    private static final int STRIPES = 1 << STRIPE_BITS;
+
+    private static final int STRIPE_SHIFT = SEQUENCE_BITS;
+    private static final int NODE_SHIFT = STRIPE_SHIFT + STRIPE_BITS;
+    private static final int TIMESTAMP_SHIFT = NODE_SHIFT + NODE_BITS;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // short enough that a restarted process can't reissue the ids which its previous run borrowed
+    private static final long MAX_DRIFT_MILLIS = 50;
+
+    // a stripe takes a whole cache line, so that stripes don't contend through false sharing
+    private static final int PADDING = 8;
+
+    private final int nodeId;
+    private final long startMillis;
+    private final long startNanos;
+
+    /**
+     * The last timestamp of each stripe, shifted left by
+     * {@link #SEQUENCE_BITS}, plus its last sequence number.
+     */
+    private final AtomicLongArray stripes = new AtomicLongArray(STRIPES * PADDING);
+
+    public IdGenerator(final int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("A node ID must be between 0 and " + MAX_NODE_ID);
+        }
+
+        this.nodeId = nodeId;
+        this.startMillis = System.currentTimeMillis() - EPOCH_MILLIS;
+        this.startNanos = System.nanoTime();
+    }
+
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    public long next() {
+        int stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+        int exhausted = 0;
+
+        while (true) {
+            final int index = stripe * PADDING;
+            final long last = stripes.get(index);
+            final long now = currentMillis();
+            final long next;
+
+            if (now > last >>> SEQUENCE_BITS) {
+                next = now << SEQUENCE_BITS;
+            } else {
+                // a full sequence carries over into the timestamp, which borrows the next millisecond
+                next = last + 1;
+
+                if ((next >>> SEQUENCE_BITS) - now > MAX_DRIFT_MILLIS) {
+                    // try the other stripes before waiting for the clock to catch up
+                    if (++exhausted % STRIPES == 0) {
+                        Thread.onSpinWait();
+                    }
+
+                    stripe = (stripe + 1) & (STRIPES - 1);
+                    continue;
+                }
+            }
+
+            if (stripes.compareAndSet(index, last, next)) {
+                return (next >>> SEQUENCE_BITS) << TIMESTAMP_SHIFT
+                        | (long) nodeId << NODE_SHIFT
+                        | (long) stripe << STRIPE_SHIFT
+                        | next & SEQUENCE_MASK;
+            }
+        }
+    }
+
+    private long currentMillis() {
+        return startMillis + (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    public static int nodeIdOf(final long id) {
+        return (int) (id >>> NODE_SHIFT) & MAX_NODE_ID;
+    }
+}
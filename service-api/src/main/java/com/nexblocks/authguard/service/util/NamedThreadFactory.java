@@ -0,0 +1,26 @@
+package com.nexblocks.authguard.service.util;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates daemon threads named after the pool they belong
+ * to, which makes them easy to tell apart in thread dumps.
+ */
+public class NamedThreadFactory implements ThreadFactory {
+    private final String prefix;
+    private final AtomicInteger counter;
+
+    public NamedThreadFactory(final String poolName) {
+        this.prefix = "authguard-" + poolName + "-";
+        this.counter = new AtomicInteger();
+    }
+
+    @Override
+    public Thread newThread(final Runnable runnable) {
+        Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+        thread.setDaemon(true);
+
+        return thread;
+    }
+}
@@ -0,0 +1,72 @@
+package com.nexblocks.authguard.service.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A node ID leased from a directory which all the nodes share, as a
+ * stand-in for a coordination service. Each ID has a file which the
+ * node holding the lease keeps locked, so the lease expires as soon as
+ * the process exits, however it exits.
+ * <p>
+ * File locks are only reliable between processes on the same host or
+ * on a file system which supports them, such as a local disk or NFSv4.
+ */
+public class NodeIdLease implements Closeable {
+    private final int nodeId;
+    private final FileChannel channel;
+    private final FileLock lock;
+
+    private NodeIdLease(final int nodeId, final FileChannel channel, final FileLock lock) {
+        this.nodeId = nodeId;
+        this.channel = channel;
+        this.lock = lock;
+    }
+
+    /**
+     * Leases the lowest node ID which no other process holds.
+     *
+     * @throws IllegalStateException If every ID up to the maximum is
+     *                               already leased.
+     */
+    public static NodeIdLease acquire(final Path directory, final int maxNodeId) throws IOException {
+        Files.createDirectories(directory);
+
+        for (int nodeId = 0; nodeId <= maxNodeId; nodeId++) {
+            final FileChannel channel = FileChannel.open(directory.resolve("node-" + nodeId + ".lease"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock lock;
+
+            try {
+                lock = channel.tryLock();
+            } catch (final OverlappingFileLockException e) {
+                // held by another lease in this process
+                lock = null;
+            }
+
+            if (lock != null) {
+                return new NodeIdLease(nodeId, channel, lock);
+            }
+
+            channel.close();
+        }
+
+        throw new IllegalStateException("All node IDs up to " + maxNodeId + " in " + directory + " are leased");
+    }
+
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.release();
+        channel.close();
+    }
+}
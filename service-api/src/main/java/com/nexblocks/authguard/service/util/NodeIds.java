@@ -0,0 +1,80 @@
+package com.nexblocks.authguard.service.util;
+
+import com.nexblocks.authguard.service.config.IdsConfig;
+import com.nexblocks.authguard.service.exceptions.ConfigurationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.OptionalInt;
+import java.util.function.Function;
+
+/**
+ * Finds the node ID of this process from, in order, the configuration,
+ * an environment variable, or a lease from a shared directory.
+ */
+public final class NodeIds {
+    private static final Logger LOG = LoggerFactory.getLogger(NodeIds.class);
+
+    // the lease has to stay reachable, or its file would be closed and unlocked once it's collected
+    private static NodeIdLease lease;
+
+    private NodeIds() {
+    }
+
+    /**
+     * @return The node ID, or empty if none was configured in any way.
+     */
+    public static OptionalInt resolve(final IdsConfig config) {
+        return resolve(config, System::getenv);
+    }
+
+    static synchronized OptionalInt resolve(final IdsConfig config,
+                                                      final Function<String, String> environment) {
+        if (config.getNodeId() != null) {
+            LOG.info("Using node ID {} from the configuration", config.getNodeId());
+
+            return OptionalInt.of(validate(config.getNodeId()));
+        }
+
+        final String variable = config.getNodeIdVariable() == null ? null : environment.apply(config.getNodeIdVariable());
+
+        if (variable != null) {
+            try {
+                final int nodeId = validate(Integer.parseInt(variable.trim()));
+
+                LOG.info("Using node ID {} from {}", nodeId, config.getNodeIdVariable());
+
+                return OptionalInt.of(nodeId);
+            } catch (final NumberFormatException e) {
+                throw new ConfigurationException(config.getNodeIdVariable() + " isn't a valid node ID");
+            }
+        }
+
+        if (config.getLeaseDirectory() != null) {
+            if (lease == null) {
+                try {
+                    lease = NodeIdLease.acquire(Paths.get(config.getLeaseDirectory()), IdGenerator.MAX_NODE_ID);
+                } catch (final IOException e) {
+                    throw new ConfigurationException("Failed to lease a node ID from " + config.getLeaseDirectory(), e);
+                }
+            }
+
+            LOG.info("Using node ID {} leased from {}", lease.getNodeId(), config.getLeaseDirectory());
+
+            return OptionalInt.of(lease.getNodeId());
+        }
+
+        return OptionalInt.empty();
+    }
+
+    private static int validate(final int nodeId) {
+        if (nodeId < 0 || nodeId > IdGenerator.MAX_NODE_ID) {
+            throw new ConfigurationException("A node ID must be between 0 and " + IdGenerator.MAX_NODE_ID
+                    + " but was " + nodeId);
+        }
+
+        return nodeId;
+    }
+}
@@ -0,0 +1,113 @@
+package com.nexblocks.authguard.service.concurrent;
+
+import com.nexblocks.authguard.metrics.Counter;
+import com.nexblocks.authguard.metrics.MetricFamily;
+import com.nexblocks.authguard.metrics.MetricsRegistry;
+import com.nexblocks.authguard.service.exceptions.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadRepositoriesTest {
+
+    interface ThingsRepository {
+        CompletableFuture<String> getById(long id);
+
+        String describe();
+    }
+
+    /**
+     * Never completes a call until the test does.
+     */
+    static class SlowThingsRepository implements ThingsRepository {
+        final CompletableFuture<String> pending = new CompletableFuture<>();
+
+        @Override
+        public CompletableFuture<String> getById(final long id) {
+            return id < 0 ? CompletableFuture.completedFuture("cached") : pending;
+        }
+
+        @Override
+        public String describe() {
+            return "slow";
+        }
+    }
+
+    @Test
+    void nameOf() {
+        assertThat(BulkheadRepositories.nameOf(ThingsRepository.class)).isEqualTo("things");
+    }
+
+    @Test
+    void rejectCallsBeyondTheLimit() {
+        SlowThingsRepository slow = new SlowThingsRepository();
+        Bulkhead bulkhead = new Bulkhead("things", 2);
+        ThingsRepository repository = BulkheadRepositories.wrap(ThingsRepository.class, slow, bulkhead, Runnable::run);
+
+        CompletableFuture<String> first = repository.getById(1);
+        CompletableFuture<String> second = repository.getById(2);
+
+        assertThat(bulkhead.getInProgress()).isEqualTo(2);
+        assertThatThrownBy(() -> repository.getById(3).join())
+                .hasCauseInstanceOf(ServiceUnavailableException.class);
+        assertThat(bulkhead.getRejectedCount()).isEqualTo(1);
+
+        slow.pending.complete("done");
+
+        assertThat(first.join()).isEqualTo("done");
+        assertThat(second.join()).isEqualTo("done");
+        assertThat(bulkhead.getInProgress()).isZero();
+        assertThat(repository.getById(-1).join()).isEqualTo("cached");
+    }
+
+    @Test
+    void continueOnCompletionsExecutor() {
+        SlowThingsRepository slow = new SlowThingsRepository();
+        BoundedExecutor completions = BoundedExecutor.runningOnCallerWhenFull("test-completions", 1, 10);
+        ThingsRepository repository = BulkheadRepositories.wrap(ThingsRepository.class, slow,
+                new Bulkhead("things", 0), completions);
+        AtomicReference<String> continuedOn = new AtomicReference<>();
+
+        CompletableFuture<Void> continued = repository.getById(1)
+                .thenAccept(ignored -> continuedOn.set(Thread.currentThread().getName()));
+
+        slow.pending.complete("done");
+        continued.join();
+
+        assertThat(continuedOn.get()).startsWith("authguard-test-completions-");
+    }
+
+    @Test
+    void passThroughOtherMethods() {
+        ThingsRepository repository = BulkheadRepositories.wrap(ThingsRepository.class, new SlowThingsRepository(),
+                new Bulkhead("things", 1), Runnable::run);
+
+        assertThat(repository.describe()).isEqualTo("slow");
+    }
+
+    @Test
+    void countCallsByOutcome() {
+        SlowThingsRepository slow = new SlowThingsRepository();
+        MetricsRegistry metrics = new MetricsRegistry();
+        ThingsRepository repository = BulkheadRepositories.wrap(ThingsRepository.class, slow,
+                new Bulkhead("things", 1), Runnable::run, metrics);
+
+        repository.getById(-1).join();
+        repository.getById(1);
+        repository.getById(2); // rejected by the bulkhead
+
+        MetricFamily<Counter> calls = metrics.counter("authguard_repository_calls_total", "",
+                "repository", "method", "result");
+
+        assertThat(calls.labels("things", "getById", "success").get()).isEqualTo(1);
+        assertThat(calls.labels("things", "getById", "failure").get()).isEqualTo(1);
+
+        slow.pending.complete("done");
+
+        assertThat(calls.labels("things", "getById", "success").get()).isEqualTo(2);
+    }
+}
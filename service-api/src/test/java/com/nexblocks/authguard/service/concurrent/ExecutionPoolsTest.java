@@ -0,0 +1,61 @@
+package com.nexblocks.authguard.service.concurrent;
+
+import com.nexblocks.authguard.service.config.ExecutionConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExecutionPoolsTest {
+
+    @Test
+    void platformThreadsByDefault() {
+        ExecutionPools pools = new ExecutionPools(ExecutionConfig.builder().build());
+
+        assertThat(pools.isUsingVirtualThreads()).isFalse();
+        assertThat(pools.getExecutors())
+                .extracting(ServiceExecutor::getName)
+                .containsExactlyInAnyOrder(ExecutionPools.DAL, ExecutionPools.CRYPTO, ExecutionPools.MESSAGING);
+        assertThat(pools.getPinningHotSpots()).isEmpty();
+    }
+
+    @Test
+    void virtualThreadsWhenAvailable() {
+        ExecutionPools pools = new ExecutionPools(ExecutionConfig.builder().build(), true);
+
+        assertThat(pools.isUsingVirtualThreads()).isEqualTo(VirtualThreads.isAvailable());
+
+        String threadName = CompletableFuture
+                .supplyAsync(() -> Thread.currentThread().getName(), pools.dal())
+                .join();
+
+        if (VirtualThreads.isAvailable()) {
+            assertThat(threadName).startsWith("authguard-dal-virtual-");
+        } else {
+            assertThat(threadName).startsWith("authguard-dal-");
+        }
+    }
+
+    @Test
+    void bulkheadLimits() {
+        ExecutionPools pools = new ExecutionPools(ExecutionConfig.builder()
+                .defaultBulkhead(10)
+                .putBulkheads("accounts", 3)
+                .build());
+
+        assertThat(pools.bulkhead("accounts").getLimit()).isEqualTo(3);
+        assertThat(pools.bulkhead("events").getLimit()).isEqualTo(10);
+        assertThat(pools.bulkhead("accounts")).isSameAs(pools.bulkhead("accounts"));
+    }
+
+    @Test
+    void noBulkheadLimitsByDefault() {
+        ExecutionPools pools = new ExecutionPools(ExecutionConfig.builder()
+                .putBulkheads("accounts", 3)
+                .build());
+
+        assertThat(pools.bulkhead("accounts").getLimit()).isEqualTo(3);
+        assertThat(pools.bulkhead("events").getLimit()).isZero();
+    }
+}
@@ -0,0 +1,121 @@
+package com.nexblocks.authguard.service.concurrent;
+
+import com.nexblocks.authguard.dal.repository.ExpiringRecordRepository;
+import com.nexblocks.authguard.metrics.Counter;
+import com.nexblocks.authguard.metrics.Gauge;
+import com.nexblocks.authguard.metrics.MetricsRegistry;
+import com.nexblocks.authguard.service.config.SweeperConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpirySweeperTest {
+    private final MetricsRegistry metrics = new MetricsRegistry();
+    private ExpirySweeper sweeper;
+
+    /**
+     * Holds the given number of expired records, and records the size
+     * of each batch it's asked to delete.
+     */
+    static class ExpiredRecords implements ExpiringRecordRepository {
+        private long remaining;
+        final List<Integer> batches = new ArrayList<>();
+
+        ExpiredRecords(final long remaining) {
+            this.remaining = remaining;
+        }
+
+        @Override
+        public CompletableFuture<Integer> deleteExpiredBefore(final Instant before, final int limit) {
+            int deleted = (int) Math.min(remaining, limit);
+
+            remaining -= deleted;
+            batches.add(deleted);
+
+            return CompletableFuture.completedFuture(deleted);
+        }
+
+        @Override
+        public CompletableFuture<Long> countExpiredBefore(final Instant before) {
+            return CompletableFuture.completedFuture(remaining);
+        }
+    }
+
+    static class FailingRecords implements ExpiringRecordRepository {
+        @Override
+        public CompletableFuture<Integer> deleteExpiredBefore(final Instant before, final int limit) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Failed on purpose"));
+        }
+    }
+
+    @AfterEach
+    void close() {
+        sweeper.close();
+    }
+
+    private ExpirySweeper sweeper(final Map<String, ExpiringRecordRepository> repositories) {
+        sweeper = new ExpirySweeper(repositories, SweeperConfig.builder()
+                .batchSize(10)
+                .batchesPerSecond(1000)
+                .maxBatchesPerPass(3)
+                .build(), metrics);
+
+        return sweeper;
+    }
+
+    private Gauge backlog(final String repository) {
+        return metrics.gauge("authguard_sweeper_backlog", "", "repository").labels(repository);
+    }
+
+    private Counter purged(final String repository) {
+        return metrics.counter("authguard_sweeper_purged_total", "", "repository").labels(repository);
+    }
+
+    @Test
+    void purgeInBatchesUntilNothingIsLeft() {
+        ExpiredRecords sessions = new ExpiredRecords(25);
+
+        Map<String, Integer> purged = sweeper(Map.of("sessions", sessions)).sweep().join();
+
+        assertThat(purged).containsEntry("sessions", 25);
+        assertThat(sessions.batches).containsExactly(10, 10, 5);
+        assertThat(backlog("sessions").get()).isZero();
+        assertThat(purged("sessions").get()).isEqualTo(25);
+    }
+
+    @Test
+    void leaveTheRestOfALargeBacklogToTheNextPass() {
+        ExpiredRecords accountTokens = new ExpiredRecords(45);
+        ExpirySweeper sweeper = sweeper(Map.of("accountTokens", accountTokens));
+
+        assertThat(sweeper.sweep().join()).containsEntry("accountTokens", 30);
+        assertThat(backlog("accountTokens").get()).isEqualTo(15);
+
+        assertThat(sweeper.sweep().join()).containsEntry("accountTokens", 15);
+        assertThat(backlog("accountTokens").get()).isZero();
+        assertThat(purged("accountTokens").get()).isEqualTo(45);
+    }
+
+    @Test
+    void continueAfterARepositoryFails() {
+        ExpiredRecords accountLocks = new ExpiredRecords(5);
+        Map<String, ExpiringRecordRepository> repositories = new LinkedHashMap<>();
+
+        repositories.put("otp", new FailingRecords());
+        repositories.put("accountLocks", accountLocks);
+
+        Map<String, Integer> purged = sweeper(repositories).sweep().join();
+
+        assertThat(purged).containsEntry("otp", 0).containsEntry("accountLocks", 5);
+        assertThat(metrics.counter("authguard_sweeper_failures_total", "", "repository")
+                .labels("otp").get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,112 @@
+package com.nexblocks.authguard.service.random;
+
+import org.junit.jupiter.api.Test;
+
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BufferedSecureRandomTest {
+    @Test
+    void generateDistinctBytesAcrossThreads() throws Exception {
+        BufferedSecureRandom random = new BufferedSecureRandom("DRBG", 2, 256, Duration.ofHours(1));
+        Set<String> generated = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Callable<Void>> tasks = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++) {
+            tasks.add(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    byte[] bytes = new byte[16];
+
+                    random.nextBytes(bytes);
+                    generated.add(Base64.getEncoder().encodeToString(bytes));
+                }
+
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Void> result : executor.invokeAll(tasks)) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(generated).hasSize(4000);
+    }
+
+    @Test
+    void clearBytesOnceTheyreRead() throws Exception {
+        BufferedSecureRandom random = new BufferedSecureRandom("DRBG", 1, 64, Duration.ofHours(1));
+        List<byte[]> read = new ArrayList<>();
+
+        random.read(32, (source, offset, length) -> {
+            read.add(source);
+            read.add(new byte[] { (byte) offset, (byte) length });
+
+            return null;
+        });
+
+        byte[] source = read.get(0);
+        int offset = read.get(1)[0];
+
+        assertThat(read.get(1)[1]).isEqualTo((byte) 32);
+        assertThat(Arrays.copyOfRange(source, offset, offset + 32)).containsOnly((byte) 0);
+    }
+
+    @Test
+    void readMoreThanTheBuffer() throws Exception {
+        BufferedSecureRandom random = new BufferedSecureRandom("DRBG", 1, 16, Duration.ofHours(1));
+        byte[] bytes = new byte[128];
+
+        random.nextBytes(bytes);
+
+        assertThat(bytes).isNotEqualTo(new byte[128]);
+    }
+
+    @Test
+    void reseedWhenTheIntervalIsUp() throws Exception {
+        // the non-DRBG algorithms can't reseed and are replaced instead
+        for (String algorithm : new String[] { "DRBG", "SHA1PRNG" }) {
+            BufferedSecureRandom random = new BufferedSecureRandom(algorithm, 1, 64, Duration.ZERO);
+            byte[] first = new byte[32];
+            byte[] second = new byte[32];
+
+            random.nextBytes(first);
+            random.nextBytes(second);
+
+            assertThat(first).isNotEqualTo(second);
+            assertThat(random.getAlgorithm()).isEqualTo(algorithm);
+        }
+    }
+
+    @Test
+    void rejectUnknownAlgorithms() {
+        assertThatThrownBy(() -> new BufferedSecureRandom("NotAnAlgorithm", 1, 64, Duration.ofHours(1)))
+                .isInstanceOf(NoSuchAlgorithmException.class);
+    }
+
+    @Test
+    void encodeTokensFromTheBuffer() {
+        CryptographicRandom random = new CryptographicRandom();
+
+        assertThat(Base64.getDecoder().decode(random.base64(128))).hasSize(128);
+        assertThat(Base64.getUrlDecoder().decode(random.base64Url(33))).hasSize(33);
+        assertThat(random.base64Url(32)).isNotEqualTo(random.base64Url(32));
+    }
+}
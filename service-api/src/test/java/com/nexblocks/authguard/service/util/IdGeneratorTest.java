@@ -0,0 +1,88 @@
+package com.nexblocks.authguard.service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdGeneratorTest {
+    @Test
+    void generateUniqueIdsAcrossThreads() throws Exception {
+        IdGenerator generator = new IdGenerator(42);
+        int threads = 8;
+        int idsPerThread = 100_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Callable<long[]>> tasks = new ArrayList<>();
+
+        for (int i = 0; i < threads; i++) {
+            tasks.add(() -> {
+                long[] ids = new long[idsPerThread];
+
+                for (int j = 0; j < idsPerThread; j++) {
+                    ids[j] = generator.next();
+                }
+
+                return ids;
+            });
+        }
+
+        Set<Long> unique = new HashSet<>();
+
+        try {
+            for (Future<long[]> result : executor.invokeAll(tasks)) {
+                long[] ids = result.get();
+
+                for (long id : ids) {
+                    assertThat(id).isPositive();
+                    assertThat(IdGenerator.nodeIdOf(id)).isEqualTo(42);
+
+                    unique.add(id);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(unique).hasSize(threads * idsPerThread);
+    }
+
+    @Test
+    void differentNodesNeverCollide() {
+        IdGenerator first = new IdGenerator(0);
+        IdGenerator second = new IdGenerator(IdGenerator.MAX_NODE_ID);
+        Set<Long> unique = new HashSet<>();
+
+        for (int i = 0; i < 50_000; i++) {
+            unique.add(first.next());
+            unique.add(second.next());
+        }
+
+        assertThat(unique).hasSize(100_000);
+    }
+
+    @Test
+    void keepTheTimestampOfTheSnowflakeLayout() {
+        long before = System.currentTimeMillis() - IdGenerator.EPOCH_MILLIS;
+        long id = new IdGenerator(7).next();
+
+        // the previous generator put milliseconds since 2020 above the lowest 22 bits too
+        assertThat(id >>> 22).isBetween(before, System.currentTimeMillis() - IdGenerator.EPOCH_MILLIS);
+    }
+
+    @Test
+    void rejectNodeIdsOutOfRange() {
+        assertThatThrownBy(() -> new IdGenerator(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new IdGenerator(IdGenerator.MAX_NODE_ID + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
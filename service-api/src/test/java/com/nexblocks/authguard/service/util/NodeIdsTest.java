@@ -0,0 +1,63 @@
+package com.nexblocks.authguard.service.util;
+
+import com.nexblocks.authguard.service.config.IdsConfig;
+import com.nexblocks.authguard.service.exceptions.ConfigurationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.OptionalInt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NodeIdsTest {
+    @Test
+    void preferTheConfiguration() {
+        IdsConfig config = IdsConfig.builder().nodeId(5).build();
+
+        assertThat(NodeIds.resolve(config, Collections.singletonMap("AUTHGUARD_NODE_ID", "6")::get))
+                .isEqualTo(OptionalInt.of(5));
+    }
+
+    @Test
+    void fallBackToTheEnvironment() {
+        IdsConfig config = IdsConfig.builder().build();
+
+        assertThat(NodeIds.resolve(config, Collections.singletonMap("AUTHGUARD_NODE_ID", "6")::get))
+                .isEqualTo(OptionalInt.of(6));
+        assertThat(NodeIds.resolve(config, name -> null)).isEmpty();
+    }
+
+    @Test
+    void rejectInvalidNodeIds() {
+        IdsConfig config = IdsConfig.builder().build();
+
+        assertThatThrownBy(() -> NodeIds.resolve(config, name -> "node-1"))
+                .isInstanceOf(ConfigurationException.class);
+        assertThatThrownBy(() -> NodeIds.resolve(IdsConfig.builder().nodeId(1024).build(), name -> null))
+                .isInstanceOf(ConfigurationException.class);
+    }
+
+    @Test
+    void leaseTheLowestFreeNodeId(@TempDir final Path directory) throws Exception {
+        try (NodeIdLease first = NodeIdLease.acquire(directory, 2);
+             NodeIdLease second = NodeIdLease.acquire(directory, 2)) {
+            assertThat(first.getNodeId()).isEqualTo(0);
+            assertThat(second.getNodeId()).isEqualTo(1);
+        }
+
+        try (NodeIdLease released = NodeIdLease.acquire(directory, 2)) {
+            assertThat(released.getNodeId()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    void failWhenEveryNodeIdIsLeased(@TempDir final Path directory) throws Exception {
+        try (NodeIdLease only = NodeIdLease.acquire(directory, 0)) {
+            assertThatThrownBy(() -> NodeIdLease.acquire(directory, 0))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+}
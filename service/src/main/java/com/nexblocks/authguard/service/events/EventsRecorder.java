@@ -39,7 +39,13 @@ public class EventsRecorder implements MessageSubscriber {
             populateEntity(message, event);
         }
 
-        eventsService.create(event.build()).join();
+        eventsService.create(event.build())
+                .whenComplete((created, e) -> {
+                    if (e != null) {
+                        LOG.error("Failed to record an event. channel={}, eventType={}",
+                                message.getChannel(), message.getEventType(), e);
+                    }
+                });
     }
 
     private void populateEntity(final Message message, final EventBO.Builder event) {
@@ -31,13 +31,14 @@ public class DefaultApiKeyExchange implements ApiKeyExchange {
     }
 
     @Override
-    public AuthResponseBO generateKey(final AppBO app, Instant expiresAt) {
-        return provider.generateToken(app); // expiry time isn't reflected in the key itself, so we don't care about it here
+    public CompletableFuture<AuthResponseBO> generateKey(final AppBO app, Instant expiresAt) {
+        // expiry time isn't reflected in the key itself, so we don't care about it here
+        return CompletableFuture.completedFuture(provider.generateToken(app));
     }
 
     @Override
-    public AuthResponseBO generateKey(ClientBO client, Instant expiresAt) {
-        return provider.generateToken(client);
+    public CompletableFuture<AuthResponseBO> generateKey(ClientBO client, Instant expiresAt) {
+        return CompletableFuture.completedFuture(provider.generateToken(client));
     }
 
     @Override
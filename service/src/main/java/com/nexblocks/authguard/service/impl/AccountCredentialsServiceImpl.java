@@ -1,9 +1,8 @@
 package com.nexblocks.authguard.service.impl;
 
 import com.google.inject.Inject;
-import com.nexblocks.authguard.basic.passwords.SecurePassword;
-import com.nexblocks.authguard.basic.passwords.SecurePasswordProvider;
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.dal.persistence.CredentialsAuditRepository;
 import com.nexblocks.authguard.emb.MessageBus;
@@ -43,7 +42,6 @@ public class AccountCredentialsServiceImpl implements AccountCredentialsService
     private final AccountsService accountsService;
     private final CredentialsAuditRepository credentialsAuditRepository;
     private final AccountTokensRepository accountTokensRepository;
-    private final SecurePassword securePassword;
     private final CredentialsManager credentialsManager;
     private final MessageBus messageBus;
     private final ServiceMapper serviceMapper;
@@ -54,7 +52,6 @@ public class AccountCredentialsServiceImpl implements AccountCredentialsService
     public AccountCredentialsServiceImpl(final AccountsService accountsService,
                                          final CredentialsAuditRepository credentialsAuditRepository,
                                          final AccountTokensRepository accountTokensRepository,
-                                         final SecurePasswordProvider securePasswordProvider,
                                          final CredentialsManager credentialsManager,
                                          final MessageBus messageBus,
                                          final ServiceMapper serviceMapper) {
@@ -62,7 +59,6 @@ public class AccountCredentialsServiceImpl implements AccountCredentialsService
         this.credentialsManager = credentialsManager;
         this.credentialsAuditRepository = credentialsAuditRepository;
         this.accountTokensRepository = accountTokensRepository;
-        this.securePassword = securePasswordProvider.get();
         this.messageBus = messageBus;
         this.serviceMapper = serviceMapper;
 
@@ -72,20 +68,23 @@ public class AccountCredentialsServiceImpl implements AccountCredentialsService
     @Override
     public CompletableFuture<AccountBO> updatePassword(final long id, final String plainPassword, final String domain) {
         return accountsService.getByIdUnsafe(id, domain)
-                .thenCompose(existing -> {
-                    HashedPasswordBO newPassword = credentialsManager.verifyAndHashPassword(plainPassword);
-                    AccountBO update = existing
-                            .withHashedPassword(newPassword)
-                            .withPasswordUpdatedAt(Instant.now());
+                .thenCompose(existing -> credentialsManager.verifyAndHashPassword(plainPassword)
+                        .thenCompose(newPassword -> applyPassword(existing, newPassword, domain)));
+    }
 
-                    return doUpdate(existing, update, domain)
-                            .thenApply(result -> {
-                                storePasswordUpdateRecord(existing);
+    private CompletableFuture<AccountBO> applyPassword(final AccountBO existing, final HashedPasswordBO newPassword,
+                                                       final String domain) {
+        AccountBO update = existing
+                .withHashedPassword(newPassword)
+                .withPasswordUpdatedAt(Instant.now());
 
-                                LOG.info("Password updated. accountId={}, domain={}", id, existing.getDomain());
+        return doUpdate(existing, update, domain)
+                .thenApply(result -> {
+                    storePasswordUpdateRecord(existing);
 
-                                return result;
-                            });
+                    LOG.info("Password updated. accountId={}, domain={}", existing.getId(), existing.getDomain());
+
+                    return result;
                 });
     }
 
@@ -213,7 +212,7 @@ public class AccountCredentialsServiceImpl implements AccountCredentialsService
                             .expiresAt(now.plus(TOKEN_LIFETIME))
                             .build();
 
-                    return accountTokensRepository.save(accountToken)
+                    return accountTokensRepository.save(TokenType.PASSWORD_RESET, accountToken)
                             .thenApply(persistedToken -> {
                                 LOG.info("Password reset token persisted. accountId={}, domain={}, tokenId={}, expiresAt={}",
                                         account.getId(), account.getDomain(), accountToken.getId(), accountToken.getExpiresAt());
@@ -232,7 +231,7 @@ public class AccountCredentialsServiceImpl implements AccountCredentialsService
 
     @Override
     public CompletableFuture<AccountBO> resetPasswordByToken(final String token, final String plainPassword, final String domain) {
-        return accountTokensRepository.getByToken(token)
+        return accountTokensRepository.getByToken(TokenType.PASSWORD_RESET, token)
                 .thenCompose(opt -> {
                     AccountTokenDO accountToken = opt.orElseThrow(() -> new ServiceNotFoundException(ErrorCode.TOKEN_EXPIRED_OR_DOES_NOT_EXIST,
                                     "AccountDO token " + token + " does not exist"));
@@ -243,7 +242,21 @@ public class AccountCredentialsServiceImpl implements AccountCredentialsService
                         throw new ServiceException(ErrorCode.EXPIRED_TOKEN, "Token " + token + " has expired");
                     }
 
-                    return updatePassword(accountToken.getAssociatedAccountId(), plainPassword, domain);
+                    long accountId = accountToken.getAssociatedAccountId();
+
+                    // the account and the new password are checked before the token is used up, so that a
+                    // password which doesn't meet the policy can be corrected without another reset email
+                    return accountsService.getByIdUnsafe(accountId, domain)
+                            .thenCompose(existing -> credentialsManager.verifyAndHashPassword(plainPassword)
+                                    .thenCompose(newPassword -> accountTokensRepository.consume(TokenType.PASSWORD_RESET, token)
+                                            .thenCompose(consumed -> {
+                                                if (consumed.isEmpty()) {
+                                                    throw new ServiceNotFoundException(ErrorCode.TOKEN_EXPIRED_OR_DOES_NOT_EXIST,
+                                                            "AccountDO token " + token + " does not exist");
+                                                }
+
+                                                return applyPassword(existing, newPassword, domain);
+                                            })));
                 });
     }
 
@@ -256,22 +269,28 @@ public class AccountCredentialsServiceImpl implements AccountCredentialsService
                 .thenCompose(credentials -> {
                     LOG.info("Password replace request. accountId={}, domain={}", credentials.getId(), domain);
 
-                    if (!securePassword.verify(oldPassword, credentials.getHashedPassword())) {
-                        LOG.info("Password mismatch in replace request. accountId={}, domain={}", credentials.getId(), domain);
+                    return credentialsManager.verifyPassword(oldPassword, credentials.getHashedPassword())
+                            .thenCompose(matches -> {
+                                if (!matches) {
+                                    LOG.info("Password mismatch in replace request. accountId={}, domain={}",
+                                            credentials.getId(), domain);
 
-                        throw new ServiceException(ErrorCode.PASSWORDS_DO_NOT_MATCH, "Passwords do not match");
-                    }
+                                    throw new ServiceException(ErrorCode.PASSWORDS_DO_NOT_MATCH, "Passwords do not match");
+                                }
 
-                    final HashedPasswordBO newHashedPassword = credentialsManager.verifyAndHashPassword(newPassword);
-                    final AccountBO update = credentials
-                            .withHashedPassword(newHashedPassword)
-                            .withPasswordUpdatedAt(Instant.now());
+                                return credentialsManager.verifyAndHashPassword(newPassword);
+                            })
+                            .thenCompose(newHashedPassword -> {
+                                final AccountBO update = credentials
+                                        .withHashedPassword(newHashedPassword)
+                                        .withPasswordUpdatedAt(Instant.now());
 
-                    return doUpdate(credentials, update, domain)
-                            .thenApply(result -> {
-                                storePasswordUpdateRecord(credentials);
+                                return doUpdate(credentials, update, domain)
+                                        .thenApply(result -> {
+                                            storePasswordUpdateRecord(credentials);
 
-                                return result;
+                                            return result;
+                                        });
                             });
                 });
     }
@@ -0,0 +1,380 @@
+package com.nexblocks.authguard.service.impl;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.nexblocks.authguard.config.ConfigContext;
+import com.nexblocks.authguard.dal.model.AccountDO;
+import com.nexblocks.authguard.dal.persistence.AccountsRepository;
+import com.nexblocks.authguard.emb.MessageBus;
+import com.nexblocks.authguard.emb.Messages;
+import com.nexblocks.authguard.service.AccountImportService;
+import com.nexblocks.authguard.service.PermissionsService;
+import com.nexblocks.authguard.service.RolesService;
+import com.nexblocks.authguard.service.config.AccountConfig;
+import com.nexblocks.authguard.service.config.AccountImportConfig;
+import com.nexblocks.authguard.service.exceptions.ServiceException;
+import com.nexblocks.authguard.service.exceptions.ServiceUnavailableException;
+import com.nexblocks.authguard.service.exceptions.codes.ErrorCode;
+import com.nexblocks.authguard.service.mappers.ServiceMapper;
+import com.nexblocks.authguard.service.model.*;
+import com.nexblocks.authguard.service.util.AccountPreProcessor;
+import com.nexblocks.authguard.service.util.CredentialsManager;
+import com.nexblocks.authguard.service.util.ID;
+import com.nexblocks.authguard.service.util.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Imports accounts on a dedicated thread per import. Passwords of a
+ * batch are hashed in parallel on the password hashing executor, and
+ * the batch is saved once all of them are done. Roles and permissions
+ * are verified once per import rather than once per account.
+ * <p>
+ * Unlike {@link AccountsServiceImpl#create}, imports don't go through
+ * idempotency checks and don't send verification messages; resuming
+ * from the checkpoint is what prevents records from being imported
+ * twice.
+ */
+@Singleton
+public class AccountImportServiceImpl implements AccountImportService {
+    private static final Logger LOG = LoggerFactory.getLogger(AccountImportServiceImpl.class);
+
+    private static final String ACCOUNTS_CHANNEL = "accounts";
+
+    private final AccountsRepository accountsRepository;
+    private final PermissionsService permissionsService;
+    private final RolesService rolesService;
+    private final CredentialsManager credentialsManager;
+    private final ServiceMapper serviceMapper;
+    private final MessageBus messageBus;
+    private final AccountConfig accountConfig;
+    private final AccountImportConfig config;
+    private final ExecutorService executor;
+
+    @Inject
+    public AccountImportServiceImpl(final AccountsRepository accountsRepository,
+                                    final PermissionsService permissionsService,
+                                    final RolesService rolesService,
+                                    final CredentialsManager credentialsManager,
+                                    final ServiceMapper serviceMapper,
+                                    final MessageBus messageBus,
+                                    final @Named("accounts") ConfigContext accountConfigContext,
+                                    final @Named("import") ConfigContext importConfigContext) {
+        this(accountsRepository, permissionsService, rolesService, credentialsManager, serviceMapper, messageBus,
+                accountConfigContext.asConfigBean(AccountConfig.class),
+                importConfigContext.asConfigBean(AccountImportConfig.class));
+    }
+
+    public AccountImportServiceImpl(final AccountsRepository accountsRepository,
+                                    final PermissionsService permissionsService,
+                                    final RolesService rolesService,
+                                    final CredentialsManager credentialsManager,
+                                    final ServiceMapper serviceMapper,
+                                    final MessageBus messageBus,
+                                    final AccountConfig accountConfig,
+                                    final AccountImportConfig config) {
+        this.accountsRepository = accountsRepository;
+        this.permissionsService = permissionsService;
+        this.rolesService = rolesService;
+        this.credentialsManager = credentialsManager;
+        this.serviceMapper = serviceMapper;
+        this.messageBus = messageBus;
+        this.accountConfig = accountConfig;
+        this.config = config;
+
+        this.executor = new ThreadPoolExecutor(config.getMaxConcurrentImports(), config.getMaxConcurrentImports(),
+                60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                new NamedThreadFactory("import"), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public CompletableFuture<AccountImportSummaryBO> importAccounts(final Iterator<AccountImportRecordBO> records,
+                                                                    final String domain,
+                                                                    final Consumer<AccountImportResultBO> consumer) {
+        try {
+            return CompletableFuture.supplyAsync(() -> new Import(domain, consumer).run(records), executor);
+        } catch (final RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new ServiceUnavailableException(ErrorCode.ACCOUNT_IMPORT_OVERLOADED,
+                    "Too many imports are running at the moment"));
+        }
+    }
+
+    /**
+     * The state of a single import. It's only accessed from the
+     * import thread.
+     */
+    private class Import {
+        private final String domain;
+        private final Consumer<AccountImportResultBO> consumer;
+        private final Semaphore inFlightHashes = new Semaphore(config.getMaxInFlightHashes());
+
+        private final Set<String> verifiedRoles = new HashSet<>();
+        private final Set<String> verifiedPermissions = new HashSet<>();
+
+        private final List<Pending> batch = new ArrayList<>(config.getBatchSize());
+
+        private long imported = 0;
+        private long failed = 0;
+        private Long checkpoint = null;
+
+        Import(final String domain, final Consumer<AccountImportResultBO> consumer) {
+            this.domain = domain;
+            this.consumer = consumer;
+        }
+
+        AccountImportSummaryBO run(final Iterator<AccountImportRecordBO> records) {
+            LOG.info("Account import started. domain={}", domain);
+
+            while (records.hasNext()) {
+                batch.add(prepare(records.next()));
+
+                if (batch.size() >= config.getBatchSize()) {
+                    flush();
+                }
+            }
+
+            flush();
+
+            LOG.info("Account import finished. domain={}, imported={}, failed={}, checkpoint={}",
+                    domain, imported, failed, checkpoint);
+
+            return AccountImportSummaryBO.builder()
+                    .imported(imported)
+                    .failed(failed)
+                    .checkpoint(checkpoint)
+                    .build();
+        }
+
+        private Pending prepare(final AccountImportRecordBO record) {
+            if (record.getAccount() == null) {
+                return new Pending(record.getLine(), CompletableFuture.failedFuture(
+                        new ServiceException(record.getErrorCode(), record.getMessage())));
+            }
+
+            try {
+                AccountBO preProcessed = AccountPreProcessor.preProcess(record.getAccount().withDomain(domain),
+                        accountConfig);
+
+                verifyRolesOrFail(preProcessed.getRoles());
+                verifyPermissionsOrFail(preProcessed.getPermissions());
+
+                /*
+                 * Blocking here keeps the import from flooding the hashing
+                 * executor, and slows down reading the records instead.
+                 */
+                inFlightHashes.acquireUninterruptibly();
+
+                CompletableFuture<AccountBO> hashed;
+
+                try {
+                    hashed = credentialsManager.verifyAndHashPlainPassword(preProcessed);
+                } catch (final RuntimeException e) {
+                    inFlightHashes.release();
+                    throw e;
+                }
+
+                return new Pending(record.getLine(), hashed
+                        .whenComplete((ignored, e) -> inFlightHashes.release())
+                        .thenApply(this::toDO));
+            } catch (final ServiceException e) {
+                return new Pending(record.getLine(), CompletableFuture.failedFuture(e));
+            }
+        }
+
+        private AccountDO toDO(final AccountBO account) {
+            Instant now = Instant.now();
+            AccountDO accountDO = serviceMapper.toDO(account);
+
+            accountDO.setId(ID.generate());
+            accountDO.setDeleted(false);
+            accountDO.setCreatedAt(now);
+            accountDO.setLastModified(now);
+
+            return accountDO;
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            List<AccountDO> toSave = new ArrayList<>(batch.size());
+            AccountImportResultBO[] results = new AccountImportResultBO[batch.size()];
+
+            for (int i = 0; i < batch.size(); i++) {
+                Pending pending = batch.get(i);
+
+                try {
+                    toSave.add(pending.account.join());
+                } catch (final CompletionException e) {
+                    results[i] = failure(pending.line, e.getCause());
+                }
+            }
+
+            Map<Long, AccountDO> saved = save(toSave);
+
+            for (int i = 0, next = 0; i < batch.size(); i++) {
+                if (results[i] != null) {
+                    continue;
+                }
+
+                AccountDO accountDO = toSave.get(next++);
+                AccountDO persisted = saved.get(accountDO.getId());
+
+                if (persisted == null) {
+                    results[i] = failure(batch.get(i).line, null);
+                } else {
+                    messageBus.publish(ACCOUNTS_CHANNEL, Messages.created(serviceMapper.toBO(persisted), domain));
+
+                    results[i] = AccountImportResultBO.builder()
+                            .line(batch.get(i).line)
+                            .imported(true)
+                            .accountId(persisted.getId())
+                            .build();
+                }
+            }
+
+            for (AccountImportResultBO result : results) {
+                if (result.isImported()) {
+                    imported++;
+                } else {
+                    failed++;
+                }
+
+                consumer.accept(result);
+            }
+
+            checkpoint = batch.get(batch.size() - 1).line;
+            batch.clear();
+        }
+
+        /**
+         * Saves the batch in a single call. If that fails, the accounts
+         * are saved one by one to find the ones which caused the failure.
+         * Accounts which the batch managed to save before failing are
+         * found by their IDs instead of being saved twice.
+         *
+         * @return The saved accounts by their IDs.
+         */
+        private Map<Long, AccountDO> save(final List<AccountDO> accounts) {
+            if (accounts.isEmpty()) {
+                return Collections.emptyMap();
+            }
+
+            try {
+                return accountsRepository.saveAll(accounts).join()
+                        .stream()
+                        .collect(Collectors.toMap(AccountDO::getId, accountDO -> accountDO));
+            } catch (final CompletionException e) {
+                LOG.warn("Failed to save a batch of {} accounts, saving them one by one. domain={}",
+                        accounts.size(), domain, e.getCause());
+            }
+
+            Map<Long, AccountDO> saved = new HashMap<>();
+
+            for (AccountDO account : accounts) {
+                try {
+                    AccountDO persisted = accountsRepository.getById(account.getId()).join()
+                            .orElseGet(() -> accountsRepository.save(account).join());
+
+                    saved.put(persisted.getId(), persisted);
+                } catch (final CompletionException e) {
+                    LOG.warn("Failed to save an imported account. domain={}", domain, e.getCause());
+                }
+            }
+
+            return saved;
+        }
+
+        private void verifyRolesOrFail(final Collection<String> roles) {
+            List<String> unverified = roles.stream()
+                    .filter(role -> !verifiedRoles.contains(role))
+                    .collect(Collectors.toList());
+
+            if (unverified.isEmpty()) {
+                return;
+            }
+
+            List<String> verified = rolesService.verifyRoles(unverified, domain, EntityType.ACCOUNT).join();
+
+            verifiedRoles.addAll(verified);
+
+            if (verified.size() != unverified.size()) {
+                List<String> difference = unverified.stream()
+                        .filter(role -> !verified.contains(role))
+                        .collect(Collectors.toList());
+
+                throw new ServiceException(ErrorCode.ROLE_DOES_NOT_EXIST,
+                        "The following roles are not valid " + difference);
+            }
+        }
+
+        private void verifyPermissionsOrFail(final Collection<PermissionBO> permissions) {
+            List<PermissionBO> unverified = permissions.stream()
+                    .filter(permission -> !verifiedPermissions.contains(permission.getFullName()))
+                    .collect(Collectors.toList());
+
+            if (unverified.isEmpty()) {
+                return;
+            }
+
+            Set<String> verified = permissionsService.validate(unverified, domain, EntityType.ACCOUNT)
+                    .join()
+                    .stream()
+                    .map(Permission::getFullName)
+                    .collect(Collectors.toSet());
+
+            verifiedPermissions.addAll(verified);
+
+            if (verified.size() != unverified.size()) {
+                List<String> difference = unverified.stream()
+                        .map(Permission::getFullName)
+                        .filter(permission -> !verified.contains(permission))
+                        .collect(Collectors.toList());
+
+                throw new ServiceException(ErrorCode.PERMISSION_DOES_NOT_EXIST,
+                        "The following permissions are not valid " + difference);
+            }
+        }
+
+        private AccountImportResultBO failure(final long line, final Throwable e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+
+            AccountImportResultBO.Builder result = AccountImportResultBO.builder()
+                    .line(line)
+                    .imported(false);
+
+            if (cause instanceof ServiceException) {
+                ServiceException serviceException = (ServiceException) cause;
+
+                return result.errorCode(serviceException.getErrorCode())
+                        .message(serviceException.getMessage())
+                        .build();
+            }
+
+            if (cause != null) {
+                LOG.warn("Unexpected error while importing an account. line={}, domain={}", line, domain, cause);
+            }
+
+            return result.message("Failed to save the account")
+                    .build();
+        }
+    }
+
+    private static class Pending {
+        private final long line;
+        private final CompletableFuture<AccountDO> account;
+
+        Pending(final long line, final CompletableFuture<AccountDO> account) {
+            this.line = line;
+            this.account = account;
+        }
+    }
+}
@@ -40,11 +40,8 @@ public class AccountLocksServiceImpl implements AccountLocksService {
 
     @Override
     public CompletableFuture<Collection<AccountLockBO>> getActiveLocksByAccountId(final long accountId) {
-        final Instant now = Instant.now();
-
-        return accountLocksRepository.findByAccountId(accountId)
+        return accountLocksRepository.findActiveByAccountId(accountId, Instant.now())
                 .thenApply(locks -> locks.stream()
-                        .filter(lock -> lock.getExpiresAt().isAfter(now))
                         .map(serviceMapper::toBO)
                         .collect(Collectors.toList())
                 );
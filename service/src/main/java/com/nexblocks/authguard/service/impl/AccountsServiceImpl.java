@@ -5,6 +5,7 @@ import com.google.inject.name.Named;
 import com.nexblocks.authguard.config.ConfigContext;
 import com.nexblocks.authguard.dal.model.AccountDO;
 import com.nexblocks.authguard.dal.persistence.AccountsRepository;
+import com.nexblocks.authguard.dal.persistence.LongPage;
 import com.nexblocks.authguard.emb.MessageBus;
 import com.nexblocks.authguard.emb.Messages;
 import com.nexblocks.authguard.service.AccountsService;
@@ -74,13 +75,16 @@ public class AccountsServiceImpl implements AccountsService {
     }
 
     private CompletableFuture<AccountBO> doCreate(final AccountBO account) {
-        final AccountBO withHashedPasswords = credentialsManager.verifyAndHashPlainPassword(account);
-        final AccountBO preProcessed = AccountPreProcessor.preProcess(withHashedPasswords, accountConfig);
+        return credentialsManager.verifyAndHashPlainPassword(account)
+                .thenCompose(withHashedPasswords -> doCreateHashed(account, withHashedPasswords));
+    }
 
-        verifyRolesOrFail(preProcessed.getRoles(), preProcessed.getDomain());
-        verifyPermissionsOrFail(preProcessed.getPermissions(), preProcessed.getDomain());
+    private CompletableFuture<AccountBO> doCreateHashed(final AccountBO account, final AccountBO withHashedPasswords) {
+        final AccountBO preProcessed = AccountPreProcessor.preProcess(withHashedPasswords, accountConfig);
 
-        return persistenceService.create(preProcessed)
+        return verifyRolesOrFail(preProcessed.getRoles(), preProcessed.getDomain())
+                .thenCompose(ignored -> verifyPermissionsOrFail(preProcessed.getPermissions(), preProcessed.getDomain()))
+                .thenCompose(ignored -> persistenceService.create(preProcessed))
                 .thenApply(created -> {
                     if (accountConfig.verifyEmail()) {
                         final List<AccountEmailBO> toVerify = new ArrayList<>(2);
@@ -174,6 +178,19 @@ public class AccountsServiceImpl implements AccountsService {
                 .thenApply(opt -> opt.map(serviceMapper::toBO));
     }
 
+    @Override
+    public CompletableFuture<Optional<AccountBO>> getAuthAccountByIdentifier(final String identifier,
+                                                                          final String domain) {
+        return accountsRepository.findAuthViewByIdentifier(identifier, domain)
+                .thenApply(opt -> opt.map(serviceMapper::toBO));
+    }
+
+    @Override
+    public CompletableFuture<Optional<AccountBO>> getAuthAccountById(final long id) {
+        return accountsRepository.getAuthViewById(id)
+                .thenApply(opt -> opt.map(serviceMapper::toBO));
+    }
+
     @Override
     public CompletableFuture<Optional<AccountBO>> update(final AccountBO account, String domain) {
         LOG.info("Account update request. accountId={}, domain={}", account.getId(), account.getDomain());
@@ -300,23 +317,22 @@ public class AccountsServiceImpl implements AccountsService {
     @Override
     public CompletableFuture<Optional<AccountBO>> grantPermissions(final long accountId, final List<PermissionBO> permissions, String domain) {
         return getByIdUnsafe(accountId, domain)
-                .thenCompose(account -> {
-                    verifyPermissionsOrFail(permissions, account.getDomain());
+                .thenCompose(account -> verifyPermissionsOrFail(permissions, account.getDomain())
+                        .thenCompose(ignored -> {
+                            List<PermissionBO> combinedPermissions = Stream.concat(account.getPermissions().stream(), permissions.stream())
+                                    .distinct()
+                                    .collect(Collectors.toList());
 
-                    List<PermissionBO> combinedPermissions = Stream.concat(account.getPermissions().stream(), permissions.stream())
-                            .distinct()
-                            .collect(Collectors.toList());
+                            AccountBO withNewPermissions = account.withPermissions(combinedPermissions);
 
-                    AccountBO withNewPermissions = account.withPermissions(combinedPermissions);
+                            return accountsRepository.update(serviceMapper.toDO(withNewPermissions))
+                                    .thenApply(updated -> updated.map(accountDO -> {
+                                        LOG.info("Granted account permissions. accountId={}, domain={}, permissions={}",
+                                                account.getId(), account.getDomain(), permissions);
 
-                    return accountsRepository.update(serviceMapper.toDO(withNewPermissions))
-                            .thenApply(updated -> updated.map(accountDO -> {
-                                LOG.info("Granted account permissions. accountId={}, domain={}, permissions={}",
-                                        account.getId(), account.getDomain(), permissions);
-
-                                return serviceMapper.toBO(accountDO);
-                            }));
-                });
+                                        return serviceMapper.toBO(accountDO);
+                                    }));
+                        }));
     }
 
     @Override
@@ -349,26 +365,25 @@ public class AccountsServiceImpl implements AccountsService {
     @Override
     public CompletableFuture<Optional<AccountBO>> grantRoles(final long accountId, final List<String> roles, String domain) {
         return getByIdUnsafe(accountId, domain)
-                .thenCompose(account -> {
-                    verifyRolesOrFail(roles, account.getDomain());
+                .thenCompose(account -> verifyRolesOrFail(roles, account.getDomain())
+                        .thenCompose(ignored -> {
+                            LOG.info("Grant account roles request. accountId={}, domain={}, permissions={}",
+                                    account.getId(), account.getDomain(), roles);
 
-                    LOG.info("Grant account roles request. accountId={}, domain={}, permissions={}",
-                            account.getId(), account.getDomain(), roles);
+                            List<String> combinedRoles = Stream.concat(account.getRoles().stream(), roles.stream())
+                                    .distinct()
+                                    .collect(Collectors.toList());
 
-                    List<String> combinedRoles = Stream.concat(account.getRoles().stream(), roles.stream())
-                            .distinct()
-                            .collect(Collectors.toList());
-
-                    AccountBO withNewRoles = account.withRoles(combinedRoles);
+                            AccountBO withNewRoles = account.withRoles(combinedRoles);
 
-                    return accountsRepository.update(serviceMapper.toDO(withNewRoles))
-                            .thenApply(updated -> updated.map(accountDO -> {
-                                        LOG.info("Granted account roles request. accountId={}, domain={}, permissions={}",
-                                                account.getId(), account.getDomain(), roles);
+                            return accountsRepository.update(serviceMapper.toDO(withNewRoles))
+                                    .thenApply(updated -> updated.map(accountDO -> {
+                                                LOG.info("Granted account roles request. accountId={}, domain={}, permissions={}",
+                                                        account.getId(), account.getDomain(), roles);
 
-                                        return serviceMapper.toBO(accountDO);
-                                    }));
-                });
+                                                return serviceMapper.toBO(accountDO);
+                                            }));
+                        }));
     }
 
     @Override
@@ -395,45 +410,48 @@ public class AccountsServiceImpl implements AccountsService {
     }
 
     @Override
-    public CompletableFuture<List<AccountBO>> getAdmins() {
-        return getByRole(accountConfig.getAuthguardAdminRole(), "global");
+    public CompletableFuture<List<AccountBO>> getAdmins(final Long cursor) {
+        return getByRole(accountConfig.getAuthguardAdminRole(), "global", cursor);
     }
 
     @Override
-    public CompletableFuture<List<AccountBO>> getByRole(final String role, final String domain) {
-        return accountsRepository.getByRole(role, domain)
+    public CompletableFuture<List<AccountBO>> getByRole(final String role, final String domain, final Long cursor) {
+        return accountsRepository.getByRole(role, domain, LongPage.of(cursor, 20))
                 .thenApply(accounts -> accounts.stream()
                         .map(serviceMapper::toBO)
                         .collect(Collectors.toList()));
     }
 
-    private void verifyRolesOrFail(final Collection<String> roles, final String domain) {
-        List<String> verifiedRoles = rolesService.verifyRoles(roles, domain, EntityType.ACCOUNT);
-
-        if (verifiedRoles.size() != roles.size()) {
-            List<String> difference = roles.stream()
-                    .filter(role -> !verifiedRoles.contains(role))
-                    .collect(Collectors.toList());
+    private CompletableFuture<Void> verifyRolesOrFail(final Collection<String> roles, final String domain) {
+        return rolesService.verifyRoles(roles, domain, EntityType.ACCOUNT)
+                .thenAccept(verifiedRoles -> {
+                    if (verifiedRoles.size() != roles.size()) {
+                        List<String> difference = roles.stream()
+                                .filter(role -> !verifiedRoles.contains(role))
+                                .collect(Collectors.toList());
 
-            throw new ServiceException(ErrorCode.ROLE_DOES_NOT_EXIST,
-                    "The following roles are not valid " + difference);
-        }
+                        throw new ServiceException(ErrorCode.ROLE_DOES_NOT_EXIST,
+                                "The following roles are not valid " + difference);
+                    }
+                });
     }
 
-    private void verifyPermissionsOrFail(final Collection<PermissionBO> permissions, final String domain) {
-        List<PermissionBO> verifiedPermissions = permissionsService.validate(permissions, domain, EntityType.ACCOUNT);
-
-        if (verifiedPermissions.size() != permissions.size()) {
-            Set<String> verifiedPermissionNames = verifiedPermissions.stream()
-                    .map(Permission::getFullName)
-                    .collect(Collectors.toSet());
-            List<String> difference = permissions.stream()
-                    .map(Permission::getFullName)
-                    .filter(permission -> !verifiedPermissionNames.contains(permission))
-                    .collect(Collectors.toList());
-
-            throw new ServiceException(ErrorCode.PERMISSION_DOES_NOT_EXIST,
-                    "The following permissions are not valid " + difference);
-        }
+    private CompletableFuture<Void> verifyPermissionsOrFail(final Collection<PermissionBO> permissions,
+                                                            final String domain) {
+        return permissionsService.validate(permissions, domain, EntityType.ACCOUNT)
+                .thenAccept(verifiedPermissions -> {
+                    if (verifiedPermissions.size() != permissions.size()) {
+                        Set<String> verifiedPermissionNames = verifiedPermissions.stream()
+                                .map(Permission::getFullName)
+                                .collect(Collectors.toSet());
+                        List<String> difference = permissions.stream()
+                                .map(Permission::getFullName)
+                                .filter(permission -> !verifiedPermissionNames.contains(permission))
+                                .collect(Collectors.toList());
+
+                        throw new ServiceException(ErrorCode.PERMISSION_DOES_NOT_EXIST,
+                                "The following permissions are not valid " + difference);
+                    }
+                });
     }
 }
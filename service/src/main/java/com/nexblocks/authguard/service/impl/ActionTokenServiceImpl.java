@@ -6,6 +6,7 @@ import com.nexblocks.authguard.basic.BasicAuthProvider;
 import com.nexblocks.authguard.basic.otp.OtpProvider;
 import com.nexblocks.authguard.basic.otp.OtpVerifier;
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.service.AccountsService;
 import com.nexblocks.authguard.service.ActionTokenService;
@@ -63,18 +64,17 @@ public class ActionTokenServiceImpl implements ActionTokenService {
     @Override
     public CompletableFuture<ActionTokenBO> generateFromBasicAuth(final AuthRequestBO authRequest, final String action) {
         return basicAuthProvider.getAccount(authRequest)
-                .thenApply(account -> {
-                    AccountTokenDO token = generateToken(account, action);
-
-                    LOG.info("Action token from credentials request. accountId={}, domain={}, tokenId={}, expiresAt={}",
-                            account.getId(), account.getDomain(), token.getId(), token.getExpiresAt());
-
-                    return ActionTokenBO.builder()
-                            .accountId(account.getId())
-                            .token(token.getToken())
-                            .validFor(TOKEN_LIFETIME.toSeconds())
-                            .build();
-                });
+                .thenCompose(account -> generateToken(account, action)
+                        .thenApply(token -> {
+                            LOG.info("Action token from credentials request. accountId={}, domain={}, tokenId={}, expiresAt={}",
+                                    account.getId(), account.getDomain(), token.getId(), token.getExpiresAt());
+
+                            return ActionTokenBO.builder()
+                                    .accountId(account.getId())
+                                    .token(token.getToken())
+                                    .validFor(TOKEN_LIFETIME.toSeconds())
+                                    .build();
+                        }));
     }
 
     @Override
@@ -95,22 +95,22 @@ public class ActionTokenServiceImpl implements ActionTokenService {
 
                     return CompletableFuture.completedFuture(result.get());
                 })
-                .thenApply(account -> {
-                    AccountTokenDO token = generateToken(account, action);
-                    LOG.info("Generated action token from OTP request. passwordId={}, tokenId={}, expiresAt={}",
-                            passwordId, token.getId(), token.getExpiresAt());
-
-                    return ActionTokenBO.builder()
-                            .accountId(account.getId())
-                            .token(token.getToken())
-                            .validFor(TOKEN_LIFETIME.toSeconds())
-                            .build();
-                });
+                .thenCompose(account -> generateToken(account, action)
+                        .thenApply(token -> {
+                            LOG.info("Generated action token from OTP request. passwordId={}, tokenId={}, expiresAt={}",
+                                    passwordId, token.getId(), token.getExpiresAt());
+
+                            return ActionTokenBO.builder()
+                                    .accountId(account.getId())
+                                    .token(token.getToken())
+                                    .validFor(TOKEN_LIFETIME.toSeconds())
+                                    .build();
+                        }));
     }
 
     @Override
     public CompletableFuture<ActionTokenBO> verifyToken(final String token, final String action) {
-        return accountTokensRepository.getByToken(token)
+        return accountTokensRepository.consume(TokenType.ACTION_TOKEN, token)
                 .thenCompose(persisted -> {
                     if (persisted.isEmpty()) {
                         return CompletableFuture.failedFuture(
@@ -139,7 +139,7 @@ public class ActionTokenServiceImpl implements ActionTokenService {
                 });
     }
 
-    private AccountTokenDO generateToken(final AccountBO account, final String action) {
+    private CompletableFuture<AccountTokenDO> generateToken(final AccountBO account, final String action) {
         Instant now = Instant.now();
 
         AccountTokenDO accountToken = AccountTokenDO
@@ -152,6 +152,6 @@ public class ActionTokenServiceImpl implements ActionTokenService {
                 .expiresAt(now.plus(TOKEN_LIFETIME))
                 .build();
 
-        return accountTokensRepository.save(accountToken).join();
+        return accountTokensRepository.save(TokenType.ACTION_TOKEN, accountToken);
     }
 }
@@ -16,7 +16,6 @@ import com.nexblocks.authguard.service.keys.ApiKeyHashProvider;
 import com.nexblocks.authguard.service.mappers.ServiceMapper;
 import com.nexblocks.authguard.service.model.ApiKeyBO;
 import com.nexblocks.authguard.service.model.AppBO;
-import com.nexblocks.authguard.service.model.AuthResponseBO;
 import com.nexblocks.authguard.service.model.ClientBO;
 import com.nexblocks.authguard.service.util.AsyncUtils;
 import org.slf4j.Logger;
@@ -110,17 +109,20 @@ public class ApiKeysServiceImpl implements ApiKeysService {
                 app.getId(), app.getDomain(), type, duration);
 
         Instant expirationInstant = getExpirationInstant(duration);
-        AuthResponseBO token = apiKeyExchange.generateKey(app, expirationInstant);
-        String generatedKey = (String) token.getToken();
-        String hashedKey = apiKeyHash.hash(generatedKey);
-        ApiKeyBO toCreate = mapApiKey(app.getId(), hashedKey, type, false, name, expirationInstant);
 
-        return create(toCreate)
-                .thenApply(persisted -> {
-                    LOG.info("API key generated. appId={}, domain={}, type={}, keyId={}, expiresAt={}",
-                            app.getId(), app.getDomain(), type, persisted.getId(), persisted.getExpiresAt());
+        return apiKeyExchange.generateKey(app, expirationInstant)
+                .thenCompose(token -> {
+                    String generatedKey = (String) token.getToken();
+                    String hashedKey = apiKeyHash.hash(generatedKey);
+                    ApiKeyBO toCreate = mapApiKey(app.getId(), hashedKey, type, false, name, expirationInstant);
 
-                    return persisted.withKey(generatedKey); // we store the hashed version, but we return the clear version
+                    return create(toCreate)
+                            .thenApply(persisted -> {
+                                LOG.info("API key generated. appId={}, domain={}, type={}, keyId={}, expiresAt={}",
+                                        app.getId(), app.getDomain(), type, persisted.getId(), persisted.getExpiresAt());
+
+                                return persisted.withKey(generatedKey); // we store the hashed version, but we return the clear version
+                            });
                 });
     }
 
@@ -133,17 +135,20 @@ public class ApiKeysServiceImpl implements ApiKeysService {
                 client.getId(), client.getDomain(), type, duration);
 
         Instant expirationInstant = getExpirationInstant(duration);
-        AuthResponseBO token = apiKeyExchange.generateKey(client, expirationInstant);
-        String generatedKey = (String) token.getToken();
-        String hashedKey = apiKeyHash.hash(generatedKey);
-        ApiKeyBO toCreate = mapApiKey(client.getId(), hashedKey, type, true, name, expirationInstant);
 
-        return create(toCreate)
-                .thenApply(persisted -> {
-                    LOG.info("API key generated. clientId={}, domain={}, type={}, keyId={}, expiresAt={}",
-                            client.getId(), client.getDomain(), type, persisted.getId(), persisted.getExpiresAt());
+        return apiKeyExchange.generateKey(client, expirationInstant)
+                .thenCompose(token -> {
+                    String generatedKey = (String) token.getToken();
+                    String hashedKey = apiKeyHash.hash(generatedKey);
+                    ApiKeyBO toCreate = mapApiKey(client.getId(), hashedKey, type, true, name, expirationInstant);
+
+                    return create(toCreate)
+                            .thenApply(persisted -> {
+                                LOG.info("API key generated. clientId={}, domain={}, type={}, keyId={}, expiresAt={}",
+                                        client.getId(), client.getDomain(), type, persisted.getId(), persisted.getExpiresAt());
 
-                    return persisted.withKey(generatedKey); // we store the hashed version, but we return the clear version
+                                return persisted.withKey(generatedKey); // we store the hashed version, but we return the clear version
+                            });
                 });
     }
 
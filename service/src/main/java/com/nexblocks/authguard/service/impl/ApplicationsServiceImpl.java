@@ -60,9 +60,12 @@ public class ApplicationsServiceImpl implements ApplicationsService {
     }
 
     private CompletableFuture<AppBO> doCreate(final AppBO app) {
-        verifyRolesOrFail(app.getRoles(), app.getDomain());
-        verifyPermissionsOrFail(app.getPermissions(), app.getDomain());
+        return verifyRolesOrFail(app.getRoles(), app.getDomain())
+                .thenCompose(ignored -> verifyPermissionsOrFail(app.getPermissions(), app.getDomain()))
+                .thenCompose(ignored -> createVerified(app));
+    }
 
+    private CompletableFuture<AppBO> createVerified(final AppBO app) {
         /*
          * It's undecided whether an app should be under an
          * account or not. So for now, we only check that the
@@ -164,23 +167,22 @@ public class ApplicationsServiceImpl implements ApplicationsService {
     public CompletableFuture<Optional<AppBO>> grantPermissions(long id, List<PermissionBO> permissions, String domain) {
         return getById(id, domain)
                 .thenCompose(AsyncUtils::fromAppOptional)
-                .thenCompose(app -> {
-                    verifyPermissionsOrFail(permissions, domain);
-
-                    List<PermissionBO> combinedPermissions = Stream.concat(app.getPermissions().stream(), permissions.stream())
-                            .distinct()
-                            .collect(Collectors.toList());
-
-                    AppBO withNewPermissions = app.withPermissions(combinedPermissions);
-
-                    return applicationsRepository.update(serviceMapper.toDO(withNewPermissions))
-                            .thenApply(updated -> updated.map(appDO -> {
-                                LOG.info("Granted app permissions. accountId={}, domain={}, permissions={}",
-                                        app.getId(), app.getDomain(), permissions);
-
-                                return serviceMapper.toBO(appDO);
-                            }));
-                });
+                .thenCompose(app -> verifyPermissionsOrFail(permissions, domain)
+                        .thenCompose(ignored -> {
+                            List<PermissionBO> combinedPermissions = Stream.concat(app.getPermissions().stream(), permissions.stream())
+                                    .distinct()
+                                    .collect(Collectors.toList());
+
+                            AppBO withNewPermissions = app.withPermissions(combinedPermissions);
+
+                            return applicationsRepository.update(serviceMapper.toDO(withNewPermissions))
+                                    .thenApply(updated -> updated.map(appDO -> {
+                                        LOG.info("Granted app permissions. accountId={}, domain={}, permissions={}",
+                                                app.getId(), app.getDomain(), permissions);
+
+                                        return serviceMapper.toBO(appDO);
+                                    }));
+                        }));
     }
 
     @Override
@@ -215,26 +217,25 @@ public class ApplicationsServiceImpl implements ApplicationsService {
     public CompletableFuture<Optional<AppBO>> grantRoles(long id, List<String> roles, String domain) {
         return getById(id, domain)
                 .thenCompose(AsyncUtils::fromAppOptional)
-                .thenCompose(app -> {
-                    verifyRolesOrFail(roles, app.getDomain());
-
-                    LOG.info("Grant app roles request. accountId={}, domain={}, permissions={}",
-                            app.getId(), app.getDomain(), roles);
+                .thenCompose(app -> verifyRolesOrFail(roles, app.getDomain())
+                        .thenCompose(ignored -> {
+                            LOG.info("Grant app roles request. accountId={}, domain={}, permissions={}",
+                                    app.getId(), app.getDomain(), roles);
 
-                    List<String> combinedRoles = Stream.concat(app.getRoles().stream(), roles.stream())
-                            .distinct()
-                            .collect(Collectors.toList());
+                            List<String> combinedRoles = Stream.concat(app.getRoles().stream(), roles.stream())
+                                    .distinct()
+                                    .collect(Collectors.toList());
 
-                    AppBO withNewRoles = app.withRoles(combinedRoles);
+                            AppBO withNewRoles = app.withRoles(combinedRoles);
 
-                    return applicationsRepository.update(serviceMapper.toDO(withNewRoles))
-                            .thenApply(updated -> updated.map(appDO -> {
-                                LOG.info("Granted app roles request. accountId={}, domain={}, permissions={}",
-                                        app.getId(), app.getDomain(), roles);
+                            return applicationsRepository.update(serviceMapper.toDO(withNewRoles))
+                                    .thenApply(updated -> updated.map(appDO -> {
+                                        LOG.info("Granted app roles request. accountId={}, domain={}, permissions={}",
+                                                app.getId(), app.getDomain(), roles);
 
-                                return serviceMapper.toBO(appDO);
-                            }));
-                });
+                                        return serviceMapper.toBO(appDO);
+                                    }));
+                        }));
     }
 
     @Override
@@ -261,32 +262,36 @@ public class ApplicationsServiceImpl implements ApplicationsService {
                 });
     }
 
-    private void verifyRolesOrFail(final Collection<String> roles, final String domain) {
-        final List<String> verifiedRoles = rolesService.verifyRoles(roles, domain, EntityType.APPLICATION);
-
-        if (verifiedRoles.size() != roles.size()) {
-            final List<String> difference = roles.stream()
-                    .filter(role -> !verifiedRoles.contains(role))
-                    .collect(Collectors.toList());
-
-            throw new ServiceException(ErrorCode.ROLE_DOES_NOT_EXIST, "The following roles are not valid " + difference);
-        }
+    private CompletableFuture<Void> verifyRolesOrFail(final Collection<String> roles, final String domain) {
+        return rolesService.verifyRoles(roles, domain, EntityType.APPLICATION)
+                .thenAccept(verifiedRoles -> {
+                    if (verifiedRoles.size() != roles.size()) {
+                        final List<String> difference = roles.stream()
+                                .filter(role -> !verifiedRoles.contains(role))
+                                .collect(Collectors.toList());
+
+                        throw new ServiceException(ErrorCode.ROLE_DOES_NOT_EXIST,
+                                "The following roles are not valid " + difference);
+                    }
+                });
     }
 
-    private void verifyPermissionsOrFail(final Collection<PermissionBO> permissions, final String domain) {
-        List<PermissionBO> verifiedPermissions = permissionsService.validate(permissions, domain, EntityType.APPLICATION);
-
-        if (verifiedPermissions.size() != permissions.size()) {
-            Set<String> verifiedPermissionNames = verifiedPermissions.stream()
-                    .map(Permission::getFullName)
-                    .collect(Collectors.toSet());
-            List<String> difference = permissions.stream()
-                    .map(Permission::getFullName)
-                    .filter(permission -> !verifiedPermissionNames.contains(permission))
-                    .collect(Collectors.toList());
-
-            throw new ServiceException(ErrorCode.PERMISSION_DOES_NOT_EXIST,
-                    "The following permissions are not valid " + difference);
-        }
+    private CompletableFuture<Void> verifyPermissionsOrFail(final Collection<PermissionBO> permissions,
+                                                            final String domain) {
+        return permissionsService.validate(permissions, domain, EntityType.APPLICATION)
+                .thenAccept(verifiedPermissions -> {
+                    if (verifiedPermissions.size() != permissions.size()) {
+                        Set<String> verifiedPermissionNames = verifiedPermissions.stream()
+                                .map(Permission::getFullName)
+                                .collect(Collectors.toSet());
+                        List<String> difference = permissions.stream()
+                                .map(Permission::getFullName)
+                                .filter(permission -> !verifiedPermissionNames.contains(permission))
+                                .collect(Collectors.toList());
+
+                        throw new ServiceException(ErrorCode.PERMISSION_DOES_NOT_EXIST,
+                                "The following permissions are not valid " + difference);
+                    }
+                });
     }
 }
@@ -3,6 +3,7 @@ package com.nexblocks.authguard.service.impl;
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
 import com.nexblocks.authguard.config.ConfigContext;
+import com.nexblocks.authguard.metrics.tracing.Traces;
 import com.nexblocks.authguard.service.AccountLocksService;
 import com.nexblocks.authguard.service.AuthenticationService;
 import com.nexblocks.authguard.service.ExchangeService;
@@ -52,7 +53,8 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
     @Override
     public CompletableFuture<AuthResponseBO> authenticate(final AuthRequestBO authRequest, final RequestContextBO requestContext) {
-        return exchangeService.exchange(authRequest, BASIC_TOKEN_TYPE, generateTokenType, requestContext)
+        return Traces.traceAsync("authenticate", () -> exchangeService.exchange(authRequest, BASIC_TOKEN_TYPE,
+                        generateTokenType, requestContext)
                 .thenCompose(tokens ->
                         accountLocksService.getActiveLocksByAccountId(tokens.getEntityId())
                                 .thenApply(locks -> {
@@ -62,7 +64,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
                                     throw new ServiceAuthorizationException(ErrorCode.ACCOUNT_IS_LOCKED,
                                             "There is an active lock on account " + tokens.getEntityId());
-                                }));
+                                })));
     }
 
     @Override
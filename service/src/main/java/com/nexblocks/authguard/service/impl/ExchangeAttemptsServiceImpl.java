@@ -54,16 +54,15 @@ public class ExchangeAttemptsServiceImpl implements ExchangeAttemptsService {
     }
 
     @Override
-    public Collection<ExchangeAttemptBO> getByEntityId(final long entityId) {
+    public CompletableFuture<Collection<ExchangeAttemptBO>> getByEntityId(final long entityId) {
         return exchangeAttemptsRepository.findByEntity(entityId)
                 .thenApply(collection -> collection.stream()
                         .map(serviceMapper::toBO)
-                        .collect(Collectors.toList())
-                ).join();
+                        .collect(Collectors.toList()));
     }
 
     @Override
-    public Collection<ExchangeAttemptBO> find(final ExchangeAttemptsQueryBO query) {
+    public CompletableFuture<Collection<ExchangeAttemptBO>> find(final ExchangeAttemptsQueryBO query) {
         /*
          * The only three options are:
          * 1. only entityId is specified
@@ -83,12 +82,11 @@ public class ExchangeAttemptsServiceImpl implements ExchangeAttemptsService {
                 .findByEntityAndTimestampAndExchange(query.getEntityId(), query.getFromTimestamp(), query.getFromExchange()));
     }
 
-    private Collection<ExchangeAttemptBO> doFind(
+    private CompletableFuture<Collection<ExchangeAttemptBO>> doFind(
             final Supplier<CompletableFuture<Collection<ExchangeAttemptDO>>> supplier) {
         return supplier.get()
                 .thenApply(collection -> collection.stream()
                         .map(serviceMapper::toBO)
-                        .collect(Collectors.toList())
-                ).join();
+                        .collect(Collectors.toList()));
     }
 }
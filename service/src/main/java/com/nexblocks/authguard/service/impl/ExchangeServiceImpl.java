@@ -3,6 +3,11 @@ package com.nexblocks.authguard.service.impl;
 import com.google.inject.Inject;
 import com.nexblocks.authguard.emb.MessageBus;
 import com.nexblocks.authguard.emb.Messages;
+import com.nexblocks.authguard.metrics.Counter;
+import com.nexblocks.authguard.metrics.MetricFamily;
+import com.nexblocks.authguard.metrics.MetricsRegistry;
+import com.nexblocks.authguard.metrics.events.ExchangeEvent;
+import com.nexblocks.authguard.metrics.tracing.Traces;
 import com.nexblocks.authguard.service.ExchangeAttemptsService;
 import com.nexblocks.authguard.service.ExchangeService;
 import com.nexblocks.authguard.service.auth.AuthProvider;
@@ -33,15 +38,18 @@ public class ExchangeServiceImpl implements ExchangeService {
     private final Map<String, AuthProvider> authProviders;
     private final ExchangeAttemptsService exchangeAttemptsService;
     private final MessageBus emb;
+    private final MetricFamily<Counter> exchangeResults;
 
     @Inject
     public ExchangeServiceImpl(final List<Exchange> exchanges, final List<AuthProvider> authProviders,
                                final ExchangeAttemptsService exchangeAttemptsService,
-                               final MessageBus emb) {
+                               final MessageBus emb, final MetricsRegistry metrics) {
         this.exchanges = mapExchanges(exchanges);
         this.authProviders = mapProviders(authProviders);
         this.exchangeAttemptsService = exchangeAttemptsService;
         this.emb = emb;
+        this.exchangeResults = metrics.counter("authguard_exchanges_total",
+                "Token exchanges by their types and outcome", "from", "to", "result");
     }
 
     @Override
@@ -54,6 +62,9 @@ public class ExchangeServiceImpl implements ExchangeService {
             LOG.warn("A request was made for an unknown exchange. fromTokenType={}, toTokenType={}",
                     fromTokenType, toTokenType);
 
+            // the types come from the request, so they aren't used as labels
+            exchangeResults.labels("unknown", "unknown", "unknown_exchange").increment();
+
             throw new ServiceException(ErrorCode.UNKNOWN_EXCHANGE, "Unknown token exchange " + fromTokenType + " to " + toTokenType);
         }
 
@@ -64,8 +75,13 @@ public class ExchangeServiceImpl implements ExchangeService {
                 .sourceIp(requestContext.getSource())
                 .build();
 
-        return exchange.exchange(enrichedRequest)
+        return new ExchangeEvent(authRequest.getDomain(), fromTokenType, toTokenType)
+                .recordAsync(() -> Traces.traceAsync("exchange " + fromTokenType + "-" + toTokenType,
+                        () -> exchange.exchange(enrichedRequest)))
                 .whenComplete((tokens, e) -> {
+                    exchangeResults.labels(fromTokenType, toTokenType, e == null ? "success" : "failure")
+                            .increment();
+
                     if (e == null) {
                         LOG.info("Successful exchange. from={}, to={}, request={}", fromTokenType, toTokenType, authRequest);
 
@@ -0,0 +1,179 @@
+package com.nexblocks.authguard.service.impl;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.nexblocks.authguard.config.ConfigContext;
+import com.nexblocks.authguard.dal.model.AbstractDO;
+import com.nexblocks.authguard.dal.persistence.*;
+import com.nexblocks.authguard.service.ExportService;
+import com.nexblocks.authguard.service.config.ExportConfig;
+import com.nexblocks.authguard.service.exceptions.ServiceException;
+import com.nexblocks.authguard.service.exceptions.ServiceUnavailableException;
+import com.nexblocks.authguard.service.exceptions.codes.ErrorCode;
+import com.nexblocks.authguard.service.mappers.ServiceMapper;
+import com.nexblocks.authguard.service.model.AccountBO;
+import com.nexblocks.authguard.service.model.AppBO;
+import com.nexblocks.authguard.service.model.EventBO;
+import com.nexblocks.authguard.service.model.ExchangeAttemptBO;
+import com.nexblocks.authguard.service.util.CredentialsManager;
+import com.nexblocks.authguard.service.util.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs every export on its own thread, which waits for each page
+ * before asking for the next one. Walking the pages in a loop rather
+ * than chaining futures keeps the stack flat no matter how many pages
+ * there are.
+ */
+@Singleton
+public class ExportServiceImpl implements ExportService {
+    private static final Logger LOG = LoggerFactory.getLogger(ExportServiceImpl.class);
+
+    private final AccountsRepository accountsRepository;
+    private final ApplicationsRepository applicationsRepository;
+    private final EventsRepository eventsRepository;
+    private final ExchangeAttemptsRepository exchangeAttemptsRepository;
+    private final CredentialsManager credentialsManager;
+    private final ServiceMapper serviceMapper;
+    private final ExportConfig config;
+    private final ExecutorService executor;
+
+    @Inject
+    public ExportServiceImpl(final AccountsRepository accountsRepository,
+                             final ApplicationsRepository applicationsRepository,
+                             final EventsRepository eventsRepository,
+                             final ExchangeAttemptsRepository exchangeAttemptsRepository,
+                             final CredentialsManager credentialsManager,
+                             final ServiceMapper serviceMapper,
+                             final @Named("export") ConfigContext configContext) {
+        this(accountsRepository, applicationsRepository, eventsRepository, exchangeAttemptsRepository,
+                credentialsManager, serviceMapper, configContext.asConfigBean(ExportConfig.class));
+    }
+
+    public ExportServiceImpl(final AccountsRepository accountsRepository,
+                             final ApplicationsRepository applicationsRepository,
+                             final EventsRepository eventsRepository,
+                             final ExchangeAttemptsRepository exchangeAttemptsRepository,
+                             final CredentialsManager credentialsManager,
+                             final ServiceMapper serviceMapper,
+                             final ExportConfig config) {
+        this.accountsRepository = accountsRepository;
+        this.applicationsRepository = applicationsRepository;
+        this.eventsRepository = eventsRepository;
+        this.exchangeAttemptsRepository = exchangeAttemptsRepository;
+        this.credentialsManager = credentialsManager;
+        this.serviceMapper = serviceMapper;
+        this.config = config;
+
+        this.executor = new ThreadPoolExecutor(config.getMaxConcurrentExports(), config.getMaxConcurrentExports(),
+                60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                new NamedThreadFactory("export"), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public CompletableFuture<Long> exportAccounts(final String domain, final Long cursor,
+                                                  final Consumer<AccountBO> consumer) {
+        return export("accounts", page -> accountsRepository.getByDomain(domain, page),
+                account -> credentialsManager.removeSensitiveInformation(serviceMapper.toBO(account)),
+                cursor, consumer);
+    }
+
+    @Override
+    public CompletableFuture<Long> exportAccountsByRole(final String domain, final String role, final Long cursor,
+                                                        final Consumer<AccountBO> consumer) {
+        return export("accounts with role " + role, page -> accountsRepository.getByRole(role, domain, page),
+                account -> credentialsManager.removeSensitiveInformation(serviceMapper.toBO(account)),
+                cursor, consumer);
+    }
+
+    @Override
+    public CompletableFuture<Long> exportApps(final String domain, final Long cursor, final Consumer<AppBO> consumer) {
+        return export("apps", page -> applicationsRepository.getByDomain(domain, page),
+                serviceMapper::toBO, cursor, consumer);
+    }
+
+    @Override
+    public CompletableFuture<Long> exportEvents(final String domain, final Long cursor,
+                                                final Consumer<EventBO> consumer) {
+        return export("events", page -> eventsRepository.findByDomain(domain, page),
+                serviceMapper::toBO, cursor, consumer);
+    }
+
+    @Override
+    public CompletableFuture<Long> exportExchangeAttempts(final Long cursor,
+                                                          final Consumer<ExchangeAttemptBO> consumer) {
+        return export("exchange attempts", exchangeAttemptsRepository::findAll,
+                serviceMapper::toBO, cursor, consumer);
+    }
+
+    private <D extends AbstractDO, B> CompletableFuture<Long> export(final String name,
+                                                                    final Function<Page<Long>, CompletableFuture<List<D>>> fetch,
+                                                                    final Function<D, B> mapper,
+                                                                    final Long cursor,
+                                                                    final Consumer<B> consumer) {
+        try {
+            return CompletableFuture.supplyAsync(() -> walk(name, fetch, mapper, cursor, consumer), executor);
+        } catch (final RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new ServiceUnavailableException(ErrorCode.EXPORT_OVERLOADED,
+                    "Too many exports are running at the moment"));
+        }
+    }
+
+    private <D extends AbstractDO, B> long walk(final String name,
+                                                final Function<Page<Long>, CompletableFuture<List<D>>> fetch,
+                                                final Function<D, B> mapper,
+                                                final Long cursor,
+                                                final Consumer<B> consumer) {
+        int pageSize = config.getPageSize();
+        Long next = cursor;
+        long exported = 0;
+
+        LOG.info("Export of {} started. cursor={}", name, cursor);
+
+        while (true) {
+            List<D> page = fetchPage(name, fetch, LongPage.of(next, pageSize));
+
+            for (D record : page) {
+                consumer.accept(mapper.apply(record));
+            }
+
+            exported += page.size();
+
+            if (page.size() < pageSize) {
+                break;
+            }
+
+            next = page.get(page.size() - 1).getId();
+        }
+
+        LOG.info("Export of {} finished. exported={}", name, exported);
+
+        return exported;
+    }
+
+    /*
+     * DAL implementations which were built before exports don't have the
+     * paged queries, and fail with an UnsupportedOperationException.
+     */
+    private <D extends AbstractDO> List<D> fetchPage(final String name,
+                                                     final Function<Page<Long>, CompletableFuture<List<D>>> fetch,
+                                                     final Page<Long> page) {
+        try {
+            return fetch.apply(page).join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof UnsupportedOperationException) {
+                throw new ServiceException(ErrorCode.EXPORT_NOT_SUPPORTED,
+                        "Exporting " + name + " isn't supported by the DAL implementation");
+            }
+
+            throw e;
+        }
+    }
+}
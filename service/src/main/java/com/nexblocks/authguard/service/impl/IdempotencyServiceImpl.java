@@ -3,25 +3,33 @@ package com.nexblocks.authguard.service.impl;
 import com.google.inject.Inject;
 import com.nexblocks.authguard.dal.persistence.IdempotentRecordsRepository;
 import com.nexblocks.authguard.service.IdempotencyService;
+import com.nexblocks.authguard.service.concurrent.ExecutionPools;
 import com.nexblocks.authguard.service.exceptions.IdempotencyException;
 import com.nexblocks.authguard.service.mappers.ServiceMapper;
 import com.nexblocks.authguard.service.model.Entity;
 import com.nexblocks.authguard.service.model.IdempotentRecordBO;
 import com.nexblocks.authguard.service.util.ID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 public class IdempotencyServiceImpl implements IdempotencyService {
+    private static final Logger LOG = LoggerFactory.getLogger(IdempotencyServiceImpl.class);
+
     private final IdempotentRecordsRepository repository;
     private final ServiceMapper serviceMapper;
+    private final ExecutionPools executionPools;
 
     @Inject
     public IdempotencyServiceImpl(final IdempotentRecordsRepository repository,
-                                  final ServiceMapper serviceMapper) {
+                                  final ServiceMapper serviceMapper,
+                                  final ExecutionPools executionPools) {
         this.repository = repository;
         this.serviceMapper = serviceMapper;
+        this.executionPools = executionPools;
     }
 
     @Override
@@ -48,7 +56,7 @@ public class IdempotencyServiceImpl implements IdempotencyService {
                     }
 
                     return operation.get();
-                })
+                }, executionPools.dal())
                 .thenApply(result -> {
                     final IdempotentRecordBO record = IdempotentRecordBO.builder()
                             .id(ID.generate())
@@ -58,7 +66,7 @@ public class IdempotencyServiceImpl implements IdempotencyService {
                             .build();
 
                     // we don't have to wait for this to finish
-                    CompletableFuture.runAsync(() -> create(record));
+                    storeInBackground(record);
 
                     return result;
                 });
@@ -83,9 +91,18 @@ public class IdempotencyServiceImpl implements IdempotencyService {
                             .build();
 
                     // we don't have to wait for this to finish
-                    CompletableFuture.runAsync(() -> create(record));
+                    storeInBackground(record);
 
                     return result;
                 });
     }
+
+    private void storeInBackground(final IdempotentRecordBO record) {
+        create(record).whenComplete((ignored, e) -> {
+            if (e != null) {
+                LOG.warn("Failed to store an idempotent record. key={}, entityType={}",
+                        record.getIdempotentKey(), record.getEntityType(), e);
+            }
+        });
+    }
 }
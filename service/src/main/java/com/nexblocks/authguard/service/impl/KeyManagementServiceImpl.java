@@ -12,6 +12,7 @@ import com.nexblocks.authguard.emb.MessageBus;
 import com.nexblocks.authguard.service.AccountsService;
 import com.nexblocks.authguard.service.ApplicationsService;
 import com.nexblocks.authguard.service.KeyManagementService;
+import com.nexblocks.authguard.service.concurrent.ExecutionPools;
 import com.nexblocks.authguard.service.config.CryptoKeyConfig;
 import com.nexblocks.authguard.service.exceptions.ServiceException;
 import com.nexblocks.authguard.service.exceptions.ServiceNotFoundException;
@@ -43,6 +44,7 @@ public class KeyManagementServiceImpl implements KeyManagementService {
     private final CryptographicRandom cryptographicRandom;
     private final ServiceMapper serviceMapper;
     private final PersistenceService<PersistedKeyBO, CryptoKeyDO, CryptoKeysRepository> persistenceService;
+    private final ExecutionPools executionPools;
     private final CryptoKeyConfig config;
     private final byte[] encryptionKey;
 
@@ -52,11 +54,13 @@ public class KeyManagementServiceImpl implements KeyManagementService {
                                     final ServiceMapper serviceMapper,
                                     final CryptoKeysRepository cryptoKeysRepository,
                                     final MessageBus messageBus,
+                                    final ExecutionPools executionPools,
                                     final @Named("cryptographic_keys") ConfigContext cryptoKeysConfigContext) {
         this.repository = cryptoKeysRepository;
         this.accountsService = accountsService;
         this.applicationsService = applicationsService;
         this.serviceMapper = serviceMapper;
+        this.executionPools = executionPools;
 
         this.config = cryptoKeysConfigContext.asConfigBean(CryptoKeyConfig.class);
         this.encryptionKey = Base64.getDecoder().decode(KeyLoader.readTexFileOrValue(this.config.getEncryptionKey()));
@@ -78,7 +82,7 @@ public class KeyManagementServiceImpl implements KeyManagementService {
                                     "No account with ID " + key.getAccountId() + " exists");
                         }
 
-                        return persistenceService.create(encrypt(key));
+                        return encryptAndCreate(key);
                     });
         } else if (key.getAppId() != null) {
             createFuture = applicationsService.getById(key.getAppId(), key.getDomain())
@@ -88,10 +92,10 @@ public class KeyManagementServiceImpl implements KeyManagementService {
                                     "No application with ID " + key.getAccountId() + " exists");
                         }
 
-                        return persistenceService.create(encrypt(key));
+                        return encryptAndCreate(key);
                     });
         } else {
-            createFuture = persistenceService.create(encrypt(key));
+            createFuture = encryptAndCreate(key);
         }
 
         return createFuture
@@ -145,7 +149,7 @@ public class KeyManagementServiceImpl implements KeyManagementService {
     @Override
     public CompletableFuture<Optional<PersistedKeyBO>> getDecrypted(final long id, final String domain, final String passcode) {
         return getById(id, domain)
-                .thenApply(opt -> opt.map(key -> {
+                .thenApplyAsync(opt -> opt.map(key -> {
                     byte[] nonce;
 
                     if (key.isPasscodeProtected()) {
@@ -174,7 +178,7 @@ public class KeyManagementServiceImpl implements KeyManagementService {
                             .privateKey(Base64.getEncoder().encodeToString(decryptedPrivateKey))
                             .nonce()
                             .build();
-                }));
+                }), executionPools.crypto());
     }
 
     @Override
@@ -233,6 +237,11 @@ public class KeyManagementServiceImpl implements KeyManagementService {
         return raw == null ? null : Base64.getEncoder().encodeToString(raw);
     }
 
+    private CompletableFuture<PersistedKeyBO> encryptAndCreate(final PersistedKeyBO key) {
+        return CompletableFuture.supplyAsync(() -> encrypt(key), executionPools.crypto())
+                .thenCompose(persistenceService::create);
+    }
+
     private PersistedKeyBO encrypt(final PersistedKeyBO key) {
         byte[] nonce = cryptographicRandom.bytes(12);
 
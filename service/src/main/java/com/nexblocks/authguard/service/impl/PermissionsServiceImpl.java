@@ -46,12 +46,15 @@ public class PermissionsServiceImpl implements PermissionsService {
     public CompletableFuture<PermissionBO> create(final PermissionBO permission) {
         LOG.debug("New permission request. permission={}, domain={}", permission.getFullName(), permission.getDomain());
 
-        if (permissionsRepository.search(permission.getGroup(), permission.getName(), permission.getDomain()).join().isPresent()) {
-            throw new ServiceConflictException(ErrorCode.PERMISSION_ALREADY_EXIST,
-                    "Permission " + permission.getFullName() + " already exists");
-        }
+        return permissionsRepository.search(permission.getGroup(), permission.getName(), permission.getDomain())
+                .thenCompose(existing -> {
+                    if (existing.isPresent()) {
+                        return CompletableFuture.failedFuture(new ServiceConflictException(ErrorCode.PERMISSION_ALREADY_EXIST,
+                                "Permission " + permission.getFullName() + " already exists"));
+                    }
 
-        return persistenceService.create(permission);
+                    return persistenceService.create(permission);
+                });
     }
 
     @Override
@@ -78,21 +81,25 @@ public class PermissionsServiceImpl implements PermissionsService {
     }
 
     @Override
-    public List<PermissionBO> validate(final Collection<PermissionBO> permissions, final String domain, EntityType entityType) {
-        return permissions.stream()
-                .map(permission -> permissionsRepository.search(permission.getGroup(), permission.getName(), domain)
-                        .join()
-                        .map(serviceMapper::toBO))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .filter(permission -> {
-                    switch (entityType) {
-                        case ACCOUNT: return permission.isForAccounts();
-                        case APPLICATION: return permission.isForApplications();
-                        default: return false;
-                    }
-                })
+    public CompletableFuture<List<PermissionBO>> validate(final Collection<PermissionBO> permissions,
+                                                          final String domain, EntityType entityType) {
+        List<CompletableFuture<Optional<PermissionDO>>> searches = permissions.stream()
+                .map(permission -> permissionsRepository.search(permission.getGroup(), permission.getName(), domain))
                 .collect(Collectors.toList());
+
+        return CompletableFuture.allOf(searches.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> searches.stream()
+                        .map(search -> search.join().map(serviceMapper::toBO))
+                        .filter(Optional::isPresent)
+                        .map(Optional::get)
+                        .filter(permission -> {
+                            switch (entityType) {
+                                case ACCOUNT: return permission.isForAccounts();
+                                case APPLICATION: return permission.isForApplications();
+                                default: return false;
+                            }
+                        })
+                        .collect(Collectors.toList()));
     }
 
     @Override
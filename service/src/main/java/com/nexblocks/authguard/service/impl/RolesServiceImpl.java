@@ -106,7 +106,7 @@ public class RolesServiceImpl implements RolesService {
     }
 
     @Override
-    public List<String> verifyRoles(final Collection<String> roles, final String domain, EntityType entityType) {
+    public CompletableFuture<List<String>> verifyRoles(final Collection<String> roles, final String domain, EntityType entityType) {
         return rolesRepository.getMultiple(roles, domain)
                 .thenApply(found -> found.stream()
                         .filter(role -> {
@@ -117,7 +117,6 @@ public class RolesServiceImpl implements RolesService {
                             }
                         })
                         .map(RoleDO::getName)
-                        .collect(Collectors.toList())
-                ).join();
+                        .collect(Collectors.toList()));
     }
 }
@@ -0,0 +1,212 @@
+package com.nexblocks.authguard.service.impl;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.nexblocks.authguard.config.ConfigContext;
+import com.nexblocks.authguard.service.ApiKeysService;
+import com.nexblocks.authguard.service.TokenIntrospectionService;
+import com.nexblocks.authguard.service.config.IntrospectionConfig;
+import com.nexblocks.authguard.service.exceptions.ServiceException;
+import com.nexblocks.authguard.service.exceptions.codes.ErrorCode;
+import com.nexblocks.authguard.service.exchange.Exchange;
+import com.nexblocks.authguard.service.exchange.TokenExchange;
+import com.nexblocks.authguard.service.model.*;
+import com.nexblocks.authguard.service.util.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Singleton
+public class TokenIntrospectionServiceImpl implements TokenIntrospectionService {
+    private static final Logger LOG = LoggerFactory.getLogger(TokenIntrospectionServiceImpl.class);
+
+    static final String API_KEY_TOKEN_TYPE = "apiKey";
+    private static final String DEFAULT_KEY_TYPE = "default";
+    private static final String INTROSPECTION_TARGET = "accountId";
+
+    private final Map<String, Exchange> exchanges;
+    private final ApiKeysService apiKeysService;
+    private final IntrospectionConfig config;
+    private final ExecutorService executor;
+
+    @Inject
+    public TokenIntrospectionServiceImpl(final List<Exchange> exchanges,
+                                         final ApiKeysService apiKeysService,
+                                         final @Named("introspection") ConfigContext configContext) {
+        this(exchanges, apiKeysService, configContext.asConfigBean(IntrospectionConfig.class));
+    }
+
+    public TokenIntrospectionServiceImpl(final List<Exchange> exchanges,
+                                         final ApiKeysService apiKeysService,
+                                         final IntrospectionConfig config) {
+        this.exchanges = mapExchanges(exchanges);
+        this.apiKeysService = apiKeysService;
+        this.config = config;
+
+        /*
+         * Requests beyond what the queue can hold run on the caller
+         * thread, which pushes back on the batch instead of failing it.
+         */
+        this.executor = new ThreadPoolExecutor(config.getParallelism(), config.getParallelism(),
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(config.getMaxBatchSize()),
+                new NamedThreadFactory("introspection"), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Override
+    public CompletableFuture<IntrospectionResultBO> introspect(final IntrospectionRequestBO request, final String domain) {
+        return introspect(request, 0, domain);
+    }
+
+    @Override
+    public CompletableFuture<List<IntrospectionResultBO>> introspectAll(final List<IntrospectionRequestBO> requests,
+                                                                        final String domain) {
+        verifyBatchSize(requests);
+
+        List<CompletableFuture<IntrospectionResultBO>> results = new ArrayList<>(requests.size());
+
+        for (int i = 0; i < requests.size(); i++) {
+            results.add(introspectAsync(requests.get(i), i, domain));
+        }
+
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> results.stream()
+                        .map(CompletableFuture::join)
+                        .collect(Collectors.toList()));
+    }
+
+    @Override
+    public CompletableFuture<Void> introspectAll(final List<IntrospectionRequestBO> requests, final String domain,
+                                                 final Consumer<IntrospectionResultBO> consumer) {
+        verifyBatchSize(requests);
+
+        Object lock = new Object();
+        CompletableFuture<?>[] results = new CompletableFuture[requests.size()];
+
+        for (int i = 0; i < requests.size(); i++) {
+            results[i] = introspectAsync(requests.get(i), i, domain)
+                    .thenAccept(result -> {
+                        synchronized (lock) {
+                            consumer.accept(result);
+                        }
+                    });
+        }
+
+        return CompletableFuture.allOf(results);
+    }
+
+    @Override
+    public int getStreamingThreshold() {
+        return config.getStreamingThreshold();
+    }
+
+    private void verifyBatchSize(final List<IntrospectionRequestBO> requests) {
+        if (requests.size() > config.getMaxBatchSize()) {
+            throw new ServiceException(ErrorCode.INVALID_REQUEST_VALUE,
+                    "A batch cannot contain more than " + config.getMaxBatchSize() + " tokens");
+        }
+    }
+
+    private CompletableFuture<IntrospectionResultBO> introspectAsync(final IntrospectionRequestBO request,
+                                                                     final int index, final String domain) {
+        return CompletableFuture.supplyAsync(() -> introspect(request, index, domain), executor)
+                .thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<IntrospectionResultBO> introspect(final IntrospectionRequestBO request,
+                                                                final int index, final String domain) {
+        CompletableFuture<IntrospectionResultBO> verified;
+
+        try {
+            verified = API_KEY_TOKEN_TYPE.equals(request.getTokenType())
+                    ? verifyApiKey(request, index, domain)
+                    : verifyToken(request, index, domain);
+        } catch (final Exception e) {
+            verified = CompletableFuture.failedFuture(e);
+        }
+
+        return verified.exceptionally(e -> inactive(request, index, e));
+    }
+
+    private CompletableFuture<IntrospectionResultBO> verifyApiKey(final IntrospectionRequestBO request,
+                                                                  final int index, final String domain) {
+        String keyType = request.getKeyType() == null ? DEFAULT_KEY_TYPE : request.getKeyType();
+
+        return apiKeysService.validateApiKey(request.getToken(), domain, keyType)
+                .thenApply(app -> IntrospectionResultBO.builder()
+                        .index(index)
+                        .tokenType(request.getTokenType())
+                        .active(true)
+                        .entityType(EntityType.APPLICATION)
+                        .entityId(app.getId())
+                        .build());
+    }
+
+    private CompletableFuture<IntrospectionResultBO> verifyToken(final IntrospectionRequestBO request,
+                                                                 final int index, final String domain) {
+        Exchange exchange = exchanges.get(request.getTokenType());
+
+        if (exchange == null) {
+            return CompletableFuture.failedFuture(new ServiceException(ErrorCode.UNKNOWN_EXCHANGE,
+                    "Token type " + request.getTokenType() + " cannot be introspected"));
+        }
+
+        AuthRequestBO authRequest = AuthRequestBO.builder()
+                .token(request.getToken())
+                .domain(domain)
+                .build();
+
+        return exchange.exchange(authRequest)
+                .thenApply(response -> IntrospectionResultBO.builder()
+                        .index(index)
+                        .tokenType(request.getTokenType())
+                        .active(true)
+                        .entityType(EntityType.ACCOUNT)
+                        .entityId((Long) response.getToken())
+                        .build());
+    }
+
+    private IntrospectionResultBO inactive(final IntrospectionRequestBO request, final int index,
+                                           final Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+
+        IntrospectionResultBO.Builder result = IntrospectionResultBO.builder()
+                .index(index)
+                .tokenType(request.getTokenType())
+                .active(false);
+
+        if (cause instanceof ServiceException) {
+            ServiceException serviceException = (ServiceException) cause;
+
+            return result.errorCode(serviceException.getErrorCode())
+                    .message(serviceException.getMessage())
+                    .build();
+        }
+
+        LOG.warn("Unexpected error while introspecting a token. tokenType={}", request.getTokenType(), cause);
+
+        return result.errorCode(ErrorCode.GENERIC_AUTH_FAILURE.getCode())
+                .message("Failed to verify token")
+                .build();
+    }
+
+    private Map<String, Exchange> mapExchanges(final List<Exchange> exchanges) {
+        return exchanges.stream()
+                .filter(exchange -> {
+                    TokenExchange tokenExchange = exchange.getClass().getAnnotation(TokenExchange.class);
+
+                    return tokenExchange != null && INTROSPECTION_TARGET.equals(tokenExchange.to());
+                })
+                .collect(Collectors.toMap(
+                        exchange -> exchange.getClass().getAnnotation(TokenExchange.class).from(),
+                        Function.identity()
+                ));
+    }
+}
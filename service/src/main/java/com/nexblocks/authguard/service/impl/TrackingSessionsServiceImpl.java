@@ -3,6 +3,7 @@ package com.nexblocks.authguard.service.impl;
 import com.google.inject.Inject;
 import com.nexblocks.authguard.dal.cache.SessionsRepository;
 import com.nexblocks.authguard.dal.model.SessionDO;
+import com.nexblocks.authguard.metrics.events.TrackingSessionEvent;
 import com.nexblocks.authguard.service.TrackingSessionsService;
 import com.nexblocks.authguard.service.mappers.ServiceMapper;
 import com.nexblocks.authguard.service.model.Account;
@@ -43,16 +44,17 @@ public class TrackingSessionsServiceImpl implements TrackingSessionsService {
 
     @Override
     public CompletableFuture<Boolean> isSessionActive(final String token, final String domain) {
-        return sessionsRepository.getByToken(token)
-                .thenApply(opt -> {
-                    if (opt.isEmpty()) {
-                        return false;
-                    }
+        return new TrackingSessionEvent(domain, "isSessionActive")
+                .recordAsync(() -> sessionsRepository.getByToken(token)
+                        .thenApply(opt -> {
+                            if (opt.isEmpty()) {
+                                return false;
+                            }
 
-                    SessionDO session = opt.get();
+                            SessionDO session = opt.get();
 
-                    return session.isActive();
-                });
+                            return session.isActive();
+                        }));
     }
 
     @Override
@@ -73,8 +75,9 @@ public class TrackingSessionsServiceImpl implements TrackingSessionsService {
                 .active(true)
                 .build();
 
-        return sessionsRepository.save(serviceMapper.toDO(session))
-                .thenApply(serviceMapper::toBO);
+        return new TrackingSessionEvent(account.getDomain(), "startSession")
+                .recordAsync(() -> sessionsRepository.save(serviceMapper.toDO(session))
+                        .thenApply(serviceMapper::toBO));
     }
 
     @Override
@@ -88,24 +91,26 @@ public class TrackingSessionsServiceImpl implements TrackingSessionsService {
                 .active(true)
                 .build();
 
-        return sessionsRepository.save(serviceMapper.toDO(session))
-                .thenApply(serviceMapper::toBO);
+        return new TrackingSessionEvent(domain, "startAnonymous")
+                .recordAsync(() -> sessionsRepository.save(serviceMapper.toDO(session))
+                        .thenApply(serviceMapper::toBO));
     }
 
     @Override
     public CompletableFuture<Optional<Session>> terminateSession(final String sessionToken, final String domain) {
-        return sessionsRepository.getByToken(sessionToken)
-                .thenCompose(opt -> {
-                    if (opt.isPresent() && Objects.equals(opt.get().getDomain(), domain)) {
-                        SessionDO session = opt.get();
-                        session.setActive(false);
-
-                        return sessionsRepository.save(session)
-                                .thenApply(serviceMapper::toBO)
-                                .thenApply(Optional::of);
-                    }
-
-                    return CompletableFuture.completedFuture(Optional.empty());
-                });
+        return new TrackingSessionEvent(domain, "terminateSession")
+                .recordAsync(() -> sessionsRepository.getByToken(sessionToken)
+                        .thenCompose(opt -> {
+                            if (opt.isPresent() && Objects.equals(opt.get().getDomain(), domain)) {
+                                SessionDO session = opt.get();
+                                session.setActive(false);
+
+                                return sessionsRepository.save(session)
+                                        .thenApply(serviceMapper::toBO)
+                                        .thenApply(Optional::of);
+                            }
+
+                            return CompletableFuture.completedFuture(Optional.empty());
+                        }));
     }
 }
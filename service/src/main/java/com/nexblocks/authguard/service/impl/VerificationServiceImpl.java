@@ -4,6 +4,7 @@ import com.google.inject.Inject;
 import com.nexblocks.authguard.basic.otp.OtpProvider;
 import com.nexblocks.authguard.basic.otp.OtpVerifier;
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.external.sms.ImmutableTextMessage;
 import com.nexblocks.authguard.external.sms.SmsProvider;
@@ -47,7 +48,7 @@ public class VerificationServiceImpl implements VerificationService {
 
     @Override
     public void verifyEmail(final String verificationToken, String domain) {
-        final AccountTokenDO accountToken = accountTokensRepository.getByToken(verificationToken)
+        final AccountTokenDO accountToken = accountTokensRepository.consume(TokenType.EMAIL_VERIFICATION, verificationToken)
                 .join()
                 .orElseThrow(() -> new ServiceNotFoundException(ErrorCode.TOKEN_EXPIRED_OR_DOES_NOT_EXIST,
                         "AccountDO token " + verificationToken + " does not exist"));
@@ -11,37 +11,93 @@ import com.nexblocks.authguard.service.model.*;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 public class CredentialsManager {
+    private final SecurePasswordProvider securePasswordProvider;
     private final SecurePassword securePassword;
+    private final PasswordHashingExecutor hashingExecutor;
     private final PasswordValidator passwordValidator;
     private final Integer passwordVersion;
 
     @Inject
     public CredentialsManager(final SecurePasswordProvider securePasswordProvider,
+                              final PasswordHashingExecutor hashingExecutor,
                               final PasswordValidator passwordValidator) {
+        this.securePasswordProvider = securePasswordProvider;
         this.securePassword = securePasswordProvider.get();
+        this.hashingExecutor = hashingExecutor;
         this.passwordValidator = passwordValidator;
         this.passwordVersion = securePasswordProvider.getCurrentVersion();
     }
 
     public AccountBO removeSensitiveInformation(final AccountBO account) {
-        return account.withPlainPassword(null)
-                .withHashedPassword(null);
+        if (account.getPlainPassword() == null && account.getHashedPassword() == null) {
+            return account;
+        }
+
+        // a single copy rather than one for every field
+        return AccountBO.builder()
+                .from(account)
+                .plainPassword(null)
+                .hashedPassword(null)
+                .build();
+    }
+
+    /**
+     * Hashes the plain password of an account. Accounts which are
+     * imported with an already hashed password are kept as they are, as
+     * long as their version is known and can verify them. Passwords
+     * imported with a foreign version are re-hashed on the first login.
+     */
+    public CompletableFuture<AccountBO> verifyAndHashPlainPassword(final AccountBO account) {
+        if (account.getPlainPassword() == null && account.getHashedPassword() != null) {
+            return CompletableFuture.completedFuture(verifyImportedPassword(account));
+        }
+
+        return verifyAndHashPassword(account.getPlainPassword())
+                .thenApply(hashedPassword -> AccountBO.builder()
+                        .from(account)
+                        .hashedPassword(hashedPassword)
+                        .passwordUpdatedAt(Instant.now())
+                        .passwordVersion(passwordVersion)
+                        .plainPassword(null)
+                        .build());
     }
 
-    public AccountBO verifyAndHashPlainPassword(final AccountBO account) {
-        final HashedPasswordBO hashedPassword = verifyAndHashPassword(account.getPlainPassword());
+    private AccountBO verifyImportedPassword(final AccountBO account) {
+        final Integer version = account.getPasswordVersion();
+        final Map<Integer, SecurePassword> previousVersions = securePasswordProvider.getPreviousVersions();
+        final SecurePassword versionPassword;
+
+        if (version != null && version.equals(passwordVersion)) {
+            versionPassword = securePassword;
+        } else if (version != null && previousVersions != null) {
+            versionPassword = previousVersions.get(version);
+        } else {
+            versionPassword = null;
+        }
+
+        if (versionPassword == null) {
+            throw new ServiceException(ErrorCode.INVALID_REQUEST_VALUE,
+                    "Imported password has an unknown password version " + version);
+        }
+
+        // the parameters of some imported hashes, like argon2's memory, are only checked here
+        if (!versionPassword.canVerify(account.getHashedPassword())) {
+            throw new ServiceException(ErrorCode.INVALID_REQUEST_VALUE,
+                    "Imported password can't be verified with password version " + version);
+        }
 
         return AccountBO.builder()
                 .from(account)
-                .hashedPassword(hashedPassword)
-                .passwordUpdatedAt(Instant.now())
-                .passwordVersion(passwordVersion)
-                .plainPassword(null)
+                .passwordUpdatedAt(account.getPasswordUpdatedAt() == null
+                        ? Instant.now()
+                        : account.getPasswordUpdatedAt())
                 .build();
     }
 
@@ -60,14 +116,23 @@ public class CredentialsManager {
                 .build());
     }
 
-    public HashedPasswordBO verifyAndHashPassword(final String plain) {
+    /**
+     * Validates the password against the configured conditions and
+     * hashes it on the {@link PasswordHashingExecutor}. Violations are
+     * thrown right away without going through the executor.
+     */
+    public CompletableFuture<HashedPasswordBO> verifyAndHashPassword(final String plain) {
         final List<Violation> passwordViolations = passwordValidator.findViolations(plain);
 
         if (!passwordViolations.isEmpty()) {
             throw new ServiceInvalidPasswordException(passwordViolations);
         }
 
-        return securePassword.hash(plain);
+        return hashingExecutor.hash(securePassword, plain);
+    }
+
+    public CompletableFuture<Boolean> verifyPassword(final String plain, final HashedPasswordBO hashed) {
+        return hashingExecutor.verify(securePassword, plain, hashed);
     }
 
     public AccountBO addIdentifiers(final AccountBO existing, final UserIdentifierBO identifier) {
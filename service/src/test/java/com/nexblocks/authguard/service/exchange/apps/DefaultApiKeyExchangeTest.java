@@ -54,7 +54,7 @@ class DefaultApiKeyExchangeTest {
                 .entityId(app.getId())
                 .build();
 
-        final AuthResponseBO actual = exchange.generateKey(app, null);
+        final AuthResponseBO actual = exchange.generateKey(app, null).join();
 
         assertThat(actual).isEqualToIgnoringGivenFields(expected, "token");
         assertThat(actual.getToken()).isNotNull();
@@ -1,13 +1,16 @@
 package com.nexblocks.authguard.service.impl;
 
 import com.google.common.collect.ImmutableMap;
+import com.nexblocks.authguard.basic.config.HashingExecutorConfig;
 import com.nexblocks.authguard.basic.config.PasswordConditions;
 import com.nexblocks.authguard.basic.config.PasswordsConfig;
+import com.nexblocks.authguard.basic.passwords.PasswordHashingExecutor;
 import com.nexblocks.authguard.basic.passwords.PasswordValidator;
 import com.nexblocks.authguard.basic.passwords.SecurePassword;
 import com.nexblocks.authguard.basic.passwords.SecurePasswordProvider;
 import com.nexblocks.authguard.basic.passwords.ServiceInvalidPasswordException;
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
 import com.nexblocks.authguard.dal.model.AccountDO;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.dal.model.CredentialsAuditDO;
@@ -73,11 +76,12 @@ class AccountCredentialsServiceImplTest {
         PasswordValidator passwordValidator = new PasswordValidator(PasswordsConfig.builder()
                 .conditions(PasswordConditions.builder().build()).build());
         
-        CredentialsManager accountManager = new CredentialsManager(securePasswordProvider, passwordValidator);
+        CredentialsManager accountManager = new CredentialsManager(securePasswordProvider,
+                new PasswordHashingExecutor(HashingExecutorConfig.builder().build()), passwordValidator);
 
         accountCredentialsService = new AccountCredentialsServiceImpl(accountsService,
                 accountAuditRepository, accountTokensRepository,
-                securePasswordProvider, accountManager, messageBus, serviceMapper);
+                accountManager, messageBus, serviceMapper);
     }
 
     @Test
@@ -155,8 +159,8 @@ class AccountCredentialsServiceImplTest {
         // mocks
         Mockito.when(accountsService.getByIdentifier(identifier, "main"))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(account)));
-        Mockito.when(accountTokensRepository.save(Mockito.any()))
-                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0, AccountTokenDO.class)));
+        Mockito.when(accountTokensRepository.save(Mockito.eq(TokenType.PASSWORD_RESET), Mockito.any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(1, AccountTokenDO.class)));
 
         // action
         PasswordResetTokenBO resetToken = accountCredentialsService.generateResetToken(identifier, true, "main").join();
@@ -164,7 +168,7 @@ class AccountCredentialsServiceImplTest {
         // verify
         ArgumentCaptor<AccountTokenDO> accountTokenCaptor = ArgumentCaptor.forClass(AccountTokenDO.class);
 
-        Mockito.verify(accountTokensRepository).save(accountTokenCaptor.capture());
+        Mockito.verify(accountTokensRepository).save(Mockito.eq(TokenType.PASSWORD_RESET), accountTokenCaptor.capture());
 
         AccountTokenDO persistedToken = accountTokenCaptor.getValue();
 
@@ -188,8 +192,8 @@ class AccountCredentialsServiceImplTest {
         // mocks
         Mockito.when(accountsService.getByIdentifier(identifier, "main"))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(account)));
-        Mockito.when(accountTokensRepository.save(Mockito.any()))
-                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0, AccountTokenDO.class)));
+        Mockito.when(accountTokensRepository.save(Mockito.eq(TokenType.PASSWORD_RESET), Mockito.any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(1, AccountTokenDO.class)));
 
         // action
         PasswordResetTokenBO resetToken = accountCredentialsService.generateResetToken(identifier, false, "main").join();
@@ -197,7 +201,7 @@ class AccountCredentialsServiceImplTest {
         // verify
         ArgumentCaptor<AccountTokenDO> accountTokenCaptor = ArgumentCaptor.forClass(AccountTokenDO.class);
 
-        Mockito.verify(accountTokensRepository).save(accountTokenCaptor.capture());
+        Mockito.verify(accountTokensRepository).save(Mockito.eq(TokenType.PASSWORD_RESET), accountTokenCaptor.capture());
 
         AccountTokenDO persistedToken = accountTokenCaptor.getValue();
 
@@ -255,7 +259,9 @@ class AccountCredentialsServiceImplTest {
                 .build();
 
         // mocks
-        Mockito.when(accountTokensRepository.getByToken(resetToken))
+        Mockito.when(accountTokensRepository.getByToken(TokenType.PASSWORD_RESET, resetToken))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(persistedToken)));
+        Mockito.when(accountTokensRepository.consume(TokenType.PASSWORD_RESET, resetToken))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(persistedToken)));
 
         Mockito.when(accountsService.getByIdUnsafe(accountId, "main"))
@@ -281,6 +287,68 @@ class AccountCredentialsServiceImplTest {
                 .isEqualTo(accountBO);
         assertThat(result.getHashedPassword()).isNull();
         assertThat(result.getPlainPassword()).isNull();
+
+        Mockito.verify(accountTokensRepository).consume(TokenType.PASSWORD_RESET, resetToken);
+    }
+
+    @Test
+    void resetPasswordInvalidPasswordKeepsToken() {
+        // data
+        String resetToken = "token";
+        long accountId = 1;
+
+        AccountTokenDO persistedToken = AccountTokenDO.builder()
+                .associatedAccountId(accountId)
+                .expiresAt(Instant.now().plus(Duration.ofMinutes(4)))
+                .build();
+
+        AccountBO accountBO = AccountBO.builder()
+                .id(accountId)
+                .build();
+
+        // mocks
+        Mockito.when(accountTokensRepository.getByToken(TokenType.PASSWORD_RESET, resetToken))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(persistedToken)));
+        Mockito.when(accountsService.getByIdUnsafe(accountId, "main"))
+                .thenReturn(CompletableFuture.completedFuture(accountBO));
+
+        // action
+        assertThatThrownBy(() -> accountCredentialsService.resetPasswordByToken(resetToken, "bad", "main").join())
+                .hasCauseInstanceOf(ServiceInvalidPasswordException.class);
+
+        // verify
+        Mockito.verify(accountTokensRepository, Mockito.never()).consume(Mockito.eq(TokenType.PASSWORD_RESET), Mockito.any());
+        Mockito.verify(accountTokensRepository, Mockito.never()).deleteToken(Mockito.eq(TokenType.PASSWORD_RESET), Mockito.any());
+        Mockito.verify(accountsService, Mockito.never()).update(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void resetPasswordTokenUsedConcurrently() {
+        String resetToken = "token";
+        long accountId = 1;
+
+        AccountTokenDO persistedToken = AccountTokenDO.builder()
+                .associatedAccountId(accountId)
+                .expiresAt(Instant.now().plus(Duration.ofMinutes(4)))
+                .build();
+
+        String newPassword = "new_password";
+
+        Mockito.when(accountTokensRepository.getByToken(TokenType.PASSWORD_RESET, resetToken))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(persistedToken)));
+        Mockito.when(accountTokensRepository.consume(TokenType.PASSWORD_RESET, resetToken))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        Mockito.when(accountsService.getByIdUnsafe(accountId, "main"))
+                .thenReturn(CompletableFuture.completedFuture(AccountBO.builder().id(accountId).build()));
+        Mockito.when(securePassword.hash(newPassword))
+                .thenReturn(HashedPasswordBO.builder()
+                        .password("hashed_new_password")
+                        .build());
+
+        assertThatThrownBy(() -> accountCredentialsService.resetPasswordByToken(resetToken, newPassword, "main").join())
+                .hasCauseInstanceOf(ServiceNotFoundException.class);
+
+        Mockito.verify(accountsService, Mockito.never()).update(Mockito.any(), Mockito.any());
     }
 
     @Test
@@ -288,7 +356,7 @@ class AccountCredentialsServiceImplTest {
         String resetToken = "token";
         String newPassword = "new_password";
 
-        Mockito.when(accountTokensRepository.getByToken(resetToken))
+        Mockito.when(accountTokensRepository.getByToken(TokenType.PASSWORD_RESET, resetToken))
                 .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
 
         assertThatThrownBy(() -> accountCredentialsService.resetPasswordByToken(resetToken, newPassword, "main").join())
@@ -307,7 +375,7 @@ class AccountCredentialsServiceImplTest {
 
         String newPassword = "new_password";
 
-        Mockito.when(accountTokensRepository.getByToken(resetToken))
+        Mockito.when(accountTokensRepository.getByToken(TokenType.PASSWORD_RESET, resetToken))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(persistedToken)));
 
         assertThatThrownBy(() -> accountCredentialsService.resetPasswordByToken(resetToken, newPassword, "main").join())
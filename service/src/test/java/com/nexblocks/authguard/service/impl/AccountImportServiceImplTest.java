@@ -0,0 +1,163 @@
+package com.nexblocks.authguard.service.impl;
+
+import com.nexblocks.authguard.basic.config.HashingExecutorConfig;
+import com.nexblocks.authguard.basic.config.PasswordConditions;
+import com.nexblocks.authguard.basic.config.PasswordsConfig;
+import com.nexblocks.authguard.basic.passwords.PasswordHashingExecutor;
+import com.nexblocks.authguard.basic.passwords.PasswordValidator;
+import com.nexblocks.authguard.basic.passwords.SecurePassword;
+import com.nexblocks.authguard.basic.passwords.SecurePasswordProvider;
+import com.nexblocks.authguard.dal.model.AccountDO;
+import com.nexblocks.authguard.dal.persistence.AccountsRepository;
+import com.nexblocks.authguard.emb.MessageBus;
+import com.nexblocks.authguard.service.PermissionsService;
+import com.nexblocks.authguard.service.RolesService;
+import com.nexblocks.authguard.service.config.AccountConfig;
+import com.nexblocks.authguard.service.config.AccountImportConfig;
+import com.nexblocks.authguard.service.exceptions.codes.ErrorCode;
+import com.nexblocks.authguard.service.mappers.ServiceMapperImpl;
+import com.nexblocks.authguard.service.model.*;
+import com.nexblocks.authguard.service.util.CredentialsManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+
+class AccountImportServiceImplTest {
+    private AccountsRepository accountsRepository;
+    private RolesService rolesService;
+    private AccountImportServiceImpl importService;
+
+    @BeforeEach
+    void setup() {
+        accountsRepository = Mockito.mock(AccountsRepository.class);
+        rolesService = Mockito.mock(RolesService.class);
+
+        SecurePassword securePassword = Mockito.mock(SecurePassword.class);
+        SecurePasswordProvider securePasswordProvider = Mockito.mock(SecurePasswordProvider.class);
+
+        Mockito.when(securePasswordProvider.get()).thenReturn(securePassword);
+        Mockito.when(securePasswordProvider.getCurrentVersion()).thenReturn(1);
+        Mockito.when(securePassword.hash(any())).thenReturn(HashedPasswordBO.builder()
+                .password("hashed")
+                .salt("salt")
+                .build());
+
+        PasswordValidator passwordValidator = new PasswordValidator(PasswordsConfig.builder()
+                .conditions(PasswordConditions.builder().build()).build());
+
+        CredentialsManager credentialsManager = new CredentialsManager(securePasswordProvider,
+                new PasswordHashingExecutor(HashingExecutorConfig.builder().build()), passwordValidator);
+
+        importService = new AccountImportServiceImpl(accountsRepository, Mockito.mock(PermissionsService.class),
+                rolesService, credentialsManager, new ServiceMapperImpl(), Mockito.mock(MessageBus.class),
+                AccountConfig.builder().build(),
+                AccountImportConfig.builder().batchSize(2).build());
+
+        Mockito.when(accountsRepository.saveAll(anyList()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0)));
+    }
+
+    private AccountImportRecordBO record(final long line, final String role) {
+        return AccountImportRecordBO.builder()
+                .line(line)
+                .account(AccountBO.builder()
+                        .domain("main")
+                        .email(AccountEmailBO.builder().email("user" + line + "@test.net").build())
+                        .plainPassword("valid-password")
+                        .roles(role == null ? Collections.emptySet() : Collections.singleton(role))
+                        .build())
+                .build();
+    }
+
+    @Test
+    void importInBatches() {
+        List<AccountImportResultBO> results = new ArrayList<>();
+
+        AccountImportSummaryBO summary = importService.importAccounts(
+                Arrays.asList(record(1, null), record(2, null), record(3, null)).iterator(),
+                "main", results::add).join();
+
+        assertThat(summary.getImported()).isEqualTo(3);
+        assertThat(summary.getFailed()).isEqualTo(0);
+        assertThat(summary.getCheckpoint()).isEqualTo(3);
+
+        assertThat(results).extracting(AccountImportResultBO::getLine).containsExactly(1L, 2L, 3L);
+        assertThat(results).allMatch(AccountImportResultBO::isImported);
+        assertThat(results).allMatch(result -> result.getAccountId() != null);
+
+        Mockito.verify(accountsRepository, Mockito.times(2)).saveAll(anyList());
+        Mockito.verify(accountsRepository, Mockito.never()).save(any());
+    }
+
+    @Test
+    void importReportsFailedRecords() {
+        Mockito.when(rolesService.verifyRoles(Collections.singletonList("valid"), "main", EntityType.ACCOUNT))
+                .thenReturn(CompletableFuture.completedFuture(Collections.singletonList("valid")));
+        Mockito.when(rolesService.verifyRoles(Collections.singletonList("missing"), "main", EntityType.ACCOUNT))
+                .thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
+
+        AccountImportRecordBO invalid = AccountImportRecordBO.builder()
+                .line(2)
+                .errorCode(ErrorCode.INVALID_REQUEST_VALUE.getCode())
+                .message("Invalid fields")
+                .build();
+
+        List<AccountImportResultBO> results = new ArrayList<>();
+
+        AccountImportSummaryBO summary = importService.importAccounts(
+                Arrays.asList(record(1, "valid"), invalid, record(3, "missing"), record(4, "valid")).iterator(),
+                "main", results::add).join();
+
+        assertThat(summary.getImported()).isEqualTo(2);
+        assertThat(summary.getFailed()).isEqualTo(2);
+        assertThat(summary.getCheckpoint()).isEqualTo(4);
+
+        assertThat(results).extracting(AccountImportResultBO::isImported)
+                .containsExactly(true, false, false, true);
+        assertThat(results.get(1).getErrorCode()).isEqualTo(ErrorCode.INVALID_REQUEST_VALUE.getCode());
+        assertThat(results.get(2).getErrorCode()).isEqualTo(ErrorCode.ROLE_DOES_NOT_EXIST.getCode());
+
+        // verified roles are cached for the rest of the import
+        Mockito.verify(rolesService, Mockito.times(1))
+                .verifyRoles(Collections.singletonList("valid"), "main", EntityType.ACCOUNT);
+    }
+
+    @Test
+    void importSavesOneByOneWhenBatchFails() {
+        Mockito.when(accountsRepository.saveAll(anyList()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("duplicate")));
+        Mockito.when(accountsRepository.getById(Mockito.anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        Mockito.when(accountsRepository.save(any()))
+                .thenAnswer(invocation -> {
+                    AccountDO account = invocation.getArgument(0);
+
+                    if (account.getEmail().getEmail().startsWith("user2")) {
+                        return CompletableFuture.failedFuture(new IllegalStateException("duplicate"));
+                    }
+
+                    return CompletableFuture.completedFuture(account);
+                });
+
+        List<AccountImportResultBO> results = new ArrayList<>();
+
+        AccountImportSummaryBO summary = importService.importAccounts(
+                Arrays.asList(record(1, null), record(2, null)).iterator(),
+                "main", results::add).join();
+
+        assertThat(summary.getImported()).isEqualTo(1);
+        assertThat(summary.getFailed()).isEqualTo(1);
+        assertThat(results).extracting(AccountImportResultBO::isImported).containsExactly(true, false);
+
+        Mockito.verify(accountsRepository, Mockito.times(2)).save(any());
+        Mockito.verify(accountsRepository).getById(eq(results.get(0).getAccountId()));
+    }
+}
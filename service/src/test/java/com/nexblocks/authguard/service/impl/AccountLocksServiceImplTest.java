@@ -34,6 +34,9 @@ class AccountLocksServiceImplTest {
     void getActiveLocksByAccountId() {
         Instant now = Instant.now();
 
+        // expired locks are filtered out by the default implementation of the repository
+        Mockito.when(repository.findActiveByAccountId(Mockito.eq(101L), Mockito.any()))
+                .thenCallRealMethod();
         Mockito.when(repository.findByAccountId(101))
                 .thenReturn(CompletableFuture.completedFuture(
                         Arrays.asList(
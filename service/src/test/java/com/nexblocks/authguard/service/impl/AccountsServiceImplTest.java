@@ -2,14 +2,19 @@ package com.nexblocks.authguard.service.impl;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Streams;
+import com.nexblocks.authguard.basic.config.HashingExecutorConfig;
 import com.nexblocks.authguard.basic.config.PasswordConditions;
 import com.nexblocks.authguard.basic.config.PasswordsConfig;
+import com.nexblocks.authguard.basic.passwords.ForeignArgon2Password;
+import com.nexblocks.authguard.basic.passwords.PasswordHashingExecutor;
 import com.nexblocks.authguard.basic.passwords.PasswordValidator;
 import com.nexblocks.authguard.basic.passwords.SecurePassword;
 import com.nexblocks.authguard.basic.passwords.SecurePasswordProvider;
 import com.nexblocks.authguard.config.ConfigContext;
 import com.nexblocks.authguard.dal.model.AccountDO;
+import com.nexblocks.authguard.dal.model.AuthAccountView;
 import com.nexblocks.authguard.dal.persistence.AccountsRepository;
+import com.nexblocks.authguard.dal.persistence.LongPage;
 import com.nexblocks.authguard.emb.MessageBus;
 import com.nexblocks.authguard.emb.model.EventType;
 import com.nexblocks.authguard.emb.model.Message;
@@ -49,6 +54,7 @@ class AccountsServiceImplTest {
     private MessageBus messageBus;
     private AccountsServiceImpl accountService;
     private SecurePassword securePassword;
+    private SecurePasswordProvider securePasswordProvider;
     private ServiceMapper serviceMapper;
 
     private static final EasyRandom RANDOM = new EasyRandom(
@@ -71,7 +77,7 @@ class AccountsServiceImplTest {
         securePassword = Mockito.mock(SecurePassword.class);
         messageBus = Mockito.mock(MessageBus.class);
 
-        SecurePasswordProvider securePasswordProvider = Mockito.mock(SecurePasswordProvider.class);
+        securePasswordProvider = Mockito.mock(SecurePasswordProvider.class);
 
         ConfigContext configContext = Mockito.mock(ConfigContext.class);
 
@@ -86,6 +92,12 @@ class AccountsServiceImplTest {
         Mockito.when(configContext.asConfigBean(AccountConfig.class))
                 .thenReturn(accountConfig);
 
+        // nothing is valid unless a test says otherwise
+        Mockito.when(rolesService.verifyRoles(any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
+        Mockito.when(permissionsService.validate(any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
+
         Mockito.when(securePasswordProvider.get()).thenReturn(securePassword);
         Mockito.when(securePasswordProvider.getCurrentVersion())
                 .thenReturn(1);
@@ -93,7 +105,8 @@ class AccountsServiceImplTest {
         PasswordValidator passwordValidator = new PasswordValidator(PasswordsConfig.builder()
                 .conditions(PasswordConditions.builder().build()).build());
 
-        CredentialsManager credentialsManager = new CredentialsManager(securePasswordProvider, passwordValidator);
+        CredentialsManager credentialsManager = new CredentialsManager(securePasswordProvider,
+                new PasswordHashingExecutor(HashingExecutorConfig.builder().build()), passwordValidator);
 
         serviceMapper = new ServiceMapperImpl();
         accountService = new AccountsServiceImpl(accountsRepository, permissionsService, rolesService,
@@ -117,6 +130,86 @@ class AccountsServiceImplTest {
         return account;
     }
 
+    @Test
+    void createWithImportedPassword() {
+        HashedPasswordBO imported = HashedPasswordBO.builder()
+                .password("$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy")
+                .build();
+        AccountBO account = createAccountBO()
+                .withPlainPassword(null)
+                .withHashedPassword(imported)
+                .withPasswordVersion(SecurePasswordProvider.FOREIGN_BCRYPT_VERSION)
+                .withId(0);
+
+        RequestContextBO requestContext = RequestContextBO.builder()
+                .idempotentKey("idempotent-key")
+                .build();
+
+        Mockito.when(securePasswordProvider.getPreviousVersions())
+                .thenReturn(ImmutableMap.of(SecurePasswordProvider.FOREIGN_BCRYPT_VERSION, securePassword));
+        Mockito.when(securePassword.canVerify(imported)).thenReturn(true);
+        Mockito.when(accountsRepository.save(any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0, AccountDO.class)));
+        Mockito.when(idempotencyService.performOperationAsync(Mockito.any(), Mockito.eq("idempotent-key"), Mockito.eq(account.getEntityType())))
+                .thenAnswer(invocation -> invocation.getArgument(0, Supplier.class).get());
+        Mockito.when(rolesService.verifyRoles(account.getRoles(), "main", EntityType.ACCOUNT))
+                .thenReturn(CompletableFuture.completedFuture(new ArrayList<>(account.getRoles())));
+        Mockito.when(permissionsService.validate(account.getPermissions(), "main", EntityType.ACCOUNT))
+                .thenReturn(CompletableFuture.completedFuture(new ArrayList<>(account.getPermissions())));
+
+        accountService.create(account, requestContext).join();
+
+        ArgumentCaptor<AccountDO> saved = ArgumentCaptor.forClass(AccountDO.class);
+        Mockito.verify(accountsRepository).save(saved.capture());
+        Mockito.verify(securePassword, Mockito.never()).hash(any());
+
+        assertThat(saved.getValue().getHashedPassword().getPassword()).isEqualTo(imported.getPassword());
+        assertThat(saved.getValue().getPasswordVersion()).isEqualTo(SecurePasswordProvider.FOREIGN_BCRYPT_VERSION);
+    }
+
+    @Test
+    void createWithImportedPasswordUnknownVersion() {
+        AccountBO account = createAccountBO()
+                .withPlainPassword(null)
+                .withHashedPassword(HashedPasswordBO.builder().password("hash").build())
+                .withPasswordVersion(42)
+                .withId(0);
+
+        RequestContextBO requestContext = RequestContextBO.builder()
+                .idempotentKey("idempotent-key")
+                .build();
+
+        Mockito.when(idempotencyService.performOperationAsync(Mockito.any(), Mockito.eq("idempotent-key"), Mockito.eq(account.getEntityType())))
+                .thenAnswer(invocation -> invocation.getArgument(0, Supplier.class).get());
+
+        assertThatThrownBy(() -> accountService.create(account, requestContext).join())
+                .isInstanceOf(ServiceException.class);
+    }
+
+    @Test
+    void createWithImportedPasswordAboveLimits() {
+        AccountBO account = createAccountBO()
+                .withPlainPassword(null)
+                .withHashedPassword(HashedPasswordBO.builder()
+                        .password("$argon2id$v=19$m=1048576,t=3,p=4$c29tZXNhbHQ$RdescudvJCsgt3ub+b+dWRWJTmaaJObG")
+                        .build())
+                .withPasswordVersion(SecurePasswordProvider.FOREIGN_ARGON2_VERSION)
+                .withId(0);
+
+        RequestContextBO requestContext = RequestContextBO.builder()
+                .idempotentKey("idempotent-key")
+                .build();
+
+        Mockito.when(securePasswordProvider.getPreviousVersions())
+                .thenReturn(ImmutableMap.of(SecurePasswordProvider.FOREIGN_ARGON2_VERSION, new ForeignArgon2Password()));
+        Mockito.when(idempotencyService.performOperationAsync(Mockito.any(), Mockito.eq("idempotent-key"), Mockito.eq(account.getEntityType())))
+                .thenAnswer(invocation -> invocation.getArgument(0, Supplier.class).get());
+
+        assertThatThrownBy(() -> accountService.create(account, requestContext).join())
+                .isInstanceOf(ServiceException.class);
+        Mockito.verify(accountsRepository, Mockito.never()).save(any());
+    }
+
     @Test
     void create() {
         AccountBO account = createAccountBO()
@@ -140,10 +233,10 @@ class AccountsServiceImplTest {
                 .build());
 
         Mockito.when(rolesService.verifyRoles(account.getRoles(), "main", EntityType.ACCOUNT))
-                .thenReturn(new ArrayList<>(account.getRoles()));
+                .thenReturn(CompletableFuture.completedFuture(new ArrayList<>(account.getRoles())));
 
         Mockito.when(permissionsService.validate(account.getPermissions(), "main", EntityType.ACCOUNT))
-                .thenReturn(new ArrayList<>(account.getPermissions()));
+                .thenReturn(CompletableFuture.completedFuture(new ArrayList<>(account.getPermissions())));
 
         AccountBO persisted = accountService.create(account, requestContext).join();
 
@@ -218,7 +311,7 @@ class AccountsServiceImplTest {
                 .thenAnswer(invocation -> invocation.getArgument(0, Supplier.class).get());
 
         Mockito.when(rolesService.verifyRoles(new HashSet<>(defaultRoles), "unit", EntityType.ACCOUNT))
-                .thenReturn(defaultRoles);
+                .thenReturn(CompletableFuture.completedFuture(defaultRoles));
 
         AccountBO expectedAccount = AccountBO.builder()
                 .from(account)
@@ -306,7 +399,7 @@ class AccountsServiceImplTest {
         Mockito.when(accountsRepository.getById(account.getId()))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(account)));
         Mockito.when(permissionsService.validate(any(), eq("main"), eq(EntityType.ACCOUNT)))
-                .thenAnswer(invocation -> invocation.getArgument(0, List.class));
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0, List.class)));
         Mockito.when(accountsRepository.update(any()))
                 .thenAnswer(invocation -> CompletableFuture.completedFuture(Optional.of(invocation.getArgument(0, AccountDO.class))));
 
@@ -345,7 +438,7 @@ class AccountsServiceImplTest {
         Mockito.when(accountsRepository.getById(account.getId()))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(account)));
         Mockito.when(permissionsService.validate(any(), eq("other"), eq(EntityType.ACCOUNT)))
-                .thenAnswer(invocation -> invocation.getArgument(0, List.class));
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0, List.class)));
 
         List<PermissionBO> permissions = Arrays.asList(
                 RANDOM.nextObject(PermissionBO.class),
@@ -397,7 +490,7 @@ class AccountsServiceImplTest {
                 RANDOM.nextObject(String.class)
         );
 
-        Mockito.when(rolesService.verifyRoles(roles, "main", EntityType.ACCOUNT)).thenReturn(roles);
+        Mockito.when(rolesService.verifyRoles(roles, "main", EntityType.ACCOUNT)).thenReturn(CompletableFuture.completedFuture(roles));
 
         Optional<AccountBO> updated = accountService.grantRoles(account.getId(), roles, "main").join();
 
@@ -422,7 +515,7 @@ class AccountsServiceImplTest {
 
         List<String> validRoles = Collections.singletonList(roles.get(0));
 
-        Mockito.when(rolesService.verifyRoles(roles, "main", EntityType.ACCOUNT)).thenReturn(validRoles);
+        Mockito.when(rolesService.verifyRoles(roles, "main", EntityType.ACCOUNT)).thenReturn(CompletableFuture.completedFuture(validRoles));
 
         assertThatThrownBy(() -> accountService.grantRoles(account.getId(), roles, "main").join())
                 .hasCauseInstanceOf(ServiceException.class);
@@ -442,7 +535,7 @@ class AccountsServiceImplTest {
                 RANDOM.nextObject(String.class)
         );
 
-        Mockito.when(rolesService.verifyRoles(roles, "other", EntityType.ACCOUNT)).thenReturn(roles);
+        Mockito.when(rolesService.verifyRoles(roles, "other", EntityType.ACCOUNT)).thenReturn(CompletableFuture.completedFuture(roles));
 
         assertThatThrownBy(() -> accountService.grantRoles(account.getId(), roles, "main").join())
                 .hasCauseInstanceOf(ServiceException.class);
@@ -857,4 +950,33 @@ class AccountsServiceImplTest {
         compareAccounts(updated, accountBO.withPermissions(expectedPermissions).withActive(false));
         assertThat(updated.isActive()).isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    void getByRoleIsPaged() {
+        AccountDO accountDO = serviceMapper.toDO(createAccountBO());
+
+        Mockito.when(accountsRepository.getByRole("admin", "main", LongPage.of(5L, 20)))
+                .thenReturn(CompletableFuture.completedFuture(Collections.singletonList(accountDO)));
+
+        List<AccountBO> accounts = accountService.getByRole("admin", "main", 5L).join();
+
+        assertThat(accounts).extracting(AccountBO::getId).containsExactly(accountDO.getId());
+    }
+
+    @Test
+    void getAuthAccountByIdentifier() {
+        AccountDO accountDO = serviceMapper.toDO(createAccountBO());
+
+        Mockito.when(accountsRepository.findAuthViewByIdentifier("username", "main"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(AuthAccountView.of(accountDO))));
+
+        AccountBO account = accountService.getAuthAccountByIdentifier("username", "main").join().orElse(null);
+
+        assertThat(account).isNotNull();
+        assertThat(account.getId()).isEqualTo(accountDO.getId());
+        assertThat(account.getRoles()).containsExactlyInAnyOrderElementsOf(accountDO.getRoles());
+        assertThat(account.getHashedPassword().getPassword()).isEqualTo(accountDO.getHashedPassword().getPassword());
+        assertThat(account.getFirstName()).isNull();
+        assertThat(account.getMetadata()).isNullOrEmpty();
+    }
+}
@@ -5,6 +5,7 @@ import com.nexblocks.authguard.basic.BasicAuthProvider;
 import com.nexblocks.authguard.basic.otp.OtpProvider;
 import com.nexblocks.authguard.basic.otp.OtpVerifier;
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.service.AccountsService;
 import com.nexblocks.authguard.service.ActionTokenService;
@@ -76,8 +77,8 @@ class ActionTokenServiceImplTest {
                 .build();
 
         Mockito.when(basicAuthProvider.getAccount(authRequest)).thenReturn(CompletableFuture.completedFuture(account));
-        Mockito.when(accountTokensRepository.save(Mockito.any()))
-                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0, AccountTokenDO.class)));
+        Mockito.when(accountTokensRepository.save(Mockito.eq(TokenType.ACTION_TOKEN), Mockito.any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(1, AccountTokenDO.class)));
 
         ActionTokenBO actual = actionTokenService.generateFromBasicAuth(authRequest, "something").join();
         ActionTokenBO expected = ActionTokenBO.builder()
@@ -104,8 +105,8 @@ class ActionTokenServiceImplTest {
         Mockito.when(otpVerifier.verifyAccountTokenAsync(request)).thenReturn(CompletableFuture.completedFuture(account.getId()));
         Mockito.when(accountsService.getById(101, "main"))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(account)));
-        Mockito.when(accountTokensRepository.save(Mockito.any()))
-                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0, AccountTokenDO.class)));
+        Mockito.when(accountTokensRepository.save(Mockito.eq(TokenType.ACTION_TOKEN), Mockito.any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(1, AccountTokenDO.class)));
 
         ActionTokenBO actual = actionTokenService.generateFromOtp(1, "main", "otp", "something").join();
         ActionTokenBO expected = ActionTokenBO.builder()
@@ -126,7 +127,7 @@ class ActionTokenServiceImplTest {
                 .additionalInformation(ImmutableMap.of("action", "something"))
                 .build();
 
-        Mockito.when(accountTokensRepository.getByToken("action-token"))
+        Mockito.when(accountTokensRepository.consume(TokenType.ACTION_TOKEN, "action-token"))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(accountToken)));
 
         ActionTokenBO actual = actionTokenService.verifyToken("action-token", "something").join();
@@ -141,7 +142,7 @@ class ActionTokenServiceImplTest {
                 .additionalInformation(ImmutableMap.of("action", "something"))
                 .build();
 
-        Mockito.when(accountTokensRepository.getByToken("action-token"))
+        Mockito.when(accountTokensRepository.consume(TokenType.ACTION_TOKEN, "action-token"))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(accountToken)));
 
         assertThatThrownBy(() -> actionTokenService.verifyToken("action-token", "else").join())
@@ -158,7 +159,7 @@ class ActionTokenServiceImplTest {
                 .additionalInformation(ImmutableMap.of("action", "something"))
                 .build();
 
-        Mockito.when(accountTokensRepository.getByToken("action-token"))
+        Mockito.when(accountTokensRepository.consume(TokenType.ACTION_TOKEN, "action-token"))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(accountToken)));
 
         assertThatThrownBy(() -> actionTokenService.verifyToken("action-token", "something").join())
@@ -170,7 +171,7 @@ class ActionTokenServiceImplTest {
 
     @Test
     void verifyTokenWrongToken() {
-        Mockito.when(accountTokensRepository.getByToken("action-token"))
+        Mockito.when(accountTokensRepository.consume(TokenType.ACTION_TOKEN, "action-token"))
                 .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
 
         assertThatThrownBy(() -> actionTokenService.verifyToken("action-token", "something").join())
@@ -49,17 +49,17 @@ class ApiKeysServiceImplTest {
     private static class TestApiKeyExchange implements ApiKeyExchange {
 
         @Override
-        public AuthResponseBO generateKey(AppBO app, Instant expiresAt) {
-            return AuthResponseBO.builder()
+        public CompletableFuture<AuthResponseBO> generateKey(AppBO app, Instant expiresAt) {
+            return CompletableFuture.completedFuture(AuthResponseBO.builder()
                     .token("key")
-                    .build();
+                    .build());
         }
 
         @Override
-        public AuthResponseBO generateKey(ClientBO client, Instant expiresAt) {
-            return AuthResponseBO.builder()
+        public CompletableFuture<AuthResponseBO> generateKey(ClientBO client, Instant expiresAt) {
+            return CompletableFuture.completedFuture(AuthResponseBO.builder()
                     .token("key")
-                    .build();
+                    .build());
         }
 
         @Override
@@ -113,9 +113,9 @@ class ApiKeysServiceImplTest {
                 .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0, ApiKeyDO.class)));
 
         Mockito.when(apiKeyExchange.generateKey(app, null))
-                .thenReturn(AuthResponseBO.builder()
+                .thenReturn(CompletableFuture.completedFuture(AuthResponseBO.builder()
                         .token(key)
-                        .build());
+                        .build()));
 
         ApiKeyBO actual = apiKeysService.generateApiKey(appId, "main", "test", "key-name", Duration.ZERO).join();
 
@@ -154,9 +154,9 @@ class ApiKeysServiceImplTest {
                 .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0, ApiKeyDO.class)));
 
         Mockito.when(apiKeyExchange.generateKey(app, null))
-                .thenReturn(AuthResponseBO.builder()
+                .thenReturn(CompletableFuture.completedFuture(AuthResponseBO.builder()
                         .token(key)
-                        .build());
+                        .build()));
 
         ApiKeyBO actual = apiKeysService.generateApiKey(appId, "main", "test", "key-name", duration).join();
 
@@ -258,9 +258,9 @@ class ApiKeysServiceImplTest {
                 .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0, ApiKeyDO.class)));
 
         Mockito.when(apiKeyExchange.generateKey(app, null))
-                .thenReturn(AuthResponseBO.builder()
+                .thenReturn(CompletableFuture.completedFuture(AuthResponseBO.builder()
                         .token(key)
-                        .build());
+                        .build()));
 
         ApiKeyBO actual = apiKeysService.generateClientApiKey(clientId, "main", "test", "key-name", Duration.ZERO).join();
 
@@ -299,9 +299,9 @@ class ApiKeysServiceImplTest {
                 .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0, ApiKeyDO.class)));
 
         Mockito.when(apiKeyExchange.generateKey(client, null))
-                .thenReturn(AuthResponseBO.builder()
+                .thenReturn(CompletableFuture.completedFuture(AuthResponseBO.builder()
                         .token(key)
-                        .build());
+                        .build()));
 
         ApiKeyBO actual = apiKeysService.generateClientApiKey(clientId, "main", "test", "key-name", duration).join();
 
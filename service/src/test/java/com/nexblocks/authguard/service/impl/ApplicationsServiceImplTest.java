@@ -56,6 +56,12 @@ class ApplicationsServiceImplTest {
         idempotencyService = Mockito.mock(IdempotencyService.class);
         messageBus = Mockito.mock(MessageBus.class);
 
+        // nothing is valid unless a test says otherwise
+        Mockito.when(rolesService.verifyRoles(any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
+        Mockito.when(permissionsService.validate(any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
+
         serviceMapper = new ServiceMapperImpl();
 
         applicationsService = new ApplicationsServiceImpl(applicationsRepository, accountsService,
@@ -82,10 +88,10 @@ class ApplicationsServiceImplTest {
                 .thenAnswer(invocation -> invocation.getArgument(0, Supplier.class).get());
 
         Mockito.when(rolesService.verifyRoles(app.getRoles(), "main", EntityType.APPLICATION))
-                .thenReturn(new ArrayList<>(app.getRoles()));
+                .thenReturn(CompletableFuture.completedFuture(new ArrayList<>(app.getRoles())));
 
         Mockito.when(permissionsService.validate(app.getPermissions(), "main", EntityType.APPLICATION))
-                .thenReturn(new ArrayList<>(app.getPermissions()));
+                .thenReturn(CompletableFuture.completedFuture(new ArrayList<>(app.getPermissions())));
 
         AppBO created = applicationsService.create(app, requestContext).join();
         List<PermissionBO> expectedPermissions = app.getPermissions().stream()
@@ -178,7 +184,7 @@ class ApplicationsServiceImplTest {
         Mockito.when(applicationsRepository.getById(account.getId()))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(account)));
         Mockito.when(permissionsService.validate(any(), eq("main"), eq(EntityType.APPLICATION)))
-                .thenAnswer(invocation -> invocation.getArgument(0, List.class));
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0, List.class)));
         Mockito.when(applicationsRepository.update(any()))
                 .thenAnswer(invocation -> CompletableFuture.completedFuture(Optional.of(invocation.getArgument(0, AppDO.class))));
 
@@ -217,7 +223,7 @@ class ApplicationsServiceImplTest {
         Mockito.when(applicationsRepository.getById(account.getId()))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(account)));
         Mockito.when(permissionsService.validate(any(), eq("other"), eq(EntityType.APPLICATION)))
-                .thenAnswer(invocation -> invocation.getArgument(0, List.class));
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0, List.class)));
 
         List<PermissionBO> permissions = Arrays.asList(
                 random.nextObject(PermissionBO.class),
@@ -269,7 +275,7 @@ class ApplicationsServiceImplTest {
                 random.nextObject(String.class)
         );
 
-        Mockito.when(rolesService.verifyRoles(roles, "main", EntityType.APPLICATION)).thenReturn(roles);
+        Mockito.when(rolesService.verifyRoles(roles, "main", EntityType.APPLICATION)).thenReturn(CompletableFuture.completedFuture(roles));
 
         Optional<AppBO> updated = applicationsService.grantRoles(app.getId(), roles, "main").join();
 
@@ -294,7 +300,7 @@ class ApplicationsServiceImplTest {
 
         List<String> validRoles = Collections.singletonList(roles.get(0));
 
-        Mockito.when(rolesService.verifyRoles(roles, "main", EntityType.APPLICATION)).thenReturn(validRoles);
+        Mockito.when(rolesService.verifyRoles(roles, "main", EntityType.APPLICATION)).thenReturn(CompletableFuture.completedFuture(validRoles));
 
         assertThatThrownBy(() -> applicationsService.grantRoles(app.getId(), roles, "main").join())
                 .hasCauseInstanceOf(ServiceException.class);
@@ -314,7 +320,7 @@ class ApplicationsServiceImplTest {
                 random.nextObject(String.class)
         );
 
-        Mockito.when(rolesService.verifyRoles(roles, "other", EntityType.APPLICATION)).thenReturn(roles);
+        Mockito.when(rolesService.verifyRoles(roles, "other", EntityType.APPLICATION)).thenReturn(CompletableFuture.completedFuture(roles));
 
         assertThatThrownBy(() -> applicationsService.grantRoles(app.getId(), roles, "main").join())
                 .hasCauseInstanceOf(ServiceException.class);
@@ -46,7 +46,7 @@ class ExchangeAttemptsServiceImplTest {
                                 .build())
                 ));
 
-        final Collection<ExchangeAttemptBO> actual = service.find(query);
+        final Collection<ExchangeAttemptBO> actual = service.find(query).join();
         final Collection<ExchangeAttemptBO> expected = Collections.singletonList(ExchangeAttemptBO.builder()
                 .entityId(101L)
                 .exchangeFrom("basic")
@@ -73,7 +73,7 @@ class ExchangeAttemptsServiceImplTest {
                                 .build())
                 ));
 
-        final Collection<ExchangeAttemptBO> actual = service.find(query);
+        final Collection<ExchangeAttemptBO> actual = service.find(query).join();
         final Collection<ExchangeAttemptBO> expected = Collections.singletonList(ExchangeAttemptBO.builder()
                 .entityId(101L)
                 .exchangeFrom("basic")
@@ -101,7 +101,7 @@ class ExchangeAttemptsServiceImplTest {
                                 .build())
                 ));
 
-        final Collection<ExchangeAttemptBO> actual = service.find(query);
+        final Collection<ExchangeAttemptBO> actual = service.find(query).join();
         final Collection<ExchangeAttemptBO> expected = Collections.singletonList(ExchangeAttemptBO.builder()
                 .entityId(101L)
                 .exchangeFrom("basic")
@@ -1,6 +1,7 @@
 package com.nexblocks.authguard.service.impl;
 
 import com.nexblocks.authguard.emb.MessageBus;
+import com.nexblocks.authguard.metrics.MetricsRegistry;
 import com.nexblocks.authguard.service.ExchangeAttemptsService;
 import com.nexblocks.authguard.service.ExchangeService;
 import com.nexblocks.authguard.service.exceptions.ServiceAuthorizationException;
@@ -69,7 +70,7 @@ class ExchangeServiceImplTest {
                         new InvalidExchange(),
                         new ExceptionExchange()),
                 Collections.emptyList(),
-                exchangeAttemptsService, emb);
+                exchangeAttemptsService, emb, new MetricsRegistry());
 
         final String basic = "Basic the-rest";
         final AuthRequestBO authRequest = AuthRequestBO.builder()
@@ -117,7 +118,7 @@ class ExchangeServiceImplTest {
                         new InvalidExchange(),
                         new ExceptionExchange()),
                 Collections.emptyList(),
-                exchangeAttemptsService, emb);
+                exchangeAttemptsService, emb, new MetricsRegistry());
 
         final String basic = "Basic the-rest";
         final AuthRequestBO authRequest = AuthRequestBO.builder()
@@ -137,7 +138,7 @@ class ExchangeServiceImplTest {
         final ExchangeService exchangeService = new ExchangeServiceImpl(
                 Collections.singletonList(new EmptyExchange()),
                 Collections.emptyList(),
-                exchangeAttemptsService, emb);
+                exchangeAttemptsService, emb, new MetricsRegistry());
 
         final String basic = "Basic the-rest";
         final AuthRequestBO authRequest = AuthRequestBO.builder()
@@ -159,7 +160,7 @@ class ExchangeServiceImplTest {
         final ExchangeService exchangeService = new ExchangeServiceImpl(
                 Collections.singletonList(new ExceptionExchange()),
                 Collections.emptyList(),
-                exchangeAttemptsService, emb);
+                exchangeAttemptsService, emb, new MetricsRegistry());
 
         final String basic = "Basic the-rest";
         final AuthRequestBO authRequest = AuthRequestBO.builder()
@@ -191,7 +192,7 @@ class ExchangeServiceImplTest {
                         new InvalidExchange(),
                         new ExceptionExchange()),
                 Collections.emptyList(),
-                exchangeAttemptsService, emb);
+                exchangeAttemptsService, emb, new MetricsRegistry());
 
         final String basic = "Basic the-rest";
         final AuthRequestBO authRequest = AuthRequestBO.builder()
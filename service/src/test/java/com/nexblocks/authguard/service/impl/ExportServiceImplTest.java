@@ -0,0 +1,112 @@
+package com.nexblocks.authguard.service.impl;
+
+import com.nexblocks.authguard.dal.model.AccountDO;
+import com.nexblocks.authguard.dal.model.PasswordDO;
+import com.nexblocks.authguard.dal.persistence.*;
+import com.nexblocks.authguard.service.config.ExportConfig;
+import com.nexblocks.authguard.service.exceptions.ServiceException;
+import com.nexblocks.authguard.service.exceptions.ServiceUnavailableException;
+import com.nexblocks.authguard.service.mappers.ServiceMapperImpl;
+import com.nexblocks.authguard.service.model.AccountBO;
+import com.nexblocks.authguard.service.util.CredentialsManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+class ExportServiceImplTest {
+    private AccountsRepository accountsRepository;
+    private ExportServiceImpl exportService;
+
+    @BeforeEach
+    void setup() {
+        accountsRepository = Mockito.mock(AccountsRepository.class);
+
+        exportService = new ExportServiceImpl(accountsRepository, Mockito.mock(ApplicationsRepository.class),
+                Mockito.mock(EventsRepository.class), Mockito.mock(ExchangeAttemptsRepository.class),
+                Mockito.mock(CredentialsManager.class, Mockito.CALLS_REAL_METHODS), new ServiceMapperImpl(),
+                ExportConfig.builder().pageSize(2).maxConcurrentExports(1).build());
+    }
+
+    private AccountDO account(final long id) {
+        return AccountDO.builder()
+                .id(id)
+                .domain("main")
+                .roles(Collections.emptySet())
+                .permissions(Collections.emptySet())
+                .identifiers(Collections.emptySet())
+                .hashedPassword(PasswordDO.builder().password("hashed").salt("salt").build())
+                .build();
+    }
+
+    @Test
+    void exportAccountsAcrossPages() {
+        Mockito.when(accountsRepository.getByDomain(eq("main"), any()))
+                .thenAnswer(invocation -> {
+                    Page<Long> page = invocation.getArgument(1);
+
+                    if (page.getCursor() == 10L) {
+                        return CompletableFuture.completedFuture(Arrays.asList(account(11), account(12)));
+                    } else if (page.getCursor() == 12L) {
+                        return CompletableFuture.completedFuture(Collections.singletonList(account(13)));
+                    }
+
+                    return CompletableFuture.completedFuture(Collections.emptyList());
+                });
+
+        List<AccountBO> exported = new ArrayList<>();
+
+        long count = exportService.exportAccounts("main", 10L, exported::add).join();
+
+        assertThat(count).isEqualTo(3);
+        assertThat(exported).extracting(AccountBO::getId).containsExactly(11L, 12L, 13L);
+        assertThat(exported).allMatch(account -> account.getHashedPassword() == null);
+
+        Mockito.verify(accountsRepository, Mockito.times(2)).getByDomain(eq("main"), any());
+    }
+
+    @Test
+    void exportRejectedWhenTooManyAreRunning() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<List<AccountDO>> blocked = new CompletableFuture<>();
+
+        Mockito.when(accountsRepository.getByDomain(eq("main"), any()))
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    return blocked;
+                });
+
+        CompletableFuture<Long> first = exportService.exportAccounts("main", null, account -> {});
+        started.await();
+
+        assertThatThrownBy(() -> exportService.exportAccounts("main", null, account -> {}).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(ServiceUnavailableException.class);
+
+        blocked.complete(Collections.emptyList());
+
+        assertThat(first.join()).isEqualTo(0);
+    }
+
+    @Test
+    void exportNotSupportedByTheDal() {
+        // a DAL implementation which was built before exports
+        Mockito.when(accountsRepository.getByDomain(eq("main"), any())).thenCallRealMethod();
+
+        assertThatThrownBy(() -> exportService.exportAccounts("main", null, account -> {}).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(ServiceException.class);
+    }
+}
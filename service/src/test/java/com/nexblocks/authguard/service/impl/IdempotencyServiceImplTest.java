@@ -3,6 +3,8 @@ package com.nexblocks.authguard.service.impl;
 import com.nexblocks.authguard.dal.persistence.IdempotentRecordsRepository;
 import com.nexblocks.authguard.dal.model.IdempotentRecordDO;
 import com.nexblocks.authguard.service.IdempotencyService;
+import com.nexblocks.authguard.service.concurrent.ExecutionPools;
+import com.nexblocks.authguard.service.config.ExecutionConfig;
 import com.nexblocks.authguard.service.exceptions.IdempotencyException;
 import com.nexblocks.authguard.service.mappers.ServiceMapperImpl;
 import com.nexblocks.authguard.service.model.Entity;
@@ -64,7 +66,8 @@ class IdempotencyServiceImplTest {
     void setup() {
         repository = Mockito.mock(IdempotentRecordsRepository.class);
 
-        service = new IdempotencyServiceImpl(repository, new ServiceMapperImpl());
+        service = new IdempotencyServiceImpl(repository, new ServiceMapperImpl(),
+                new ExecutionPools(ExecutionConfig.builder().build()));
     }
 
     @Test
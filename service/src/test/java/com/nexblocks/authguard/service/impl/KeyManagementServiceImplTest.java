@@ -9,7 +9,9 @@ import com.nexblocks.authguard.dal.persistence.CryptoKeysRepository;
 import com.nexblocks.authguard.emb.MessageBus;
 import com.nexblocks.authguard.service.AccountsService;
 import com.nexblocks.authguard.service.ApplicationsService;
+import com.nexblocks.authguard.service.concurrent.ExecutionPools;
 import com.nexblocks.authguard.service.config.CryptoKeyConfig;
+import com.nexblocks.authguard.service.config.ExecutionConfig;
 import com.nexblocks.authguard.service.exceptions.ServiceException;
 import com.nexblocks.authguard.service.mappers.ServiceMapper;
 import com.nexblocks.authguard.service.mappers.ServiceMapperImpl;
@@ -54,7 +56,7 @@ class KeyManagementServiceImplTest {
         ServiceMapper serviceMapper = new ServiceMapperImpl();
         keyManagementService = new KeyManagementServiceImpl(accountsService, applicationsService, serviceMapper,
                 cryptoKeysRepository,
-                messageBus, configContext);
+                messageBus, new ExecutionPools(ExecutionConfig.builder().build()), configContext);
     }
 
     @Test
@@ -78,7 +78,8 @@ class PermissionsServiceImplTest {
         Mockito.when(permissionsRepository.save(Mockito.any()))
                 .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0, PermissionDO.class)));
 
-        assertThatThrownBy(() -> permissionsService.create(request)).isInstanceOf(ServiceConflictException.class);
+        assertThatThrownBy(() -> permissionsService.create(request).join())
+                .hasCauseInstanceOf(ServiceConflictException.class);
     }
 
     @Test
@@ -191,7 +192,7 @@ class PermissionsServiceImplTest {
                 PermissionBO.builder().group("test").name("read").forAccounts(true).build()
         );
 
-        List<PermissionBO> actual = permissionsService.validate(request, "main", EntityType.ACCOUNT);
+        List<PermissionBO> actual = permissionsService.validate(request, "main", EntityType.ACCOUNT).join();
 
         assertThat(actual).isEqualTo(expected);
     }
@@ -222,7 +223,7 @@ class PermissionsServiceImplTest {
                 PermissionBO.builder().group("test").name("write").forApplications(true).build()
         );
 
-        List<PermissionBO> actual = permissionsService.validate(request, "main", EntityType.APPLICATION);
+        List<PermissionBO> actual = permissionsService.validate(request, "main", EntityType.APPLICATION).join();
 
         assertThat(actual).isEqualTo(expected);
     }
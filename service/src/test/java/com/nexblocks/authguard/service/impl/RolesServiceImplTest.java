@@ -127,7 +127,7 @@ class RolesServiceImplTest {
                         RoleDO.builder().name("role-2").forAccounts(false).build()
                 )));
 
-        List<String> actual = rolesService.verifyRoles(request, "main", EntityType.ACCOUNT);
+        List<String> actual = rolesService.verifyRoles(request, "main", EntityType.ACCOUNT).join();
 
         assertThat(actual).isEqualTo(Collections.singletonList("role-1"));
     }
@@ -142,7 +142,7 @@ class RolesServiceImplTest {
                         RoleDO.builder().name("role-2").forApplications(false).build()
                 )));
 
-        List<String> actual = rolesService.verifyRoles(request, "main", EntityType.APPLICATION);
+        List<String> actual = rolesService.verifyRoles(request, "main", EntityType.APPLICATION).join();
 
         assertThat(actual).isEqualTo(Collections.singletonList("role-1"));
     }
@@ -158,7 +158,7 @@ class RolesServiceImplTest {
 
         List<String> expected = Collections.singletonList("role-1");
 
-        List<String> actual = rolesService.verifyRoles(request, "main", EntityType.ACCOUNT);
+        List<String> actual = rolesService.verifyRoles(request, "main", EntityType.ACCOUNT).join();
 
         assertThat(actual).isEqualTo(expected);
     }
@@ -0,0 +1,163 @@
+package com.nexblocks.authguard.service.impl;
+
+import com.nexblocks.authguard.service.ApiKeysService;
+import com.nexblocks.authguard.service.config.IntrospectionConfig;
+import com.nexblocks.authguard.service.exceptions.ServiceAuthorizationException;
+import com.nexblocks.authguard.service.exceptions.ServiceException;
+import com.nexblocks.authguard.service.exceptions.codes.ErrorCode;
+import com.nexblocks.authguard.service.exchange.Exchange;
+import com.nexblocks.authguard.service.exchange.TokenExchange;
+import com.nexblocks.authguard.service.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenIntrospectionServiceImplTest {
+    private static final String DOMAIN = "test";
+
+    @TokenExchange(from = "accessToken", to = "accountId")
+    static class AccessTokenToAccountId implements Exchange {
+        @Override
+        public CompletableFuture<AuthResponseBO> exchange(final AuthRequestBO request) {
+            // like the real exchanges, tokens are only valid in the domain which they were issued in
+            if (request.getToken().startsWith("valid") && DOMAIN.equals(request.getDomain())) {
+                return CompletableFuture.completedFuture(AuthResponseBO.builder()
+                        .type("account_id")
+                        .token(101L)
+                        .build());
+            }
+
+            return CompletableFuture.failedFuture(
+                    new ServiceAuthorizationException(ErrorCode.INVALID_TOKEN, "Invalid token"));
+        }
+    }
+
+    @TokenExchange(from = "basic", to = "accessToken")
+    static class BasicToAccessToken implements Exchange {
+        @Override
+        public CompletableFuture<AuthResponseBO> exchange(final AuthRequestBO request) {
+            throw new IllegalStateException("Should not be called");
+        }
+    }
+
+    private ApiKeysService apiKeysService;
+    private TokenIntrospectionServiceImpl service;
+
+    @BeforeEach
+    void setup() {
+        apiKeysService = Mockito.mock(ApiKeysService.class);
+
+        service = new TokenIntrospectionServiceImpl(
+                Arrays.asList(new AccessTokenToAccountId(), new BasicToAccessToken()),
+                apiKeysService,
+                IntrospectionConfig.builder()
+                        .maxBatchSize(10)
+                        .parallelism(2)
+                        .build());
+    }
+
+    @Test
+    void introspectAllMixedTypes() {
+        Mockito.when(apiKeysService.validateApiKey("key", DOMAIN, "default"))
+                .thenReturn(CompletableFuture.completedFuture(AppBO.builder().id(201).build()));
+
+        List<IntrospectionRequestBO> requests = Arrays.asList(
+                IntrospectionRequestBO.builder().tokenType("accessToken").token("valid").build(),
+                IntrospectionRequestBO.builder().tokenType("accessToken").token("invalid").build(),
+                IntrospectionRequestBO.builder().tokenType("apiKey").token("key").build(),
+                IntrospectionRequestBO.builder().tokenType("basic").token("any").build()
+        );
+
+        List<IntrospectionResultBO> results = service.introspectAll(requests, DOMAIN).join();
+
+        assertThat(results).containsExactly(
+                IntrospectionResultBO.builder()
+                        .index(0)
+                        .tokenType("accessToken")
+                        .active(true)
+                        .entityType(EntityType.ACCOUNT)
+                        .entityId(101L)
+                        .build(),
+                IntrospectionResultBO.builder()
+                        .index(1)
+                        .tokenType("accessToken")
+                        .active(false)
+                        .errorCode(ErrorCode.INVALID_TOKEN.getCode())
+                        .message("Invalid token")
+                        .build(),
+                IntrospectionResultBO.builder()
+                        .index(2)
+                        .tokenType("apiKey")
+                        .active(true)
+                        .entityType(EntityType.APPLICATION)
+                        .entityId(201L)
+                        .build(),
+                IntrospectionResultBO.builder()
+                        .index(3)
+                        .tokenType("basic")
+                        .active(false)
+                        .errorCode(ErrorCode.UNKNOWN_EXCHANGE.getCode())
+                        .message("Token type basic cannot be introspected")
+                        .build()
+        );
+    }
+
+    @Test
+    void introspectTokenFromAnotherDomain() {
+        List<IntrospectionRequestBO> requests = Collections.singletonList(
+                IntrospectionRequestBO.builder().tokenType("accessToken").token("valid").build());
+
+        List<IntrospectionResultBO> results = service.introspectAll(requests, "other").join();
+
+        assertThat(results).containsExactly(IntrospectionResultBO.builder()
+                .index(0)
+                .tokenType("accessToken")
+                .active(false)
+                .errorCode(ErrorCode.INVALID_TOKEN.getCode())
+                .message("Invalid token")
+                .build());
+    }
+
+    @Test
+    void introspectAllStreaming() {
+        List<IntrospectionRequestBO> requests = IntStream.range(0, 10)
+                .mapToObj(i -> IntrospectionRequestBO.builder()
+                        .tokenType("accessToken")
+                        .token(i % 2 == 0 ? "valid" : "invalid")
+                        .build())
+                .collect(Collectors.toList());
+
+        List<IntrospectionResultBO> streamed = Collections.synchronizedList(new ArrayList<>());
+
+        service.introspectAll(requests, DOMAIN, streamed::add).join();
+
+        assertThat(streamed).hasSize(10);
+        assertThat(streamed.stream().map(IntrospectionResultBO::getIndex))
+                .containsExactlyInAnyOrderElementsOf(IntStream.range(0, 10).boxed().collect(Collectors.toList()));
+        assertThat(streamed.stream().filter(IntrospectionResultBO::isActive)).hasSize(5);
+    }
+
+    @Test
+    void introspectAllTooLarge() {
+        List<IntrospectionRequestBO> requests = IntStream.range(0, 11)
+                .mapToObj(i -> IntrospectionRequestBO.builder()
+                        .tokenType("accessToken")
+                        .token("valid")
+                        .build())
+                .collect(Collectors.toList());
+
+        assertThatThrownBy(() -> service.introspectAll(requests, DOMAIN))
+                .isInstanceOf(ServiceException.class);
+    }
+}
@@ -4,6 +4,7 @@ import com.google.common.collect.ImmutableMap;
 import com.nexblocks.authguard.basic.otp.OtpProvider;
 import com.nexblocks.authguard.basic.otp.OtpVerifier;
 import com.nexblocks.authguard.dal.cache.AccountTokensRepository;
+import com.nexblocks.authguard.dal.cache.TokenType;
 import com.nexblocks.authguard.dal.model.AccountTokenDO;
 import com.nexblocks.authguard.external.sms.SmsProvider;
 import com.nexblocks.authguard.service.AccountsService;
@@ -59,7 +60,7 @@ class VerificationServiceImplTest {
         Mockito.when(accountsService.getById(101, "main"))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(account)));
 
-        Mockito.when(accountTokensRepository.getByToken("verification-token"))
+        Mockito.when(accountTokensRepository.consume(TokenType.EMAIL_VERIFICATION, "verification-token"))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(AccountTokenDO.builder()
                         .associatedAccountId(101)
                         .expiresAt(Instant.now().plusSeconds(2))
@@ -94,7 +95,7 @@ class VerificationServiceImplTest {
         Mockito.when(accountsService.getById(101, "main"))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(account)));
 
-        Mockito.when(accountTokensRepository.getByToken("verification-token"))
+        Mockito.when(accountTokensRepository.consume(TokenType.EMAIL_VERIFICATION, "verification-token"))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(AccountTokenDO.builder()
                         .associatedAccountId(101)
                         .expiresAt(Instant.now().plusSeconds(2))
@@ -122,7 +123,7 @@ class VerificationServiceImplTest {
         Mockito.when(accountsService.getById(101, "main"))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(account)));
 
-        Mockito.when(accountTokensRepository.getByToken("verification-token"))
+        Mockito.when(accountTokensRepository.consume(TokenType.EMAIL_VERIFICATION, "verification-token"))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(AccountTokenDO.builder()
                         .associatedAccountId(101)
                         .expiresAt(Instant.now().plusSeconds(2))
@@ -149,7 +150,7 @@ class VerificationServiceImplTest {
         Mockito.when(accountsService.getById(101, "main"))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(account)));
 
-        Mockito.when(accountTokensRepository.getByToken("verification-token"))
+        Mockito.when(accountTokensRepository.consume(TokenType.EMAIL_VERIFICATION, "verification-token"))
                 .thenReturn(CompletableFuture.completedFuture(Optional.of(AccountTokenDO.builder()
                         .associatedAccountId(101)
                         .expiresAt(Instant.now().minusSeconds(2))
@@ -64,6 +64,7 @@ public class SessionProvider implements AuthProvider {
 
         final SessionBO session = SessionBO.builder()
                 .accountId(account.getId())
+                .domain(account.getDomain())
                 .expiresAt(Instant.now().plus(sessionTtl))
                 .data(data)
                 .build();
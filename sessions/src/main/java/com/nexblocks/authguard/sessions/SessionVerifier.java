@@ -40,6 +40,13 @@ public class SessionVerifier implements AuthVerifier {
                         return CompletableFuture.failedFuture(new ServiceAuthorizationException(ErrorCode.INVALID_TOKEN, "Invalid session token"));
                     }
 
+                    // a session is only valid in the domain which it was created in, sessions
+                    // created before they had a domain aren't checked
+                    if (request.getDomain() != null && session.getDomain() != null
+                            && !request.getDomain().equals(session.getDomain())) {
+                        return CompletableFuture.failedFuture(new ServiceAuthorizationException(ErrorCode.INVALID_TOKEN, "Invalid session token"));
+                    }
+
                     if (session.getExpiresAt().isBefore(Instant.now())) {
                         return CompletableFuture.failedFuture(new ServiceAuthorizationException(ErrorCode.EXPIRED_TOKEN, "Session has expired",
                                 EntityType.ACCOUNT, session.getAccountId()));
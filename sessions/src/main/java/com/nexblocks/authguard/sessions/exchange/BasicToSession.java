@@ -30,7 +30,7 @@ public class BasicToSession implements Exchange {
                 .userAgent(request.getUserAgent())
                 .build();
 
-        return basicAuth.authenticateAndGetAccount(request)
+        return basicAuth.authenticateAndGetAuthAccount(request)
                 .thenCompose(account -> sessionProvider.generateToken(account, options));
     }
 }
@@ -105,4 +105,59 @@ class SessionVerifierTest {
         assertThatThrownBy(() -> sessionVerifier.verifyAccountTokenAsync(request).join())
                 .hasCauseInstanceOf(ServiceAuthorizationException.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    void verifySessionFromAnotherDomain() {
+        SessionsService sessionsService = Mockito.mock(SessionsService.class);
+        SessionVerifier sessionVerifier = new SessionVerifier(sessionsService);
+
+        SessionBO session = SessionBO.builder()
+                .id(1)
+                .domain("main")
+                .sessionToken("token")
+                .accountId(101)
+                .expiresAt(Instant.now().plus(Duration.ofMinutes(20)))
+                .build();
+
+        Mockito.when(sessionsService.getByToken(session.getSessionToken()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(session)));
+
+        AuthRequest sameDomain = AuthRequestBO.builder()
+                .token(session.getSessionToken())
+                .domain("main")
+                .build();
+
+        AuthRequest otherDomain = AuthRequestBO.builder()
+                .token(session.getSessionToken())
+                .domain("other")
+                .build();
+
+        assertThat(sessionVerifier.verifyAccountTokenAsync(sameDomain).join()).isEqualTo(101);
+        assertThatThrownBy(() -> sessionVerifier.verifyAccountTokenAsync(otherDomain).join())
+                .hasCauseInstanceOf(ServiceAuthorizationException.class);
+    }
+
+    @Test
+    void verifySessionWithoutDomain() {
+        SessionsService sessionsService = Mockito.mock(SessionsService.class);
+        SessionVerifier sessionVerifier = new SessionVerifier(sessionsService);
+
+        // sessions which were created before they had a domain
+        SessionBO session = SessionBO.builder()
+                .id(1)
+                .sessionToken("token")
+                .accountId(101)
+                .expiresAt(Instant.now().plus(Duration.ofMinutes(20)))
+                .build();
+
+        Mockito.when(sessionsService.getByToken(session.getSessionToken()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(session)));
+
+        AuthRequest request = AuthRequestBO.builder()
+                .token(session.getSessionToken())
+                .domain("main")
+                .build();
+
+        assertThat(sessionVerifier.verifyAccountTokenAsync(request).join()).isEqualTo(101);
+    }
+}